@@ -5,11 +5,15 @@ import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.marioflo.vinscannerapp.data.entities.VinInfo;
+import com.marioflo.vinscannerapp.data.model.VinInfoItem;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -30,9 +34,19 @@ public interface VinInfoDao {
      * Inserts a new VIN information record into the database.
      *
      * @param vinInfo The VIN info entity to insert.
+     * @return The generated row ID.
      */
     @Insert
-    void insert(VinInfo vinInfo);
+    long insert(VinInfo vinInfo);
+
+    /**
+     * Inserts several VIN entries with one prepared statement.
+     *
+     * @param vinInfos The VIN info entities to insert.
+     * @return The generated row IDs, in input order.
+     */
+    @Insert
+    List<Long> insertAll(List<VinInfo> vinInfos);
 
     /**
      * Deletes a specific VIN information record from the database.
@@ -50,6 +64,85 @@ public interface VinInfoDao {
     @Update
     void update(VinInfo vinInfo);
 
+    // --------------------------------------------------
+    // Partial-Column Updates
+    // --------------------------------------------------
+
+    /**
+     * Updates only the location columns of a VIN entry.
+     * Cheaper than {@link #update(VinInfo)}, which rewrites every column.
+     *
+     * @param id          The VIN info ID.
+     * @param rowLetter   New row letter, or null to clear it.
+     * @param spaceNumber New space number, or null to clear it.
+     */
+    @Query("UPDATE vin_info SET rowLetter = :rowLetter, spaceNumber = :spaceNumber WHERE id = :id")
+    void updateLocation(int id, String rowLetter, String spaceNumber);
+
+    /**
+     * Updates only the notes column of a VIN entry.
+     *
+     * @param id         The VIN info ID.
+     * @param extraNotes New notes, or null to clear them.
+     */
+    @Query("UPDATE vin_info SET extraNotes = :extraNotes WHERE id = :id")
+    void updateNotes(int id, String extraNotes);
+
+    /**
+     * Updates the location and notes columns of a VIN entry in one statement.
+     *
+     * @param id          The VIN info ID.
+     * @param rowLetter   New row letter, or null to clear it.
+     * @param spaceNumber New space number, or null to clear it.
+     * @param extraNotes  New notes, or null to clear them.
+     */
+    @Query("UPDATE vin_info SET rowLetter = :rowLetter, spaceNumber = :spaceNumber, extraNotes = :extraNotes WHERE id = :id")
+    void updateLocationAndNotes(int id, String rowLetter, String spaceNumber, String extraNotes);
+
+    /**
+     * Deletes a VIN information record by its primary key.
+     *
+     * @param id The VIN info ID.
+     */
+    @Query("DELETE FROM vin_info WHERE id = :id")
+    void deleteById(int id);
+
+    /**
+     * Deletes several VIN information records by primary key in a single statement.
+     * Callers must keep {@code ids} below SQLite's bound-parameter limit; see
+     * {@link #deleteByIdsAndRefreshCount(List, int)} for a chunked variant.
+     *
+     * @param ids The VIN info IDs to delete.
+     */
+    @Query("DELETE FROM vin_info WHERE id IN (:ids)")
+    void deleteByIds(List<Integer> ids);
+
+    /**
+     * Reassigns several VIN entries to another list in a single statement.
+     *
+     * @param ids          The VIN info IDs to move.
+     * @param targetListId The ID of the destination list.
+     */
+    @Query("UPDATE vin_info SET listId = :targetListId WHERE id IN (:ids)")
+    void moveToList(List<Integer> ids, int targetListId);
+
+    /**
+     * Sets the row letter and/or space number of several VIN entries in a single statement.
+     * A field is only written when its {@code set...} flag is true, so either can be left untouched.
+     *
+     * @param ids            The VIN info IDs to update.
+     * @param setRowLetter   Whether to overwrite the row letter.
+     * @param rowLetter      New row letter (null clears it).
+     * @param setSpaceNumber Whether to overwrite the space number.
+     * @param spaceNumber    New space number (null clears it).
+     */
+    @Query("UPDATE vin_info SET "
+            + "rowLetter = CASE WHEN :setRowLetter THEN :rowLetter ELSE rowLetter END, "
+            + "spaceNumber = CASE WHEN :setSpaceNumber THEN :spaceNumber ELSE spaceNumber END "
+            + "WHERE id IN (:ids)")
+    void updateLocationByIds(List<Integer> ids, boolean setRowLetter, String rowLetter,
+                             boolean setSpaceNumber, String spaceNumber);
+
 
     // --------------------------------------------------
     // Query Methods
@@ -64,6 +157,19 @@ public interface VinInfoDao {
     @Query("SELECT * FROM vin_info WHERE listId = :listId")
     LiveData<List<VinInfo>> getVinInfoForList(int listId);
 
+    /**
+     * Retrieves the display columns of all VIN entries in a list.
+     * <p>
+     * Prefer this over {@link #getVinInfoForList(int)} for rendering: it selects only
+     * the columns the list screen and export need, keeping the cursor window small.
+     * </p>
+     *
+     * @param listId The ID of the VIN list.
+     * @return A LiveData object containing lightweight {@link VinInfoItem} projections.
+     */
+    @Query("SELECT id, listId, vinNumber, rowLetter, spaceNumber, extraNotes FROM vin_info WHERE listId = :listId")
+    LiveData<List<VinInfoItem>> getVinInfoItemsForList(int listId);
+
     /**
      * Retrieves a specific VIN info record by its ID.
      *
@@ -73,6 +179,50 @@ public interface VinInfoDao {
     @Query("SELECT * FROM vin_info WHERE id = :id LIMIT 1")
     LiveData<VinInfo> getVinInfoById(int id);
 
+    /**
+     * Retrieves all VIN info entries of a list, most recently scanned first.
+     *
+     * @param listId The ID of the VIN list.
+     * @return A LiveData object containing the list ordered by scan time, newest first.
+     */
+    @Query("SELECT * FROM vin_info WHERE listId = :listId ORDER BY scannedAt DESC")
+    LiveData<List<VinInfo>> getVinInfoForListByRecency(int listId);
+
+    // --------------------------------------------------
+    // Time-Windowed Queries (backed by the scannedAt index)
+    // --------------------------------------------------
+
+    /**
+     * Retrieves all VIN info entries scanned within a time window, across all lists.
+     *
+     * @param fromMillis Inclusive window start, epoch milliseconds.
+     * @param toMillis   Exclusive window end, epoch milliseconds.
+     * @return A LiveData object containing the entries ordered by scan time.
+     */
+    @Query("SELECT * FROM vin_info WHERE scannedAt >= :fromMillis AND scannedAt < :toMillis ORDER BY scannedAt")
+    LiveData<List<VinInfo>> getVinInfoScannedBetween(long fromMillis, long toMillis);
+
+    /**
+     * Retrieves the VIN info entries of one list scanned within a time window.
+     *
+     * @param listId     The ID of the VIN list.
+     * @param fromMillis Inclusive window start, epoch milliseconds.
+     * @param toMillis   Exclusive window end, epoch milliseconds.
+     * @return A LiveData object containing the entries ordered by scan time.
+     */
+    @Query("SELECT * FROM vin_info WHERE listId = :listId AND scannedAt >= :fromMillis AND scannedAt < :toMillis ORDER BY scannedAt")
+    LiveData<List<VinInfo>> getVinInfoForListScannedBetween(int listId, long fromMillis, long toMillis);
+
+    /**
+     * Counts the VINs scanned within a time window, e.g. to report VINs per hour.
+     *
+     * @param fromMillis Inclusive window start, epoch milliseconds.
+     * @param toMillis   Exclusive window end, epoch milliseconds.
+     * @return A LiveData object containing the number of matching entries.
+     */
+    @Query("SELECT COUNT(*) FROM vin_info WHERE scannedAt >= :fromMillis AND scannedAt < :toMillis")
+    LiveData<Integer> countVinInfoScannedBetween(long fromMillis, long toMillis);
+
     // --------------------------------------------------
     // VIN Count Management (for parent list)
     // --------------------------------------------------
@@ -93,6 +243,138 @@ public interface VinInfoDao {
     @Query("UPDATE vin_lists SET vinCount = vinCount - 1 WHERE id = :listId")
     void decrementVinCount(int listId);
 
+    /**
+     * Recomputes the VIN count of a list from its current rows.
+     * Used after multi-row writes where per-row increments would be wasteful.
+     *
+     * @param listId The ID of the VIN list to update.
+     */
+    @Query("UPDATE vin_lists SET vinCount = (SELECT COUNT(*) FROM vin_info WHERE listId = :listId) WHERE id = :listId")
+    void refreshVinCount(int listId);
+
+    /**
+     * Adds a delta to the VIN count of a list. Used by group commits that insert
+     * several entries of the same list at once.
+     *
+     * @param listId The ID of the VIN list to update.
+     * @param delta  The number of entries added.
+     */
+    @Query("UPDATE vin_lists SET vinCount = vinCount + :delta WHERE id = :listId")
+    void addToVinCount(int listId, int delta);
+
+    // --------------------------------------------------
+    // Transactional Write + Count Operations
+    // --------------------------------------------------
+
+    /**
+     * Inserts a VIN entry and increments its list's VIN count atomically.
+     *
+     * @param vinInfo The VIN info entity to insert.
+     * @return The generated row ID.
+     */
+    @Transaction
+    default long insertAndIncrementCount(VinInfo vinInfo) {
+        long id = insert(vinInfo);
+        incrementVinCount(vinInfo.getListId());
+        return id;
+    }
+
+    /**
+     * Deletes a VIN entry by ID and decrements its list's VIN count atomically.
+     *
+     * @param id     The VIN info ID.
+     * @param listId The ID of the list the entry belongs to.
+     */
+    @Transaction
+    default void deleteByIdAndDecrementCount(int id, int listId) {
+        deleteById(id);
+        decrementVinCount(listId);
+    }
+
+    // --------------------------------------------------
+    // Batched Operations
+    // --------------------------------------------------
+
+    /** Maximum IDs bound per statement, safely below SQLite's default limit of 999. */
+    int MAX_IDS_PER_STATEMENT = 500;
+
+    /**
+     * Deletes a batch of VIN entries belonging to one list and refreshes that
+     * list's VIN count, all in a single transaction.
+     *
+     * @param ids    The VIN info IDs to delete.
+     * @param listId The ID of the list the entries belong to.
+     */
+    @Transaction
+    default void deleteByIdsAndRefreshCount(List<Integer> ids, int listId) {
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_STATEMENT) {
+            deleteByIds(ids.subList(start, Math.min(start + MAX_IDS_PER_STATEMENT, ids.size())));
+        }
+        refreshVinCount(listId);
+    }
+
+    /**
+     * Moves a batch of VIN entries from one list to another and refreshes both
+     * lists' VIN counts, all in a single transaction.
+     *
+     * @param ids          The VIN info IDs to move.
+     * @param sourceListId The ID of the list the entries currently belong to.
+     * @param targetListId The ID of the destination list.
+     */
+    @Transaction
+    default void moveByIdsAndRefreshCounts(List<Integer> ids, int sourceListId, int targetListId) {
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_STATEMENT) {
+            moveToList(ids.subList(start, Math.min(start + MAX_IDS_PER_STATEMENT, ids.size())), targetListId);
+        }
+        refreshVinCount(sourceListId);
+        refreshVinCount(targetListId);
+    }
+
+    /**
+     * Inserts a group of buffered scans and bumps each affected list's VIN count
+     * once, all in a single transaction.
+     *
+     * @param vinInfos The VIN info entities to insert.
+     * @return The generated row IDs, in input order.
+     */
+    @Transaction
+    default List<Long> insertAllAndIncrementCounts(List<VinInfo> vinInfos) {
+        List<Long> ids = insertAll(vinInfos);
+        Map<Integer, Integer> perList = new HashMap<>();
+        for (VinInfo vinInfo : vinInfos) {
+            Integer count = perList.get(vinInfo.getListId());
+            perList.put(vinInfo.getListId(), count == null ? 1 : count + 1);
+        }
+        for (Map.Entry<Integer, Integer> entry : perList.entrySet()) {
+            addToVinCount(entry.getKey(), entry.getValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Counts entries matching a scan's identity. Used when replaying the write-behind
+     * journal to skip scans that were committed before the journal was truncated.
+     *
+     * @param vinNumber The scanned VIN.
+     * @param listId    The list the scan was added to.
+     * @param scannedAt The scan time, epoch milliseconds.
+     * @return Number of matching rows.
+     */
+    @Query("SELECT COUNT(*) FROM vin_info WHERE scannedAt = :scannedAt AND listId = :listId AND vinNumber = :vinNumber")
+    int countMatchingScan(String vinNumber, int listId, long scannedAt);
+
+    /**
+     * Applies {@link #updateLocationByIds} to any number of entries in a single transaction.
+     */
+    @Transaction
+    default void updateLocationForIds(List<Integer> ids, boolean setRowLetter, String rowLetter,
+                                      boolean setSpaceNumber, String spaceNumber) {
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_STATEMENT) {
+            updateLocationByIds(ids.subList(start, Math.min(start + MAX_IDS_PER_STATEMENT, ids.size())),
+                    setRowLetter, rowLetter, setSpaceNumber, spaceNumber);
+        }
+    }
+
 
 
 }
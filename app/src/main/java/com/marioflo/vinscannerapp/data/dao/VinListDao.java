@@ -30,9 +30,10 @@ public interface VinListDao {
          * Inserts a new VIN list into the database.
          *
          * @param vinList The VIN list entity to insert.
+         * @return The generated row ID of the new list.
          */
         @Insert
-        void insert(VinList vinList);
+        long insert(VinList vinList);
 
         /**
          * Deletes a specific VIN list from the database.
@@ -1,24 +1,30 @@
 package com.marioflo.vinscannerapp.data.entities;
 
 import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
 import androidx.room.Ignore;
 import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
+import com.marioflo.vinscannerapp.core.scanner.DetectionSource;
+
 /**
  * Represents detailed information about a single VIN entry
  * within a specific VIN list in the local Room database.
  *
  * Each VinInfo record is associated with one VinList via a foreign key.
+ * Scan metadata (time, detection source, latency and confidence) is stored
+ * with every record so throughput can be audited. {@code (listId, scannedAt)} serves
+ * per-list loads in scan order; {@code scannedAt} alone serves cross-list time windows.
  */
 @Entity(tableName = "vin_info",
         foreignKeys = @ForeignKey(entity = VinList.class,
                                     parentColumns = "id",
                                     childColumns = "listId",
                                     onDelete = ForeignKey.CASCADE),
-        indices = {@Index("listId")})
+        indices = {@Index({"listId", "scannedAt"}), @Index("scannedAt")})
 public class VinInfo {
 
     @PrimaryKey(autoGenerate = true)
@@ -30,6 +36,20 @@ public class VinInfo {
     private String spaceNumber;
     private String extraNotes;
 
+    /** Epoch time in milliseconds when the VIN was scanned; 0 for rows created before version 6. */
+    @ColumnInfo(defaultValue = "0")
+    private long scannedAt;
+
+    /** How the VIN was captured; null for rows created before version 6. */
+    private DetectionSource detectionSource;
+
+    /** Time from start of image processing to detection, in milliseconds; 0 when unknown. */
+    @ColumnInfo(defaultValue = "0")
+    private long detectionLatencyMs;
+
+    /** Detector confidence in [0, 1]; null when the detector does not report one. */
+    private Float detectionConfidence;
+
     // ----------------------------
     // Constructors
     // ----------------------------
@@ -46,6 +66,7 @@ public class VinInfo {
     public VinInfo(@NonNull String vinNumber, int listId) {
         this.vinNumber = vinNumber;
         this.listId = listId;
+        this.scannedAt = System.currentTimeMillis();
     }
 
     // ----------------------------
@@ -99,6 +120,38 @@ public class VinInfo {
         this.extraNotes = extraNotes;
     }
 
+    public long getScannedAt() {
+        return scannedAt;
+    }
+
+    public void setScannedAt(long scannedAt) {
+        this.scannedAt = scannedAt;
+    }
+
+    public DetectionSource getDetectionSource() {
+        return detectionSource;
+    }
+
+    public void setDetectionSource(DetectionSource detectionSource) {
+        this.detectionSource = detectionSource;
+    }
+
+    public long getDetectionLatencyMs() {
+        return detectionLatencyMs;
+    }
+
+    public void setDetectionLatencyMs(long detectionLatencyMs) {
+        this.detectionLatencyMs = detectionLatencyMs;
+    }
+
+    public Float getDetectionConfidence() {
+        return detectionConfidence;
+    }
+
+    public void setDetectionConfidence(Float detectionConfidence) {
+        this.detectionConfidence = detectionConfidence;
+    }
+
     // ----------------------------
     // Utility Methods
     // ----------------------------
@@ -0,0 +1,74 @@
+package com.marioflo.vinscannerapp.data.model;
+
+import androidx.annotation.NonNull;
+
+import com.marioflo.vinscannerapp.core.export.VinRecord;
+
+/**
+ * Lightweight, read-only projection of a {@link com.marioflo.vinscannerapp.data.entities.VinInfo}
+ * row containing only the columns needed to render and act on a list entry.
+ * <p>
+ * Populated by Room from column-specific queries, so new columns added to
+ * {@code vin_info} do not widen the cursor window or the objects
+ * materialized by the list screen.
+ * </p>
+ * Implements {@link VinRecord} so list rows can be exported without copying.
+ */
+public class VinInfoItem implements VinRecord {
+
+    private final int id;
+    private final int listId;
+    private final String vinNumber;
+    private final String rowLetter;
+    private final String spaceNumber;
+    private final String extraNotes;
+
+    /** Constructor used by Room; parameter names match the selected columns. */
+    public VinInfoItem(int id, int listId, String vinNumber,
+                       String rowLetter, String spaceNumber, String extraNotes) {
+        this.id = id;
+        this.listId = listId;
+        this.vinNumber = vinNumber;
+        this.rowLetter = rowLetter;
+        this.spaceNumber = spaceNumber;
+        this.extraNotes = extraNotes;
+    }
+
+    // ----------------------------
+    // Getters
+    // ----------------------------
+
+    public int getId() {
+        return id;
+    }
+
+    public int getListId() {
+        return listId;
+    }
+
+    @Override
+    public String getVinNumber() {
+        return vinNumber;
+    }
+
+    @Override
+    public String getRowLetter() {
+        return rowLetter;
+    }
+
+    @Override
+    public String getSpaceNumber() {
+        return spaceNumber;
+    }
+
+    @Override
+    public String getExtraNotes() {
+        return extraNotes;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "VinInfoItem{id=" + id + ", vin=" + vinNumber + "}";
+    }
+}
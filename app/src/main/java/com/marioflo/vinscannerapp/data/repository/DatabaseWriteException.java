@@ -0,0 +1,80 @@
+package com.marioflo.vinscannerapp.data.repository;
+
+import android.database.sqlite.SQLiteConstraintException;
+import android.database.sqlite.SQLiteDatabaseCorruptException;
+import android.database.sqlite.SQLiteDatabaseLockedException;
+import android.database.sqlite.SQLiteDiskIOException;
+import android.database.sqlite.SQLiteFullException;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Typed failure of an asynchronous {@link VinRepository} write.
+ * <p>
+ * Delivered through the write's future so callers can react to the cause
+ * (e.g. tell the user storage is full) instead of parsing log output.
+ * </p>
+ */
+public class DatabaseWriteException extends Exception {
+
+    /** Broad category of a failed write. */
+    public enum Reason {
+        /** A constraint (foreign key, NOT NULL, unique) rejected the write, e.g. the parent list was deleted. */
+        CONSTRAINT,
+        /** The device is out of storage. */
+        STORAGE_FULL,
+        /** The database is locked by another connection. */
+        BUSY,
+        /** The write was rejected before reaching the database because its queue was full. */
+        QUEUE_FULL,
+        /** Low-level I/O error while reading or writing the database file. */
+        DISK_IO,
+        /** The database file is corrupt. */
+        CORRUPT,
+        /** Any other failure. */
+        UNKNOWN
+    }
+
+    private final Reason reason;
+    private final String operation;
+
+    public DatabaseWriteException(@NonNull Reason reason, @NonNull String operation, Throwable cause) {
+        super("Database error during " + operation + " (" + reason + ")", cause);
+        this.reason = reason;
+        this.operation = operation;
+    }
+
+    /**
+     * Wraps an exception thrown by a DAO call, classifying it by SQLite exception type.
+     *
+     * @param operation Descriptive operation name.
+     * @param cause     The exception thrown by Room/SQLite.
+     */
+    public static DatabaseWriteException from(@NonNull String operation, @NonNull Throwable cause) {
+        Reason reason;
+        if (cause instanceof SQLiteConstraintException) {
+            reason = Reason.CONSTRAINT;
+        } else if (cause instanceof SQLiteFullException) {
+            reason = Reason.STORAGE_FULL;
+        } else if (cause instanceof SQLiteDatabaseLockedException) {
+            reason = Reason.BUSY;
+        } else if (cause instanceof SQLiteDiskIOException) {
+            reason = Reason.DISK_IO;
+        } else if (cause instanceof SQLiteDatabaseCorruptException) {
+            reason = Reason.CORRUPT;
+        } else {
+            reason = Reason.UNKNOWN;
+        }
+        return new DatabaseWriteException(reason, operation, cause);
+    }
+
+    @NonNull
+    public Reason getReason() {
+        return reason;
+    }
+
+    @NonNull
+    public String getOperation() {
+        return operation;
+    }
+}
@@ -0,0 +1,440 @@
+package com.marioflo.vinscannerapp.data.repository;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.concurrent.futures.CallbackToFutureAdapter;
+
+import com.marioflo.vinscannerapp.data.dao.VinInfoDao;
+import com.marioflo.vinscannerapp.core.scanner.DetectionSource;
+import com.marioflo.vinscannerapp.data.entities.VinInfo;
+import com.marioflo.vinscannerapp.database.AppDatabase;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for VIN scans.
+ * <p>
+ * During continuous scanning each accepted VIN used to cost its own transaction.
+ * Instead, scans are queued here and group-committed with one multi-row insert
+ * (plus one count update per list) whenever {@link #BATCH_SIZE} scans are pending
+ * or {@link #MAX_COMMIT_DELAY_MS} has passed since the first pending scan.
+ * </p>
+ * <p>
+ * The queue is bounded by {@link #CAPACITY}; when it is full (commits are not keeping up)
+ * new scans are rejected with a {@link DatabaseWriteException.Reason#QUEUE_FULL} failure
+ * rather than growing without limit. Every pending scan is also appended to a small
+ * JSON-lines journal in app storage, so scans accepted just before process death are
+ * replayed on the next start. Replay skips scans that already reached the database, so a
+ * crash between a commit and the journal truncation does not duplicate rows.
+ * </p>
+ * <p>
+ * If a group commit fails, its scans are retried one transaction each so a single bad scan
+ * (e.g. for a list deleted meanwhile) does not take the rest of the group down with it.
+ * Scans that still fail for a reason that may clear up (storage full, I/O, locked database)
+ * stay in the journal and join the next group commit, or the replay on the next start;
+ * constraint failures are dropped because they would fail again. At most {@link #MAX_UNSAVED}
+ * such scans are kept; beyond that the oldest is dropped and counted.
+ * </p>
+ * <p>
+ * All queue, journal and database work happens on one dedicated thread, so no locking is
+ * needed beyond the depth counter read by callers.
+ * </p>
+ */
+public class ScanWriteBuffer {
+
+    private static final String TAG = "ScanWriteBuffer";
+
+    /** Pending scans that trigger an immediate group commit. */
+    static final int BATCH_SIZE = 8;
+
+    /** Longest time a scan waits in the queue before being committed. */
+    static final long MAX_COMMIT_DELAY_MS = 250;
+
+    /** Maximum number of pending scans. */
+    static final int CAPACITY = 256;
+
+    /** Maximum number of failed scans kept for retry. */
+    static final int MAX_UNSAVED = 64;
+
+    private static final String JOURNAL_FILE_NAME = "scan_write_journal.jsonl";
+
+    private static volatile ScanWriteBuffer INSTANCE;
+
+    private final VinInfoDao vinInfoDao;
+    private final File journalFile;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "scan-write-buffer"));
+
+    // Only touched on the buffer thread
+    private final ArrayDeque<PendingScan> pending = new ArrayDeque<>();
+    /** Scans whose commit failed but which are kept in the journal and retried with the next commit. */
+    private final List<VinInfo> unsaved = new ArrayList<>();
+    private ScheduledFuture<?> scheduledCommit;
+
+    // Metrics, readable from any thread
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong commitCount = new AtomicLong();
+    private final AtomicLong committedScanCount = new AtomicLong();
+    private final AtomicLong rejectedScanCount = new AtomicLong();
+    private final AtomicLong droppedScanCount = new AtomicLong();
+    private final AtomicLong totalCommitLatencyMs = new AtomicLong();
+    private final AtomicLong lastCommitLatencyMs = new AtomicLong();
+    private final AtomicLong maxCommitLatencyMs = new AtomicLong();
+
+    /**
+     * Returns the process-wide buffer, creating it (and replaying its journal) on first use.
+     *
+     * @param context Any context; only the application context is retained.
+     * @return Singleton instance of {@link ScanWriteBuffer}.
+     */
+    public static ScanWriteBuffer getInstance(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (ScanWriteBuffer.class) {
+                if (INSTANCE == null) {
+                    Context appContext = context.getApplicationContext();
+                    INSTANCE = new ScanWriteBuffer(AppDatabase.getDatabase(appContext).vinInfoDao(),
+                            new File(appContext.getFilesDir(), JOURNAL_FILE_NAME));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    private ScanWriteBuffer(VinInfoDao vinInfoDao, File journalFile) {
+        this.vinInfoDao = vinInfoDao;
+        this.journalFile = journalFile;
+        executor.execute(this::replayJournal);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // PUBLIC API
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Queues a scan for the next group commit.
+     *
+     * @param vinInfo The scanned entry to insert.
+     * @return A future completing with the generated row ID once the group containing this
+     *         scan is committed, or failing with a {@link DatabaseWriteException}.
+     */
+    public ListenableFuture<Long> enqueue(@NonNull VinInfo vinInfo) {
+        return CallbackToFutureAdapter.getFuture(completer -> {
+            if (queueDepth.incrementAndGet() > CAPACITY) {
+                queueDepth.decrementAndGet();
+                rejectedScanCount.incrementAndGet();
+                completer.setException(new DatabaseWriteException(
+                        DatabaseWriteException.Reason.QUEUE_FULL, "enqueueScan", null));
+                return "enqueueScan";
+            }
+            executor.execute(() -> {
+                pending.add(new PendingScan(vinInfo, completer));
+                appendToJournal(vinInfo);
+                if (pending.size() >= BATCH_SIZE) {
+                    commitPending();
+                } else if (scheduledCommit == null) {
+                    scheduledCommit = executor.schedule(this::commitPending,
+                            MAX_COMMIT_DELAY_MS, TimeUnit.MILLISECONDS);
+                }
+            });
+            return "enqueueScan";
+        });
+    }
+
+    /**
+     * Commits all pending scans now instead of waiting for the batch or delay trigger.
+     * Call from {@code onPause()} so nothing sits in memory while the app is backgrounded.
+     *
+     * @return A future completing once everything queued before this call is committed.
+     */
+    public ListenableFuture<Void> flush() {
+        return CallbackToFutureAdapter.getFuture(completer -> {
+            executor.execute(() -> {
+                commitPending();
+                completer.set(null);
+            });
+            return "flushScans";
+        });
+    }
+
+    /** @return Number of scans accepted but not yet committed. */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /** @return Number of group commits performed since process start. */
+    public long getCommitCount() {
+        return commitCount.get();
+    }
+
+    /** @return Number of scans written by group commits since process start. */
+    public long getCommittedScanCount() {
+        return committedScanCount.get();
+    }
+
+    /** @return Number of scans rejected because the queue was full. */
+    public long getRejectedScanCount() {
+        return rejectedScanCount.get();
+    }
+
+    /** @return Number of failed scans dropped because too many were already kept for retry. */
+    public long getDroppedScanCount() {
+        return droppedScanCount.get();
+    }
+
+    /** @return Duration of the most recent group commit, in milliseconds. */
+    public long getLastCommitLatencyMs() {
+        return lastCommitLatencyMs.get();
+    }
+
+    /** @return Longest group commit since process start, in milliseconds. */
+    public long getMaxCommitLatencyMs() {
+        return maxCommitLatencyMs.get();
+    }
+
+    /** @return Mean group commit duration since process start, in milliseconds. */
+    public double getAverageCommitLatencyMs() {
+        long commits = commitCount.get();
+        return commits == 0 ? 0 : (double) totalCommitLatencyMs.get() / commits;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // GROUP COMMIT (buffer thread only)
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Writes every pending scan, together with earlier scans kept for retry, in one transaction
+     * and completes their futures. If the group fails, each scan is retried on its own; scans
+     * that still fail have their futures failed and, unless retrying is pointless, stay in the
+     * journal for the next commit.
+     */
+    private void commitPending() {
+        if (scheduledCommit != null) {
+            scheduledCommit.cancel(false);
+            scheduledCommit = null;
+        }
+        if (pending.isEmpty() && unsaved.isEmpty()) return;
+
+        // Retried scans lead so they keep their order; their callers were already told of the failure
+        List<PendingScan> group = new ArrayList<>(unsaved.size() + pending.size());
+        for (VinInfo vinInfo : unsaved) {
+            group.add(new PendingScan(vinInfo, null));
+        }
+        unsaved.clear();
+        int queued = pending.size();
+        group.addAll(pending);
+        pending.clear();
+        List<VinInfo> vinInfos = new ArrayList<>(group.size());
+        for (PendingScan scan : group) {
+            vinInfos.add(scan.vinInfo);
+        }
+
+        long start = SystemClock.elapsedRealtime();
+        try {
+            List<Long> ids = vinInfoDao.insertAllAndIncrementCounts(vinInfos);
+            recordCommit(SystemClock.elapsedRealtime() - start, group.size());
+            for (int i = 0; i < group.size(); i++) {
+                if (group.get(i).completer != null) group.get(i).completer.set(ids.get(i));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Group commit of " + group.size() + " scans failed, retrying individually", e);
+            commitIndividually(group);
+        } finally {
+            queueDepth.addAndGet(-queued);
+            rewriteJournal();
+        }
+    }
+
+    /** Fallback for a failed group: one transaction per scan, so only the bad ones fail. */
+    private void commitIndividually(List<PendingScan> group) {
+        for (PendingScan scan : group) {
+            long start = SystemClock.elapsedRealtime();
+            try {
+                long id = vinInfoDao.insertAndIncrementCount(scan.vinInfo);
+                recordCommit(SystemClock.elapsedRealtime() - start, 1);
+                if (scan.completer != null) scan.completer.set(id);
+            } catch (Exception e) {
+                Log.e(TAG, "Commit of scan " + scan.vinInfo.getVinNumber() + " failed", e);
+                DatabaseWriteException failure = DatabaseWriteException.from("commitScan", e);
+                if (failure.getReason() != DatabaseWriteException.Reason.CONSTRAINT) {
+                    keepForRetry(scan.vinInfo);
+                }
+                if (scan.completer != null) scan.completer.setException(failure);
+            }
+        }
+    }
+
+    /** Keeps a failed scan for the next commit, dropping the oldest one once the list is full. */
+    private void keepForRetry(VinInfo vinInfo) {
+        if (unsaved.size() >= MAX_UNSAVED) {
+            VinInfo dropped = unsaved.remove(0);
+            droppedScanCount.incrementAndGet();
+            Log.w(TAG, "Too many unsaved scans, dropping " + dropped.getVinNumber());
+        }
+        unsaved.add(vinInfo);
+    }
+
+    private void recordCommit(long latencyMs, int size) {
+        commitCount.incrementAndGet();
+        committedScanCount.addAndGet(size);
+        totalCommitLatencyMs.addAndGet(latencyMs);
+        lastCommitLatencyMs.set(latencyMs);
+        long max;
+        while (latencyMs > (max = maxCommitLatencyMs.get())
+                && !maxCommitLatencyMs.compareAndSet(max, latencyMs)) {
+            // retry until the maximum is published
+        }
+        Log.d(TAG, "Committed " + size + " scans in " + latencyMs + " ms");
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // JOURNAL (buffer thread only)
+    // ---------------------------------------------------------------------------------------------
+
+    /** Appends one scan to the journal and syncs it to disk. */
+    private void appendToJournal(VinInfo vinInfo) {
+        try (FileOutputStream out = new FileOutputStream(journalFile, true)) {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writer.write(toJson(vinInfo).toString());
+            writer.write('\n');
+            writer.flush();
+            out.getFD().sync();
+        } catch (IOException | JSONException e) {
+            Log.e(TAG, "Failed to journal scan " + vinInfo.getVinNumber(), e);
+        }
+    }
+
+    /** Empties the journal once its scans are committed (or have definitively failed). */
+    private void truncateJournal() {
+        if (journalFile.exists() && !journalFile.delete()) {
+            Log.w(TAG, "Failed to truncate scan journal");
+        }
+    }
+
+    /** Replaces the journal with the scans that failed to commit but are worth retrying. */
+    private void rewriteJournal() {
+        truncateJournal();
+        for (VinInfo vinInfo : unsaved) {
+            appendToJournal(vinInfo);
+        }
+    }
+
+    /**
+     * Re-queues scans left in the journal by a previous process and commits them,
+     * skipping any that already reached the database.
+     */
+    private void replayJournal() {
+        if (!journalFile.exists()) return;
+
+        List<VinInfo> recovered = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                try {
+                    recovered.add(fromJson(new JSONObject(line)));
+                } catch (JSONException e) {
+                    // A torn final line from a crash mid-append; everything before it is intact.
+                    Log.w(TAG, "Skipping unreadable journal line", e);
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to read scan journal", e);
+            return;
+        }
+
+        int replayed = 0;
+        for (VinInfo vinInfo : recovered) {
+            try {
+                if (vinInfoDao.countMatchingScan(vinInfo.getVinNumber(), vinInfo.getListId(),
+                        vinInfo.getScannedAt()) > 0) {
+                    continue;
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to check journaled scan " + vinInfo.getVinNumber(), e);
+                continue;
+            }
+            queueDepth.incrementAndGet();
+            pending.add(new PendingScan(vinInfo, null));
+            replayed++;
+        }
+        Log.i(TAG, "Replaying " + replayed + " of " + recovered.size() + " journaled scans");
+
+        // Re-journal exactly what is pending so a crash during replay loses nothing
+        truncateJournal();
+        for (PendingScan scan : pending) {
+            appendToJournal(scan.vinInfo);
+        }
+        commitPending();
+    }
+
+    private static JSONObject toJson(VinInfo vinInfo) throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("vinNumber", vinInfo.getVinNumber());
+        json.put("listId", vinInfo.getListId());
+        json.put("rowLetter", vinInfo.getRowLetter());
+        json.put("spaceNumber", vinInfo.getSpaceNumber());
+        json.put("extraNotes", vinInfo.getExtraNotes());
+        json.put("scannedAt", vinInfo.getScannedAt());
+        if (vinInfo.getDetectionSource() != null) {
+            json.put("detectionSource", vinInfo.getDetectionSource().name());
+        }
+        json.put("detectionLatencyMs", vinInfo.getDetectionLatencyMs());
+        if (vinInfo.getDetectionConfidence() != null) {
+            json.put("detectionConfidence", vinInfo.getDetectionConfidence().doubleValue());
+        }
+        return json;
+    }
+
+    private static VinInfo fromJson(JSONObject json) throws JSONException {
+        VinInfo vinInfo = new VinInfo(json.getString("vinNumber"), json.getInt("listId"));
+        vinInfo.setRowLetter(json.optString("rowLetter", null));
+        vinInfo.setSpaceNumber(json.optString("spaceNumber", null));
+        vinInfo.setExtraNotes(json.optString("extraNotes", null));
+        vinInfo.setScannedAt(json.getLong("scannedAt"));
+        if (json.has("detectionSource")) {
+            vinInfo.setDetectionSource(DetectionSource.valueOf(json.getString("detectionSource")));
+        }
+        vinInfo.setDetectionLatencyMs(json.optLong("detectionLatencyMs"));
+        if (json.has("detectionConfidence")) {
+            vinInfo.setDetectionConfidence((float) json.getDouble("detectionConfidence"));
+        }
+        return vinInfo;
+    }
+
+    /** A queued scan and the completer of the future handed to its caller (null when replayed). */
+    private static final class PendingScan {
+        final VinInfo vinInfo;
+        final CallbackToFutureAdapter.Completer<Long> completer;
+
+        PendingScan(VinInfo vinInfo, CallbackToFutureAdapter.Completer<Long> completer) {
+            this.vinInfo = vinInfo;
+            this.completer = completer;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import android.app.Application;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.concurrent.futures.CallbackToFutureAdapter;
 import androidx.lifecycle.LiveData;
 
 import com.marioflo.vinscannerapp.data.dao.VinInfoDao;
@@ -11,8 +12,12 @@ import com.marioflo.vinscannerapp.data.dao.VinListDao;
 import com.marioflo.vinscannerapp.database.AppDatabase;
 import com.marioflo.vinscannerapp.data.entities.VinInfo;
 import com.marioflo.vinscannerapp.data.entities.VinList;
+import com.marioflo.vinscannerapp.data.model.VinInfoItem;
+
+import com.google.common.util.concurrent.ListenableFuture;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -25,6 +30,10 @@ import java.util.concurrent.Executors;
  * {@link VinList} and {@link VinInfo}.
  * </p>
  *
+ * <p>Every write returns a {@link ListenableFuture} that completes once the write has
+ * been applied (with the generated ID for inserts) or fails with a
+ * {@link DatabaseWriteException}, so callers can chain on acknowledged writes.</p>
+ *
  * <p>Implements the recommended Android MVVM architecture pattern.</p>
  */
 public class VinRepository {
@@ -35,6 +44,9 @@ public class VinRepository {
     private VinListDao vinListDao;
     private VinInfoDao vinInfoDao;
 
+    // Group-commit queue for camera scans
+    private ScanWriteBuffer scanWriteBuffer;
+
     // Thread pool for background operations
     private static ExecutorService databaseWriteExecutor = Executors.newFixedThreadPool(4);
 
@@ -47,39 +59,30 @@ public class VinRepository {
         AppDatabase db = AppDatabase.getDatabase(application);
         vinListDao = db.vinListDao();
         vinInfoDao = db.vinInfoDao();
+        scanWriteBuffer = ScanWriteBuffer.getInstance(application);
     }
 
     // ---------------------------------------------------------------------------------------------
     // VIN LIST OPERATIONS
     // ---------------------------------------------------------------------------------------------
 
-    /** Inserts a new VIN list asynchronously. */
-    public void insertVinList(VinList vinList) {
-        databaseWriteExecutor.execute(() -> {
-            try {
-                vinListDao.insert(vinList);
-            } catch (Exception e) {
-                Log.e(TAG, "Error inserting VIN list", e);
-            }
-        });
+    /**
+     * Inserts a new VIN list asynchronously.
+     *
+     * @return A future completing with the generated list ID once the row is written.
+     */
+    public ListenableFuture<Long> insertVinList(VinList vinList) {
+        return submitForResult(() -> vinListDao.insert(vinList), "insertVinList");
     }
 
-    public void deleteVinList(VinList vinList) {
-        databaseWriteExecutor.execute(() -> {
-            try {
-                vinListDao.delete(vinList);
-            } catch (Exception e) {
-                Log.e(TAG, "Error deleting VIN list", e);
-            }        });
+    /** Deletes a VIN list (and, by cascade, its entries) asynchronously. */
+    public ListenableFuture<Void> deleteVinList(VinList vinList) {
+        return submit(() -> vinListDao.delete(vinList), "deleteVinList");
     }
 
-    public void updateVinList(VinList vinList) {
-        databaseWriteExecutor.execute(() -> {
-            try {
-                vinListDao.update(vinList);
-            } catch (Exception e) {
-                Log.e(TAG, "Error updating VIN list", e);
-            }        });
+    /** Updates an existing VIN list asynchronously. */
+    public ListenableFuture<Void> updateVinList(VinList vinList) {
+        return submit(() -> vinListDao.update(vinList), "updateVinList");
     }
 
     public LiveData<List<VinList>> getAllVinLists() {
@@ -95,25 +98,98 @@ public class VinRepository {
     // VIN INFO OPERATIONS
     // ---------------------------------------------------------------------------------------------
 
-    /** Inserts a new VIN info entry and increments its parent list's VIN count. */
-    public void insertVinInfo(@NonNull VinInfo vinInfo) {
-        executeSafely(() -> {
-            vinInfoDao.insert(vinInfo);
-            vinInfoDao.incrementVinCount(vinInfo.getListId());
-        }, "insertVinInfo");
+    /**
+     * Inserts a new VIN info entry and increments its parent list's VIN count in one transaction.
+     *
+     * @return A future completing with the generated VIN info ID once the row is written.
+     */
+    public ListenableFuture<Long> insertVinInfo(@NonNull VinInfo vinInfo) {
+        return submitForResult(() -> vinInfoDao.insertAndIncrementCount(vinInfo), "insertVinInfo");
     }
 
-    /** Deletes a VIN info entry and decrements its parent list's VIN count. */
-    public void deleteVinInfo(@NonNull VinInfo vinInfo) {
-        executeSafely(() -> {
-            vinInfoDao.delete(vinInfo);
-            vinInfoDao.decrementVinCount(vinInfo.getListId());
-        }, "deleteVinInfo");
+    /**
+     * Queues a scanned VIN info entry on the write-behind buffer, which group-commits
+     * scans (and their list count updates) instead of writing each one separately.
+     *
+     * @return A future completing with the generated VIN info ID once the scan's group is committed.
+     * @see ScanWriteBuffer
+     */
+    public ListenableFuture<Long> insertScannedVinInfo(@NonNull VinInfo vinInfo) {
+        return scanWriteBuffer.enqueue(vinInfo);
+    }
+
+    /**
+     * Commits any buffered scans immediately.
+     *
+     * @return A future completing once the buffered scans are written.
+     */
+    public ListenableFuture<Void> flushScannedVinInfos() {
+        return scanWriteBuffer.flush();
+    }
+
+    /** Deletes a VIN info entry and decrements its parent list's VIN count in one transaction. */
+    public ListenableFuture<Void> deleteVinInfo(@NonNull VinInfo vinInfo) {
+        return deleteVinInfo(vinInfo.getId(), vinInfo.getListId());
+    }
+
+    /** Deletes a VIN info entry by ID and decrements its parent list's VIN count in one transaction. */
+    public ListenableFuture<Void> deleteVinInfo(int id, int listId) {
+        return submit(() -> vinInfoDao.deleteByIdAndDecrementCount(id, listId), "deleteVinInfo");
+    }
+
+    /**
+     * Deletes a batch of VIN info entries of one list in a single transaction
+     * and refreshes the list's VIN count once.
+     */
+    public ListenableFuture<Void> deleteVinInfos(@NonNull List<Integer> ids, int listId) {
+        if (ids.isEmpty()) return completedFuture();
+        return submit(() -> vinInfoDao.deleteByIdsAndRefreshCount(ids, listId), "deleteVinInfos");
+    }
+
+    /**
+     * Moves a batch of VIN info entries to another list in a single transaction
+     * and refreshes the VIN counts of both lists.
+     */
+    public ListenableFuture<Void> moveVinInfos(@NonNull List<Integer> ids, int sourceListId, int targetListId) {
+        if (ids.isEmpty() || sourceListId == targetListId) return completedFuture();
+        return submit(() -> vinInfoDao.moveByIdsAndRefreshCounts(ids, sourceListId, targetListId),
+                "moveVinInfos");
+    }
+
+    /**
+     * Sets the row letter and/or space number of a batch of VIN info entries
+     * in a single transaction.
+     */
+    public ListenableFuture<Void> updateVinInfoLocations(@NonNull List<Integer> ids, boolean setRowLetter, String rowLetter,
+                                                         boolean setSpaceNumber, String spaceNumber) {
+        if (ids.isEmpty() || (!setRowLetter && !setSpaceNumber)) return completedFuture();
+        return submit(() -> vinInfoDao.updateLocationForIds(ids, setRowLetter, rowLetter,
+                setSpaceNumber, spaceNumber), "updateVinInfoLocations");
+    }
+
+    /**
+     * Writes only the edited columns of a VIN info entry with a single narrow UPDATE.
+     *
+     * @param id              The VIN info ID.
+     * @param locationChanged Whether row letter and space number should be written.
+     * @param notesChanged    Whether notes should be written.
+     */
+    public ListenableFuture<Void> updateVinInfoFields(int id, boolean locationChanged, String rowLetter, String spaceNumber,
+                                                      boolean notesChanged, String extraNotes) {
+        if (locationChanged && notesChanged) {
+            return submit(() -> vinInfoDao.updateLocationAndNotes(id, rowLetter, spaceNumber, extraNotes),
+                    "updateLocationAndNotes");
+        } else if (locationChanged) {
+            return submit(() -> vinInfoDao.updateLocation(id, rowLetter, spaceNumber), "updateLocation");
+        } else if (notesChanged) {
+            return submit(() -> vinInfoDao.updateNotes(id, extraNotes), "updateNotes");
+        }
+        return completedFuture();
     }
 
     /** Updates an existing VIN info entry. */
-    public void updateVinInfo(@NonNull VinInfo vinInfo) {
-        executeSafely(() -> vinInfoDao.update(vinInfo), "updateVinInfo");
+    public ListenableFuture<Void> updateVinInfo(@NonNull VinInfo vinInfo) {
+        return submit(() -> vinInfoDao.update(vinInfo), "updateVinInfo");
     }
 
     /** Retrieves all VIN info entries for a specific list. */
@@ -121,30 +197,84 @@ public class VinRepository {
         return vinInfoDao.getVinInfoForList(listId);
     }
 
+    /** Retrieves the display columns of all VIN info entries for a specific list. */
+    public LiveData<List<VinInfoItem>> getVinInfoItemsForList(int listId) {
+        return vinInfoDao.getVinInfoItemsForList(listId);
+    }
+
     /** Retrieves a single VIN info entry by its ID. */
     public LiveData<VinInfo> getVinInfoById(int id) {
         return vinInfoDao.getVinInfoById(id);
     }
 
+    /** Retrieves all VIN info entries for a list, most recently scanned first. */
+    public LiveData<List<VinInfo>> getVinInfoForListByRecency(int listId) {
+        return vinInfoDao.getVinInfoForListByRecency(listId);
+    }
+
+    /** Retrieves all VIN info entries scanned in [fromMillis, toMillis). */
+    public LiveData<List<VinInfo>> getVinInfoScannedBetween(long fromMillis, long toMillis) {
+        return vinInfoDao.getVinInfoScannedBetween(fromMillis, toMillis);
+    }
+
+    /** Retrieves the VIN info entries of a list scanned in [fromMillis, toMillis). */
+    public LiveData<List<VinInfo>> getVinInfoForListScannedBetween(int listId, long fromMillis, long toMillis) {
+        return vinInfoDao.getVinInfoForListScannedBetween(listId, fromMillis, toMillis);
+    }
+
+    /** Counts the VINs scanned in [fromMillis, toMillis). */
+    public LiveData<Integer> countVinInfoScannedBetween(long fromMillis, long toMillis) {
+        return vinInfoDao.countVinInfoScannedBetween(fromMillis, toMillis);
+    }
+
 
     // ---------------------------------------------------------------------------------------------
     // UTILITY
     // ---------------------------------------------------------------------------------------------
 
     /**
-     * Safely executes a database operation in a background thread.
-     * Logs any thrown exceptions for debugging.
+     * Executes a database operation without a result in a background thread.
+     *
+     * @param action    Runnable database task.
+     * @param operation Descriptive operation name for log clarity.
+     * @return A future completing (with null) once the write has been applied.
+     * @see #submitForResult(Callable, String)
+     */
+    private ListenableFuture<Void> submit(@NonNull Runnable action, @NonNull String operation) {
+        return submitForResult(() -> {
+            action.run();
+            return null;
+        }, operation);
+    }
+
+    /**
+     * Executes a database operation in a background thread and exposes its result.
+     * Failures are logged and delivered to the caller as a {@link DatabaseWriteException}
+     * through the returned future.
      *
-     * @param action      Runnable database task.
-     * @param operation   Descriptive operation name for log clarity.
+     * @param task      Callable database task.
+     * @param operation Descriptive operation name for log clarity.
+     * @return A future completing with the task's result once it has been applied.
      */
-    private void executeSafely(@NonNull Runnable action, @NonNull String operation) {
-        databaseWriteExecutor.execute(() -> {
-            try {
-                action.run();
-            } catch (Exception e) {
-                Log.e(TAG, "Database error during " + operation, e);
-            }
+    private <T> ListenableFuture<T> submitForResult(@NonNull Callable<T> task, @NonNull String operation) {
+        return CallbackToFutureAdapter.getFuture(completer -> {
+            databaseWriteExecutor.execute(() -> {
+                try {
+                    completer.set(task.call());
+                } catch (Exception e) {
+                    Log.e(TAG, "Database error during " + operation, e);
+                    completer.setException(DatabaseWriteException.from(operation, e));
+                }
+            });
+            return operation;
+        });
+    }
+
+    /** @return An already-completed future for writes that turn out to be no-ops. */
+    private static ListenableFuture<Void> completedFuture() {
+        return CallbackToFutureAdapter.getFuture(completer -> {
+            completer.set(null);
+            return "noop";
         });
     }
 }
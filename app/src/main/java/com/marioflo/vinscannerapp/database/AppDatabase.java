@@ -6,12 +6,13 @@ import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
 import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.marioflo.vinscannerapp.data.dao.VinInfoDao;
 import com.marioflo.vinscannerapp.data.dao.VinListDao;
-import com.marioflo.vinscannerapp.entities.VinInfo;
-import com.marioflo.vinscannerapp.entities.VinList;
+import com.marioflo.vinscannerapp.data.entities.VinInfo;
+import com.marioflo.vinscannerapp.data.entities.VinList;
 
 /**
  * Central Room database for the VIN Scanner application.
@@ -28,7 +29,7 @@ import com.marioflo.vinscannerapp.entities.VinList;
  * </ul>
  * </p>
  */
-@Database(entities = {VinList.class, VinInfo.class}, version = 5)
+@Database(entities = {VinList.class, VinInfo.class}, version = 7)
 public abstract class AppDatabase extends RoomDatabase {
 
     public abstract VinListDao vinListDao();
@@ -50,6 +51,7 @@ public abstract class AppDatabase extends RoomDatabase {
                 if (INSTANCE == null) {
                     INSTANCE = Room.databaseBuilder(context.getApplicationContext(),
                             AppDatabase.class, "vin_database")
+                            .addMigrations(MIGRATION_5_6, MIGRATION_6_7)
                             .fallbackToDestructiveMigration()
                             .build();
                 }
@@ -58,6 +60,39 @@ public abstract class AppDatabase extends RoomDatabase {
         return INSTANCE;
     }
 
+    // ---------------------------------------------------------------------------------------------
+    // MIGRATIONS
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Version 6 adds per-scan metadata to {@code vin_info} (scan time, detection source,
+     * detection latency and confidence) and indexes {@code scannedAt} for range queries.
+     * Existing rows keep {@code scannedAt = 0} and a null source.
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE vin_info ADD COLUMN scannedAt INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE vin_info ADD COLUMN detectionSource TEXT");
+            db.execSQL("ALTER TABLE vin_info ADD COLUMN detectionLatencyMs INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE vin_info ADD COLUMN detectionConfidence REAL");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_vin_info_scannedAt ON vin_info (scannedAt)");
+        }
+    };
+
+    /**
+     * Version 7 replaces the single-column {@code listId} index with {@code (listId, scannedAt)},
+     * so per-list queries ordered or filtered by scan time are served by the index instead of
+     * a temporary sort. The composite index still covers the foreign key lookups on {@code listId}.
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS index_vin_info_listId");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_vin_info_listId_scannedAt ON vin_info (listId, scannedAt)");
+        }
+    };
+
     // ---------------------------------------------------------------------------------------------
     // OPTIONAL: DATABASE CALLBACK (e.g., for initial seeding or logging)
     // ---------------------------------------------------------------------------------------------
@@ -0,0 +1,113 @@
+package com.marioflo.vinscannerapp.metrics;
+
+import android.os.Debug;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap allocation and GC statistics for one camera scanning session.
+ * <p>
+ * Samples ART's cumulative runtime counters ({@link Debug#getRuntimeStat}) when the session
+ * starts and when it ends, and reports the difference: bytes allocated (total, per minute and
+ * per analyzed frame), GC count and time, and blocking GCs, which are the ones that stall the
+ * analysis and UI threads. A live session is reported against its start, so a 10-minute run
+ * can be watched on the scan metrics screen and is logged when the camera closes.
+ * </p>
+ */
+public final class AllocationMonitor {
+
+    private static final String TAG = "AllocationMonitor";
+
+    private static final String STAT_BYTES_ALLOCATED = "art.gc.bytes-allocated";
+    private static final String STAT_GC_COUNT = "art.gc.gc-count";
+    private static final String STAT_GC_TIME = "art.gc.gc-time";
+    private static final String STAT_BLOCKING_GC_COUNT = "art.gc.blocking-gc-count";
+    private static final String STAT_BLOCKING_GC_TIME = "art.gc.blocking-gc-time";
+
+    private static final AtomicLong framesAnalyzed = new AtomicLong();
+
+    private static Snapshot sessionStart;
+    private static String lastSessionReport = "";
+
+    private AllocationMonitor() {
+    }
+
+    /** Starts a session, e.g. when the camera screen comes to the foreground. */
+    public static synchronized void startSession() {
+        framesAnalyzed.set(0);
+        sessionStart = Snapshot.take();
+    }
+
+    /** Counts one analyzed camera frame. Lock-free; call from the analysis thread. */
+    public static void onFrameAnalyzed() {
+        framesAnalyzed.incrementAndGet();
+    }
+
+    /**
+     * Ends the session and logs its report.
+     *
+     * @param details Extra lines for the report, e.g. frame pool statistics; may be empty.
+     */
+    public static synchronized void endSession(String details) {
+        if (sessionStart == null) return;
+        lastSessionReport = format("last session", sessionStart, Snapshot.take()) + details;
+        sessionStart = null;
+        Log.i(TAG, lastSessionReport);
+    }
+
+    /** @return The running session's report, or the last finished one. */
+    public static synchronized String formatReport() {
+        if (sessionStart != null) {
+            return format("current session", sessionStart, Snapshot.take());
+        }
+        return lastSessionReport.isEmpty() ? "allocations: no camera session yet\n" : lastSessionReport;
+    }
+
+    private static String format(String title, Snapshot start, Snapshot end) {
+        double minutes = Math.max(1, end.uptimeMs - start.uptimeMs) / 60_000.0;
+        long bytes = end.bytesAllocated - start.bytesAllocated;
+        long frames = framesAnalyzed.get();
+        return String.format(Locale.US,
+                "allocations (%s, %.1f min, %d frames):%n"
+                        + "  allocated %.1f MB, %.1f MB/min, %s/frame%n"
+                        + "  gc %d (%d ms), blocking gc %d (%d ms)%n",
+                title, minutes, frames,
+                bytes / 1e6, bytes / 1e6 / minutes, frames > 0 ? (bytes / frames) + " B" : "-",
+                end.gcCount - start.gcCount, end.gcTimeMs - start.gcTimeMs,
+                end.blockingGcCount - start.blockingGcCount, end.blockingGcTimeMs - start.blockingGcTimeMs);
+    }
+
+    /** Cumulative runtime counters at one instant. */
+    private static final class Snapshot {
+        long uptimeMs;
+        long bytesAllocated;
+        long gcCount;
+        long gcTimeMs;
+        long blockingGcCount;
+        long blockingGcTimeMs;
+
+        static Snapshot take() {
+            Snapshot snapshot = new Snapshot();
+            snapshot.uptimeMs = SystemClock.elapsedRealtime();
+            snapshot.bytesAllocated = stat(STAT_BYTES_ALLOCATED);
+            snapshot.gcCount = stat(STAT_GC_COUNT);
+            snapshot.gcTimeMs = stat(STAT_GC_TIME);
+            snapshot.blockingGcCount = stat(STAT_BLOCKING_GC_COUNT);
+            snapshot.blockingGcTimeMs = stat(STAT_BLOCKING_GC_TIME);
+            return snapshot;
+        }
+
+        private static long stat(String name) {
+            String value = Debug.getRuntimeStat(name);
+            if (value == null) return 0;
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+    }
+}
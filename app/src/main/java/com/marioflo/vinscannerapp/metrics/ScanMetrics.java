@@ -0,0 +1,123 @@
+package com.marioflo.vinscannerapp.metrics;
+
+import android.os.Build;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Process-wide latency metrics for the scan pipeline.
+ * <p>
+ * Call sites take a timestamp with {@link #now()} when a stage starts and call
+ * {@link #recordSince(ScanStage, long)} when it ends. Every stage has its own
+ * {@link LatencyHistogram}, created up front, so recording never allocates or locks.
+ * The report is shown on {@code ScanMetricsActivity} and can be dumped to a file
+ * for tuning devices in the field.
+ * </p>
+ */
+public final class ScanMetrics {
+
+    private static final Map<ScanStage, LatencyHistogram> HISTOGRAMS = new EnumMap<>(ScanStage.class);
+
+    static {
+        for (ScanStage stage : ScanStage.values()) {
+            HISTOGRAMS.put(stage, new LatencyHistogram());
+        }
+    }
+
+    private ScanMetrics() {
+    }
+
+    /** @return Monotonic timestamp in nanoseconds, to be passed to {@link #recordSince}. */
+    public static long now() {
+        return SystemClock.elapsedRealtimeNanos();
+    }
+
+    /**
+     * Records the time elapsed since a timestamp from {@link #now()}.
+     *
+     * @param stage      The stage that just finished.
+     * @param startNanos Timestamp taken when the stage started.
+     */
+    public static void recordSince(@NonNull ScanStage stage, long startNanos) {
+        HISTOGRAMS.get(stage).recordNanos(now() - startNanos);
+    }
+
+    /**
+     * Records a duration measured elsewhere.
+     *
+     * @param stage The stage that finished.
+     * @param nanos Its duration in nanoseconds.
+     */
+    public static void record(@NonNull ScanStage stage, long nanos) {
+        HISTOGRAMS.get(stage).recordNanos(nanos);
+    }
+
+    /**
+     * @param stage The stage to inspect.
+     * @return The live histogram of the stage.
+     */
+    public static LatencyHistogram get(@NonNull ScanStage stage) {
+        return HISTOGRAMS.get(stage);
+    }
+
+    /** Clears all histograms. */
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Formats every stage as a fixed-width table (count, p50, p95, p99, max, mean in ms).
+     *
+     * @return The human-readable report.
+     */
+    public static String formatReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.US, "%-15s %6s %8s %8s %8s %8s %8s%n",
+                "stage", "count", "p50", "p95", "p99", "max", "mean"));
+        for (ScanStage stage : ScanStage.values()) {
+            LatencyHistogram h = HISTOGRAMS.get(stage);
+            report.append(String.format(Locale.US, "%-15s %6d %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    stage.name(), h.getCount(),
+                    h.getPercentileMillis(50), h.getPercentileMillis(95), h.getPercentileMillis(99),
+                    h.getMaxMillis(), h.getMeanMillis()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report, prefixed with a timestamp and device model, to a new file.
+     *
+     * @param directory Directory to write into (created if missing).
+     * @return The written file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static File dumpToFile(@NonNull File directory) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.US).format(new Date());
+        File file = new File(directory, "scan_metrics_" + stamp + ".txt");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write("# " + stamp + " " + Build.MANUFACTURER + " " + Build.MODEL
+                    + " (API " + Build.VERSION.SDK_INT + ")\n");
+            writer.write("# latencies in milliseconds\n");
+            writer.write(formatReport());
+        }
+        return file;
+    }
+}
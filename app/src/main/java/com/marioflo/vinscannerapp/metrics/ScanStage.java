@@ -0,0 +1,28 @@
+package com.marioflo.vinscannerapp.metrics;
+
+/**
+ * Timed stages of a single scan, from shutter press to the stored row.
+ * Each stage owns one {@link LatencyHistogram} in {@link ScanMetrics}.
+ */
+public enum ScanStage {
+    /** Shutter press until the captured JPEG is written. */
+    CAPTURE,
+    /** Decoding a small luma preview of the captured file for the quality gate. */
+    PREVIEW_DECODE,
+    /** Scoring the luma preview for blur, brightness and contrast, and hashing it for dedup. */
+    QUALITY_GATE,
+    /** Loading the captured file into an ML Kit input image. */
+    DECODE,
+    /** ML Kit barcode detection. */
+    BARCODE_DETECT,
+    /** ML Kit text recognition (only runs when no VIN barcode is found). */
+    OCR_DETECT,
+    /** Checking detector output against the VIN format. */
+    VALIDATE,
+    /** Details dialog shown until the user confirms it. */
+    DIALOG,
+    /** Insert requested until the write is acknowledged. */
+    DB_COMMIT,
+    /** Shutter press until the write is acknowledged, dialog time included. */
+    END_TO_END
+}
@@ -0,0 +1,43 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import android.content.Context;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.PowerManager;
+
+import com.marioflo.vinscannerapp.core.capture.DeviceStatusProvider;
+
+/**
+ * Reads thermal status from {@link PowerManager} (Android 10 and later; reported as no
+ * throttling before that) and battery state from {@link BatteryManager}.
+ */
+class AndroidDeviceStatus implements DeviceStatusProvider {
+
+    private final PowerManager powerManager;
+    private final BatteryManager batteryManager;
+
+    AndroidDeviceStatus(Context context) {
+        Context appContext = context.getApplicationContext();
+        powerManager = (PowerManager) appContext.getSystemService(Context.POWER_SERVICE);
+        batteryManager = (BatteryManager) appContext.getSystemService(Context.BATTERY_SERVICE);
+    }
+
+    @Override
+    public int getThermalStatus() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q || powerManager == null) return THERMAL_NONE;
+        return powerManager.getCurrentThermalStatus();
+    }
+
+    @Override
+    public int getBatteryPercent() {
+        if (batteryManager == null) return 100;
+        int percent = batteryManager.getIntProperty(BatteryManager.BATTERY_PROPERTY_CAPACITY);
+        // Integer.MIN_VALUE when the property is not supported
+        return percent < 0 ? 100 : percent;
+    }
+
+    @Override
+    public boolean isCharging() {
+        return batteryManager != null && batteryManager.isCharging();
+    }
+}
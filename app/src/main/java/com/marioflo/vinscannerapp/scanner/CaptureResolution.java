@@ -0,0 +1,124 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+import android.util.Size;
+
+import androidx.camera.core.ImageCapture;
+import androidx.camera.core.resolutionselector.AspectRatioStrategy;
+import androidx.camera.core.resolutionselector.ResolutionSelector;
+
+import com.marioflo.vinscannerapp.core.capture.AdaptiveResolution;
+import com.marioflo.vinscannerapp.core.capture.CalibrationProfile;
+import com.marioflo.vinscannerapp.core.capture.PowerLevel;
+import com.marioflo.vinscannerapp.core.capture.ResolutionStrategy;
+
+/**
+ * Process-wide capture resolution settings for {@code CameraActivity}.
+ * <p>
+ * Wraps an {@link AdaptiveResolution} whose strategy is persisted in the scanner debug
+ * preferences (default {@link ResolutionStrategy#ADAPTIVE}), and builds {@link ImageCapture}
+ * use cases for its current target size. Detectors only need about 1280 px across the VIN,
+ * so full-sensor captures mostly cost encode, decode and OCR time. A {@link DeviceCalibration}
+ * profile replaces the default starting size, and the {@link DeviceGovernor} level caps the
+ * size further when the device is hot or low on battery. Every scan outcome is
+ * logged with the size it was taken at; the per-size summary is shown on the scan metrics screen.
+ * </p>
+ */
+public final class CaptureResolution {
+
+    private static final String TAG = "CaptureResolution";
+    private static final String KEY_STRATEGY = "capture_resolution_strategy";
+
+    private static AdaptiveResolution controller;
+
+    private CaptureResolution() {
+    }
+
+    /**
+     * @return The shared controller, created on first use from the saved strategy and,
+     *         if the device was calibrated, the calibrated size.
+     */
+    public static synchronized AdaptiveResolution get(Context context) {
+        if (controller == null) {
+            controller = new AdaptiveResolution(loadStrategy(context));
+            CalibrationProfile profile = DeviceCalibration.getProfile(context);
+            if (profile != null) controller.setBaseLongSide(profile.getCaptureLongSide());
+        }
+        return controller;
+    }
+
+    /** Saves and applies a strategy; takes effect the next time the capture use case is built. */
+    public static void setStrategy(Context context, ResolutionStrategy strategy) {
+        prefs(context).edit().putString(KEY_STRATEGY, strategy.name()).apply();
+        get(context).setStrategy(strategy);
+    }
+
+    /**
+     * Builds a capture use case for the current target size, capped by the power level,
+     * tuned for shutter-to-result time.
+     *
+     * @param context        Any context.
+     * @param targetRotation Display rotation, so the saved image is upright for the detectors.
+     */
+    public static ImageCapture newImageCapture(Context context, int targetRotation) {
+        int longSide = DeviceGovernor.get(context).getLevel().capLongSide(get(context).getTargetLongSide());
+        androidx.camera.core.resolutionselector.ResolutionStrategy sizeStrategy = longSide == 0
+                ? androidx.camera.core.resolutionselector.ResolutionStrategy.HIGHEST_AVAILABLE_STRATEGY
+                // Bound sizes are in sensor (landscape) orientation
+                : new androidx.camera.core.resolutionselector.ResolutionStrategy(
+                        new Size(longSide, longSide * 3 / 4),
+                        androidx.camera.core.resolutionselector.ResolutionStrategy
+                                .FALLBACK_RULE_CLOSEST_LOWER_THEN_HIGHER);
+
+        ResolutionSelector selector = new ResolutionSelector.Builder()
+                .setAspectRatioStrategy(AspectRatioStrategy.RATIO_4_3_FALLBACK_AUTO_STRATEGY)
+                .setResolutionStrategy(sizeStrategy)
+                .build();
+
+        return new ImageCapture.Builder()
+                .setCaptureMode(ImageCapture.CAPTURE_MODE_MINIMIZE_LATENCY)
+                .setTargetRotation(targetRotation)
+                .setResolutionSelector(selector)
+                .build();
+    }
+
+    /**
+     * Records a scan outcome for the size its frame was captured at.
+     *
+     * @param context   Any context.
+     * @param longSide  Target long side when the frame was captured.
+     * @param actual    Size the camera delivered for that frame, or null if unknown.
+     * @param success   Whether a VIN was detected.
+     * @param latencyMs Time from shutter to result.
+     * @return Whether the size to capture at changed, after the power level's cap, and the
+     *         capture use case should be rebuilt.
+     */
+    public static boolean onScanResult(Context context, int longSide, Size actual, boolean success, long latencyMs) {
+        AdaptiveResolution resolution = get(context);
+        PowerLevel level = DeviceGovernor.get(context).getLevel();
+        int before = level.capLongSide(resolution.getTargetLongSide());
+        boolean changed = resolution.onScanResult(longSide, success, latencyMs);
+        int after = level.capLongSide(resolution.getTargetLongSide());
+        Log.d(TAG, "target " + AdaptiveResolution.describe(longSide)
+                + ", actual " + (actual != null ? actual : "unknown")
+                + ", " + (success ? "detected" : "missed") + " in " + latencyMs + " ms"
+                + (changed ? ", next target " + AdaptiveResolution.describe(resolution.getTargetLongSide()) : ""));
+        return after != before;
+    }
+
+    private static ResolutionStrategy loadStrategy(Context context) {
+        String saved = prefs(context).getString(KEY_STRATEGY, ResolutionStrategy.ADAPTIVE.name());
+        try {
+            return ResolutionStrategy.valueOf(saved);
+        } catch (IllegalArgumentException e) {
+            return ResolutionStrategy.ADAPTIVE;
+        }
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getApplicationContext()
+                .getSharedPreferences(ReplayCaptureRecorder.PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,131 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Rect;
+import android.media.ExifInterface;
+
+import com.marioflo.vinscannerapp.core.scanner.TextRegion;
+
+import com.google.mlkit.vision.common.InputImage;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A decoded capture: the bitmap as stored in the JPEG plus the rotation that makes it upright.
+ * <p>
+ * The frame type the ML Kit detectors work on. Keeping the bitmap (instead of only an
+ * {@link InputImage}) lets text recognition read a crop of it; regions are given in
+ * normalized upright coordinates and mapped onto the stored pixels here, so the bitmap
+ * itself is never rotated.
+ * </p>
+ */
+public final class CapturedImage {
+
+    private final Bitmap bitmap;
+    private final int rotationDegrees;
+    private InputImage fullImage;
+
+    private CapturedImage(Bitmap bitmap, int rotationDegrees) {
+        this.bitmap = bitmap;
+        this.rotationDegrees = rotationDegrees;
+    }
+
+    /**
+     * Decodes a captured JPEG and reads its EXIF orientation.
+     *
+     * @throws IOException If the file cannot be read or decoded.
+     */
+    public static CapturedImage decode(File imageFile) throws IOException {
+        String path = imageFile.getAbsolutePath();
+        Bitmap bitmap = BitmapFactory.decodeFile(path);
+        if (bitmap == null) throw new IOException("Cannot decode " + path);
+        return new CapturedImage(bitmap, rotationOf(new ExifInterface(path)));
+    }
+
+    /**
+     * Wraps an upright bitmap, e.g. a rendered calibration sample.
+     */
+    public static CapturedImage fromBitmap(Bitmap bitmap) {
+        return new CapturedImage(bitmap, 0);
+    }
+
+    /** @return The whole capture as an ML Kit input, created once. */
+    public InputImage toInputImage() {
+        if (fullImage == null) {
+            fullImage = InputImage.fromBitmap(bitmap, rotationDegrees);
+        }
+        return fullImage;
+    }
+
+    public Bitmap getBitmap() {
+        return bitmap;
+    }
+
+    public int getRotationDegrees() {
+        return rotationDegrees;
+    }
+
+    /** @return Width of the capture as the user sees it. */
+    public int getUprightWidth() {
+        return isSideways() ? bitmap.getHeight() : bitmap.getWidth();
+    }
+
+    /** @return Height of the capture as the user sees it. */
+    public int getUprightHeight() {
+        return isSideways() ? bitmap.getWidth() : bitmap.getHeight();
+    }
+
+    private boolean isSideways() {
+        return rotationDegrees == 90 || rotationDegrees == 270;
+    }
+
+    /**
+     * Maps a region in normalized upright coordinates onto the stored bitmap's pixels.
+     *
+     * @return The pixel rectangle, clipped to the bitmap; empty if the region is.
+     */
+    public Rect toBitmapRect(TextRegion region) {
+        float u0 = region.getLeft();
+        float u1 = region.getRight();
+        float v0 = region.getTop();
+        float v1 = region.getBottom();
+        float x0;
+        float x1;
+        float y0;
+        float y1;
+        switch (rotationDegrees) {
+            case 90:
+                x0 = v0; x1 = v1; y0 = 1 - u1; y1 = 1 - u0;
+                break;
+            case 180:
+                x0 = 1 - u1; x1 = 1 - u0; y0 = 1 - v1; y1 = 1 - v0;
+                break;
+            case 270:
+                x0 = 1 - v1; x1 = 1 - v0; y0 = u0; y1 = u1;
+                break;
+            default:
+                x0 = u0; x1 = u1; y0 = v0; y1 = v1;
+                break;
+        }
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        return new Rect(
+                Math.max(0, (int) (x0 * width)), Math.max(0, (int) (y0 * height)),
+                Math.min(width, (int) Math.ceil(x1 * width)), Math.min(height, (int) Math.ceil(y1 * height)));
+    }
+
+    private static int rotationOf(ExifInterface exif) {
+        switch (exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL)) {
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                return 90;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                return 180;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                return 270;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.marioflo.vinscannerapp.core.capture.CalibrationProfile;
+import com.marioflo.vinscannerapp.core.scanner.ScanResult;
+import com.marioflo.vinscannerapp.core.scanner.VinScanEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Device performance calibration: picks the capture size and frames in flight for this device.
+ * <p>
+ * Sample VIN labels are rendered with {@link Canvas} at each capture size of the resolution
+ * ladder, framed the same way at every size so smaller captures have fewer pixels per character,
+ * like a plate seen from arm's length. The ML Kit detectors run on them with one, two and three
+ * frames at once; {@link CalibrationProfile#choose} turns the reads and latencies into a profile,
+ * which is saved in the scanner preferences and applied to {@link CaptureResolution} and
+ * {@link VinScanner}. Runs once on first launch and again on request from the scan metrics screen.
+ * Takes several seconds; detection runs on a background thread.
+ * </p>
+ */
+public final class DeviceCalibration {
+
+    private static final String TAG = "DeviceCalibration";
+    private static final String KEY_PROFILE = "calibration_profile";
+
+    /** Receives the outcome of a run on the main thread. */
+    public interface Listener {
+        void onCalibrated(CalibrationProfile profile);
+        void onCalibrationFailed(String message);
+    }
+
+    // Valid sample VINs, each drawn at its own label width (fraction of the frame width)
+    private static final String[] SAMPLE_VINS = {"1HGCM82633A004352", "1M8GDM9AXKP042788", "JH4KA7561PC008269"};
+    private static final float[] SAMPLE_LABEL_WIDTHS = {0.28f, 0.36f, 0.45f};
+
+    // Capture sizes and concurrency levels tried
+    private static final int[] LONG_SIDES = {1280, 1920, 2560};
+    private static final int[] CONCURRENCY = {1, 2, 3};
+
+    // Frames run per size and concurrency
+    private static final int FRAMES_PER_RUN = 6;
+
+    private static final ExecutorService runner =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "calibration"));
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private static volatile boolean running;
+    private static volatile String lastMeasurements;
+
+    private DeviceCalibration() {
+    }
+
+    /** @return The saved profile, or null if this device has not been calibrated. */
+    public static CalibrationProfile getProfile(Context context) {
+        return CalibrationProfile.decode(prefs(context).getString(KEY_PROFILE, null));
+    }
+
+    public static boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Calibrates if no profile is saved yet.
+     *
+     * @param listener Receives the outcome; may be null.
+     */
+    public static void runIfNeeded(Context context, Listener listener) {
+        if (getProfile(context) == null) run(context, listener);
+    }
+
+    /**
+     * Starts a calibration run unless one is already going; the profile is saved and applied
+     * when it finishes.
+     *
+     * @param listener Receives the outcome; may be null.
+     */
+    public static synchronized void run(Context context, Listener listener) {
+        if (running) return;
+        running = true;
+        final Context appContext = context.getApplicationContext();
+        runner.execute(() -> {
+            CalibrationProfile profile;
+            try {
+                profile = measure();
+            } catch (Exception e) {
+                Log.w(TAG, "Calibration failed", e);
+                running = false;
+                if (listener != null) mainHandler.post(() -> listener.onCalibrationFailed(e.getMessage()));
+                return;
+            }
+            Log.d(TAG, "Calibrated: " + profile);
+            mainHandler.post(() -> {
+                prefs(appContext).edit().putString(KEY_PROFILE, profile.encode()).apply();
+                apply(appContext, profile);
+                running = false;
+                if (listener != null) listener.onCalibrated(profile);
+            });
+        });
+    }
+
+    /** Applies a profile to the capture size and the scan pipeline. */
+    public static void apply(Context context, CalibrationProfile profile) {
+        CaptureResolution.get(context).setBaseLongSide(profile.getCaptureLongSide());
+        VinScanner.setCalibration(profile);
+    }
+
+    /** @return The saved profile and the measurements of the last run in this process. */
+    public static String formatReport(Context context) {
+        CalibrationProfile profile = getProfile(context);
+        StringBuilder out = new StringBuilder("calibration: ")
+                .append(running ? "running" : profile != null ? profile.toString() : "not calibrated")
+                .append('\n');
+        if (lastMeasurements != null) out.append(lastMeasurements);
+        return out.toString();
+    }
+
+    /** Runs every size and concurrency level and chooses the profile. Calibration thread only. */
+    private static CalibrationProfile measure() throws Exception {
+        MlKitBarcodeDetector barcodeDetector = new MlKitBarcodeDetector();
+        MlKitTextDetector textDetector = new MlKitTextDetector();
+        List<CalibrationProfile.Measurement> measurements = new ArrayList<>();
+
+        for (int longSide : LONG_SIDES) {
+            List<CapturedImage> samples = new ArrayList<>(SAMPLE_VINS.length);
+            for (int i = 0; i < SAMPLE_VINS.length; i++) {
+                samples.add(CapturedImage.fromBitmap(renderSample(SAMPLE_VINS[i], SAMPLE_LABEL_WIDTHS[i], longSide)));
+            }
+            try {
+                // Warm-up, so model loading is not timed
+                new VinScanEngine<>(barcodeDetector, textDetector).scan(samples.get(0));
+                for (int concurrency : CONCURRENCY) {
+                    measurements.add(measureRun(barcodeDetector, textDetector, samples, longSide, concurrency));
+                }
+            } finally {
+                for (CapturedImage sample : samples) {
+                    sample.getBitmap().recycle();
+                }
+            }
+        }
+
+        lastMeasurements = CalibrationProfile.formatMeasurements(measurements);
+        CalibrationProfile profile = CalibrationProfile.choose(measurements);
+        if (profile == null) throw new IllegalStateException("No measurements");
+        return profile;
+    }
+
+    /** Runs {@link #FRAMES_PER_RUN} frames, {@code concurrency} at a time. */
+    private static CalibrationProfile.Measurement measureRun(MlKitBarcodeDetector barcodeDetector,
+                                                             MlKitTextDetector textDetector,
+                                                             List<CapturedImage> samples,
+                                                             int longSide, int concurrency) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            long start = SystemClock.elapsedRealtime();
+            List<Future<long[]>> frames = new ArrayList<>(FRAMES_PER_RUN);
+            for (int i = 0; i < FRAMES_PER_RUN; i++) {
+                final int sample = i % samples.size();
+                frames.add(pool.submit(() -> {
+                    // Engines hold voting state, so each frame gets its own
+                    long frameStart = SystemClock.elapsedRealtime();
+                    ScanResult result = new VinScanEngine<>(barcodeDetector, textDetector).scan(samples.get(sample));
+                    boolean read = result != null && SAMPLE_VINS[sample].equals(result.getVinCode());
+                    return new long[]{SystemClock.elapsedRealtime() - frameStart, read ? 1 : 0};
+                }));
+            }
+
+            long[] latencies = new long[FRAMES_PER_RUN];
+            int reads = 0;
+            for (int i = 0; i < FRAMES_PER_RUN; i++) {
+                long[] frame = frames.get(i).get();
+                latencies[i] = frame[0];
+                reads += (int) frame[1];
+            }
+            long wallTimeMs = SystemClock.elapsedRealtime() - start;
+            Arrays.sort(latencies);
+            return new CalibrationProfile.Measurement(longSide, concurrency, FRAMES_PER_RUN, reads,
+                    latencies[FRAMES_PER_RUN / 2], wallTimeMs);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Draws a VIN label on a dashboard-gray background, slightly tilted, in an upright
+     * 3:4 frame with the given long side.
+     */
+    static Bitmap renderSample(String vin, float labelWidthFraction, int longSide) {
+        int width = longSide * 3 / 4;
+        int height = longSide;
+        // Gray content only, so 16-bit pixels lose nothing and halve the memory
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
+        Canvas canvas = new Canvas(bitmap);
+        canvas.drawColor(Color.rgb(110, 106, 100));
+
+        Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        textPaint.setColor(Color.BLACK);
+        textPaint.setTypeface(Typeface.create(Typeface.MONOSPACE, Typeface.BOLD));
+        textPaint.setTextSize(100f);
+        float textWidth = width * labelWidthFraction;
+        textPaint.setTextSize(100f * textWidth / textPaint.measureText(vin));
+
+        Paint.FontMetrics metrics = textPaint.getFontMetrics();
+        float textHeight = metrics.descent - metrics.ascent;
+        float padding = textHeight * 0.5f;
+        float left = (width - textWidth) / 2;
+        float top = (height - textHeight) / 2;
+
+        Paint labelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        labelPaint.setColor(Color.rgb(235, 235, 230));
+        canvas.rotate(2f, width / 2f, height / 2f);
+        canvas.drawRoundRect(new RectF(left - padding, top - padding,
+                left + textWidth + padding, top + textHeight + padding), padding / 2, padding / 2, labelPaint);
+        canvas.drawText(vin, left, top - metrics.ascent, textPaint);
+        return bitmap;
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getApplicationContext()
+                .getSharedPreferences(ReplayCaptureRecorder.PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
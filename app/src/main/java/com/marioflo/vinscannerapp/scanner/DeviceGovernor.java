@@ -0,0 +1,30 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import android.content.Context;
+
+import com.marioflo.vinscannerapp.core.capture.PowerGovernor;
+
+/**
+ * Process-wide {@link PowerGovernor} reading this device's thermal and battery state.
+ * <p>
+ * {@code CameraActivity} polls it while scanning and applies its level to the analysis
+ * frame rate ({@link FrameAnalyzer}), the capture size ({@link CaptureResolution}) and the
+ * frames allowed in the scan pipeline ({@link VinScanner}). Its report is shown on the scan
+ * metrics screen.
+ * </p>
+ */
+public final class DeviceGovernor {
+
+    private static PowerGovernor governor;
+
+    private DeviceGovernor() {
+    }
+
+    /** @return The shared governor, created on first use. */
+    public static synchronized PowerGovernor get(Context context) {
+        if (governor == null) {
+            governor = new PowerGovernor(new AndroidDeviceStatus(context));
+        }
+        return governor;
+    }
+}
@@ -0,0 +1,115 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import androidx.annotation.NonNull;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+
+import com.marioflo.vinscannerapp.core.frame.LumaCropper;
+import com.marioflo.vinscannerapp.core.frame.LumaFrame;
+import com.marioflo.vinscannerapp.core.frame.LumaFramePool;
+import com.marioflo.vinscannerapp.metrics.AllocationMonitor;
+
+import java.util.Locale;
+
+/**
+ * CameraX analyzer that turns each preview frame into a pooled grayscale crop of the VIN area.
+ * <p>
+ * Only the Y plane is read. The region of interest is the horizontal band in the middle of
+ * the upright image where the user aims the VIN; it is cropped and, if needed, box-downscaled
+ * into a {@link LumaFrame} from a small {@link LumaFramePool}, and the {@link ImageProxy} is
+ * closed right away so the camera can reuse its buffer. Nothing is allocated per frame once
+ * the pool is warm. If every pooled frame is still held downstream, the camera frame is
+ * dropped. A minimum frame interval can be set to lower the analysis rate, e.g. when the
+ * device is hot; frames arriving sooner are closed without being read.
+ * </p>
+ */
+public class FrameAnalyzer implements ImageAnalysis.Analyzer {
+
+    /** Receives cropped frames on the analysis thread. */
+    public interface Listener {
+        /**
+         * @param frame Cropped frame. The listener owns it and must {@link LumaFrame#release()} it.
+         */
+        void onFrame(LumaFrame frame);
+    }
+
+    // VIN band in upright image coordinates: most of the width, a third of the height
+    private static final float ROI_WIDTH_FRACTION = 0.9f;
+    private static final float ROI_HEIGHT_FRACTION = 0.35f;
+
+    // Longest side handed downstream; detectors need about this much across a VIN
+    private static final int MAX_OUTPUT_LONG_SIDE = 1280;
+
+    // One frame being filled plus two held downstream
+    private static final int POOL_SIZE = 3;
+
+    private final LumaFramePool pool = new LumaFramePool(POOL_SIZE);
+    private final LumaCropper cropper = new LumaCropper();
+    private volatile Listener listener;
+    private volatile long minFrameIntervalNanos;
+
+    // Analysis-thread state
+    private long lastFrameNanos = Long.MIN_VALUE / 2;
+    private volatile long throttledFrames;
+
+    /** Sets the frame consumer; without one, frames are released immediately. */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /** Sets the shortest time between analyzed frames; 0 analyzes every frame. */
+    public void setMinFrameIntervalMs(long intervalMs) {
+        minFrameIntervalNanos = intervalMs * 1_000_000L;
+    }
+
+    @Override
+    public void analyze(@NonNull ImageProxy image) {
+        long timestamp = image.getImageInfo().getTimestamp();
+        if (timestamp - lastFrameNanos < minFrameIntervalNanos) {
+            throttledFrames++;
+            image.close();
+            return;
+        }
+        lastFrameNanos = timestamp;
+
+        LumaFrame frame;
+        try {
+            ImageProxy.PlaneProxy luma = image.getPlanes()[0];
+            int rotation = image.getImageInfo().getRotationDegrees();
+            boolean sideways = rotation == 90 || rotation == 270;
+
+            // Map the upright band onto sensor coordinates
+            int roiWidth = (int) (image.getWidth() * (sideways ? ROI_HEIGHT_FRACTION : ROI_WIDTH_FRACTION));
+            int roiHeight = (int) (image.getHeight() * (sideways ? ROI_WIDTH_FRACTION : ROI_HEIGHT_FRACTION));
+            int left = (image.getWidth() - roiWidth) / 2;
+            int top = (image.getHeight() - roiHeight) / 2;
+            int scale = LumaCropper.scaleFor(roiWidth, roiHeight, MAX_OUTPUT_LONG_SIDE);
+
+            frame = cropper.crop(luma.getBuffer(), luma.getRowStride(), luma.getPixelStride(),
+                    left, top, roiWidth, roiHeight, scale, pool);
+            if (frame != null) {
+                frame.setRotationDegrees(rotation);
+                frame.setTimestampNanos(image.getImageInfo().getTimestamp());
+            }
+        } finally {
+            image.close();
+        }
+        if (frame == null) return;
+
+        AllocationMonitor.onFrameAnalyzed();
+        Listener current = listener;
+        if (current != null) {
+            current.onFrame(frame);
+        } else {
+            frame.release();
+        }
+    }
+
+    /** @return Pool statistics for the allocation report. */
+    public String formatPoolStats() {
+        return String.format(Locale.US,
+                "  frame pool: %d frames, %d dropped, %d throttled, %d buffers (%.1f MB) allocated%n",
+                pool.getAcquiredCount(), pool.getExhaustedCount(), throttledFrames,
+                pool.getBufferAllocationCount(), pool.getBufferBytes() / 1e6);
+    }
+}
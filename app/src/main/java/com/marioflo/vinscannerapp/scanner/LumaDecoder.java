@@ -0,0 +1,85 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import com.marioflo.vinscannerapp.core.frame.LumaFrame;
+import com.marioflo.vinscannerapp.core.frame.LumaFramePool;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes a small grayscale preview of a captured JPEG for the frame quality gate.
+ * <p>
+ * The JPEG is decoded at a power-of-two sample size (done inside the JPEG decoder, so it is
+ * much cheaper than a full decode) into a reused bitmap, and converted to luma in a pooled
+ * {@link LumaFrame}. Not thread-safe; use from the decode stage only.
+ * </p>
+ */
+class LumaDecoder {
+
+    // Long side the quality statistics are computed at
+    private static final int TARGET_LONG_SIDE = 480;
+
+    private final LumaFramePool pool = new LumaFramePool(1);
+    private final BitmapFactory.Options bounds = new BitmapFactory.Options();
+    private final BitmapFactory.Options options = new BitmapFactory.Options();
+    private Bitmap reusable;
+    private int[] pixels = new int[0];
+
+    LumaDecoder() {
+        bounds.inJustDecodeBounds = true;
+        options.inMutable = true;
+    }
+
+    /**
+     * @param imageFile Captured JPEG.
+     * @return A luma frame the caller must release, or null if the file cannot be decoded.
+     */
+    LumaFrame decode(File imageFile) {
+        String path = imageFile.getAbsolutePath();
+        BitmapFactory.decodeFile(path, bounds);
+        int longSide = Math.max(bounds.outWidth, bounds.outHeight);
+        if (longSide <= 0) return null;
+
+        int sampleSize = 1;
+        while (longSide / (sampleSize * 2) >= TARGET_LONG_SIDE) {
+            sampleSize *= 2;
+        }
+        options.inSampleSize = sampleSize;
+        options.inBitmap = reusable;
+        Bitmap bitmap;
+        try {
+            bitmap = BitmapFactory.decodeFile(path, options);
+        } catch (IllegalArgumentException e) {
+            // The reusable bitmap is too small for this capture; decode into a new one
+            options.inBitmap = null;
+            bitmap = BitmapFactory.decodeFile(path, options);
+        }
+        if (bitmap == null) return null;
+        reusable = bitmap;
+
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        if (pixels.length < width * height) pixels = new int[width * height];
+        bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
+
+        LumaFrame frame = pool.acquire(width, height);
+        if (frame == null) return null;
+        try {
+            ByteBuffer out = frame.getData();
+            for (int i = 0; i < width * height; i++) {
+                int argb = pixels[i];
+                // BT.601 luma in integer arithmetic
+                int luma = (77 * ((argb >> 16) & 0xFF) + 150 * ((argb >> 8) & 0xFF) + 29 * (argb & 0xFF)) >> 8;
+                out.put(i, (byte) luma);
+            }
+        } catch (RuntimeException e) {
+            // The pool holds a single frame; losing it would disable the quality gate
+            frame.release();
+            throw e;
+        }
+        return frame;
+    }
+}
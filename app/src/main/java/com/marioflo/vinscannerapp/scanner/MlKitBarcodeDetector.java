@@ -0,0 +1,30 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import com.marioflo.vinscannerapp.core.scanner.BarcodeDetector;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.mlkit.vision.barcode.BarcodeScanner;
+import com.google.mlkit.vision.barcode.BarcodeScanning;
+import com.google.mlkit.vision.barcode.common.Barcode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapts ML Kit's barcode scanner to the core {@link BarcodeDetector} interface.
+ * Blocks on the ML Kit task, so it must be called off the main thread.
+ */
+public class MlKitBarcodeDetector implements BarcodeDetector<CapturedImage> {
+
+    private final BarcodeScanner scanner = BarcodeScanning.getClient();
+
+    @Override
+    public List<String> detectBarcodes(CapturedImage image) throws Exception {
+        List<Barcode> barcodes = Tasks.await(scanner.process(image.toInputImage()));
+        List<String> values = new ArrayList<>(barcodes.size());
+        for (Barcode barcode : barcodes) {
+            values.add(barcode.getRawValue());
+        }
+        return values;
+    }
+}
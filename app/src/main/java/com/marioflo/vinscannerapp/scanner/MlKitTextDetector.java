@@ -0,0 +1,72 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+import com.marioflo.vinscannerapp.core.scanner.RegionTextDetector;
+import com.marioflo.vinscannerapp.core.scanner.TextRegion;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.mlkit.vision.common.InputImage;
+import com.google.mlkit.vision.text.Text;
+import com.google.mlkit.vision.text.TextRecognition;
+import com.google.mlkit.vision.text.TextRecognizer;
+import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adapts ML Kit's Latin text recognizer to the core {@link RegionTextDetector} interface,
+ * copying its blocks into plain {@link RecognizedBlock}s with normalized bounds.
+ * Region reads run the recognizer on a crop of the capture, so their cost scales with the
+ * region's area. Blocks on the ML Kit task, so it must be called off the main thread.
+ */
+public class MlKitTextDetector implements RegionTextDetector<CapturedImage> {
+
+    private final TextRecognizer recognizer = TextRecognition.getClient(TextRecognizerOptions.DEFAULT_OPTIONS);
+
+    @Override
+    public List<RecognizedBlock> detectText(CapturedImage image) throws Exception {
+        Text text = Tasks.await(recognizer.process(image.toInputImage()));
+        return toRecognizedBlocks(text, image.getUprightWidth(), image.getUprightHeight(), TextRegion.FULL);
+    }
+
+    @Override
+    public List<RecognizedBlock> detectText(CapturedImage image, TextRegion region) throws Exception {
+        Rect rect = image.toBitmapRect(region);
+        if (rect.isEmpty()) return Collections.emptyList();
+
+        Bitmap crop = Bitmap.createBitmap(image.getBitmap(), rect.left, rect.top, rect.width(), rect.height());
+        int rotation = image.getRotationDegrees();
+        boolean sideways = rotation == 90 || rotation == 270;
+        Text text = Tasks.await(recognizer.process(InputImage.fromBitmap(crop, rotation)));
+        return toRecognizedBlocks(text,
+                sideways ? rect.height() : rect.width(), sideways ? rect.width() : rect.height(), region);
+    }
+
+    /**
+     * Copies ML Kit's text blocks into the plain structures used by the scanner core.
+     *
+     * @param width  Upright width of the image ML Kit read.
+     * @param height Upright height of the image ML Kit read.
+     * @param within Where that image lies in the full frame.
+     */
+    static List<RecognizedBlock> toRecognizedBlocks(Text text, int width, int height, TextRegion within) {
+        List<RecognizedBlock> blocks = new ArrayList<>(text.getTextBlocks().size());
+        for (Text.TextBlock block : text.getTextBlocks()) {
+            List<RecognizedBlock.Line> lines = new ArrayList<>(block.getLines().size());
+            for (Text.Line line : block.getLines()) {
+                lines.add(new RecognizedBlock.Line(line.getText(), line.getConfidence()));
+            }
+            Rect box = block.getBoundingBox();
+            TextRegion bounds = box == null ? null : within.mapFromCrop(new TextRegion(
+                    (float) box.left / width, (float) box.top / height,
+                    (float) box.right / width, (float) box.bottom / height));
+            blocks.add(new RecognizedBlock(block.getText(), lines, bounds));
+        }
+        return blocks;
+    }
+}
@@ -0,0 +1,198 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Log;
+
+import com.marioflo.vinscannerapp.core.scanner.replay.RecordedFrame;
+import com.marioflo.vinscannerapp.core.scanner.replay.RecordingDetector;
+import com.marioflo.vinscannerapp.core.scanner.replay.ReplayCorpus;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Debug capture mode: saves every scanned frame and its detector outputs into a replay corpus.
+ * <p>
+ * When enabled from the scan metrics screen, each frame processed by {@link VinScanner}
+ * is written as an anonymized JPEG (downscaled and re-encoded, which drops EXIF location,
+ * device and time tags) plus a {@link ReplayCorpus} entry with the barcode and OCR outputs
+ * and their latencies. A VIN the user confirms in the add dialog is appended as the frame's
+ * ground-truth label. Each {@code CameraActivity} launch starts a new session.
+ * </p>
+ * <p>
+ * The corpus lives in {@code Android/data/<package>/files/replay}: {@code corpus.txt} and
+ * {@code frames/<frameId>.jpg}. Pull it with adb and run {@code :benchmark:replay} on it.
+ * Files are written on a background thread.
+ * </p>
+ */
+public final class ReplayCaptureRecorder {
+
+    private static final String TAG = "ReplayCaptureRecorder";
+
+    // Shared by the scanner debug settings
+    static final String PREFS_NAME = "scanner_debug";
+    private static final String KEY_ENABLED = "record_replay_corpus";
+
+    private static final String CORPUS_DIR = "replay";
+    private static final String CORPUS_FILE = "corpus.txt";
+    private static final String FRAMES_DIR = "frames";
+
+    // Long side of saved frames; enough for OCR review, too small for incidental detail
+    private static final int MAX_FRAME_SIZE = 1280;
+    private static final int JPEG_QUALITY = 85;
+
+    private static final ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+
+    private static String sessionId = newSessionId();
+    private static boolean sessionWritten = false;
+    private static int frameCounter = 0;
+    private static String lastFrameId;
+
+    private ReplayCaptureRecorder() {
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // SETTINGS
+    // ---------------------------------------------------------------------------------------------
+
+    /** @return Whether debug capture is switched on. */
+    public static boolean isEnabled(Context context) {
+        return prefs(context).getBoolean(KEY_ENABLED, false);
+    }
+
+    /** Switches debug capture on or off. */
+    public static void setEnabled(Context context, boolean enabled) {
+        prefs(context).edit().putBoolean(KEY_ENABLED, enabled).apply();
+    }
+
+    /** @return The directory holding the corpus, or null if external storage is unavailable. */
+    public static File getCorpusDir(Context context) {
+        return context.getExternalFilesDir(CORPUS_DIR);
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // RECORDING
+    // ---------------------------------------------------------------------------------------------
+
+    /** Starts a new capture session; later frames are grouped under it. */
+    public static synchronized void startSession() {
+        sessionId = newSessionId();
+        sessionWritten = false;
+        frameCounter = 0;
+        lastFrameId = null;
+    }
+
+    /**
+     * Records the frame just scanned. Call on the scan thread right after the scan, while the
+     * image file and the recorder still describe that frame.
+     *
+     * @param context   Any context.
+     * @param imageFile The scanned image.
+     * @param outputs   Recorder holding the frame's detector outputs.
+     */
+    public static void record(Context context, File imageFile, RecordingDetector<?> outputs) {
+        File dir = getCorpusDir(context);
+        if (dir == null) return;
+
+        final String session;
+        final boolean writeHeader;
+        final String frameId;
+        synchronized (ReplayCaptureRecorder.class) {
+            session = sessionId;
+            writeHeader = !sessionWritten;
+            sessionWritten = true;
+            frameId = String.format(Locale.US, "%s-%04d", sessionId, ++frameCounter);
+            lastFrameId = frameId;
+        }
+        final RecordedFrame frame = outputs.toRecordedFrame(frameId, null);
+        // Decode now: the capture file is overwritten by the next photo
+        final Bitmap anonymized = decodeDownscaled(imageFile);
+
+        writeExecutor.execute(() -> {
+            try {
+                if (anonymized != null) {
+                    saveJpeg(anonymized, new File(new File(dir, FRAMES_DIR), frameId + ".jpg"));
+                    anonymized.recycle();
+                }
+                try (Writer out = openCorpus(dir)) {
+                    if (writeHeader) ReplayCorpus.writeSession(out, session);
+                    ReplayCorpus.writeFrame(out, frame);
+                }
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to record frame " + frameId, e);
+            }
+        });
+    }
+
+    /**
+     * Labels the most recently recorded frame with the VIN the user confirmed.
+     * Does nothing if capture is off or no frame was recorded in this session.
+     */
+    public static void labelLastFrame(Context context, String vin) {
+        final String frameId;
+        synchronized (ReplayCaptureRecorder.class) {
+            frameId = lastFrameId;
+        }
+        File dir = getCorpusDir(context);
+        if (frameId == null || dir == null || !isEnabled(context)) return;
+
+        writeExecutor.execute(() -> {
+            try (Writer out = openCorpus(dir)) {
+                ReplayCorpus.writeLabel(out, frameId, vin);
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to label frame " + frameId, e);
+            }
+        });
+    }
+
+    private static Writer openCorpus(File dir) throws IOException {
+        return new OutputStreamWriter(new FileOutputStream(new File(dir, CORPUS_FILE), true),
+                StandardCharsets.UTF_8);
+    }
+
+    /** Decodes at a power-of-two sample size so the long side is at most {@link #MAX_FRAME_SIZE}. */
+    private static Bitmap decodeDownscaled(File imageFile) {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(imageFile.getAbsolutePath(), bounds);
+        int longSide = Math.max(bounds.outWidth, bounds.outHeight);
+        if (longSide <= 0) return null;
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = 1;
+        while (longSide / (options.inSampleSize * 2) >= MAX_FRAME_SIZE) {
+            options.inSampleSize *= 2;
+        }
+        return BitmapFactory.decodeFile(imageFile.getAbsolutePath(), options);
+    }
+
+    /** Re-encodes the pixels only, so no metadata from the original capture survives. */
+    private static void saveJpeg(Bitmap bitmap, File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, out);
+        }
+    }
+
+    private static String newSessionId() {
+        return "s" + System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,39 @@
+package com.marioflo.vinscannerapp.scanner;
+
+import android.util.Log;
+
+import com.marioflo.vinscannerapp.core.capture.LightingController;
+
+/**
+ * Process-wide torch and exposure compensation control for {@code CameraActivity}.
+ * <p>
+ * Holds the {@link LightingController} fed by the analysis frames of {@link FrameAnalyzer}.
+ * Every scan outcome is logged with the setting it was taken under; the per-setting summary
+ * is shown on the scan metrics screen.
+ * </p>
+ */
+public final class SceneLighting {
+
+    private static final String TAG = "SceneLighting";
+
+    private static final LightingController controller = new LightingController();
+
+    private SceneLighting() {
+    }
+
+    /** @return The shared controller. */
+    public static LightingController get() {
+        return controller;
+    }
+
+    /**
+     * Records a scan outcome under the torch and exposure setting it was captured with.
+     *
+     * @param setting The setting at shutter time, from {@link LightingController#getSetting()}.
+     * @param success Whether a VIN was detected.
+     */
+    public static void onScanResult(String setting, boolean success) {
+        controller.onScanResult(setting, success);
+        Log.d(TAG, setting + ": " + (success ? "detected" : "missed"));
+    }
+}
@@ -1,89 +1,411 @@
 package com.marioflo.vinscannerapp.scanner;
 
 import android.content.Context;
-import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
 
-import com.google.mlkit.vision.barcode.BarcodeScanner;
-import com.google.mlkit.vision.barcode.BarcodeScanning;
-import com.google.mlkit.vision.barcode.common.Barcode;
-import com.google.mlkit.vision.common.InputImage;
-import com.google.mlkit.vision.text.Text;
-import com.google.mlkit.vision.text.TextRecognition;
-import com.google.mlkit.vision.text.TextRecognizer;
-import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
+import com.marioflo.vinscannerapp.core.capture.AutoZoomController;
+import com.marioflo.vinscannerapp.core.capture.CalibrationProfile;
+import com.marioflo.vinscannerapp.core.capture.FocusController;
+import com.marioflo.vinscannerapp.core.frame.DifferenceHash;
+import com.marioflo.vinscannerapp.core.frame.LumaFrame;
+import com.marioflo.vinscannerapp.core.scanner.FrameDeduplicator;
+import com.marioflo.vinscannerapp.core.scanner.FrameQuality;
+import com.marioflo.vinscannerapp.core.scanner.FrameQualityGate;
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+import com.marioflo.vinscannerapp.core.scanner.ScanResult;
+import com.marioflo.vinscannerapp.core.scanner.TextRegion;
+import com.marioflo.vinscannerapp.core.scanner.TextRegionTracker;
+import com.marioflo.vinscannerapp.core.scanner.VinCandidateExtractor;
+import com.marioflo.vinscannerapp.core.scanner.VinScanEngine;
+import com.marioflo.vinscannerapp.core.scanner.VinVoter;
+import com.marioflo.vinscannerapp.core.scanner.replay.RecordingDetector;
+import com.marioflo.vinscannerapp.metrics.ScanMetrics;
+import com.marioflo.vinscannerapp.metrics.ScanStage;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
- * VinScanner handles VIN detection from images using ML Kit's Barcode Scanner
- * and Text Recognition APIs. It validates VINs using regex (17-character alphanumeric
- * format without I, O, Q) and returns results via a callback interface.
+ * VinScanner detects VINs in captured images.
+ * <p>
+ * It is a thin Android facade over the platform-independent {@link VinScanEngine},
+ * run as a staged pipeline. Each stage has its own single-thread executor with a bounded
+ * queue, so a slow stage pushes back instead of piling up frames:
+ * </p>
+ * <ol>
+ *     <li>decode: a {@link FrameQualityGate} check on a small luma preview, which drops
+ *     blurry, dark or flat captures before any detector runs, and a {@link FrameDeduplicator}
+ *     check that skips near-copies of a capture that just failed; then the image file to
+ *     a {@link CapturedImage};</li>
+ *     <li>detect: {@link MlKitBarcodeDetector} first, {@link MlKitTextDetector} as a fallback
+ *     (ML Kit calls block here, so their results never reach the main thread). A
+ *     {@link TextRegionTracker} follows the VIN's text block across captures, so text
+ *     recognition reads only that region until it is lost. An {@link AutoZoomController}
+ *     measures the VIN's character height in the same output and asks for a zoom change
+ *     when it is too small (or large) to read well, and a {@link FocusController} asks for
+ *     focus and metering on the candidate's region (or the guide band), rate-limited;</li>
+ *     <li>validate: candidate extraction, correction and voting in the engine.</li>
+ * </ol>
+ * <p>
+ * Capture runs before this on the camera executor, and persistence after it on the
+ * {@code ScanWriteBuffer} thread. Only the final callback is posted to the main thread.
+ * A frame that finds a full queue, or arrives while the power level's limit of frames in
+ * flight is reached (see {@link DeviceGovernor} and {@link DeviceCalibration}), is rejected with a "busy" error. Each result carries its
+ * detection source, latency and confidence, and stage times are recorded in
+ * {@link ScanMetrics}. A stage that throws fails its frame with an error instead of
+ * losing it, so the frame always leaves the in-flight count. The detectors are wrapped in a {@link RecordingDetector} so that,
+ * in debug capture mode, every frame and its detector outputs can be saved by
+ * {@link ReplayCaptureRecorder}.
+ * </p>
  */
 public class VinScanner {
 
     private static final String TAG = "VinScanner";
 
     public interface Callback {
-        void onVinDetected(String vinCode);
+        void onVinDetected(ScanResult result);
+        /** The detectors ran on the capture and found no VIN. */
+        void onNoVin();
+        /** The capture could not be scanned, e.g. the pipeline was busy or the image unreadable. */
         void onError(String message);
+        /** The capture failed the quality gate; no detector ran on it. */
+        void onFrameRejected(FrameQuality quality);
+        /** The capture looks like a recent one that had no VIN; no detector ran on it. */
+        void onDuplicateFrame();
+        /** The VIN text was too small or too large; the camera should move to this zoom ratio. */
+        void onZoomRequested(float zoomRatio);
+        /** The camera should focus and meter on this region, in normalized upright frame coordinates. */
+        void onFocusRequested(TextRegion region);
     }
 
+    // Frames allowed to wait in front of each stage
+    private static final int DECODE_QUEUE_CAPACITY = 2;
+    private static final int DETECT_QUEUE_CAPACITY = 2;
+    private static final int VALIDATE_QUEUE_CAPACITY = 4;
+
+    // One thread per stage: the detectors and the voter are each confined to their stage
+    private static final ExecutorService decodeExecutor = newStageExecutor("scan-decode", DECODE_QUEUE_CAPACITY);
+    private static final ExecutorService detectExecutor = newStageExecutor("scan-detect", DETECT_QUEUE_CAPACITY);
+    private static final ExecutorService validateExecutor = newStageExecutor("scan-validate", VALIDATE_QUEUE_CAPACITY);
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Frames between processImage and their final callback
+    private static final AtomicInteger framesInFlight = new AtomicInteger();
+    private static volatile int powerFramesInFlight = Integer.MAX_VALUE;
+    private static volatile int calibratedFramesInFlight = Integer.MAX_VALUE;
+
+    // Decode-stage state
+    private static final FrameQualityGate qualityGate = new FrameQualityGate();
+    private static final LumaDecoder lumaDecoder = new LumaDecoder();
+    private static final FrameDeduplicator deduplicator = new FrameDeduplicator();
+
+    // Detect-stage state
+    private static final TextRegionTracker regionTracker = new TextRegionTracker();
+    private static final AutoZoomController autoZoom = new AutoZoomController();
+    private static final FocusController focusController = new FocusController();
+    private static RecordingDetector<CapturedImage> detectors;
+    private static VinScanEngine<CapturedImage> engine;
+
     /**
      * Processes an image file to detect a VIN code.
      * First tries barcode scanning, then text recognition as a fallback.
+     * May be called from any thread, e.g. directly from the camera executor.
      *
      * @param context  The context to access files and resources.
      * @param imageFile The image file to process.
-     * @param callback The callback interface for VIN detection or error.
+     * @param zoomRatio The camera's zoom ratio when the image was captured.
+     * @param clientCallback The callback interface for VIN detection or error, invoked on the main thread.
+     */
+    public static void processImage(Context context, File imageFile, float zoomRatio, Callback clientCallback) {
+        final long startTime = SystemClock.elapsedRealtime();
+        final Context appContext = context.getApplicationContext();
+        if (framesInFlight.incrementAndGet() > Math.min(powerFramesInFlight, calibratedFramesInFlight)) {
+            framesInFlight.decrementAndGet();
+            postError(clientCallback, "Scanner busy, try again");
+            return;
+        }
+        final Callback callback = new InFlightCallback(clientCallback);
+        submit(decodeExecutor, callback, () -> {
+            Long frameHash = null;
+            final long decodeStart = ScanMetrics.now();
+            LumaFrame preview = lumaDecoder.decode(imageFile);
+            ScanMetrics.recordSince(ScanStage.PREVIEW_DECODE, decodeStart);
+            // Without a preview the frame goes on to the detectors, which report their own error
+            if (preview != null) {
+                final long gateStart = ScanMetrics.now();
+                FrameQuality quality;
+                try {
+                    quality = qualityGate.evaluate(preview);
+                    if (quality.isAcceptable()) frameHash = DifferenceHash.compute(preview);
+                } finally {
+                    preview.release();
+                    ScanMetrics.recordSince(ScanStage.QUALITY_GATE, gateStart);
+                }
+                if (!quality.isAcceptable()) {
+                    mainHandler.post(() -> callback.onFrameRejected(quality));
+                    return;
+                }
+                if (deduplicator.isDuplicate(frameHash, SystemClock.elapsedRealtime())) {
+                    mainHandler.post(callback::onDuplicateFrame);
+                    return;
+                }
+            }
+
+            CapturedImage image;
+            try {
+                final long loadStart = ScanMetrics.now();
+                image = CapturedImage.decode(imageFile);
+                ScanMetrics.recordSince(ScanStage.DECODE, loadStart);
+            } catch (IOException e) {
+                postError(callback, "Failed to process image: " + e.getMessage());
+                return;
+            }
+            final Long hash = frameHash;
+            submit(detectExecutor, callback,
+                    () -> detect(appContext, imageFile, image, zoomRatio, startTime, hash, callback));
+        });
+    }
+
+    /**
+     * Starts a new scanning session: captures from an earlier session are no longer duplicates,
+     * the next text read covers the full frame and auto zoom starts from the widest ratio.
+     */
+    public static void startSession() {
+        deduplicator.clear();
+        regionTracker.reset();
+        autoZoom.reset();
+        focusController.reset();
+    }
+
+    /**
+     * Limits how many frames may be in the pipeline at once, from capture hand-off to the
+     * final callback. Frames beyond it are rejected as busy.
+     */
+    public static void setMaxFramesInFlight(int max) {
+        powerFramesInFlight = max;
+    }
+
+    /**
+     * Applies a device calibration profile: its frames-in-flight limit holds alongside the
+     * power level's, whichever is lower.
+     *
+     * @param profile The profile, or null for no calibrated limit.
      */
-    public static void processImage(Context context, File imageFile, Callback callback) {
+    public static void setCalibration(CalibrationProfile profile) {
+        calibratedFramesInFlight = profile != null ? profile.getMaxFramesInFlight() : Integer.MAX_VALUE;
+    }
+
+    /** @return The gate applied to every capture, for its pass/reject counters. */
+    public static FrameQualityGate getQualityGate() {
+        return qualityGate;
+    }
+
+    /** @return The near-duplicate filter applied to every capture, for its counters. */
+    public static FrameDeduplicator getDeduplicator() {
+        return deduplicator;
+    }
+
+    /** @return The tracker that narrows text recognition to the VIN's region, for its counters. */
+    public static TextRegionTracker getRegionTracker() {
+        return regionTracker;
+    }
+
+    /** @return The controller choosing the zoom ratio from the VIN's text height. */
+    public static AutoZoomController getAutoZoom() {
+        return autoZoom;
+    }
+
+    /** @return The controller rate-limiting automatic focus and metering actions. */
+    public static FocusController getFocusController() {
+        return focusController;
+    }
+
+    /**
+     * Detect stage: runs the detectors, records the frame if requested, hands off to validation.
+     * Text results also feed auto zoom and focus; a zoom change invalidates the tracked region
+     * and the last focus target, whose coordinates belong to the old field of view.
+     */
+    private static void detect(Context context, File imageFile, CapturedImage image, float zoomRatio,
+                               long startTime, Long frameHash, Callback callback) {
+        VinScanEngine.Detection detection;
         try {
-            InputImage image = InputImage.fromFilePath(context, Uri.fromFile(imageFile));
+            VinScanEngine<CapturedImage> scanEngine = engine();
+            detectors.beginFrame();
+            detection = scanEngine.detect(image);
+        } catch (Exception e) {
+            postError(callback, "Text recognition failed: " + e.getMessage());
+            recordFrame(context, imageFile);
+            return;
+        }
+        submit(validateExecutor, callback, () -> validate(detection, startTime, frameHash, callback));
+        if (!detection.isBarcodeHit()) {
+            if (autoZoom.onText(detection.getTextBlocks(), image.getUprightHeight(), zoomRatio)) {
+                regionTracker.reset();
+                focusController.reset();
+                float target = autoZoom.getTargetRatio();
+                mainHandler.post(() -> callback.onZoomRequested(target));
+            } else {
+                requestFocus(detection, callback);
+            }
+        }
+        recordFrame(context, imageFile);
+    }
 
-            // First try barcode scanning
-            BarcodeScanner scanner = BarcodeScanning.getClient();
-            scanner.process(image)
-                    .addOnSuccessListener(barcodes -> {
-                        for (Barcode barcode : barcodes) {
-                            String rawValue = barcode.getRawValue();
-                            if (isVin(rawValue)) {
-                                callback.onVinDetected(rawValue);
-                                return;
-                            }
-                        }
-                        // If no VIN barcode found, try text recognition
-                        recognizeText(image, callback);
-                    })
-                    .addOnFailureListener(e -> recognizeText(image, callback));
+    /** Asks for focus on the candidate's block, or on the guide band when there is none. */
+    private static void requestFocus(VinScanEngine.Detection detection, Callback callback) {
+        RecognizedBlock block = VinCandidateExtractor.findCandidateBlock(detection.getTextBlocks());
+        TextRegion target = focusController.request(block != null ? block.getBounds() : null,
+                SystemClock.elapsedRealtime());
+        if (target != null) mainHandler.post(() -> callback.onFocusRequested(target));
+    }
 
-        } catch (IOException e) {
-            callback.onError("Failed to process image: " + e.getMessage());
+    /**
+     * Validate stage: extraction, correction and voting; posts the outcome to the main thread.
+     * A miss is remembered so the same view is not scanned again right away.
+     */
+    private static void validate(VinScanEngine.Detection detection, long startTime, Long frameHash,
+                                 Callback callback) {
+        ScanResult result = engine.evaluate(detection);
+        if (result == null) {
+            if (frameHash != null) deduplicator.recordMiss(frameHash, SystemClock.elapsedRealtime());
+            mainHandler.post(callback::onNoVin);
+            return;
         }
+        // Report latency from the start of processing, including decode
+        ScanResult timed = new ScanResult(result.getVinCode(), result.getSource(),
+                SystemClock.elapsedRealtime() - startTime, result.getConfidence());
+        mainHandler.post(() -> callback.onVinDetected(timed));
     }
 
-    private static void recognizeText(InputImage image, Callback callback) {
-        TextRecognizer recognizer = TextRecognition.getClient(TextRecognizerOptions.DEFAULT_OPTIONS);
-        recognizer.process(image)
-                .addOnSuccessListener(result -> {
-                    for (Text.TextBlock block : result.getTextBlocks()) {
-                        String recognizedText = block.getText();
-                        if (isVin(recognizedText)) {
-                            callback.onVinDetected(recognizedText);
-                            return;
-                        }
-                    }
-                    callback.onError("No VIN detected");
-                })
-                .addOnFailureListener(e -> callback.onError("Text recognition failed: " + e.getMessage()));
+    /**
+     * Queues work on a stage, failing the frame if the stage is saturated or the work throws.
+     * Out of memory is caught too: a large capture can exhaust the heap without the rest of
+     * the app being in trouble, and the next, smaller capture should still get through.
+     */
+    private static void submit(ExecutorService stage, Callback callback, Runnable work) {
+        try {
+            stage.execute(() -> {
+                try {
+                    work.run();
+                } catch (RuntimeException | OutOfMemoryError e) {
+                    Log.e(TAG, "Scan stage failed", e);
+                    postError(callback, "Failed to process image: " + e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            postError(callback, "Scanner busy, try again");
+        }
     }
 
-    private static boolean isVin(String text) {
+    private static void postError(Callback callback, String message) {
+        mainHandler.post(() -> callback.onError(message));
+    }
 
-        // VIN regex: 17 characters, letters A-H, J-N, P-R, Z, digits 0-9
-        return text != null && text.length() == 17 && text.matches("[A-HJ-NPR-Z0-9]+");
+    /** Creates a single-thread stage executor whose queue holds at most {@code capacity} tasks. */
+    private static ExecutorService newStageExecutor(String name, int capacity) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), runnable -> new Thread(runnable, name),
+                new ThreadPoolExecutor.AbortPolicy());
     }
 
+    /**
+     * Lazily creates the engine, reusing the ML Kit clients across scans.
+     * First called on the detect thread, before any frame reaches validation.
+     */
+    private static synchronized VinScanEngine<CapturedImage> engine() {
+        if (engine == null) {
+            detectors = new RecordingDetector<>(new MlKitBarcodeDetector(), new MlKitTextDetector());
+            engine = new VinScanEngine<>(detectors, detectors, new VinVoter(1), VinScanner::recordStage,
+                    regionTracker);
+        }
+        return engine;
+    }
+
+    /** Saves the frame to the replay corpus when debug capture is on. Runs after the hand-off to validation. */
+    private static void recordFrame(Context context, File imageFile) {
+        if (ReplayCaptureRecorder.isEnabled(context)) {
+            ReplayCaptureRecorder.record(context, imageFile, detectors);
+        }
+    }
+
+    private static void recordStage(VinScanEngine.Stage stage, long nanos) {
+        switch (stage) {
+            case BARCODE_DETECT:
+                ScanMetrics.record(ScanStage.BARCODE_DETECT, nanos);
+                break;
+            case OCR_DETECT:
+                ScanMetrics.record(ScanStage.OCR_DETECT, nanos);
+                break;
+            case VALIDATE:
+                ScanMetrics.record(ScanStage.VALIDATE, nanos);
+                break;
+        }
+    }
+
+    /**
+     * Passes callbacks through, counting a frame out of the pipeline at its final callback.
+     * Only the first final callback is delivered: a stage that throws after handing its frame
+     * on reports an error, and the frame's later outcome must not count it out twice.
+     */
+    private static final class InFlightCallback implements Callback {
+
+        private final Callback delegate;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        InFlightCallback(Callback delegate) {
+            this.delegate = delegate;
+        }
+
+        private boolean finish() {
+            if (!finished.compareAndSet(false, true)) return false;
+            framesInFlight.decrementAndGet();
+            return true;
+        }
+
+        @Override
+        public void onVinDetected(ScanResult result) {
+            if (finish()) delegate.onVinDetected(result);
+        }
 
+        @Override
+        public void onNoVin() {
+            if (finish()) delegate.onNoVin();
+        }
+
+        @Override
+        public void onError(String message) {
+            if (finish()) delegate.onError(message);
+        }
+
+        @Override
+        public void onFrameRejected(FrameQuality quality) {
+            if (finish()) delegate.onFrameRejected(quality);
+        }
+
+        @Override
+        public void onDuplicateFrame() {
+            if (finish()) delegate.onDuplicateFrame();
+        }
+
+        @Override
+        public void onZoomRequested(float zoomRatio) {
+            delegate.onZoomRequested(zoomRatio);
+        }
+
+        @Override
+        public void onFocusRequested(TextRegion region) {
+            delegate.onFocusRequested(region);
+        }
+    }
 }
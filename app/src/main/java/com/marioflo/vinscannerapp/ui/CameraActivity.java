@@ -5,12 +5,17 @@ import android.content.Context;
 import android.graphics.PointF;
 import android.net.Uri;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.os.VibrationEffect;
 import android.os.Vibrator;
 import android.util.Log;
+import android.util.Size;
 import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.MotionEvent;
+import android.view.Surface;
 import android.view.View;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
@@ -24,12 +29,19 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.camera.core.Camera;
 import androidx.camera.core.CameraControl;
 import androidx.camera.core.CameraSelector;
+import androidx.camera.core.ExposureState;
 import androidx.camera.core.FocusMeteringAction;
+import androidx.camera.core.FocusMeteringResult;
+import androidx.camera.core.ImageAnalysis;
 import androidx.camera.core.ImageCapture;
 import androidx.camera.core.ImageCaptureException;
 import androidx.camera.core.MeteringPoint;
 import androidx.camera.core.MeteringPointFactory;
 import androidx.camera.core.Preview;
+import androidx.camera.core.ResolutionInfo;
+import androidx.camera.core.ZoomState;
+import androidx.camera.core.resolutionselector.ResolutionSelector;
+import androidx.camera.core.resolutionselector.ResolutionStrategy;
 import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.camera.view.PreviewView;
 import androidx.core.content.ContextCompat;
@@ -37,6 +49,23 @@ import androidx.lifecycle.ViewModelProvider;
 
 import com.marioflo.vinscannerapp.R;
 import com.marioflo.vinscannerapp.data.entities.VinInfo;
+import com.marioflo.vinscannerapp.data.repository.DatabaseWriteException;
+import com.marioflo.vinscannerapp.metrics.AllocationMonitor;
+import com.marioflo.vinscannerapp.metrics.ScanMetrics;
+import com.marioflo.vinscannerapp.metrics.ScanStage;
+import com.marioflo.vinscannerapp.core.capture.AutoZoomController;
+import com.marioflo.vinscannerapp.core.capture.FocusController;
+import com.marioflo.vinscannerapp.core.capture.LightingController;
+import com.marioflo.vinscannerapp.core.capture.PowerLevel;
+import com.marioflo.vinscannerapp.core.scanner.FrameQuality;
+import com.marioflo.vinscannerapp.core.scanner.ScanResult;
+import com.marioflo.vinscannerapp.core.scanner.TextRegion;
+import com.marioflo.vinscannerapp.scanner.CaptureResolution;
+import com.marioflo.vinscannerapp.scanner.DeviceCalibration;
+import com.marioflo.vinscannerapp.scanner.DeviceGovernor;
+import com.marioflo.vinscannerapp.scanner.FrameAnalyzer;
+import com.marioflo.vinscannerapp.scanner.ReplayCaptureRecorder;
+import com.marioflo.vinscannerapp.scanner.SceneLighting;
 import com.marioflo.vinscannerapp.scanner.VinScanner;
 import com.marioflo.vinscannerapp.viewmodel.VinViewModel;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -62,23 +91,53 @@ import java.util.concurrent.TimeUnit;
  * 1. Capturing VIN images using CameraX.
  * 2. Allowing touch-to-focus on the camera preview.
  * 3. Delegating VIN detection to VinScanner (ML Kit or custom logic).
- * 4. Displaying a dialog for adding additional info before saving.
+ * 4. Applying the zoom VinScanner asks for when the VIN text is too small to read.
+ * 5. Focusing and metering on the VIN candidate (or the guide band) when VinScanner asks.
+ * 6. Switching the torch and exposure compensation from the luminance of analysis frames.
+ * 7. Applying the device calibration profile and lowering the analysis rate, capture size and frames in flight when the device is hot or low on battery.
+ * 8. Displaying a dialog for adding additional info before saving.
  * <p>
  * Demonstrates CameraX usage, Android MVVM, and UI interactions for entry-level Android/ML roles.
  */
 public class CameraActivity extends AppCompatActivity {
 
     private static final String TAG = "CameraActivity";
+    // Capture files in rotation: the decode queue, the frame being decoded and the one being written
+    private static final int CAPTURE_FILE_COUNT = 4;
+    // Metering point size limits, as a fraction of the frame
+    private static final float MIN_METERING_SIZE = 0.1f;
+    private static final float MAX_METERING_SIZE = 0.5f;
+    // How often the power governor is polled while scanning
+    private static final long POWER_POLL_INTERVAL_MS = 5_000;
     private PreviewView previewView;
     private ImageCapture imageCapture;
+    private ProcessCameraProvider cameraProvider;
+    private CameraSelector cameraSelector;
     private ExecutorService cameraExecutor;
+    private ExecutorService analysisExecutor;
+    private final FrameAnalyzer frameAnalyzer = new FrameAnalyzer();
     private CameraControl cameraControl;
+    // Latest zoom reported by the camera; null until the camera is bound
+    private ZoomState zoomState;
     private Vibrator vibrator;
 
     private int listId;
     private VinViewModel vinViewModel;
     private boolean isDialogShown = false;
 
+    private int captureIndex;
+
+    private final Handler powerHandler = new Handler(Looper.getMainLooper());
+    private final Runnable powerPollTask = new Runnable() {
+        @Override
+        public void run() {
+            if (DeviceGovernor.get(CameraActivity.this).update(SystemClock.elapsedRealtime())) {
+                applyPowerLevel(true);
+            }
+            powerHandler.postDelayed(this, POWER_POLL_INTERVAL_MS);
+        }
+    };
+
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -91,13 +150,30 @@ public class CameraActivity extends AppCompatActivity {
         previewView = findViewById(R.id.previewView);
         Button captureButton = findViewById(R.id.captureButton);
         cameraExecutor = Executors.newSingleThreadExecutor();
+        analysisExecutor = Executors.newSingleThreadExecutor();
 
         listId = getIntent().getIntExtra("listId", -1);
+        ReplayCaptureRecorder.startSession();
+        VinScanner.startSession();
+        VinScanner.setCalibration(DeviceCalibration.getProfile(this));
         vinViewModel = new ViewModelProvider(this).get(VinViewModel.class);
 
         // Capture button click listener
         captureButton.setOnClickListener(v -> capturePhoto());
 
+        applyPowerLevel(false);
+
+        // Analysis frames drive the torch and exposure compensation
+        frameAnalyzer.setListener(frame -> {
+            boolean changed;
+            try {
+                changed = SceneLighting.get().onFrame(frame, SystemClock.elapsedRealtime());
+            } finally {
+                frame.release();
+            }
+            if (changed) runOnUiThread(this::applyLighting);
+        });
+
         startCamera();
 
         // Touch-to-focus support
@@ -131,16 +207,167 @@ public class CameraActivity extends AppCompatActivity {
      * @param cameraProvider ProcessCameraProvider instance
      */
     private void bindPreview(@NonNull ProcessCameraProvider cameraProvider) {
+        this.cameraProvider = cameraProvider;
         Preview preview = new Preview.Builder().build();
-        CameraSelector cameraSelector = new CameraSelector.Builder()
+        cameraSelector = new CameraSelector.Builder()
                 .requireLensFacing(CameraSelector.LENS_FACING_BACK)
                 .build();
 
-        imageCapture = new ImageCapture.Builder().build();
+        // Sized by the capture resolution strategy instead of the full-sensor default
+        imageCapture = CaptureResolution.newImageCapture(this, displayRotation());
         preview.setSurfaceProvider(previewView.getSurfaceProvider());
 
-        Camera camera = cameraProvider.bindToLifecycle(this, cameraSelector, preview, imageCapture);
+        // Live preview frames, cropped to the VIN area into pooled buffers
+        ImageAnalysis imageAnalysis = new ImageAnalysis.Builder()
+                .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST)
+                .setOutputImageFormat(ImageAnalysis.OUTPUT_IMAGE_FORMAT_YUV_420_888)
+                .setResolutionSelector(new ResolutionSelector.Builder()
+                        .setResolutionStrategy(new ResolutionStrategy(new Size(1280, 960),
+                                ResolutionStrategy.FALLBACK_RULE_CLOSEST_LOWER_THEN_HIGHER))
+                        .build())
+                .build();
+        imageAnalysis.setAnalyzer(analysisExecutor, frameAnalyzer);
+
+        Camera camera = cameraProvider.bindToLifecycle(this, cameraSelector, preview, imageCapture, imageAnalysis);
         cameraControl = camera.getCameraControl(); // Initialize the CameraControl
+        camera.getCameraInfo().getZoomState().observe(this, state -> {
+            zoomState = state;
+            VinScanner.getAutoZoom().setZoomRange(state.getMinZoomRatio(), state.getMaxZoomRatio());
+        });
+        requestGuideFocus();
+
+        LightingController lighting = SceneLighting.get();
+        lighting.reset();
+        lighting.setTorchAvailable(camera.getCameraInfo().hasFlashUnit());
+        ExposureState exposure = camera.getCameraInfo().getExposureState();
+        if (exposure.isExposureCompensationSupported()) {
+            lighting.setExposureRange(exposure.getExposureCompensationRange().getLower(),
+                    exposure.getExposureCompensationRange().getUpper());
+        } else {
+            lighting.setExposureRange(0, 0);
+        }
+    }
+
+    /**
+     * Apply the power governor's level to the analysis rate and the scan pipeline.
+     *
+     * @param rebind whether to rebuild the capture use case for the level's size cap
+     */
+    private void applyPowerLevel(boolean rebind) {
+        PowerLevel level = DeviceGovernor.get(this).getLevel();
+        Log.d(TAG, "Power level " + level);
+        frameAnalyzer.setMinFrameIntervalMs(level.getMinFrameIntervalMs());
+        VinScanner.setMaxFramesInFlight(level.getMaxFramesInFlight());
+        if (rebind) rebindImageCapture();
+    }
+
+    /** Apply the torch and exposure compensation the lighting controller chose. */
+    private void applyLighting() {
+        if (cameraControl == null) return;
+        LightingController lighting = SceneLighting.get();
+        cameraControl.enableTorch(lighting.isTorchOn());
+        cameraControl.setExposureCompensationIndex(lighting.getExposureIndex());
+    }
+
+    /**
+     * Replace the capture use case after the resolution strategy picked a new size.
+     * The preview stays bound, so the viewfinder keeps running.
+     */
+    private void rebindImageCapture() {
+        if (cameraProvider == null || imageCapture == null) return;
+        cameraProvider.unbind(imageCapture);
+        imageCapture = CaptureResolution.newImageCapture(this, displayRotation());
+        Camera camera = cameraProvider.bindToLifecycle(this, cameraSelector, imageCapture);
+        cameraControl = camera.getCameraControl();
+    }
+
+    /** Rotation of the preview's display, or natural orientation before it is attached. */
+    private int displayRotation() {
+        return previewView.getDisplay() != null ? previewView.getDisplay().getRotation() : Surface.ROTATION_0;
+    }
+
+    /**
+     * Feed a scan outcome to the resolution strategy, rebinding if it changed the size
+     * to capture at, and to the lighting statistics.
+     *
+     * @param capture the capture the outcome belongs to
+     * @param success whether a VIN was detected
+     */
+    private void onScanOutcome(CaptureInfo capture, boolean success) {
+        SceneLighting.onScanResult(capture.lightingSetting, success);
+        long latencyMs = (ScanMetrics.now() - capture.shutterNanos) / 1_000_000;
+        if (CaptureResolution.onScanResult(this, capture.targetLongSide, capture.actualSize, success, latencyMs)) {
+            rebindImageCapture();
+        }
+    }
+
+    /**
+     * Move the lens to the zoom ratio auto zoom asked for, then refocus on the guide band.
+     *
+     * @param ratio target zoom ratio
+     */
+    private void applyZoom(float ratio) {
+        if (cameraControl == null || zoomState == null) return;
+        cameraControl.setLinearZoom(AutoZoomController.toLinearZoom(
+                ratio, zoomState.getMinZoomRatio(), zoomState.getMaxZoomRatio()))
+                .addListener(this::requestGuideFocus, ContextCompat.getMainExecutor(this));
+    }
+
+    /** Focus on the guide band if the focus controller allows an action now. */
+    private void requestGuideFocus() {
+        TextRegion target = VinScanner.getFocusController().request(null, SystemClock.elapsedRealtime());
+        if (target != null) focusOnRegion(target);
+    }
+
+    /**
+     * Focus and meter on a frame region; the outcome goes back to the focus controller.
+     *
+     * @param region region in normalized upright frame coordinates
+     */
+    private void focusOnRegion(TextRegion region) {
+        FocusController controller = VinScanner.getFocusController();
+        MeteringPointFactory factory = previewView.getMeteringPointFactory();
+        if (factory == null || cameraControl == null || previewView.getWidth() == 0 || previewView.getHeight() == 0) {
+            controller.onResult(false, SystemClock.elapsedRealtime());
+            return;
+        }
+
+        // The preview fills the view with the frame (FILL_CENTER), cropping the longer axis
+        float viewWidth = previewView.getWidth();
+        float viewHeight = previewView.getHeight();
+        float aspect = uprightFrameAspect();
+        float shownWidth = Math.max(viewWidth, viewHeight * aspect);
+        float shownHeight = Math.max(viewHeight, viewWidth / aspect);
+        float x = (viewWidth - shownWidth) / 2 + region.getCenterX() * shownWidth;
+        float y = (viewHeight - shownHeight) / 2 + region.getCenterY() * shownHeight;
+        float size = Math.max(MIN_METERING_SIZE,
+                Math.min(MAX_METERING_SIZE, Math.max(region.getWidth(), region.getHeight())));
+        MeteringPoint meteringPoint = factory.createPoint(x, y, size);
+
+        FocusMeteringAction action = new FocusMeteringAction.Builder(meteringPoint,
+                FocusMeteringAction.FLAG_AF | FocusMeteringAction.FLAG_AE)
+                .setAutoCancelDuration(3, TimeUnit.SECONDS)
+                .build();
+        ListenableFuture<FocusMeteringResult> result = cameraControl.startFocusAndMetering(action);
+        result.addListener(() -> {
+            boolean focused;
+            try {
+                focused = result.get().isFocusSuccessful();
+            } catch (ExecutionException | InterruptedException e) {
+                // Cancelled by a newer action or a zoom change
+                focused = false;
+            }
+            controller.onResult(focused, SystemClock.elapsedRealtime());
+        }, ContextCompat.getMainExecutor(this));
+    }
+
+    /** Width over height of the upright capture, 3:4 until the camera reports its size. */
+    private float uprightFrameAspect() {
+        ResolutionInfo info = imageCapture != null ? imageCapture.getResolutionInfo() : null;
+        if (info == null) return 3f / 4f;
+        Size size = info.getResolution();
+        boolean sideways = info.getRotationDegrees() == 90 || info.getRotationDegrees() == 270;
+        return sideways ? (float) size.getHeight() / size.getWidth() : (float) size.getWidth() / size.getHeight();
     }
 
     /**
@@ -153,6 +380,8 @@ public class CameraActivity extends AppCompatActivity {
         if (previewView.getMeteringPointFactory() == null || cameraControl == null) {
             return;
         }
+        // The operator picked a spot; keep automatic focus from overriding it for a while
+        VinScanner.getFocusController().onManualFocus(SystemClock.elapsedRealtime());
 
         // Convert touch coordinates to metering point
         MeteringPointFactory factory = previewView.getMeteringPointFactory();
@@ -171,8 +400,17 @@ public class CameraActivity extends AppCompatActivity {
     /** Capture & process **/
     private void capturePhoto() {
         if (imageCapture == null) return;
-
-        File file = new File(getFilesDir(), "VIN_capture.jpg");
+        ResolutionInfo resolutionInfo = imageCapture.getResolutionInfo();
+        final CaptureInfo capture = new CaptureInfo(ScanMetrics.now(),
+                CaptureResolution.get(this).getTargetLongSide(),
+                resolutionInfo != null ? resolutionInfo.getResolution() : null,
+                SceneLighting.get().getSetting());
+        // Auto zoom measures text against the zoom the frame was taken at
+        final float zoomRatio = zoomState != null ? zoomState.getZoomRatio() : 1f;
+
+        // Rotate files so a capture never overwrites one still queued in the scan pipeline
+        captureIndex = (captureIndex + 1) % CAPTURE_FILE_COUNT;
+        File file = new File(getFilesDir(), "VIN_capture_" + captureIndex + ".jpg");
         ImageCapture.OutputFileOptions options =
                 new ImageCapture.OutputFileOptions.Builder(file).build();
 
@@ -180,7 +418,9 @@ public class CameraActivity extends AppCompatActivity {
                 new ImageCapture.OnImageSavedCallback() {
                     @Override
                     public void onImageSaved(@NonNull ImageCapture.OutputFileResults output) {
-                        runOnUiThread(() -> processImage(file));
+                        ScanMetrics.recordSince(ScanStage.CAPTURE, capture.shutterNanos);
+                        // Hand off from the capture stage straight to the scan pipeline
+                        processImage(file, zoomRatio, capture);
                     }
 
                     @Override
@@ -195,42 +435,100 @@ public class CameraActivity extends AppCompatActivity {
 
     /**
      * Process captured image and detect VIN.
+     * Called on the camera executor; the callbacks arrive on the main thread.
      *
-     * @param file captured image file
+     * @param file      captured image file
+     * @param zoomRatio camera zoom ratio at capture time
+     * @param capture   what the image was captured with
      */
-    private void processImage(File file) {
-        VinScanner.processImage(this, file, new VinScanner.Callback() {
+    private void processImage(File file, float zoomRatio, CaptureInfo capture) {
+        VinScanner.processImage(this, file, zoomRatio, new VinScanner.Callback() {
             @Override
-            public void onVinDetected(String vinCode) {
-                handleVinCode(vinCode);
+            public void onVinDetected(ScanResult result) {
+                onScanOutcome(capture, true);
+                handleVinCode(result, capture.shutterNanos);
+            }
+
+            @Override
+            public void onNoVin() {
+                onScanOutcome(capture, false);
+                Toast.makeText(CameraActivity.this, "No VIN detected", Toast.LENGTH_SHORT).show();
             }
 
             @Override
             public void onError(String message) {
+                // Busy or unreadable: says nothing about the resolution or lighting
                 Toast.makeText(CameraActivity.this, message, Toast.LENGTH_SHORT).show();
             }
+
+            @Override
+            public void onFrameRejected(FrameQuality quality) {
+                // Not a resolution problem, so the resolution strategy is left alone
+                Log.d(TAG, "Capture rejected: " + quality);
+                Toast.makeText(CameraActivity.this, rejectionHint(quality), Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onDuplicateFrame() {
+                Toast.makeText(CameraActivity.this,
+                        "Same view as the last try, move or change the angle", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onZoomRequested(float zoomRatio) {
+                applyZoom(zoomRatio);
+            }
+
+            @Override
+            public void onFocusRequested(TextRegion region) {
+                focusOnRegion(region);
+            }
         });
     }
 
 
+    /**
+     * Tell the user how to fix a capture the quality gate rejected.
+     *
+     * @param quality the gate's verdict
+     * @return a short hint
+     */
+    private static String rejectionHint(FrameQuality quality) {
+        switch (quality.getVerdict()) {
+            case TOO_DARK:
+                return "Too dark, add light and try again";
+            case TOO_BRIGHT:
+                return "Too much glare, change the angle and try again";
+            case LOW_CONTRAST:
+                return "VIN not visible, move closer and try again";
+            default:
+                return "Image blurry, hold steady and try again";
+        }
+    }
+
     /**
      * Handle a detected VIN by showing a dialog to add details.
      *
-     * @param vinCode detected VIN
-     */    private void handleVinCode(String vinCode) {
-        Log.d(TAG, "VIN detected: " + vinCode);
+     * @param result       detected VIN with its scan metadata
+     * @param shutterNanos shutter time of its capture, for end-to-end scan metrics
+     */    private void handleVinCode(ScanResult result, long shutterNanos) {
+        Log.d(TAG, "VIN detected: " + result);
 
         // Show a dialog to get additional information before adding the VinInfo
-        showVinInfoDialog(vinCode);
+        showVinInfoDialog(result, shutterNanos);
     }
 
     /**
      * Display a dialog to input VIN details before saving to database.
      *
-     * @param vinCode detected VIN
+     * @param result       detected VIN with its scan metadata
+     * @param shutterNanos shutter time of its capture, for end-to-end scan metrics
      */
-    private void showVinInfoDialog(String vinCode) {
+    private void showVinInfoDialog(ScanResult result, long shutterNanos) {
+        String vinCode = result.getVinCode();
         if (isDialogShown) return; // If a dialog is already shown, do nothing
+        final long scanStartNanos = shutterNanos;
+        final long dialogStartNanos = ScanMetrics.now();
 
         isDialogShown = true; // Set the flag to true when the dialog is about to be shown
 
@@ -262,15 +560,35 @@ public class CameraActivity extends AppCompatActivity {
         dialog.setCancelable(false);
 
         addButton.setOnClickListener(v -> {
+            ScanMetrics.recordSince(ScanStage.DIALOG, dialogStartNanos);
+            // The user confirmed this VIN, so it is the ground truth for the recorded frame
+            ReplayCaptureRecorder.labelLastFrame(this, vinCode);
             VinInfo vinInfo = new VinInfo(vinCode, listId);
             vinInfo.setRowLetter(getSpinnerValue(rowLetterSpinner));
             vinInfo.setSpaceNumber(getSpinnerValue(spaceNumberSpinner));
             vinInfo.setExtraNotes(getEditTextValue(notesEditText));
+            vinInfo.setDetectionSource(result.getSource());
+            vinInfo.setDetectionLatencyMs(result.getLatencyMs());
+            vinInfo.setDetectionConfidence(result.getConfidence());
 
-            vinViewModel.insertVinInfo(vinInfo);
+            final long commitStartNanos = ScanMetrics.now();
+            ListenableFuture<Long> insertFuture = vinViewModel.insertScannedVinInfo(vinInfo);
             dialog.dismiss();
-            showSuccessToast();
             isDialogShown = false;
+
+            // Confirm only once the row is actually stored
+            insertFuture.addListener(() -> {
+                if (isFinishing() || isDestroyed()) return;
+                try {
+                    insertFuture.get();
+                    ScanMetrics.recordSince(ScanStage.DB_COMMIT, commitStartNanos);
+                    ScanMetrics.recordSince(ScanStage.END_TO_END, scanStartNanos);
+                    showSuccessToast();
+                } catch (ExecutionException | InterruptedException e) {
+                    Log.e(TAG, "Failed to save VIN " + vinCode, e);
+                    showSaveErrorToast(e.getCause());
+                }
+            }, ContextCompat.getMainExecutor(this));
         });
 
         cancelButton.setOnClickListener(v -> {
@@ -313,9 +631,79 @@ public class CameraActivity extends AppCompatActivity {
         toast.show();
     }
 
+    /**
+     * Show a toast explaining why a VIN could not be saved.
+     *
+     * @param cause Failure delivered by the insert future.
+     */
+    private void showSaveErrorToast(Throwable cause) {
+        String message = "Could not save VIN";
+        if (cause instanceof DatabaseWriteException) {
+            switch (((DatabaseWriteException) cause).getReason()) {
+                case STORAGE_FULL:
+                    message = "Could not save VIN: device storage is full";
+                    break;
+                case CONSTRAINT:
+                    message = "Could not save VIN: the list no longer exists";
+                    break;
+                case BUSY:
+                    message = "Could not save VIN: database busy, please retry";
+                    break;
+                case QUEUE_FULL:
+                    message = "Could not save VIN: too many scans waiting, please retry";
+                    break;
+                default:
+                    break;
+            }
+        }
+        Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+    }
+
+    /**
+     * Commit buffered scans before leaving the foreground; the journal covers
+     * anything still in flight if the process is killed afterwards.
+     */
+    @Override
+    protected void onPause() {
+        super.onPause();
+        vinViewModel.flushScannedVinInfos();
+        AllocationMonitor.endSession(frameAnalyzer.formatPoolStats());
+        powerHandler.removeCallbacks(powerPollTask);
+    }
+
+    /**
+     * Each foreground period is one scanning session for the allocation report;
+     * the power governor is polled while it lasts.
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        AllocationMonitor.startSession();
+        powerHandler.post(powerPollTask);
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
         cameraExecutor.shutdown();
+        analysisExecutor.shutdown();
+    }
+
+    /**
+     * What a capture was taken with. Its outcome arrives after later captures may have
+     * changed the size or lighting, so it is attributed to these values, not the current ones.
+     */
+    private static final class CaptureInfo {
+        final long shutterNanos;
+        final int targetLongSide;
+        final Size actualSize;
+        final String lightingSetting;
+
+        CaptureInfo(long shutterNanos, int targetLongSide, Size actualSize, String lightingSetting) {
+            this.shutterNanos = shutterNanos;
+            this.targetLongSide = targetLongSide;
+            this.actualSize = actualSize;
+            this.lightingSetting = lightingSetting;
+        }
     }
 }
@@ -4,6 +4,7 @@ import android.content.Intent;
 import android.os.Bundle;
 import android.text.Editable;
 import android.text.TextWatcher;
+import android.util.Log;
 import android.view.View;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
@@ -16,12 +17,18 @@ import android.widget.Toast;
 import androidx.appcompat.widget.Toolbar;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModelProvider;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.marioflo.vinscannerapp.R;
 import com.marioflo.vinscannerapp.data.entities.VinInfo;
+import com.marioflo.vinscannerapp.data.repository.DatabaseWriteException;
 import com.marioflo.vinscannerapp.viewmodel.VinViewModel;
 
+import java.util.concurrent.ExecutionException;
+
 
 /**
  * Activity to edit details of a single VIN entry.
@@ -33,9 +40,15 @@ import com.marioflo.vinscannerapp.viewmodel.VinViewModel;
  * <p>
  * Utilizes ViewModel for MVVM architecture, LiveData observation,
  * and enables/disables the update button based on modifications.
+ * Only the modified columns are written back.
+ * <p>
+ * VinListActivity edits rows inline through a bottom sheet; this screen remains
+ * for callers that launch it with a {@code VIN_INFO_ID} extra.
  */
 public class EditVinActivity extends AppCompatActivity {
 
+        private static final String TAG = "EditVinActivity";
+
         private VinViewModel vinViewModel;
         private TextView vinNumberTextView;
         private Spinner lotLocationSpinner;
@@ -117,8 +130,11 @@ public class EditVinActivity extends AppCompatActivity {
         if (intent == null || !intent.hasExtra("VIN_INFO_ID")) return;
 
         int vinInfoId = intent.getIntExtra("VIN_INFO_ID", -1);
-        vinViewModel.getVinInfoById(vinInfoId).observe(this, vinInfo -> {
+        LiveData<VinInfo> vinInfoLiveData = vinViewModel.getVinInfoById(vinInfoId);
+        vinInfoLiveData.observe(this, vinInfo -> {
             if (vinInfo != null) {
+                // Load once: later emissions (e.g. caused by our own update) must not re-prefill
+                vinInfoLiveData.removeObservers(this);
                 originalVinInfo = vinInfo;
                 prefillFields();
                 setFieldListeners();
@@ -197,38 +213,61 @@ public class EditVinActivity extends AppCompatActivity {
         }
 
     /**
-     * Update the VinInfo object if modifications are detected.
-     * Saves the updated object via ViewModel.
+     * Save the modified fields via ViewModel.
+     * Writes only the edited columns instead of rewriting the whole entity.
      */
         private void updateVinInfo() {
             if (originalVinInfo != null) {
-                // Update the rowLetter (lotLocation) only if modified
-                if (isLotLocationModified) {
-                    String newLotLocation = lotLocationSpinner.getSelectedItem().toString();
-                    originalVinInfo.setRowLetter(newLotLocation.equals("-") ? null : newLotLocation);
-
-                }
-
-                // Update the spaceNumber only if modified
-                if (isSpaceNumberModified) {
-                    String newSpaceNumber = spaceNumberSpinner.getSelectedItem().toString();
-                    originalVinInfo.setSpaceNumber(newSpaceNumber.equals("-") ? null : newSpaceNumber);
-                }
+                boolean isLocationModified = isLotLocationModified || isSpaceNumberModified;
 
-                // Update the extraNotes only if modified
-                if (isExtraNotesModified) {
-                    String newExtraNotes = notesEditText.getText().toString().trim();
-                    originalVinInfo.setExtraNotes(newExtraNotes.isEmpty() ? null : newExtraNotes);
-
-                }
+                String newLotLocation = lotLocationSpinner.getSelectedItem().toString();
+                String newSpaceNumber = spaceNumberSpinner.getSelectedItem().toString();
+                String newExtraNotes = notesEditText.getText().toString().trim();
 
                 // Save the changes through the ViewModel
-                vinViewModel.updateVinInfo(originalVinInfo);
-                Toast.makeText(this, "VIN info updated", Toast.LENGTH_SHORT).show();
-                finish();
+                ListenableFuture<Void> updateFuture = vinViewModel.updateVinInfoFields(originalVinInfo.getId(),
+                        isLocationModified,
+                        newLotLocation.equals("-") ? null : newLotLocation,
+                        newSpaceNumber.equals("-") ? null : newSpaceNumber,
+                        isExtraNotesModified,
+                        newExtraNotes.isEmpty() ? null : newExtraNotes);
+                updateButton.setEnabled(false);
+
+                // Leave only once the change is stored; on failure stay so the edit is not lost
+                updateFuture.addListener(() -> {
+                    try {
+                        updateFuture.get();
+                        Toast.makeText(this, "VIN info updated", Toast.LENGTH_SHORT).show();
+                        finish();
+                    } catch (ExecutionException | InterruptedException e) {
+                        Log.e(TAG, "Failed to update VIN " + originalVinInfo.getId(), e);
+                        showUpdateErrorToast(e.getCause());
+                        checkForModifications();
+                    }
+                }, ContextCompat.getMainExecutor(this));
             }
         }
 
+    /**
+     * Show why the update failed, using the reason carried by {@link DatabaseWriteException}.
+     */
+    private void showUpdateErrorToast(Throwable cause) {
+        String message = "Could not update VIN info";
+        if (cause instanceof DatabaseWriteException) {
+            switch (((DatabaseWriteException) cause).getReason()) {
+                case STORAGE_FULL:
+                    message = "Could not update VIN info: device storage is full";
+                    break;
+                case BUSY:
+                    message = "Could not update VIN info: database busy, please retry";
+                    break;
+                default:
+                    break;
+            }
+        }
+        Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+    }
+
     /**
      * Helper to select a spinner item by its value.
      */
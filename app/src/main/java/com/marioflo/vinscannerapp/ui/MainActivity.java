@@ -1,11 +1,13 @@
 package com.marioflo.vinscannerapp.ui;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 import androidx.lifecycle.ViewModelProvider;
 
 import android.app.AlertDialog;
 import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.widget.Button;
@@ -14,7 +16,11 @@ import android.widget.Toast;
 
 import com.marioflo.vinscannerapp.R;
 import com.marioflo.vinscannerapp.data.entities.VinList;
+import com.marioflo.vinscannerapp.scanner.DeviceCalibration;
 import com.marioflo.vinscannerapp.viewmodel.VinViewModel;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.concurrent.ExecutionException;
 
 
 /**
@@ -24,9 +30,12 @@ import com.marioflo.vinscannerapp.viewmodel.VinViewModel;
  * 1. Display main menu options: create a new VIN list or view saved lists.
  * 2. Handle user interactions for creating a new list.
  * 3. Demonstrates LiveData observation and navigation between Activities.
+ * 4. Starts the one-time scanner calibration for this device on first launch.
  */
 public class MainActivity extends AppCompatActivity {
 
+    private static final String TAG = "MainActivity";
+
     // ViewModel to interact with VIN data (Repository + Room database)
     private VinViewModel vinViewModel;
 
@@ -44,6 +53,15 @@ public class MainActivity extends AppCompatActivity {
         Button savedListsButton = findViewById(R.id.btn_view_saved_lists);
 
 
+        // First launch: pick capture size and frames in flight for this device in the background
+        DeviceCalibration.runIfNeeded(this, null);
+
+        // Hidden entry point: long-press the welcome text to open the scan metrics debug screen
+        findViewById(R.id.tv_welcome).setOnLongClickListener(v -> {
+            startActivity(new Intent(MainActivity.this, ScanMetricsActivity.class));
+            return true;
+        });
+
         // Set click listener to show the create-list dialog
         createButton.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -65,8 +83,8 @@ public class MainActivity extends AppCompatActivity {
     /**
      * Displays a dialog for creating a new VIN list.
      * <p>
-     * Users enter a name for the new list. Upon creation, the latest list ID is
-     * observed via LiveData and the user is navigated to VinListActivity.
+     * Users enter a name for the new list. The insert returns the generated list ID
+     * asynchronously, and the user is navigated to VinListActivity for exactly that list.
      */
     private void showCreateListDialog() {
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
@@ -97,22 +115,18 @@ public class MainActivity extends AppCompatActivity {
                     VinList vinList = new VinList(listName);
 
                     // Insert the new list into the database via ViewModel
-                    vinViewModel.insertVinList(vinList);
+                    ListenableFuture<Long> insertFuture = vinViewModel.insertVinList(vinList);
                     dialog.dismiss();
 
-                    // Observe LiveData to get the latest list ID for navigation
-                    vinViewModel.getAllVinLists().observe(MainActivity.this, vinLists -> {
-                        if (vinLists != null && !vinLists.isEmpty()) {
-                            VinList latestList = vinLists.get(vinLists.size() - 1);
-
-                            // Navigate to VinListActivity, passing list ID and name
-                            Intent intent = new Intent(MainActivity.this, VinListActivity.class);
-                            intent.putExtra("listId", latestList.getId());
-                            intent.putExtra("listName", latestList.getName()); // Pass the list name
-                            intent.putExtra("isNewList", true); // Pass the isNewList flag
-                            startActivity(intent);
+                    // Navigate once the generated list ID is known
+                    insertFuture.addListener(() -> {
+                        try {
+                            openNewList(insertFuture.get().intValue(), listName);
+                        } catch (ExecutionException | InterruptedException e) {
+                            Log.e(TAG, "Failed to create VIN list", e);
+                            Toast.makeText(MainActivity.this, "Could not create list", Toast.LENGTH_SHORT).show();
                         }
-                    });
+                    }, ContextCompat.getMainExecutor(MainActivity.this));
                 } else {
                     Toast.makeText(MainActivity.this, "List name cannot be empty", Toast.LENGTH_SHORT).show();
                 }
@@ -123,4 +137,20 @@ public class MainActivity extends AppCompatActivity {
 
     }
 
+    /**
+     * Navigate to VinListActivity for a newly created list.
+     *
+     * @param listId   Generated ID of the new list.
+     * @param listName Name of the new list.
+     */
+    private void openNewList(int listId, String listName) {
+        if (isFinishing() || isDestroyed()) return;
+
+        Intent intent = new Intent(MainActivity.this, VinListActivity.class);
+        intent.putExtra("listId", listId);
+        intent.putExtra("listName", listName); // Pass the list name
+        intent.putExtra("isNewList", true); // Pass the isNewList flag
+        startActivity(intent);
+    }
+
 }
\ No newline at end of file
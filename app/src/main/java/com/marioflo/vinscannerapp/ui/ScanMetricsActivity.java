@@ -0,0 +1,205 @@
+package com.marioflo.vinscannerapp.ui;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
+import android.widget.Button;
+import android.widget.CompoundButton;
+import android.widget.Spinner;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.Toolbar;
+
+import com.marioflo.vinscannerapp.R;
+import com.marioflo.vinscannerapp.core.capture.CalibrationProfile;
+import com.marioflo.vinscannerapp.core.capture.ResolutionStrategy;
+import com.marioflo.vinscannerapp.data.repository.ScanWriteBuffer;
+import com.marioflo.vinscannerapp.metrics.AllocationMonitor;
+import com.marioflo.vinscannerapp.metrics.ScanMetrics;
+import com.marioflo.vinscannerapp.scanner.CaptureResolution;
+import com.marioflo.vinscannerapp.scanner.DeviceCalibration;
+import com.marioflo.vinscannerapp.scanner.DeviceGovernor;
+import com.marioflo.vinscannerapp.scanner.ReplayCaptureRecorder;
+import com.marioflo.vinscannerapp.scanner.SceneLighting;
+import com.marioflo.vinscannerapp.scanner.VinScanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Hidden debug screen for field tuning.
+ * <p>
+ * Shows the per-stage latency histograms of {@link ScanMetrics}, the quality gate
+ * and dedup counters and the {@link ScanWriteBuffer} statistics, refreshing once
+ * a second while visible.
+ * The report can be reset or dumped to a text file in the app's external files
+ * directory ({@code Android/data/<package>/files/metrics}). A switch turns on
+ * {@link ReplayCaptureRecorder} debug capture for building a replay corpus, and a
+ * spinner selects the {@link CaptureResolution} strategy, whose per-size success rates
+ * and latencies are part of the report, as are the allocation and GC figures of the
+ * last camera session from {@link AllocationMonitor}. The camera controllers report too:
+ * region tracking, auto zoom, focus, torch and exposure, and the {@link DeviceGovernor}
+ * power level. A button re-runs {@link DeviceCalibration}, whose profile and
+ * measurements are part of the report.
+ * </p>
+ * Opened by long-pressing the welcome text on {@link MainActivity}.
+ */
+public class ScanMetricsActivity extends AppCompatActivity {
+
+    private static final String TAG = "ScanMetricsActivity";
+    private static final long REFRESH_INTERVAL_MS = 1_000;
+
+    private TextView reportTextView;
+    private final Handler refreshHandler = new Handler(Looper.getMainLooper());
+    private final Runnable refreshTask = new Runnable() {
+        @Override
+        public void run() {
+            refreshReport();
+            refreshHandler.postDelayed(this, REFRESH_INTERVAL_MS);
+        }
+    };
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_scan_metrics);
+
+        Toolbar toolbar = findViewById(R.id.id_metrics_toolbar);
+        setSupportActionBar(toolbar);
+
+        reportTextView = findViewById(R.id.id_metrics_report);
+        Button resetButton = findViewById(R.id.id_btn_reset_metrics);
+        Button dumpButton = findViewById(R.id.id_btn_dump_metrics);
+        Button calibrateButton = findViewById(R.id.id_btn_recalibrate);
+
+        resetButton.setOnClickListener(v -> {
+            ScanMetrics.reset();
+            CaptureResolution.get(this).resetStats();
+            VinScanner.getQualityGate().resetCounts();
+            VinScanner.getDeduplicator().resetCounts();
+            VinScanner.getRegionTracker().resetCounts();
+            VinScanner.getAutoZoom().resetCounts();
+            VinScanner.getFocusController().resetCounts();
+            SceneLighting.get().resetStats();
+            DeviceGovernor.get(this).resetStats(SystemClock.elapsedRealtime());
+            refreshReport();
+        });
+        dumpButton.setOnClickListener(v -> dumpReport());
+        calibrateButton.setOnClickListener(v -> recalibrate());
+
+        CompoundButton recordSwitch = findViewById(R.id.id_switch_record_replay);
+        recordSwitch.setChecked(ReplayCaptureRecorder.isEnabled(this));
+        recordSwitch.setOnCheckedChangeListener((button, checked) -> setReplayCapture(checked));
+
+        setupResolutionSpinner(findViewById(R.id.id_spinner_capture_resolution));
+    }
+
+    /** Lists the resolution strategies and applies the selected one. */
+    private void setupResolutionSpinner(Spinner spinner) {
+        ArrayAdapter<ResolutionStrategy> adapter = new ArrayAdapter<>(this,
+                android.R.layout.simple_spinner_item, ResolutionStrategy.values());
+        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinner.setAdapter(adapter);
+        spinner.setSelection(CaptureResolution.get(this).getStrategy().ordinal());
+        spinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                ResolutionStrategy selected = ResolutionStrategy.values()[position];
+                if (selected != CaptureResolution.get(ScanMetricsActivity.this).getStrategy()) {
+                    CaptureResolution.setStrategy(ScanMetricsActivity.this, selected);
+                }
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+            }
+        });
+    }
+
+    /** Re-runs device calibration; the new profile applies as soon as it finishes. */
+    private void recalibrate() {
+        if (DeviceCalibration.isRunning()) {
+            Toast.makeText(this, "Calibration already running", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        Toast.makeText(this, "Calibrating, this takes a few seconds", Toast.LENGTH_SHORT).show();
+        DeviceCalibration.run(this, new DeviceCalibration.Listener() {
+            @Override
+            public void onCalibrated(CalibrationProfile profile) {
+                Toast.makeText(ScanMetricsActivity.this, "Calibrated: " + profile, Toast.LENGTH_LONG).show();
+                refreshReport();
+            }
+
+            @Override
+            public void onCalibrationFailed(String message) {
+                Toast.makeText(ScanMetricsActivity.this, "Calibration failed: " + message, Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    /** Turns debug capture on or off and tells the user where frames go. */
+    private void setReplayCapture(boolean enabled) {
+        ReplayCaptureRecorder.setEnabled(this, enabled);
+        if (enabled) {
+            File dir = ReplayCaptureRecorder.getCorpusDir(this);
+            String where = dir != null ? dir.getAbsolutePath() : "external storage (unavailable)";
+            Toast.makeText(this, "Recording scans to " + where, Toast.LENGTH_LONG).show();
+        }
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        refreshHandler.post(refreshTask);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        refreshHandler.removeCallbacks(refreshTask);
+    }
+
+    /** Rebuilds the report text from the live metrics. */
+    private void refreshReport() {
+        reportTextView.setText(ScanMetrics.formatReport() + "\n" + VinScanner.getQualityGate().formatCounts()
+                + VinScanner.getDeduplicator().formatCounts()
+                + VinScanner.getRegionTracker().formatCounts()
+                + VinScanner.getAutoZoom().formatReport()
+                + VinScanner.getFocusController().formatReport()
+                + "\n" + formatWriteBufferStats()
+                + "\n" + DeviceCalibration.formatReport(this)
+                + "\n" + CaptureResolution.get(this).formatReport()
+                + "\n" + SceneLighting.get().formatReport()
+                + "\n" + DeviceGovernor.get(this).formatReport(SystemClock.elapsedRealtime())
+                + "\n" + AllocationMonitor.formatReport());
+    }
+
+    private String formatWriteBufferStats() {
+        ScanWriteBuffer buffer = ScanWriteBuffer.getInstance(this);
+        return String.format(Locale.US,
+                "write buffer: depth %d, commits %d, scans %d, rejected %d, dropped %d%n"
+                        + "commit latency ms: last %d, max %d, mean %.1f%n",
+                buffer.getQueueDepth(), buffer.getCommitCount(), buffer.getCommittedScanCount(),
+                buffer.getRejectedScanCount(), buffer.getDroppedScanCount(), buffer.getLastCommitLatencyMs(),
+                buffer.getMaxCommitLatencyMs(), buffer.getAverageCommitLatencyMs());
+    }
+
+    /** Writes the current report to a timestamped file and shows its path. */
+    private void dumpReport() {
+        try {
+            File file = ScanMetrics.dumpToFile(new File(getExternalFilesDir(null), "metrics"));
+            Toast.makeText(this, "Saved " + file.getAbsolutePath(), Toast.LENGTH_LONG).show();
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to dump scan metrics", e);
+            Toast.makeText(this, "Could not save metrics", Toast.LENGTH_SHORT).show();
+        }
+    }
+}
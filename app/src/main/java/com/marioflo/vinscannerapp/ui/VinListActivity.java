@@ -10,69 +10,86 @@ import android.graphics.drawable.Drawable;
 import android.net.Uri;
 import android.os.Bundle;
 import android.text.Editable;
+import android.text.TextUtils;
 import android.text.SpannableString;
 import android.text.Spanned;
 import android.text.TextWatcher;
 import android.text.style.ForegroundColorSpan;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
 import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.EditText;
+import android.widget.Spinner;
+import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.Nullable;
+import androidx.appcompat.view.ActionMode;
 import androidx.appcompat.widget.Toolbar;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 import androidx.core.content.FileProvider;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.google.android.material.bottomsheet.BottomSheetDialog;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.marioflo.vinscannerapp.R;
+import com.marioflo.vinscannerapp.core.export.VinListExporter;
+import com.marioflo.vinscannerapp.data.repository.DatabaseWriteException;
 import com.marioflo.vinscannerapp.ui.adapter.SwipeToDeleteCallback;
 import com.marioflo.vinscannerapp.ui.adapter.VinInfoAdapter;
 import com.marioflo.vinscannerapp.data.entities.VinInfo;
 import com.marioflo.vinscannerapp.data.entities.VinList;
+import com.marioflo.vinscannerapp.data.model.VinInfoItem;
 import com.marioflo.vinscannerapp.viewmodel.VinViewModel;
 
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.Font;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 
 /**
  * VinListActivity displays all VIN entries in a specific VIN list.
  * <p>
  * Features:
- * - RecyclerView with swipe-to-delete functionality.
+ * - RecyclerView with swipe-to-delete (undoable, batched) functionality.
  * - Edit list name and delete the entire list.
  * - Share list as an Excel spreadsheet.
  * - Launch CameraActivity to scan and add VINs.
+ * - Tap a row to edit its location and notes in an inline bottom sheet.
+ * - Long-press multi-select with bulk delete, move to another list and set location,
+ *   each applied as a single transaction.
  * <p>
  * Follows MVVM architecture, uses VinViewModel for data handling.
  * Implements reactive UI using LiveData and RecyclerView adapter updates.
  */
 public class VinListActivity extends AppCompatActivity {
 
+    private static final String TAG = "VinListActivity";
     private static final int REQUEST_CODE_SCAN = 1;
+    /** First spinner entry of the bulk location dialog, meaning "leave this field unchanged". */
+    private static final String KEEP_CURRENT = "Keep";
 
     private VinViewModel vinViewModel;
     private VinInfoAdapter adapter;
+    private SwipeToDeleteCallback swipeToDeleteCallback;
     private VinList currentVinList;
+    private List<VinList> allVinLists = new ArrayList<>();
+    private ActionMode actionMode;
     private boolean isNewList;
     private String listName;
 
@@ -81,11 +98,21 @@ public class VinListActivity extends AppCompatActivity {
         super.onCreate(saveInstanceState);
         setContentView(R.layout.activity_vin_list); // Set the correct layout file here
 
+        // The ViewModel must exist before the swipe callback that deletes through it
+        vinViewModel = new ViewModelProvider(this).get(VinViewModel.class);
+
         setupToolbar();
         setupRecyclerView();
         setupViewModelAndObservers();
         }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Write any swipe deletes still waiting on the undo snackbar
+        swipeToDeleteCallback.commitPendingDeletes();
+    }
+
 
     /**
      * Set up Toolbar with title, color, and overflow menu icon color.
@@ -112,29 +139,30 @@ public class VinListActivity extends AppCompatActivity {
     }
     /**
      * Initialize RecyclerView with LinearLayoutManager and VinInfoAdapter.
-     * Attach ItemTouchHelper for swipe-to-delete functionality.
+     * Attach ItemTouchHelper for swipe-to-delete with undo.
      */
     private void setupRecyclerView() {
         RecyclerView recyclerView = findViewById(R.id.id_recycler_view);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
 
         adapter = new VinInfoAdapter(this);
+        adapter.setOnSelectionChangedListener(this::onSelectionChanged);
+        adapter.setOnItemClickListener(this::showEditBottomSheet);
         recyclerView.setAdapter(adapter);
 
-        ItemTouchHelper itemTouchHelper = new ItemTouchHelper(new SwipeToDeleteCallback(adapter, vinViewModel));
+        swipeToDeleteCallback = new SwipeToDeleteCallback(adapter, vinViewModel, recyclerView);
+        ItemTouchHelper itemTouchHelper = new ItemTouchHelper(swipeToDeleteCallback);
         itemTouchHelper.attachToRecyclerView(recyclerView);
     }
 
 
     /**
-     * Initialize ViewModel and observe LiveData to update RecyclerView and Toolbar.
+     * Observe LiveData to update RecyclerView and Toolbar.
      */
     private void setupViewModelAndObservers() {
-        vinViewModel = new ViewModelProvider(this).get(VinViewModel.class);
-
         // Observe VIN entries in the current list
         int listId = getIntent().getIntExtra("listId", -1);
-        vinViewModel.getVinInfoForList(listId).observe(this, vinInfos -> adapter.setVinInfos(vinInfos));
+        vinViewModel.getVinInfoItemsForList(listId).observe(this, vinInfos -> adapter.setVinInfos(vinInfos));
 
         // Observe list metadata to update Toolbar title
         vinViewModel.getVinList(listId).observe(this, vinList -> {
@@ -143,6 +171,367 @@ public class VinListActivity extends AppCompatActivity {
                 getSupportActionBar().setTitle(vinList.getName());
             }
         });
+
+        // Keep all lists at hand as targets for "Move to List"
+        vinViewModel.getAllVinLists().observe(this, vinLists -> {
+            if (vinLists != null) allVinLists = vinLists;
+        });
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // INLINE EDIT
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Edit a VIN entry's location and notes in a bottom sheet.
+     * <p>
+     * The sheet is filled from the row already held by the adapter, so no activity is
+     * launched and no LiveData is observed; saving writes only the modified columns.
+     * </p>
+     */
+    private void showEditBottomSheet(VinInfoItem vinInfo) {
+        BottomSheetDialog sheet = new BottomSheetDialog(this);
+        View sheetView = LayoutInflater.from(this).inflate(R.layout.bottom_sheet_edit_vin, null);
+        sheet.setContentView(sheetView);
+
+        TextView vinNumberTextView = sheetView.findViewById(R.id.id_vin_number);
+        Spinner rowSpinner = sheetView.findViewById(R.id.id_row_letter_spinner);
+        Spinner spaceSpinner = sheetView.findViewById(R.id.id_space_number_spinner);
+        EditText notesEditText = sheetView.findViewById(R.id.id_notes_edit_text);
+        Button cancelButton = sheetView.findViewById(R.id.id_cancel_button);
+        Button updateButton = sheetView.findViewById(R.id.id_update_button);
+
+        vinNumberTextView.setText(vinInfo.getVinNumber());
+        setupSpinner(rowSpinner, R.array.row_letter, vinInfo.getRowLetter());
+        setupSpinner(spaceSpinner, R.array.space_numbers, vinInfo.getSpaceNumber());
+        notesEditText.setText(vinInfo.getExtraNotes());
+
+        // Enable Update only when something differs from the stored values
+        Runnable checkForModifications = () -> updateButton.setEnabled(
+                isLocationModified(vinInfo, rowSpinner, spaceSpinner)
+                        || isNotesModified(vinInfo, notesEditText));
+        updateButton.setEnabled(false);
+        rowSpinner.setOnItemSelectedListener(new SimpleItemSelectedListener(checkForModifications));
+        spaceSpinner.setOnItemSelectedListener(new SimpleItemSelectedListener(checkForModifications));
+        notesEditText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+                checkForModifications.run();
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {}
+        });
+
+        cancelButton.setOnClickListener(v -> sheet.dismiss());
+        updateButton.setOnClickListener(v -> {
+            String notes = notesEditText.getText().toString().trim();
+            ListenableFuture<Void> updateFuture = vinViewModel.updateVinInfoFields(vinInfo.getId(),
+                    isLocationModified(vinInfo, rowSpinner, spaceSpinner),
+                    spinnerValue(rowSpinner), spinnerValue(spaceSpinner),
+                    isNotesModified(vinInfo, notesEditText),
+                    notes.isEmpty() ? null : notes);
+            sheet.dismiss();
+
+            // Confirm only once the change is stored
+            updateFuture.addListener(() -> {
+                try {
+                    updateFuture.get();
+                    Toast.makeText(this, "VIN info updated", Toast.LENGTH_SHORT).show();
+                } catch (ExecutionException | InterruptedException e) {
+                    Log.e(TAG, "Failed to update VIN " + vinInfo.getId(), e);
+                    showWriteErrorToast("Could not update VIN info", e.getCause());
+                }
+            }, ContextCompat.getMainExecutor(this));
+        });
+
+        sheet.show();
+    }
+
+    private boolean isLocationModified(VinInfoItem vinInfo, Spinner rowSpinner, Spinner spaceSpinner) {
+        return !TextUtils.equals(spinnerValue(rowSpinner), vinInfo.getRowLetter())
+                || !TextUtils.equals(spinnerValue(spaceSpinner), vinInfo.getSpaceNumber());
+    }
+
+    private boolean isNotesModified(VinInfoItem vinInfo, EditText notesEditText) {
+        String current = vinInfo.getExtraNotes() == null ? "" : vinInfo.getExtraNotes().trim();
+        return !notesEditText.getText().toString().trim().equals(current);
+    }
+
+    /**
+     * Populate a spinner from a string-array resource and select the given value ("-" if null).
+     */
+    private void setupSpinner(Spinner spinner, int arrayResId, String value) {
+        ArrayAdapter<CharSequence> spinnerAdapter = ArrayAdapter.createFromResource(this,
+                arrayResId, android.R.layout.simple_spinner_item);
+        spinnerAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinner.setAdapter(spinnerAdapter);
+        int position = spinnerAdapter.getPosition(value != null ? value : "-");
+        if (position >= 0) spinner.setSelection(position, false);
+    }
+
+    /** @return The selected spinner value, or null for the "-" placeholder. */
+    private String spinnerValue(Spinner spinner) {
+        String value = spinner.getSelectedItem().toString();
+        return "-".equals(value) ? null : value;
+    }
+
+    /**
+     * Spinner listener that runs a single action on every selection.
+     */
+    private static class SimpleItemSelectedListener implements AdapterView.OnItemSelectedListener {
+        private final Runnable onSelected;
+
+        SimpleItemSelectedListener(Runnable onSelected) {
+            this.onSelected = onSelected;
+        }
+
+        @Override
+        public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+            onSelected.run();
+        }
+
+        @Override
+        public void onNothingSelected(AdapterView<?> parent) {}
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // MULTI-SELECT BULK ACTIONS
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Starts, updates or finishes the contextual action mode as the selection changes.
+     */
+    private void onSelectionChanged(int selectedCount) {
+        if (selectedCount == 0) {
+            if (actionMode != null) actionMode.finish();
+            return;
+        }
+        if (actionMode == null) {
+            actionMode = startSupportActionMode(selectionActionModeCallback);
+        }
+        if (actionMode != null) {
+            actionMode.setTitle(selectedCount + " selected");
+        }
+    }
+
+    private final ActionMode.Callback selectionActionModeCallback = new ActionMode.Callback() {
+        @Override
+        public boolean onCreateActionMode(ActionMode mode, Menu menu) {
+            mode.getMenuInflater().inflate(R.menu.menu_vin_selection, menu);
+            return true;
+        }
+
+        @Override
+        public boolean onPrepareActionMode(ActionMode mode, Menu menu) {
+            return false;
+        }
+
+        @Override
+        public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
+            int id = item.getItemId();
+            if (id == R.id.id_bulk_delete) {
+                showBulkDeleteDialog();
+            } else if (id == R.id.id_select_all) {
+                adapter.selectAll();
+            } else if (id == R.id.id_bulk_move) {
+                showBulkMoveDialog();
+            } else if (id == R.id.id_bulk_set_location) {
+                showBulkLocationDialog();
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void onDestroyActionMode(ActionMode mode) {
+            actionMode = null;
+            adapter.clearSelection();
+        }
+    };
+
+    /**
+     * Confirm and delete all selected entries in one transaction.
+     */
+    private void showBulkDeleteDialog() {
+        if (!isListLoaded()) return;
+        List<Integer> ids = adapter.getSelectedIds();
+        int listId = currentVinList.getId();
+        new AlertDialog.Builder(this)
+                .setTitle("Delete VINs")
+                .setMessage("Delete " + ids.size() + " selected VIN" + (ids.size() == 1 ? "" : "s") + "?")
+                .setPositiveButton("Yes", (dialog, which) -> {
+                    ListenableFuture<Void> deleteFuture = vinViewModel.deleteVinInfos(ids, listId);
+                    finishSelection();
+
+                    // Confirm only once the delete is stored
+                    deleteFuture.addListener(() -> {
+                        try {
+                            deleteFuture.get();
+                            Toast.makeText(this, "Deleted " + ids.size() + " VIN" + (ids.size() == 1 ? "" : "s"),
+                                    Toast.LENGTH_SHORT).show();
+                        } catch (ExecutionException | InterruptedException e) {
+                            Log.e(TAG, "Failed to delete " + ids.size() + " VINs from list " + listId, e);
+                            showWriteErrorToast("Could not delete VINs", e.getCause());
+                        }
+                    }, ContextCompat.getMainExecutor(this));
+                })
+                .setNegativeButton("No", (dialog, which) -> dialog.cancel())
+                .show();
+    }
+
+    /**
+     * Let the user pick a destination list and move all selected entries there in one transaction.
+     */
+    private void showBulkMoveDialog() {
+        if (!isListLoaded()) return;
+        List<VinList> targets = new ArrayList<>();
+        for (VinList vinList : allVinLists) {
+            if (vinList.getId() != currentVinList.getId()) targets.add(vinList);
+        }
+        if (targets.isEmpty()) {
+            Toast.makeText(this, "No other list to move to", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        String[] names = new String[targets.size()];
+        for (int i = 0; i < targets.size(); i++) {
+            names[i] = targets.get(i).getName();
+        }
+
+        List<Integer> ids = adapter.getSelectedIds();
+        new AlertDialog.Builder(this)
+                .setTitle("Move " + ids.size() + " to...")
+                .setItems(names, (dialog, which) -> {
+                    VinList target = targets.get(which);
+                    ListenableFuture<Void> moveFuture =
+                            vinViewModel.moveVinInfos(ids, currentVinList.getId(), target.getId());
+                    finishSelection();
+
+                    // Confirm only once the move is stored
+                    moveFuture.addListener(() -> {
+                        try {
+                            moveFuture.get();
+                            Toast.makeText(this, "Moved to " + target.getName(), Toast.LENGTH_SHORT).show();
+                        } catch (ExecutionException | InterruptedException e) {
+                            Log.e(TAG, "Failed to move " + ids.size() + " VINs to list " + target.getId(), e);
+                            showWriteErrorToast("Could not move to " + target.getName(), e.getCause());
+                        }
+                    }, ContextCompat.getMainExecutor(this));
+                })
+                .setNegativeButton("Cancel", (dialog, which) -> dialog.cancel())
+                .show();
+    }
+
+    /**
+     * Set row letter and/or space number on all selected entries in one transaction.
+     */
+    private void showBulkLocationDialog() {
+        View dialogView = LayoutInflater.from(this).inflate(R.layout.dialog_bulk_location, null);
+        Spinner rowSpinner = dialogView.findViewById(R.id.id_bulk_row_letter_spinner);
+        Spinner spaceSpinner = dialogView.findViewById(R.id.id_bulk_space_number_spinner);
+        Button cancelButton = dialogView.findViewById(R.id.id_btn_cancel);
+        Button applyButton = dialogView.findViewById(R.id.id_btn_apply);
+
+        setupKeepSpinner(rowSpinner, R.array.row_letter);
+        setupKeepSpinner(spaceSpinner, R.array.space_numbers);
+
+        AlertDialog dialog = new AlertDialog.Builder(this)
+                .setTitle("Set Location")
+                .setView(dialogView)
+                .create();
+
+        cancelButton.setOnClickListener(v -> dialog.dismiss());
+        applyButton.setOnClickListener(v -> {
+            String row = rowSpinner.getSelectedItem().toString();
+            String space = spaceSpinner.getSelectedItem().toString();
+            boolean setRow = !KEEP_CURRENT.equals(row);
+            boolean setSpace = !KEEP_CURRENT.equals(space);
+
+            if (setRow || setSpace) {
+                List<Integer> ids = adapter.getSelectedIds();
+                ListenableFuture<Void> updateFuture = vinViewModel.updateVinInfoLocations(ids,
+                        setRow, "-".equals(row) ? null : row,
+                        setSpace, "-".equals(space) ? null : space);
+                finishSelection();
+
+                // Confirm only once the new location is stored
+                updateFuture.addListener(() -> {
+                    try {
+                        updateFuture.get();
+                        Toast.makeText(this, "Location updated", Toast.LENGTH_SHORT).show();
+                    } catch (ExecutionException | InterruptedException e) {
+                        Log.e(TAG, "Failed to set location on " + ids.size() + " VINs", e);
+                        showWriteErrorToast("Could not set location", e.getCause());
+                    }
+                }, ContextCompat.getMainExecutor(this));
+            }
+            dialog.dismiss();
+        });
+
+        dialog.show();
+    }
+
+    /**
+     * Populate a spinner with a "Keep" entry followed by the given string-array resource.
+     */
+    private void setupKeepSpinner(Spinner spinner, int arrayResId) {
+        List<CharSequence> values = new ArrayList<>();
+        values.add(KEEP_CURRENT);
+        values.addAll(Arrays.asList(getResources().getTextArray(arrayResId)));
+
+        ArrayAdapter<CharSequence> spinnerAdapter =
+                new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, values);
+        spinnerAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinner.setAdapter(spinnerAdapter);
+    }
+
+    /**
+     * Bulk actions need the list's metadata, which loads separately from its entries.
+     *
+     * @return True once it has loaded; otherwise tells the user to try again.
+     */
+    private boolean isListLoaded() {
+        if (currentVinList != null) return true;
+        Toast.makeText(this, "List is still loading", Toast.LENGTH_SHORT).show();
+        return false;
+    }
+
+    /**
+     * Show why a bulk write failed, using the reason carried by {@link DatabaseWriteException}.
+     *
+     * @param message What failed, e.g. "Could not delete VINs".
+     * @param cause   The failure from the write's future.
+     */
+    private void showWriteErrorToast(String message, Throwable cause) {
+        if (cause instanceof DatabaseWriteException) {
+            switch (((DatabaseWriteException) cause).getReason()) {
+                case STORAGE_FULL:
+                    message += ": device storage is full";
+                    break;
+                case CONSTRAINT:
+                    message += ": the list no longer exists";
+                    break;
+                case BUSY:
+                    message += ": database busy, please retry";
+                    break;
+                default:
+                    break;
+            }
+        }
+        Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+    }
+
+    private void finishSelection() {
+        if (actionMode != null) {
+            actionMode.finish();
+        } else {
+            adapter.clearSelection();
+        }
     }
 
 
@@ -192,7 +581,7 @@ public class VinListActivity extends AppCompatActivity {
      * Share the current list as an Excel spreadsheet.
      */
     private void shareList() {
-        List<VinInfo> vinInfos = adapter.getVinInfos();
+        List<VinInfoItem> vinInfos = adapter.getVinInfos();
         if (vinInfos == null || vinInfos.isEmpty()) {
             Toast.makeText(this, "Cannot share an empty list", Toast.LENGTH_SHORT).show();
             return;
@@ -222,74 +611,13 @@ public class VinListActivity extends AppCompatActivity {
     /**
      * Generate an Excel file for sharing using Apache POI.
      */
-    private File createExcelFile(List<VinInfo> vinInfos) {
-        File excelFile = null;
-        try {
-            Workbook workbook = new XSSFWorkbook();
-            Sheet sheet = workbook.createSheet("Vin List");
-
-            // Set column widths
-            sheet.setColumnWidth(0, 5000); // VIN Number column
-            sheet.setColumnWidth(1, 2000); // Location column
-            sheet.setColumnWidth(2, 7000); // Extra Notes column
-
-            // Create a bold font for the header row
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-
-            // Create a cell style with the bold font
-            CellStyle headerCellStyle = workbook.createCellStyle();
-            headerCellStyle.setFont(headerFont);
-
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            Cell vinCell = headerRow.createCell(0);
-            vinCell.setCellValue("VIN");
-            vinCell.setCellStyle(headerCellStyle);
-
-            Cell locationCell = headerRow.createCell(1);
-            locationCell.setCellValue("Location");
-            locationCell.setCellStyle(headerCellStyle);
-
-            Cell notesCell = headerRow.createCell(2);
-            notesCell.setCellValue("Notes");
-            notesCell.setCellStyle(headerCellStyle);
-
-            // Write data rows
-            int rowNum = 1;
-            for (VinInfo vinInfo : vinInfos) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(vinInfo.getVinNumber());
-
-                String rowLetter = vinInfo.getRowLetter() != null ? vinInfo.getRowLetter() : "";
-                String spaceNumber = vinInfo.getSpaceNumber() != null ? vinInfo.getSpaceNumber() : "";
-                String location;
-
-                if (!rowLetter.isEmpty() && !spaceNumber.isEmpty()) {
-                    location = rowLetter + "-" + spaceNumber;
-                } else if (!rowLetter.isEmpty()) {
-                    location = rowLetter;
-                } else if (!spaceNumber.isEmpty()) {
-                    location = spaceNumber;
-                } else {
-                    location = "";
-                }
-
-                row.createCell(1).setCellValue(location);
-
-                String extraNotes = vinInfo.getExtraNotes() != null ? vinInfo.getExtraNotes() : "";
-                row.createCell(2).setCellValue(extraNotes);
-            }
-
-            // Write the file to external storage
-            excelFile = new File(getExternalFilesDir(null), "VinList.xlsx");
-            FileOutputStream fileOut = new FileOutputStream(excelFile);
-            workbook.write(fileOut);
-            fileOut.close();
-            workbook.close();
-
+    private File createExcelFile(List<VinInfoItem> vinInfos) {
+        File excelFile = new File(getExternalFilesDir(null), "VinList.xlsx");
+        try (FileOutputStream fileOut = new FileOutputStream(excelFile)) {
+            VinListExporter.writeXlsx(vinInfos, fileOut);
         } catch (IOException e) {
             e.printStackTrace();
+            return null;
         }
         return excelFile;
     }
@@ -1,46 +1,80 @@
 package com.marioflo.vinscannerapp.ui.adapter;
 
-import android.app.AlertDialog;
-import android.content.DialogInterface;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
+import android.util.Log;
 import android.view.View;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.google.android.material.snackbar.Snackbar;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.marioflo.vinscannerapp.R;
-import com.marioflo.vinscannerapp.data.entities.VinInfo;
+import com.marioflo.vinscannerapp.data.model.VinInfoItem;
 import com.marioflo.vinscannerapp.viewmodel.VinViewModel;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
 /**
  * Swipe-to-delete functionality for {@link RecyclerView} items.
  * <p>
  * This class extends {@link ItemTouchHelper.SimpleCallback} to provide
  * left-swipe support on VIN entries in the {@link VinInfoAdapter}.
- * A confirmation dialog is shown before deleting the item permanently.
+ * Swiped entries are hidden immediately and an undo {@link Snackbar} is shown.
+ * Deletes are deferred and batched: rapid consecutive swipes accumulate into one
+ * pending batch that is written in a single transaction once the snackbar times out,
+ * is dismissed, or {@link #commitPendingDeletes()} is called. If the write fails, the
+ * entries are shown again and an error is displayed.
+ * </p>
+ * <p>
+ * Drawing objects are created once, so {@link #onChildDraw} allocates nothing per frame.
  * </p>
  */
 public class SwipeToDeleteCallback extends ItemTouchHelper.SimpleCallback {
 
+    private static final String TAG = "SwipeToDeleteCallback";
+
     private VinInfoAdapter mAdapter;
     private VinViewModel vinViewModel;
+    private final View snackbarAnchor;
+
+    // Reused drawing state for onChildDraw
+    private final Paint backgroundPaint = new Paint();
+    private final RectF backgroundRect = new RectF();
+    private final Drawable deleteIcon;
+    private final int iconWidth;
+    private final int iconHeight;
+
+    // Deferred deletes, committed together
+    private final List<VinInfoItem> pendingDeletes = new ArrayList<>();
+    private Snackbar undoSnackbar;
 
     /**
      * Constructor for SwipeToDeleteCallback.
      *
-     * @param adapter      The adapter managing the VIN list.
-     * @param vinViewModel The ViewModel used to perform database operations.
+     * @param adapter        The adapter managing the VIN list.
+     * @param vinViewModel   The ViewModel used to perform database operations.
+     * @param snackbarAnchor View used to host the undo snackbar (e.g. the RecyclerView).
      */
-    public SwipeToDeleteCallback(VinInfoAdapter adapter, VinViewModel vinViewModel) {
+    public SwipeToDeleteCallback(VinInfoAdapter adapter, VinViewModel vinViewModel, View snackbarAnchor) {
         super(0, ItemTouchHelper.LEFT);
         mAdapter = adapter;
         this.vinViewModel = vinViewModel;
+        this.snackbarAnchor = snackbarAnchor;
+
+        backgroundPaint.setColor(Color.RED);
+        deleteIcon = ContextCompat.getDrawable(adapter.getContext(), R.drawable.delete_icon);
+        iconWidth = deleteIcon != null ? deleteIcon.getIntrinsicWidth() : 0;
+        iconHeight = deleteIcon != null ? deleteIcon.getIntrinsicHeight() : 0;
     }
 
     @Override
@@ -51,62 +85,107 @@ public class SwipeToDeleteCallback extends ItemTouchHelper.SimpleCallback {
     @Override
     public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
         final int position = viewHolder.getAdapterPosition();
-        final VinInfo vinInfo = mAdapter.getVinInfos().get(position);
+        if (position == RecyclerView.NO_POSITION) return;
 
-        // Show a confirmation dialog before deleting the item.
-        new AlertDialog.Builder(mAdapter.getContext())
-                .setTitle("Delete VIN Info")
-                .setMessage("Are you sure you want to delete this VIN info?")
-                .setPositiveButton("Yes", new DialogInterface.OnClickListener() {
-                    @Override
-                    public void onClick(DialogInterface dialog, int which) {
-                        // Delete item from DB and adapter.
-                        vinViewModel.deleteVinInfo(vinInfo);
-                        mAdapter.deleteVinInfo(position);                    }
-                })
-                .setNegativeButton("No", new DialogInterface.OnClickListener() {
+        // Hide the item now; the database delete happens when the batch is committed.
+        pendingDeletes.add(mAdapter.deleteVinInfo(position));
+        showUndoSnackbar();
+    }
+
+    /**
+     * Shows (or replaces) the undo snackbar for the current pending batch.
+     * A replaced snackbar is dismissed as {@code DISMISS_EVENT_CONSECUTIVE}, which
+     * keeps the batch pending rather than committing it.
+     */
+    private void showUndoSnackbar() {
+        int count = pendingDeletes.size();
+        String message = count == 1 ? "VIN deleted" : count + " VINs deleted";
+
+        undoSnackbar = Snackbar.make(snackbarAnchor, message, Snackbar.LENGTH_LONG)
+                .setAction("Undo", v -> undoPendingDeletes())
+                .addCallback(new Snackbar.Callback() {
                     @Override
-                    public void onClick(DialogInterface dialog, int which) {
-                        // Reset item if deletion was canceled.
-                        mAdapter.notifyItemChanged(position);
-                        dialog.dismiss();
+                    public void onDismissed(Snackbar snackbar, int event) {
+                        if (snackbar == undoSnackbar) undoSnackbar = null;
+                        if (event != DISMISS_EVENT_ACTION && event != DISMISS_EVENT_CONSECUTIVE) {
+                            commitPendingDeletes();
+                        }
                     }
-                })
-                .create()
-                .show();
+                });
+        undoSnackbar.show();
+    }
+
+    /** Restores every entry in the pending batch without touching the database. */
+    private void undoPendingDeletes() {
+        List<Integer> ids = new ArrayList<>(pendingDeletes.size());
+        for (VinInfoItem item : pendingDeletes) {
+            ids.add(item.getId());
+        }
+        pendingDeletes.clear();
+        mAdapter.restoreVinInfos(ids);
+    }
+
+    /**
+     * Writes all pending deletes as one transaction. Safe to call repeatedly;
+     * call from the host's {@code onStop()} so a pending batch is never lost.
+     */
+    public void commitPendingDeletes() {
+        if (pendingDeletes.isEmpty()) return;
+
+        List<Integer> ids = new ArrayList<>(pendingDeletes.size());
+        for (VinInfoItem item : pendingDeletes) {
+            ids.add(item.getId());
+        }
+        // All entries shown by one adapter belong to the same list
+        int listId = pendingDeletes.get(0).getListId();
+        pendingDeletes.clear();
+
+        ListenableFuture<Void> deleteFuture = vinViewModel.deleteVinInfos(ids, listId);
+        if (undoSnackbar != null) {
+            undoSnackbar.dismiss();
+        }
+
+        // Stop hiding the rows once the delete is stored, or bring them back if it failed
+        deleteFuture.addListener(() -> {
+            try {
+                deleteFuture.get();
+                mAdapter.releaseDeletedVinInfos(ids);
+            } catch (ExecutionException | InterruptedException e) {
+                Log.e(TAG, "Failed to delete " + ids.size() + " VINs", e);
+                mAdapter.restoreVinInfos(ids);
+                Toast.makeText(snackbarAnchor.getContext(),
+                        ids.size() == 1 ? "Could not delete VIN" : "Could not delete " + ids.size() + " VINs",
+                        Toast.LENGTH_LONG).show();
+            }
+        }, ContextCompat.getMainExecutor(snackbarAnchor.getContext()));
     }
 
     @Override
-    public void onChildDraw(Canvas c, RecyclerView recyclerView, RecyclerView.ViewHolder viewHolder,
+    public void onChildDraw(@NonNull Canvas c, @NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder,
                             float dX, float dY, int actionState, boolean isCurrentlyActive) {
         super.onChildDraw(c, recyclerView, viewHolder, dX, dY, actionState, isCurrentlyActive);
 
         // Draw background and delete icon while swiping left.
         View itemView = viewHolder.itemView;
-        Paint paint = new Paint();
 
         if (dX < 0) {
             // Draw red background behind the swiped item
-            paint.setColor(Color.RED);
-            RectF background = new RectF(
+            backgroundRect.set(
                     itemView.getRight() + dX,
                     itemView.getTop(),
                     itemView.getRight(),
                     itemView.getBottom()
             );
-            c.drawRect(background, paint);
+            c.drawRect(backgroundRect, backgroundPaint);
 
             // Draw delete icon centered vertically
-            Drawable icon = ContextCompat.getDrawable(mAdapter.getContext(), R.drawable.delete_icon);
-            if (icon != null) {
-                int iconMargin = (itemView.getHeight() - icon.getIntrinsicHeight()) / 2;
-                int iconTop = itemView.getTop() + (itemView.getHeight() - icon.getIntrinsicHeight()) / 2;
-                int iconBottom = iconTop + icon.getIntrinsicHeight();
-                int iconLeft = itemView.getRight() - iconMargin - icon.getIntrinsicWidth();
+            if (deleteIcon != null) {
+                int iconMargin = (itemView.getHeight() - iconHeight) / 2;
+                int iconTop = itemView.getTop() + iconMargin;
                 int iconRight = itemView.getRight() - iconMargin;
 
-                icon.setBounds(iconLeft, iconTop, iconRight, iconBottom);
-                icon.draw(c);
+                deleteIcon.setBounds(iconRight - iconWidth, iconTop, iconRight, iconTop + iconHeight);
+                deleteIcon.draw(c);
             }
         }
     }
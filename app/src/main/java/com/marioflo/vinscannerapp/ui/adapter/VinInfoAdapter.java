@@ -3,28 +3,47 @@ package com.marioflo.vinscannerapp.ui.adapter;
 import android.app.Activity;
 import android.content.Context;
 import android.content.Intent;
+import android.content.res.ColorStateList;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.cardview.widget.CardView;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.marioflo.vinscannerapp.R;
-import com.marioflo.vinscannerapp.data.entities.VinInfo;
+import com.marioflo.vinscannerapp.data.model.VinInfoItem;
 import com.marioflo.vinscannerapp.ui.EditVinActivity;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * RecyclerView Adapter for displaying VIN information in a list.
- * Each row represents a {@link VinInfo} object with details such as VIN number,
+ * Each row represents a {@link VinInfoItem} projection with details such as VIN number,
  * lot location, space number, and extra notes.
  *
  * <p>This adapter also supports row clicks to edit VIN details
- * and deleting items via an external listener.</p>
+ * and deleting items via an external listener. Long-pressing a row enters
+ * multi-select mode, in which clicks toggle selection and changes are reported
+ * through {@link OnSelectionChangedListener}.</p>
+ *
+ * <p>Display strings are precomputed into immutable {@link VinRowModel}s on a
+ * background thread whenever new data arrives, together with a {@link DiffUtil}
+ * pass, so {@code onBindViewHolder} performs no allocation while scrolling.</p>
  *
  * Usage:
  * - Call {@link #setVinInfos(List)} to populate the adapter with VIN entries.
@@ -34,15 +53,53 @@ public class VinInfoAdapter extends RecyclerView.Adapter<VinInfoAdapter.VinInfoH
 
     /** Request code constant for starting EditVinActivity. */
     private static final int REQUEST_CODE_EDIT_VIN = 2; // Declare the request code constant
-    private List<VinInfo> vinInfos = new ArrayList<>();
+    /** Partial-bind payload used when only the selection state of a row changed. */
+    private static final Object PAYLOAD_SELECTION = new Object();
+    /** Single background thread that builds row models and diffs, shared by all instances. */
+    private static final ExecutorService rowModelExecutor = Executors.newSingleThreadExecutor();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private List<VinInfoItem> vinInfos = new ArrayList<>();
+    private List<VinRowModel> rowModels = Collections.emptyList();
+    /** Latest unfiltered data received through {@link #setVinInfos(List)}. */
+    private List<VinInfoItem> sourceItems = Collections.emptyList();
+    /** IDs removed locally (e.g. pending deletion) that must stay hidden on refresh. */
+    private final Set<Integer> hiddenIds = new HashSet<>();
+    /** Hidden IDs whose delete is committed; unhidden once the data no longer contains them. */
+    private final Set<Integer> deletedIds = new HashSet<>();
+    /** Incremented on every submission so results of superseded builds are dropped. */
+    private int submitGeneration;
+    /** IDs of rows selected in multi-select mode. */
+    private final Set<Integer> selectedIds = new HashSet<>();
+    private final int selectedRowColor;
     private Context context;
     private OnItemDeleteListener onItemDeleteListener;
+    private OnSelectionChangedListener onSelectionChangedListener;
+    private OnItemClickListener onItemClickListener;
 
     /**
      * Listener interface for handling delete actions from the adapter.
      */
     public interface OnItemDeleteListener {
-        void onItemDelete(VinInfo vinInfo);
+        void onItemDelete(VinInfoItem vinInfo);
+    }
+
+    /**
+     * Listener interface for row clicks outside of selection mode.
+     * When no listener is set, clicks open {@link EditVinActivity}.
+     */
+    public interface OnItemClickListener {
+        void onItemClick(VinInfoItem vinInfo);
+    }
+
+    /**
+     * Listener interface notified whenever the multi-select selection changes.
+     */
+    public interface OnSelectionChangedListener {
+        /**
+         * @param selectedCount Number of selected rows; 0 means selection mode has ended.
+         */
+        void onSelectionChanged(int selectedCount);
     }
 
     /**
@@ -52,6 +109,7 @@ public class VinInfoAdapter extends RecyclerView.Adapter<VinInfoAdapter.VinInfoH
      */
     public VinInfoAdapter(Context context) {
         this.context = context;
+        this.selectedRowColor = ContextCompat.getColor(context, R.color.selected_row);
     }
 
 
@@ -64,6 +122,24 @@ public class VinInfoAdapter extends RecyclerView.Adapter<VinInfoAdapter.VinInfoH
         this.onItemDeleteListener = listener;
     }
 
+    /**
+     * Assign a listener for row clicks, replacing the default EditVinActivity launch.
+     *
+     * @param listener The {@link OnItemClickListener} to notify when a row is clicked.
+     */
+    public void setOnItemClickListener(OnItemClickListener listener) {
+        this.onItemClickListener = listener;
+    }
+
+    /**
+     * Assign a listener for multi-select changes.
+     *
+     * @param listener The {@link OnSelectionChangedListener} to notify.
+     */
+    public void setOnSelectionChangedListener(OnSelectionChangedListener listener) {
+        this.onSelectionChangedListener = listener;
+    }
+
     @NonNull
     @Override
     public VinInfoHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -75,64 +151,239 @@ public class VinInfoAdapter extends RecyclerView.Adapter<VinInfoAdapter.VinInfoH
 
     @Override
     public void onBindViewHolder(@NonNull VinInfoHolder holder, int position) {
-        // Get the current VIN entry
-        VinInfo currentVinInfo = vinInfos.get(position);
-
-        // Display sequential count (1-based index)
-        holder.textViewVinCount.setText(String.valueOf(position + 1));
-
-        // Display sequential count (1-based index)
-        holder.textViewVinNumber.setText(currentVinInfo.getVinNumber());
-
-
-        // Display row letter, defaulting to "-" if null
-        String rowLetter = currentVinInfo.getRowLetter();
-        holder.textViewLotLocation.setText(rowLetter != null ? rowLetter : "-");
+        // All display strings were prebuilt in VinRowModel.from()
+        VinRowModel model = rowModels.get(position);
+        holder.textViewVinCount.setText(model.countText);
+        holder.textViewVinNumber.setText(model.vinText);
+        holder.textViewLotLocation.setText(model.locationText);
+        holder.textViewSpaceNumber.setText(model.spaceText);
+        holder.textViewExtraNotes.setText(model.notesText);
+        bindSelection(holder, model);
+    }
 
-        // Display space number, prefixed with "#" if valid, otherwise "-"
-        String spaceNumber = currentVinInfo.getSpaceNumber();
-        holder.textViewSpaceNumber.setText(spaceNumber != null && !spaceNumber.equals("-") ? "#" + spaceNumber : "-");
+    @Override
+    public void onBindViewHolder(@NonNull VinInfoHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_SELECTION)) {
+            // Only the selection highlight changed; skip rebinding the text
+            bindSelection(holder, rowModels.get(position));
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
 
-        // Display extra notes if available, otherwise empty
-        String extraNotes = currentVinInfo.getExtraNotes();
-        holder.textViewExtraNotes.setText(extraNotes != null && !extraNotes.trim().isEmpty() ? extraNotes : "");
+    private void bindSelection(VinInfoHolder holder, VinRowModel model) {
+        boolean selected = selectedIds.contains(model.item.getId());
+        holder.itemView.setActivated(selected);
+        if (selected) {
+            holder.cardView.setCardBackgroundColor(selectedRowColor);
+        } else {
+            holder.cardView.setCardBackgroundColor(holder.defaultCardColor);
+        }
     }
 
     @Override
     public int getItemCount() {
-        return vinInfos.size();
+        return rowModels.size();
     }
 
     /**
      * Updates the adapter with a new list of VIN entries.
+     * <p>
+     * Row models and the diff against the current rows are computed in the background;
+     * the adapter is updated on the main thread once they are ready.
+     * </p>
      *
-     * @param vinInfos List of {@link VinInfo} objects to display.
+     * @param vinInfos List of {@link VinInfoItem} objects to display.
      */
-    public void setVinInfos(List<VinInfo> vinInfos) {
-        this.vinInfos = vinInfos;
-        notifyDataSetChanged();
+    public void setVinInfos(List<VinInfoItem> vinInfos) {
+        sourceItems = vinInfos != null ? vinInfos : Collections.emptyList();
+        pruneDeleted();
+        submitRows();
+    }
+
+    /**
+     * Rebuilds rows from {@link #sourceItems}, skipping hidden IDs, and applies them.
+     */
+    private void submitRows() {
+        final int generation = ++submitGeneration;
+        final List<VinInfoItem> source = sourceItems;
+        final Set<Integer> hidden = hiddenIds.isEmpty()
+                ? Collections.emptySet() : new HashSet<>(hiddenIds);
+        final List<VinRowModel> oldModels = rowModels;
+
+        rowModelExecutor.execute(() -> {
+            List<VinInfoItem> newItems = filterHidden(source, hidden);
+            List<VinRowModel> newModels = buildRowModels(newItems);
+            DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new RowModelDiff(oldModels, newModels));
+
+            mainHandler.post(() -> {
+                // Drop the result if newer data was submitted meanwhile
+                if (generation != submitGeneration) return;
+                boolean rowsChangedLocally = rowModels != oldModels;
+                this.vinInfos = new ArrayList<>(newItems);
+                this.rowModels = newModels;
+                if (rowsChangedLocally) {
+                    // A local removal happened after the diff base was captured
+                    notifyDataSetChanged();
+                } else {
+                    diff.dispatchUpdatesTo(this);
+                }
+                pruneSelection();
+            });
+        });
+    }
+
+    private static List<VinInfoItem> filterHidden(List<VinInfoItem> items, Set<Integer> hidden) {
+        if (hidden.isEmpty()) return items;
+        List<VinInfoItem> visible = new ArrayList<>(items.size());
+        for (VinInfoItem item : items) {
+            if (!hidden.contains(item.getId())) visible.add(item);
+        }
+        return visible;
+    }
+
+    private static List<VinRowModel> buildRowModels(List<VinInfoItem> items) {
+        List<VinRowModel> models = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            models.add(VinRowModel.from(items.get(i), i));
+        }
+        return Collections.unmodifiableList(models);
     }
 
     /**
      * Returns the current list of VIN entries.
      */
-    public List<VinInfo> getVinInfos() {
+    public List<VinInfoItem> getVinInfos() {
         return vinInfos;
     }
 
 
     /**
-     * Deletes a VIN entry at a given position and notifies the listener.
+     * Removes a VIN entry at a given position from display and notifies the listener.
+     * <p>
+     * The entry stays hidden across later data refreshes until it is restored with
+     * {@link #restoreVinInfos(Collection)}, so a deferred database delete does not
+     * make it flicker back in the meantime.
+     * </p>
      *
      * @param position The adapter position of the VIN to remove.
+     * @return The removed entry.
      */
-    public void deleteVinInfo(int position) {
-        VinInfo vinInfo = vinInfos.get(position);
+    public VinInfoItem deleteVinInfo(int position) {
+        VinInfoItem vinInfo = vinInfos.get(position);
         vinInfos.remove(position);
+        hiddenIds.add(vinInfo.getId());
+
+        List<VinRowModel> models = new ArrayList<>(rowModels);
+        models.remove(position);
+        // Rows below the removed one move up a place, so their count text is rebuilt
+        for (int i = position; i < models.size(); i++) {
+            models.set(i, VinRowModel.from(models.get(i).item, i));
+        }
+        rowModels = Collections.unmodifiableList(models);
         notifyItemRemoved(position);
+        notifyItemRangeChanged(position, models.size() - position);
         if (onItemDeleteListener != null) {
             onItemDeleteListener.onItemDelete(vinInfo);
         }
+        return vinInfo;
+    }
+
+    /**
+     * Stops hiding entries whose database delete succeeded. Each ID is released once the
+     * data no longer contains it, so a refresh that still lags behind the delete does not
+     * bring the row back.
+     *
+     * @param ids IDs of the deleted entries.
+     */
+    public void releaseDeletedVinInfos(Collection<Integer> ids) {
+        deletedIds.addAll(ids);
+        pruneDeleted();
+    }
+
+    /** Drops released IDs that are gone from {@link #sourceItems}. */
+    private void pruneDeleted() {
+        if (deletedIds.isEmpty()) return;
+        Set<Integer> present = new HashSet<>();
+        for (VinInfoItem item : sourceItems) {
+            if (deletedIds.contains(item.getId())) present.add(item.getId());
+        }
+        for (Iterator<Integer> it = deletedIds.iterator(); it.hasNext(); ) {
+            Integer id = it.next();
+            if (!present.contains(id)) {
+                hiddenIds.remove(id);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Shows previously removed entries again, e.g. when a deletion is undone.
+     *
+     * @param ids IDs of the entries to restore.
+     */
+    public void restoreVinInfos(Collection<Integer> ids) {
+        if (hiddenIds.removeAll(ids)) {
+            submitRows();
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // MULTI-SELECT
+    // ---------------------------------------------------------------------------------------------
+
+    /** @return True while at least one row is selected. */
+    public boolean isInSelectionMode() {
+        return !selectedIds.isEmpty();
+    }
+
+    /** @return A snapshot of the selected VIN entry IDs. */
+    public List<Integer> getSelectedIds() {
+        return new ArrayList<>(selectedIds);
+    }
+
+    /** Selects every visible row. */
+    public void selectAll() {
+        for (VinInfoItem item : vinInfos) {
+            selectedIds.add(item.getId());
+        }
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        notifySelectionChanged();
+    }
+
+    /** Clears the selection and leaves selection mode. */
+    public void clearSelection() {
+        if (selectedIds.isEmpty()) return;
+        selectedIds.clear();
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        notifySelectionChanged();
+    }
+
+    private void toggleSelection(int position) {
+        int id = vinInfos.get(position).getId();
+        if (!selectedIds.remove(id)) {
+            selectedIds.add(id);
+        }
+        notifyItemChanged(position, PAYLOAD_SELECTION);
+        notifySelectionChanged();
+    }
+
+    /** Drops selected IDs that are no longer displayed (e.g. deleted or moved away). */
+    private void pruneSelection() {
+        if (selectedIds.isEmpty()) return;
+        Set<Integer> visibleIds = new HashSet<>(vinInfos.size());
+        for (VinInfoItem item : vinInfos) {
+            visibleIds.add(item.getId());
+        }
+        if (selectedIds.retainAll(visibleIds)) {
+            notifySelectionChanged();
+        }
+    }
+
+    private void notifySelectionChanged() {
+        if (onSelectionChangedListener != null) {
+            onSelectionChangedListener.onSelectionChanged(selectedIds.size());
+        }
     }
 
     /**
@@ -142,10 +393,45 @@ public class VinInfoAdapter extends RecyclerView.Adapter<VinInfoAdapter.VinInfoH
         return context;
     }
 
+    /**
+     * Compares row models by VIN entry ID and rendered content.
+     */
+    private static class RowModelDiff extends DiffUtil.Callback {
+        private final List<VinRowModel> oldModels;
+        private final List<VinRowModel> newModels;
+
+        RowModelDiff(List<VinRowModel> oldModels, List<VinRowModel> newModels) {
+            this.oldModels = oldModels;
+            this.newModels = newModels;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldModels.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newModels.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldPosition, int newPosition) {
+            return oldModels.get(oldPosition).item.getId() == newModels.get(newPosition).item.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldPosition, int newPosition) {
+            return oldModels.get(oldPosition).hasSameContent(newModels.get(newPosition));
+        }
+    }
+
     /**
      * ViewHolder class that represents each VIN item row in the RecyclerView.
      */
-    class VinInfoHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
+    class VinInfoHolder extends RecyclerView.ViewHolder implements View.OnClickListener, View.OnLongClickListener {
+        private final CardView cardView;
+        private final ColorStateList defaultCardColor;
         private TextView textViewVinCount;
         private TextView textViewVinNumber;
         private TextView textViewLotLocation;
@@ -154,6 +440,8 @@ public class VinInfoAdapter extends RecyclerView.Adapter<VinInfoAdapter.VinInfoH
 
         public VinInfoHolder(@NonNull View itemView) {
             super(itemView);
+            cardView = (CardView) itemView;
+            defaultCardColor = cardView.getCardBackgroundColor();
 
             // Bind UI elements
             textViewVinCount = itemView.findViewById(R.id.id_vin_count);
@@ -164,13 +452,26 @@ public class VinInfoAdapter extends RecyclerView.Adapter<VinInfoAdapter.VinInfoH
 
             // Register click listener for editing
             itemView.setOnClickListener(this); // Set click listener
+            itemView.setOnLongClickListener(this);
+        }
+
+        @Override
+        public boolean onLongClick(View view) {
+            int position = getAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) return false;
+            toggleSelection(position);
+            return true;
         }
 
         @Override
         public void onClick(View view) {
             int position = getAdapterPosition();
-            if (position != RecyclerView.NO_POSITION) {
-                VinInfo selectedVinInfo = vinInfos.get(position);
+            if (position != RecyclerView.NO_POSITION && isInSelectionMode()) {
+                toggleSelection(position);
+            } else if (position != RecyclerView.NO_POSITION && onItemClickListener != null) {
+                onItemClickListener.onItemClick(vinInfos.get(position));
+            } else if (position != RecyclerView.NO_POSITION) {
+                VinInfoItem selectedVinInfo = vinInfos.get(position);
 
                 // Launch EditVinActivity with the selected VIN details
                 Intent intent = new Intent(context, EditVinActivity.class);
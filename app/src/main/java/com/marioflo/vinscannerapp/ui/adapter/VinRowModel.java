@@ -0,0 +1,71 @@
+package com.marioflo.vinscannerapp.ui.adapter;
+
+import androidx.annotation.NonNull;
+
+import com.marioflo.vinscannerapp.data.model.VinInfoItem;
+
+/**
+ * Immutable, display-ready representation of a single row in {@link VinInfoAdapter}.
+ * <p>
+ * All strings shown by the row are computed once, off the main thread, when new data
+ * arrives. {@code onBindViewHolder} then only assigns prebuilt values to views.
+ * </p>
+ */
+final class VinRowModel {
+
+    private static final String EMPTY_PLACEHOLDER = "-";
+
+    final VinInfoItem item;
+    final String countText;
+    final String vinText;
+    final String locationText;
+    final String spaceText;
+    final String notesText;
+
+    private VinRowModel(VinInfoItem item, String countText, String vinText,
+                        String locationText, String spaceText, String notesText) {
+        this.item = item;
+        this.countText = countText;
+        this.vinText = vinText;
+        this.locationText = locationText;
+        this.spaceText = spaceText;
+        this.notesText = notesText;
+    }
+
+    /**
+     * Builds the row model for an item shown at the given adapter position.
+     *
+     * @param item     The VIN entry to display.
+     * @param position Zero-based adapter position, rendered as a 1-based count.
+     */
+    static VinRowModel from(@NonNull VinInfoItem item, int position) {
+        // Row letter, defaulting to "-" if null
+        String rowLetter = item.getRowLetter();
+        String locationText = rowLetter != null ? rowLetter : EMPTY_PLACEHOLDER;
+
+        // Space number, prefixed with "#" if valid, otherwise "-"
+        String spaceNumber = item.getSpaceNumber();
+        String spaceText = spaceNumber != null && !spaceNumber.equals(EMPTY_PLACEHOLDER)
+                ? "#" + spaceNumber : EMPTY_PLACEHOLDER;
+
+        // Extra notes if available, otherwise empty
+        String extraNotes = item.getExtraNotes();
+        String notesText = extraNotes != null && !extraNotes.trim().isEmpty() ? extraNotes : "";
+
+        return new VinRowModel(item, String.valueOf(position + 1), item.getVinNumber(),
+                locationText, spaceText, notesText);
+    }
+
+    /** @return True if both models render identically. */
+    boolean hasSameContent(@NonNull VinRowModel other) {
+        return countText.equals(other.countText)
+                && equalsNullable(vinText, other.vinText)
+                && locationText.equals(other.locationText)
+                && spaceText.equals(other.spaceText)
+                && notesText.equals(other.notesText);
+    }
+
+    private static boolean equalsNullable(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -1,7 +1,6 @@
 package com.marioflo.vinscannerapp.viewmodel;
 
 import android.app.Application;
-import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
@@ -9,7 +8,9 @@ import androidx.lifecycle.LiveData;
 
 import com.marioflo.vinscannerapp.data.entities.VinInfo;
 import com.marioflo.vinscannerapp.data.entities.VinList;
+import com.marioflo.vinscannerapp.data.model.VinInfoItem;
 import com.marioflo.vinscannerapp.data.repository.VinRepository;
+import com.google.common.util.concurrent.ListenableFuture;
 
 import java.util.List;
 
@@ -21,11 +22,13 @@ import java.util.List;
  * {@link VinInfo} entities. All database interactions are delegated to the repository layer,
  * following the MVVM architecture pattern.
  * </p>
+ * <p>
+ * Write methods return the repository's futures so the UI can react to acknowledged
+ * writes (e.g. only confirm a scan once it is stored) and surface typed failures.
+ * </p>
  */
 public class VinViewModel extends AndroidViewModel {
 
-    private static final String TAG = "VinViewModel";
-
     private VinRepository repository;
     private LiveData<List<VinList>> allVinLists;
 
@@ -48,39 +51,33 @@ public class VinViewModel extends AndroidViewModel {
      * Inserts a new {@link VinList} into the database.
      *
      * @param vinList The VIN list entity to insert.
+     * @return A future completing with the generated list ID once the row is written.
      */
-    public void insertVinList(VinList vinList) {
-        try {
-            repository.insertVinList(vinList);
-        } catch (Exception e) {
-            Log.e(TAG, "Error inserting VIN list", e);
-        }
+    public ListenableFuture<Long> insertVinList(VinList vinList) {
+        return repository.insertVinList(vinList);
     }
 
     /**
      * Deletes an existing {@link VinList} from the database.
      *
      * @param vinList The VIN list entity to delete.
+     * @return A future completing once the write is applied, or failing with a
+     *         {@link com.marioflo.vinscannerapp.data.repository.DatabaseWriteException}.
      */
-    public void deleteVinList(VinList vinList) {
-        try {
-            repository.deleteVinList(vinList);
-        } catch (Exception e) {
-            Log.e(TAG, "Error deleting VIN list", e);
-        }
+    public ListenableFuture<Void> deleteVinList(VinList vinList) {
+        return repository.deleteVinList(vinList);
     }
 
     /**
      * Updates an existing {@link VinList}.
      *
      * @param vinList The VIN list entity to update.
+     * @return A future completing once the write is applied, or failing with a
+     *         {@link com.marioflo.vinscannerapp.data.repository.DatabaseWriteException}.
      */
-    public void updateVinList(VinList vinList) {
-        try {
-            repository.updateVinList(vinList);
-        } catch (Exception e) {
-            Log.e(TAG, "Error updating VIN list", e);
-        }    }
+    public ListenableFuture<Void> updateVinList(VinList vinList) {
+        return repository.updateVinList(vinList);
+    }
 
     /**
      * @return LiveData list of all VIN lists in the database.
@@ -108,37 +105,123 @@ public class VinViewModel extends AndroidViewModel {
      * Inserts a new {@link VinInfo} into the database.
      *
      * @param vinInfo The VIN info entity to insert.
+     * @return A future completing with the generated VIN info ID once the row is written.
+     */
+    public ListenableFuture<Long> insertVinInfo(VinInfo vinInfo) {
+        return repository.insertVinInfo(vinInfo);
+    }
+
+    /**
+     * Inserts a camera-scanned {@link VinInfo} through the write-behind buffer, so that
+     * consecutive scans are group-committed.
+     *
+     * @param vinInfo The scanned VIN info entity.
+     * @return A future completing with the generated VIN info ID once the scan is committed.
      */
-    public void insertVinInfo(VinInfo vinInfo) {
-        try {
-            repository.insertVinInfo(vinInfo);
-        } catch (Exception e) {
-            Log.e(TAG, "Error inserting VIN info", e);
-        }    }
+    public ListenableFuture<Long> insertScannedVinInfo(VinInfo vinInfo) {
+        return repository.insertScannedVinInfo(vinInfo);
+    }
+
+    /**
+     * Commits buffered scans immediately (e.g. when the scanning screen is paused).
+     *
+     * @return A future completing once the buffered scans are written.
+     */
+    public ListenableFuture<Void> flushScannedVinInfos() {
+        return repository.flushScannedVinInfos();
+    }
 
     /**
      * Deletes an existing {@link VinInfo} from the database.
      *
      * @param vinInfo The VIN info entity to delete.
+     * @return A future completing once the write is applied, or failing with a
+     *         {@link com.marioflo.vinscannerapp.data.repository.DatabaseWriteException}.
      */
-    public void deleteVinInfo(VinInfo vinInfo) {
-        try {
-            repository.deleteVinInfo(vinInfo);
-        } catch (Exception e) {
-            Log.e(TAG, "Error deleting VIN info", e);
-        }    }
+    public ListenableFuture<Void> deleteVinInfo(VinInfo vinInfo) {
+        return repository.deleteVinInfo(vinInfo);
+    }
+
+    /**
+     * Deletes a {@link VinInfo} by ID without loading the full entity.
+     *
+     * @param vinInfoItem Projection of the VIN entry to delete.
+     * @return A future completing once the write is applied, or failing with a
+     *         {@link com.marioflo.vinscannerapp.data.repository.DatabaseWriteException}.
+     */
+    public ListenableFuture<Void> deleteVinInfo(VinInfoItem vinInfoItem) {
+        return repository.deleteVinInfo(vinInfoItem.getId(), vinInfoItem.getListId());
+    }
+
+    /**
+     * Deletes several {@link VinInfo} entries of one list as a single transaction.
+     *
+     * @param ids    IDs of the VIN entries to delete.
+     * @param listId ID of the list the entries belong to.
+     * @return A future completing once the write is applied, or failing with a
+     *         {@link com.marioflo.vinscannerapp.data.repository.DatabaseWriteException}.
+     */
+    public ListenableFuture<Void> deleteVinInfos(List<Integer> ids, int listId) {
+        return repository.deleteVinInfos(ids, listId);
+    }
+
+    /**
+     * Moves several {@link VinInfo} entries to another list as a single transaction.
+     *
+     * @param ids          IDs of the VIN entries to move.
+     * @param sourceListId ID of the list the entries currently belong to.
+     * @param targetListId ID of the destination list.
+     * @return A future completing once the write is applied, or failing with a
+     *         {@link com.marioflo.vinscannerapp.data.repository.DatabaseWriteException}.
+     */
+    public ListenableFuture<Void> moveVinInfos(List<Integer> ids, int sourceListId, int targetListId) {
+        return repository.moveVinInfos(ids, sourceListId, targetListId);
+    }
+
+    /**
+     * Sets the row letter and/or space number of several {@link VinInfo} entries
+     * as a single transaction.
+     *
+     * @param ids            IDs of the VIN entries to update.
+     * @param setRowLetter   Whether to overwrite the row letter.
+     * @param rowLetter      New row letter, or null to clear it.
+     * @param setSpaceNumber Whether to overwrite the space number.
+     * @param spaceNumber    New space number, or null to clear it.
+     * @return A future completing once the write is applied, or failing with a
+     *         {@link com.marioflo.vinscannerapp.data.repository.DatabaseWriteException}.
+     */
+    public ListenableFuture<Void> updateVinInfoLocations(List<Integer> ids, boolean setRowLetter, String rowLetter,
+                                       boolean setSpaceNumber, String spaceNumber) {
+        return repository.updateVinInfoLocations(ids, setRowLetter, rowLetter, setSpaceNumber, spaceNumber);
+    }
+
+    /**
+     * Writes only the edited columns of a {@link VinInfo}, instead of rewriting the whole row.
+     *
+     * @param id              The VIN info ID.
+     * @param locationChanged Whether row letter and space number were edited.
+     * @param rowLetter       New row letter, or null to clear it.
+     * @param spaceNumber     New space number, or null to clear it.
+     * @param notesChanged    Whether notes were edited.
+     * @param extraNotes      New notes, or null to clear them.
+     * @return A future completing once the write is applied, or failing with a
+     *         {@link com.marioflo.vinscannerapp.data.repository.DatabaseWriteException}.
+     */
+    public ListenableFuture<Void> updateVinInfoFields(int id, boolean locationChanged, String rowLetter, String spaceNumber,
+                                    boolean notesChanged, String extraNotes) {
+        return repository.updateVinInfoFields(id, locationChanged, rowLetter, spaceNumber, notesChanged, extraNotes);
+    }
 
     /**
      * Updates an existing {@link VinInfo}.
      *
      * @param vinInfo The VIN info entity to update.
+     * @return A future completing once the write is applied, or failing with a
+     *         {@link com.marioflo.vinscannerapp.data.repository.DatabaseWriteException}.
      */
-    public void updateVinInfo(VinInfo vinInfo) {
-        try {
-            repository.updateVinInfo(vinInfo);
-        } catch (Exception e) {
-            Log.e(TAG, "Error updating VIN info", e);
-        }    }
+    public ListenableFuture<Void> updateVinInfo(VinInfo vinInfo) {
+        return repository.updateVinInfo(vinInfo);
+    }
 
     /**
      * Retrieves all {@link VinInfo} associated with a specific VIN list.
@@ -151,6 +234,16 @@ public class VinViewModel extends AndroidViewModel {
     }
 
 
+    /**
+     * Retrieves only the display columns of the VIN entries in a list.
+     *
+     * @param listId The ID of the VIN list.
+     * @return LiveData list of {@link VinInfoItem} projections.
+     */
+    public LiveData<List<VinInfoItem>> getVinInfoItemsForList(int listId) {
+        return repository.getVinInfoItemsForList(listId);
+    }
+
     /**
      * Retrieves a single {@link VinInfo} by its ID.
      *
@@ -160,4 +253,48 @@ public class VinViewModel extends AndroidViewModel {
     public LiveData<VinInfo> getVinInfoById(int vinInfoId) {
         return repository.getVinInfoById(vinInfoId);
     }
+
+    /**
+     * Retrieves all {@link VinInfo} of a list, most recently scanned first.
+     *
+     * @param listId The ID of the VIN list.
+     * @return LiveData list of VIN info objects ordered by scan time, newest first.
+     */
+    public LiveData<List<VinInfo>> getVinInfoForListByRecency(int listId) {
+        return repository.getVinInfoForListByRecency(listId);
+    }
+
+    /**
+     * Retrieves all {@link VinInfo} scanned within a time window.
+     *
+     * @param fromMillis Inclusive window start, epoch milliseconds.
+     * @param toMillis   Exclusive window end, epoch milliseconds.
+     * @return LiveData list of VIN info objects ordered by scan time.
+     */
+    public LiveData<List<VinInfo>> getVinInfoScannedBetween(long fromMillis, long toMillis) {
+        return repository.getVinInfoScannedBetween(fromMillis, toMillis);
+    }
+
+    /**
+     * Retrieves the {@link VinInfo} of one list scanned within a time window.
+     *
+     * @param listId     The ID of the VIN list.
+     * @param fromMillis Inclusive window start, epoch milliseconds.
+     * @param toMillis   Exclusive window end, epoch milliseconds.
+     * @return LiveData list of VIN info objects ordered by scan time.
+     */
+    public LiveData<List<VinInfo>> getVinInfoForListScannedBetween(int listId, long fromMillis, long toMillis) {
+        return repository.getVinInfoForListScannedBetween(listId, fromMillis, toMillis);
+    }
+
+    /**
+     * Counts the VINs scanned within a time window (e.g. one hour for throughput audits).
+     *
+     * @param fromMillis Inclusive window start, epoch milliseconds.
+     * @param toMillis   Exclusive window end, epoch milliseconds.
+     * @return LiveData holding the count.
+     */
+    public LiveData<Integer> countVinInfoScannedBetween(long fromMillis, long toMillis) {
+        return repository.countVinInfoScannedBetween(fromMillis, toMillis);
+    }
 }
@@ -0,0 +1,46 @@
+package com.marioflo.vinscannerapp.benchmark;
+
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+import com.marioflo.vinscannerapp.core.scanner.VinCandidateExtractor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VIN candidate extraction from synthetic OCR results shaped like a door-jamb
+ * label or windshield sticker: many short noise blocks plus one labelled VIN line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CandidateExtractionBenchmark {
+
+    /** Number of text blocks in the frame. */
+    @Param({"4", "32", "128"})
+    public int blockCount;
+
+    /** Where the VIN is: a whole block, inside a labelled line, or absent. */
+    @Param({"BLOCK", "LINE", "NONE"})
+    public SyntheticData.VinPlacement placement;
+
+    private List<RecognizedBlock> blocks;
+
+    @Setup
+    public void setUp() {
+        blocks = SyntheticData.recognizedBlocks(blockCount, placement, 7);
+    }
+
+    @Benchmark
+    public Object extract() {
+        return VinCandidateExtractor.extract(blocks);
+    }
+}
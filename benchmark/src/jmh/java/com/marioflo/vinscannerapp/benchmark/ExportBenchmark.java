@@ -0,0 +1,53 @@
+package com.marioflo.vinscannerapp.benchmark;
+
+import com.marioflo.vinscannerapp.core.export.VinListExporter;
+import com.marioflo.vinscannerapp.core.export.VinRecord;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XLSX versus CSV export of N rows into memory, so disk speed does not skew the comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExportBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private List<VinRecord> records;
+
+    @Setup
+    public void setUp() {
+        records = SyntheticData.records(rows, 11);
+    }
+
+    @Benchmark
+    public int xlsx() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VinListExporter.writeXlsx(records, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int csv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VinListExporter.writeCsv(records, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        return out.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.marioflo.vinscannerapp.benchmark;
+
+import com.marioflo.vinscannerapp.core.frame.LumaFrame;
+import com.marioflo.vinscannerapp.core.frame.LumaFramePool;
+import com.marioflo.vinscannerapp.core.scanner.FrameQuality;
+import com.marioflo.vinscannerapp.core.scanner.FrameQualityGate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to score one 480x360 luma preview with {@link FrameQualityGate}; the budget on a
+ * phone is 2 ms, so desktop numbers should stay well below that.
+ * <p>
+ * {@code sharp} runs both passes; {@code dark} exits after the brightness pass.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QualityGateBenchmark {
+
+    @Param({"sharp", "dark"})
+    public String content;
+
+    private static final int WIDTH = 480;
+    private static final int HEIGHT = 360;
+
+    private final FrameQualityGate gate = new FrameQualityGate();
+    private LumaFrame frame;
+
+    @Setup
+    public void setUp() {
+        frame = new LumaFramePool(1).acquire(WIDTH, HEIGHT);
+        ByteBuffer data = frame.getData();
+        Random random = new Random(5);
+        boolean dark = "dark".equals(content);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                // Character-sized strokes on a plate-like background
+                boolean ink = (x / 6) % 2 == 0 ^ (y / 9) % 3 == 0;
+                int luma = dark ? 10 + random.nextInt(8) : (ink ? 40 : 180) + random.nextInt(10);
+                data.put(y * WIDTH + x, (byte) luma);
+            }
+        }
+    }
+
+    @Benchmark
+    public FrameQuality scoreFrame() {
+        return gate.evaluate(frame);
+    }
+}
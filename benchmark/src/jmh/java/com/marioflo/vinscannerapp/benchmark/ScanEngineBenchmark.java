@@ -0,0 +1,90 @@
+package com.marioflo.vinscannerapp.benchmark;
+
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+import com.marioflo.vinscannerapp.core.scanner.ScanResult;
+import com.marioflo.vinscannerapp.core.scanner.VinScanEngine;
+import com.marioflo.vinscannerapp.core.scanner.VinVoter;
+import com.marioflo.vinscannerapp.core.scanner.replay.RecordedDetector;
+import com.marioflo.vinscannerapp.core.scanner.replay.RecordedFrame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frames per second the scanner core sustains on recorded detector output, with detector
+ * time excluded. This is the engine's own overhead (validation, extraction, correction and
+ * voting) that every frame pays on top of ML Kit.
+ * <p>
+ * The synthetic stream mixes barcode hits, labelled OCR lines, OCR lines needing
+ * correction, barcode failures and empty frames.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScanEngineBenchmark {
+
+    /** Votes needed to lock: 1 is single-photo mode, 3 is continuous scanning. */
+    @Param({"1", "3"})
+    public int votesToLock;
+
+    private static final int FRAME_COUNT = 256;
+
+    private RecordedFrame[] frames;
+    private VinScanEngine<RecordedFrame> engine;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(99);
+        frames = new RecordedFrame[FRAME_COUNT];
+        for (int i = 0; i < FRAME_COUNT; i++) {
+            frames[i] = syntheticFrame("frame-" + i, i % 5, random);
+        }
+        RecordedDetector detector = new RecordedDetector(false);
+        engine = new VinScanEngine<>(detector, detector, new VinVoter(votesToLock), null);
+    }
+
+    @Benchmark
+    public ScanResult scanFrame() throws Exception {
+        RecordedFrame frame = frames[next];
+        next = (next + 1) % FRAME_COUNT;
+        return engine.scan(frame);
+    }
+
+    private static RecordedFrame syntheticFrame(String id, int kind, Random random) {
+        String vin = SyntheticData.randomVin(random);
+        List<RecognizedBlock> noise = SyntheticData.recognizedBlocks(12, SyntheticData.VinPlacement.NONE,
+                random.nextLong());
+        switch (kind) {
+            case 0: // barcode hit
+                return new RecordedFrame(id, Collections.singletonList(vin), noise, 0, 0, vin);
+            case 1: // labelled OCR line
+                return new RecordedFrame(id, Collections.emptyList(),
+                        SyntheticData.recognizedBlocks(12, SyntheticData.VinPlacement.LINE, random.nextLong()),
+                        0, 0, null);
+            case 2: // OCR with an O misread for 0, needing correction
+                List<RecognizedBlock> blocks = new ArrayList<>(noise);
+                String misread = vin.replace('0', 'O');
+                blocks.add(new RecognizedBlock(misread,
+                        Collections.singletonList(new RecognizedBlock.Line(misread, 0.7f))));
+                return new RecordedFrame(id, Collections.emptyList(), blocks, 0, 0, vin);
+            case 3: // barcode detector failure, falls back to OCR
+                return new RecordedFrame(id, null, noise, 0, 0, null);
+            default: // nothing readable
+                return new RecordedFrame(id, Collections.emptyList(), noise, 0, 0, null);
+        }
+    }
+}
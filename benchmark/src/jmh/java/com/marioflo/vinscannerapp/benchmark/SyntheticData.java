@@ -0,0 +1,135 @@
+package com.marioflo.vinscannerapp.benchmark;
+
+import com.marioflo.vinscannerapp.core.export.VinRecord;
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic inputs for the benchmarks. Every generator takes a seed,
+ * so runs compared against the baseline see identical data.
+ */
+public final class SyntheticData {
+
+    /** Where a VIN appears in synthetic OCR output. */
+    public enum VinPlacement { BLOCK, LINE, NONE }
+
+    private static final String VIN_CHARS = "ABCDEFGHJKLMNPRSTUVWXYZ0123456789";
+    private static final String NOISE_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 :-/.";
+
+    private SyntheticData() {
+    }
+
+    public static String randomVin(Random random) {
+        char[] vin = new char[17];
+        for (int i = 0; i < vin.length; i++) {
+            vin[i] = VIN_CHARS.charAt(random.nextInt(VIN_CHARS.length()));
+        }
+        return new String(vin);
+    }
+
+    static String noise(Random random, int length) {
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = NOISE_CHARS.charAt(random.nextInt(NOISE_CHARS.length()));
+        }
+        return new String(text);
+    }
+
+    /** Half valid VINs, a quarter with a forbidden letter, a quarter of random-length noise. */
+    static String[] validatorInputs(int count, long seed) {
+        Random random = new Random(seed);
+        String[] inputs = new String[count];
+        for (int i = 0; i < count; i++) {
+            switch (i % 4) {
+                case 0:
+                case 1:
+                    inputs[i] = randomVin(random);
+                    break;
+                case 2:
+                    char[] vin = randomVin(random).toCharArray();
+                    vin[random.nextInt(vin.length)] = "IOQ".charAt(random.nextInt(3));
+                    inputs[i] = new String(vin);
+                    break;
+                default:
+                    inputs[i] = noise(random, 5 + random.nextInt(25));
+                    break;
+            }
+        }
+        return inputs;
+    }
+
+    static List<RecognizedBlock> recognizedBlocks(int blockCount, VinPlacement placement, long seed) {
+        Random random = new Random(seed);
+        List<RecognizedBlock> blocks = new ArrayList<>(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            String text = noise(random, 4 + random.nextInt(20));
+            blocks.add(new RecognizedBlock(text,
+                    Collections.singletonList(new RecognizedBlock.Line(text, random.nextFloat()))));
+        }
+        // Put the VIN late in reading order, as on a typical label
+        int target = blockCount - 1;
+        String vin = randomVin(random);
+        if (placement == VinPlacement.BLOCK) {
+            blocks.set(target, new RecognizedBlock(vin,
+                    Collections.singletonList(new RecognizedBlock.Line(vin, 0.9f))));
+        } else if (placement == VinPlacement.LINE) {
+            String line = "VIN: " + vin + " MFD 07/19";
+            List<RecognizedBlock.Line> lines = new ArrayList<>();
+            lines.add(new RecognizedBlock.Line("GVWR 2268KG", 0.8f));
+            lines.add(new RecognizedBlock.Line(line, 0.9f));
+            blocks.set(target, new RecognizedBlock("GVWR 2268KG\n" + line, lines));
+        }
+        return blocks;
+    }
+
+    static List<VinRecord> records(int count, long seed) {
+        Random random = new Random(seed);
+        List<VinRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String vin = randomVin(random);
+            String row = random.nextInt(4) == 0 ? null : String.valueOf((char) ('A' + random.nextInt(26)));
+            String space = random.nextInt(4) == 0 ? null : String.valueOf(1 + random.nextInt(60));
+            String notes = random.nextInt(3) == 0 ? "Scratch, rear bumper" : null;
+            records.add(new Record(vin, row, space, notes));
+        }
+        return records;
+    }
+
+    private static final class Record implements VinRecord {
+        private final String vin;
+        private final String rowLetter;
+        private final String spaceNumber;
+        private final String notes;
+
+        Record(String vin, String rowLetter, String spaceNumber, String notes) {
+            this.vin = vin;
+            this.rowLetter = rowLetter;
+            this.spaceNumber = spaceNumber;
+            this.notes = notes;
+        }
+
+        @Override
+        public String getVinNumber() {
+            return vin;
+        }
+
+        @Override
+        public String getRowLetter() {
+            return rowLetter;
+        }
+
+        @Override
+        public String getSpaceNumber() {
+            return spaceNumber;
+        }
+
+        @Override
+        public String getExtraNotes() {
+            return notes;
+        }
+    }
+}
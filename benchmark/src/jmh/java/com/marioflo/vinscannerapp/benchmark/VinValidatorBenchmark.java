@@ -0,0 +1,45 @@
+package com.marioflo.vinscannerapp.benchmark;
+
+import com.marioflo.vinscannerapp.core.scanner.VinValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regex versus lookup-table VIN validation over a mix of valid VINs,
+ * near misses (forbidden letters, wrong length) and OCR noise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VinValidatorBenchmark {
+
+    private String[] inputs;
+
+    @Setup
+    public void setUp() {
+        inputs = SyntheticData.validatorInputs(1024, 42);
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(VinValidator.isVinRegex(input));
+        }
+    }
+
+    @Benchmark
+    public void lookupTable(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(VinValidator.isVin(input));
+        }
+    }
+}
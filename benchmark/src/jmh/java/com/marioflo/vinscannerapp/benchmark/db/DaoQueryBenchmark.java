@@ -0,0 +1,215 @@
+package com.marioflo.vinscannerapp.benchmark.db;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DAO query costs against synthetic lists of 1k, 10k and 100k rows, using the exact
+ * SQL of {@code VinInfoDao} on a JVM SQLite driver.
+ * <p>
+ * Covers single and group-commit inserts (with their count updates), full-row versus
+ * projected list loads, list load in scan order, time-window search and count, and the
+ * identity lookup used by journal replay. Cascade deletes are in {@link DeleteCascadeBenchmark}.
+ * Query plans are verified before measuring; see {@link QueryPlanVerifier}.
+ * </p>
+ * Absolute numbers are desktop numbers; use them to compare queries and catch regressions,
+ * not to predict on-device latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DaoQueryBenchmark {
+
+    /** Group size used by the scan write-behind buffer. */
+    private static final int GROUP_COMMIT_SIZE = 8;
+
+    @Param({"1000", "10000", "100000"})
+    public int rowsPerList;
+
+    private SyntheticVinDatabase db;
+    private Connection connection;
+    private int listId;
+    private final Random random = new Random(3);
+
+    private PreparedStatement insertVin;
+    private PreparedStatement incrementCount;
+    private PreparedStatement addToCount;
+    private PreparedStatement listAllColumns;
+    private PreparedStatement listProjection;
+    private PreparedStatement listByRecency;
+    private PreparedStatement window;
+    private PreparedStatement countWindow;
+    private PreparedStatement matchingScan;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = SyntheticVinDatabase.create(rowsPerList, 17);
+        connection = db.getConnection();
+        listId = db.getTargetListId();
+        QueryPlanVerifier.verify(connection, null);
+
+        insertVin = connection.prepareStatement(VinSchema.INSERT_VIN);
+        incrementCount = connection.prepareStatement(VinSchema.INCREMENT_COUNT);
+        addToCount = connection.prepareStatement(VinSchema.ADD_TO_COUNT);
+        listAllColumns = connection.prepareStatement(VinSchema.LIST_ALL_COLUMNS);
+        listProjection = connection.prepareStatement(VinSchema.LIST_PROJECTION);
+        listByRecency = connection.prepareStatement(VinSchema.LIST_BY_RECENCY);
+        window = connection.prepareStatement(VinSchema.WINDOW);
+        countWindow = connection.prepareStatement(VinSchema.COUNT_WINDOW);
+        matchingScan = connection.prepareStatement(VinSchema.MATCHING_SCAN);
+    }
+
+    /** Removes rows added by the insert benchmarks so every iteration sees the seeded size. */
+    @TearDown(Level.Iteration)
+    public void removeInsertedRows() throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM vin_info WHERE listId = ? AND extraNotes = 'bench-insert'");
+             PreparedStatement refresh = connection.prepareStatement(VinSchema.REFRESH_COUNT)) {
+            delete.setInt(1, listId);
+            delete.executeUpdate();
+            refresh.setInt(1, listId);
+            refresh.setInt(2, listId);
+            refresh.executeUpdate();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        db.close();
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // WRITES
+    // ---------------------------------------------------------------------------------------------
+
+    /** {@code insertAndIncrementCount}: one scan per transaction. */
+    @Benchmark
+    public void insertSingle() throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            bindInsert();
+            insertVin.executeUpdate();
+            incrementCount.setInt(1, listId);
+            incrementCount.executeUpdate();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /** {@code insertAllAndIncrementCounts}: one group commit of the write-behind buffer. */
+    @Benchmark
+    @OperationsPerInvocation(GROUP_COMMIT_SIZE)
+    public void insertGroupCommit() throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            for (int i = 0; i < GROUP_COMMIT_SIZE; i++) {
+                bindInsert();
+                insertVin.addBatch();
+            }
+            insertVin.executeBatch();
+            addToCount.setInt(1, GROUP_COMMIT_SIZE);
+            addToCount.setInt(2, listId);
+            addToCount.executeUpdate();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void bindInsert() throws SQLException {
+        SyntheticVinDatabase.bindVin(insertVin, listId, random);
+        insertVin.setString(6, "bench-insert");
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // READS
+    // ---------------------------------------------------------------------------------------------
+
+    /** {@code getVinInfoForList}: every column of every row in the list. */
+    @Benchmark
+    public void loadListAllColumns(Blackhole blackhole) throws SQLException {
+        listAllColumns.setInt(1, listId);
+        drain(listAllColumns, blackhole);
+    }
+
+    /** {@code getVinInfoItemsForList}: only the columns the list screen shows. */
+    @Benchmark
+    public void loadListProjection(Blackhole blackhole) throws SQLException {
+        listProjection.setInt(1, listId);
+        drain(listProjection, blackhole);
+    }
+
+    /** {@code getVinInfoForListByRecency}: the list in scan order, newest first. */
+    @Benchmark
+    public void loadListByRecency(Blackhole blackhole) throws SQLException {
+        listByRecency.setInt(1, listId);
+        drain(listByRecency, blackhole);
+    }
+
+    /** {@code getVinInfoScannedBetween} over a one-hour window. */
+    @Benchmark
+    public void searchHourWindow(Blackhole blackhole) throws SQLException {
+        bindHourWindow(window);
+        drain(window, blackhole);
+    }
+
+    /** {@code countVinInfoScannedBetween} over a one-hour window. */
+    @Benchmark
+    public long countHourWindow() throws SQLException {
+        bindHourWindow(countWindow);
+        try (ResultSet rows = countWindow.executeQuery()) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    /** {@code countMatchingScan}: the per-scan lookup done by journal replay. */
+    @Benchmark
+    public long matchingScanLookup() throws SQLException {
+        matchingScan.setLong(1, SyntheticVinDatabase.EPOCH_MILLIS + random.nextInt(1_000_000));
+        matchingScan.setInt(2, listId);
+        matchingScan.setString(3, "1HGCM82633A004352");
+        try (ResultSet rows = matchingScan.executeQuery()) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private void bindHourWindow(PreparedStatement statement) throws SQLException {
+        long hour = 60L * 60 * 1000;
+        long from = SyntheticVinDatabase.EPOCH_MILLIS
+                + (long) (random.nextDouble() * (SyntheticVinDatabase.SPAN_MILLIS - hour));
+        statement.setLong(1, from);
+        statement.setLong(2, from + hour);
+    }
+
+    /** Reads every column of every row, as Room's generated cursor code would. */
+    private static void drain(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rows = statement.executeQuery()) {
+            int columns = rows.getMetaData().getColumnCount();
+            while (rows.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    blackhole.consume(rows.getObject(i));
+                }
+            }
+        }
+    }
+}
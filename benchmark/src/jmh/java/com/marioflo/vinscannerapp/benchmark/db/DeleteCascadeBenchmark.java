@@ -0,0 +1,63 @@
+package com.marioflo.vinscannerapp.benchmark.db;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deleting a whole list ({@code VinListDao.delete}), which cascades to its rows through
+ * the {@code listId} foreign key. Each invocation deletes a freshly seeded list, so this
+ * runs in single-shot mode with seeding excluded from the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class DeleteCascadeBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rowsPerList;
+
+    private SyntheticVinDatabase db;
+    private PreparedStatement deleteList;
+    private final Random random = new Random(5);
+    private int doomedListId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = SyntheticVinDatabase.create(rowsPerList, 23);
+        QueryPlanVerifier.verify(db.getConnection(), null);
+        deleteList = db.getConnection().prepareStatement(VinSchema.DELETE_LIST);
+    }
+
+    @Setup(Level.Invocation)
+    public void seedDoomedList() throws SQLException {
+        doomedListId = db.seedList("Doomed", rowsPerList, random);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        db.close();
+    }
+
+    @Benchmark
+    public int deleteListCascade() throws SQLException {
+        deleteList.setInt(1, doomedListId);
+        return deleteList.executeUpdate();
+    }
+}
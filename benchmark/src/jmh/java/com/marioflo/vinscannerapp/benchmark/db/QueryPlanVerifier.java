@@ -0,0 +1,105 @@
+package com.marioflo.vinscannerapp.benchmark.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Asserts, via {@code EXPLAIN QUERY PLAN}, that every DAO read and lookup is served by an index.
+ * <p>
+ * A plan fails when it scans {@code vin_info} without an index or sorts through a temporary
+ * B-tree. {@link DaoQueryBenchmark} runs this before measuring, so a benchmark run on a schema
+ * that lost an index fails instead of reporting slow numbers. {@link #main} prints every plan
+ * and exits non-zero on failure, for use as a standalone check.
+ * </p>
+ */
+public final class QueryPlanVerifier {
+
+    /** Queries that must use an index, with representative parameters. */
+    private static final Object[][] CHECKED_QUERIES = {
+            {VinSchema.LIST_ALL_COLUMNS, 1},
+            {VinSchema.LIST_PROJECTION, 1},
+            {VinSchema.LIST_BY_RECENCY, 1},
+            {VinSchema.WINDOW, 0L, 1L},
+            {VinSchema.LIST_WINDOW, 1, 0L, 1L},
+            {VinSchema.COUNT_WINDOW, 0L, 1L},
+            {VinSchema.MATCHING_SCAN, 0L, 1, "1HGCM82633A004352"},
+            {VinSchema.BY_ID, 1},
+            {"SELECT COUNT(*) FROM vin_info WHERE listId = ?", 1},
+            {VinSchema.CASCADE_LOOKUP, 1},
+    };
+
+    private QueryPlanVerifier() {
+    }
+
+    /**
+     * Checks every query and throws if any plan is not index-backed.
+     *
+     * @param connection Connection to a database with the app schema.
+     * @param log        Receives each query and its plan; may be null.
+     * @throws IllegalStateException Listing every offending plan.
+     */
+    public static void verify(Connection connection, StringBuilder log) throws SQLException {
+        List<String> failures = new ArrayList<>();
+        for (Object[] query : CHECKED_QUERIES) {
+            String sql = (String) query[0];
+            List<String> plan = explain(connection, sql, query);
+            if (log != null) {
+                log.append(sql).append('\n');
+                for (String step : plan) log.append("    ").append(step).append('\n');
+            }
+            for (String step : plan) {
+                if (isFullScan(step) || step.contains("USE TEMP B-TREE")) {
+                    failures.add(sql + "\n    " + step);
+                }
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Queries not served by an index:\n" + String.join("\n", failures));
+        }
+    }
+
+    private static List<String> explain(Connection connection, String sql, Object[] query) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            for (int i = 1; i < query.length; i++) {
+                statement.setObject(i, query[i]);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.add(rows.getString("detail"));
+                }
+            }
+        }
+        return plan;
+    }
+
+    /** Matches "SCAN vin_info" and the pre-3.36 "SCAN TABLE vin_info", unless an index is used. */
+    private static boolean isFullScan(String step) {
+        String upper = step.toUpperCase(Locale.US);
+        return (upper.startsWith("SCAN VIN_INFO") || upper.startsWith("SCAN TABLE VIN_INFO"))
+                && !upper.contains("USING");
+    }
+
+    /**
+     * Seeds a small database, prints every plan and exits with status 1 on failure.
+     */
+    public static void main(String[] args) throws Exception {
+        try (SyntheticVinDatabase db = SyntheticVinDatabase.create(1_000, 1)) {
+            StringBuilder log = new StringBuilder();
+            try {
+                verify(db.getConnection(), log);
+                System.out.print(log);
+                System.out.println("All query plans use indexes.");
+            } catch (IllegalStateException e) {
+                System.out.print(log);
+                System.err.println(e.getMessage());
+                System.exit(1);
+            }
+        }
+    }
+}
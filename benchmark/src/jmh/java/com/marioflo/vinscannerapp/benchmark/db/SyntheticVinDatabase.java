@@ -0,0 +1,146 @@
+package com.marioflo.vinscannerapp.benchmark.db;
+
+import com.marioflo.vinscannerapp.benchmark.SyntheticData;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Random;
+
+/**
+ * A file-backed SQLite database with the app's schema, seeded with synthetic scans.
+ * <p>
+ * Opened with the settings Android uses for Room: WAL journal, {@code synchronous=NORMAL}
+ * and foreign keys on. Seeding creates one target list of {@code rowsPerList} rows
+ * plus {@link #OTHER_LISTS} background lists a tenth that size, with scans spread
+ * over {@link #SPAN_MILLIS} so time-window queries select a realistic slice.
+ * </p>
+ */
+public final class SyntheticVinDatabase implements AutoCloseable {
+
+    /** Lists besides the target list, so per-list queries have rows to skip. */
+    public static final int OTHER_LISTS = 9;
+
+    /** Scan times cover thirty days. */
+    public static final long SPAN_MILLIS = 30L * 24 * 60 * 60 * 1000;
+
+    /** Fixed epoch for scan times, so every run sees the same data. */
+    public static final long EPOCH_MILLIS = 1_700_000_000_000L;
+
+    private static final String[] SOURCES = {"BARCODE", "OCR", "MANUAL"};
+
+    private final File file;
+    private final Connection connection;
+    private int targetListId;
+
+    private SyntheticVinDatabase(File file) throws SQLException {
+        this.file = file;
+        this.connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("PRAGMA foreign_keys=ON");
+            for (String ddl : VinSchema.DDL) {
+                statement.execute(ddl);
+            }
+        }
+    }
+
+    /**
+     * Creates and seeds a database in a temporary file.
+     *
+     * @param rowsPerList Rows in the target list.
+     * @param seed        Random seed.
+     */
+    public static SyntheticVinDatabase create(int rowsPerList, long seed) throws IOException, SQLException {
+        File file = Files.createTempFile("vin-bench-", ".db").toFile();
+        SyntheticVinDatabase db = new SyntheticVinDatabase(file);
+        Random random = new Random(seed);
+        db.targetListId = db.seedList("Target", rowsPerList, random);
+        for (int i = 0; i < OTHER_LISTS; i++) {
+            db.seedList("Other " + i, Math.max(1, rowsPerList / 10), random);
+        }
+        try (Statement statement = db.connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+        return db;
+    }
+
+    /**
+     * Inserts a list and its rows in one transaction.
+     *
+     * @return The new list's ID.
+     */
+    public int seedList(String name, int rows, Random random) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            int listId;
+            try (PreparedStatement insertList = connection.prepareStatement(VinSchema.INSERT_LIST,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                insertList.setString(1, name);
+                insertList.setInt(2, rows);
+                insertList.executeUpdate();
+                try (ResultSet keys = insertList.getGeneratedKeys()) {
+                    keys.next();
+                    listId = keys.getInt(1);
+                }
+            }
+            try (PreparedStatement insertVin = connection.prepareStatement(VinSchema.INSERT_VIN)) {
+                for (int i = 0; i < rows; i++) {
+                    bindVin(insertVin, listId, random);
+                    insertVin.addBatch();
+                    if (i % 1000 == 999) insertVin.executeBatch();
+                }
+                insertVin.executeBatch();
+            }
+            connection.commit();
+            return listId;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /** Binds the parameters of {@link VinSchema#INSERT_VIN} for one synthetic scan. */
+    public static void bindVin(PreparedStatement insertVin, int listId, Random random) throws SQLException {
+        insertVin.setInt(1, 0);
+        insertVin.setString(2, SyntheticData.randomVin(random));
+        insertVin.setInt(3, listId);
+        insertVin.setString(4, String.valueOf((char) ('A' + random.nextInt(26))));
+        insertVin.setString(5, String.valueOf(1 + random.nextInt(60)));
+        if (random.nextInt(4) == 0) {
+            insertVin.setString(6, "Scratch, rear bumper");
+        } else {
+            insertVin.setNull(6, Types.VARCHAR);
+        }
+        insertVin.setLong(7, EPOCH_MILLIS + (long) (random.nextDouble() * SPAN_MILLIS));
+        insertVin.setString(8, SOURCES[random.nextInt(SOURCES.length)]);
+        insertVin.setLong(9, 50 + random.nextInt(900));
+        insertVin.setFloat(10, 0.5f + random.nextFloat() / 2);
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    public int getTargetListId() {
+        return targetListId;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+        file.delete();
+    }
+}
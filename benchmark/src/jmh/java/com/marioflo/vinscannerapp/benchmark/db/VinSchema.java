@@ -0,0 +1,59 @@
+package com.marioflo.vinscannerapp.benchmark.db;
+
+/**
+ * Schema and queries of the app's Room database, as plain SQL for a JVM SQLite driver.
+ * <p>
+ * The DDL matches what Room generates for {@code VinList} and {@code VinInfo} at database
+ * version 7, and each query string is copied verbatim from {@code VinInfoDao} /
+ * {@code VinListDao} with {@code :name} parameters replaced by {@code ?}.
+ * Keep both in sync when an entity or DAO query changes.
+ * </p>
+ */
+public final class VinSchema {
+
+    private VinSchema() {
+    }
+
+    public static final String[] DDL = {
+            "CREATE TABLE IF NOT EXISTS `vin_lists` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`name` TEXT NOT NULL, `vinCount` INTEGER NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS `vin_info` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`vinNumber` TEXT, `listId` INTEGER NOT NULL, `rowLetter` TEXT, `spaceNumber` TEXT, "
+                    + "`extraNotes` TEXT, `scannedAt` INTEGER NOT NULL DEFAULT 0, `detectionSource` TEXT, "
+                    + "`detectionLatencyMs` INTEGER NOT NULL DEFAULT 0, `detectionConfidence` REAL, "
+                    + "FOREIGN KEY(`listId`) REFERENCES `vin_lists`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )",
+            "CREATE INDEX IF NOT EXISTS `index_vin_info_listId_scannedAt` ON `vin_info` (`listId`, `scannedAt`)",
+            "CREATE INDEX IF NOT EXISTS `index_vin_info_scannedAt` ON `vin_info` (`scannedAt`)",
+    };
+
+    // VinListDao
+    public static final String INSERT_LIST = "INSERT INTO `vin_lists` (`name`,`vinCount`) VALUES (?,?)";
+    public static final String DELETE_LIST = "DELETE FROM `vin_lists` WHERE `id` = ?";
+    public static final String ALL_LISTS = "SELECT * FROM vin_lists";
+
+    // VinInfoDao writes
+    public static final String INSERT_VIN = "INSERT INTO `vin_info` (`id`,`vinNumber`,`listId`,`rowLetter`,"
+            + "`spaceNumber`,`extraNotes`,`scannedAt`,`detectionSource`,`detectionLatencyMs`,"
+            + "`detectionConfidence`) VALUES (nullif(?, 0),?,?,?,?,?,?,?,?,?)";
+    public static final String INCREMENT_COUNT = "UPDATE vin_lists SET vinCount = vinCount + 1 WHERE id = ?";
+    public static final String ADD_TO_COUNT = "UPDATE vin_lists SET vinCount = vinCount + ? WHERE id = ?";
+    public static final String REFRESH_COUNT = "UPDATE vin_lists SET vinCount = "
+            + "(SELECT COUNT(*) FROM vin_info WHERE listId = ?) WHERE id = ?";
+
+    // VinInfoDao reads
+    public static final String LIST_ALL_COLUMNS = "SELECT * FROM vin_info WHERE listId = ?";
+    public static final String LIST_PROJECTION = "SELECT id, listId, vinNumber, rowLetter, spaceNumber, extraNotes "
+            + "FROM vin_info WHERE listId = ?";
+    public static final String LIST_BY_RECENCY = "SELECT * FROM vin_info WHERE listId = ? ORDER BY scannedAt DESC";
+    public static final String WINDOW = "SELECT * FROM vin_info WHERE scannedAt >= ? AND scannedAt < ? "
+            + "ORDER BY scannedAt";
+    public static final String LIST_WINDOW = "SELECT * FROM vin_info WHERE listId = ? AND scannedAt >= ? "
+            + "AND scannedAt < ? ORDER BY scannedAt";
+    public static final String COUNT_WINDOW = "SELECT COUNT(*) FROM vin_info WHERE scannedAt >= ? AND scannedAt < ?";
+    public static final String MATCHING_SCAN = "SELECT COUNT(*) FROM vin_info WHERE scannedAt = ? AND listId = ? "
+            + "AND vinNumber = ?";
+    public static final String BY_ID = "SELECT * FROM vin_info WHERE id = ? LIMIT 1";
+
+    /** The child-row lookup SQLite performs for {@code ON DELETE CASCADE} when a list is deleted. */
+    public static final String CASCADE_LOOKUP = "DELETE FROM vin_info WHERE listId = ?";
+}
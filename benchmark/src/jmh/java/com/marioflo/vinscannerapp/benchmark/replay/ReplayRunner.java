@@ -0,0 +1,254 @@
+package com.marioflo.vinscannerapp.benchmark.replay;
+
+import com.marioflo.vinscannerapp.core.scanner.DetectionSource;
+import com.marioflo.vinscannerapp.core.scanner.ScanResult;
+import com.marioflo.vinscannerapp.core.scanner.VinScanEngine;
+import com.marioflo.vinscannerapp.core.scanner.VinVoter;
+import com.marioflo.vinscannerapp.core.scanner.replay.RecordedDetector;
+import com.marioflo.vinscannerapp.core.scanner.replay.RecordedFrame;
+import com.marioflo.vinscannerapp.core.scanner.replay.ReplayCorpus;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Headless replay of a recorded scan corpus through {@link VinScanEngine}.
+ * <p>
+ * Every frame is scanned twice: on its own (single-photo behavior, for frame accuracy) and
+ * as part of its capture session with a voting engine (for session accuracy and frames-to-lock).
+ * Detector outputs come from the corpus, so a change to extraction, correction or voting shows
+ * up as a change in these numbers without a device. Prints a report and writes a JSON summary
+ * for regression tracking.
+ * </p>
+ * <pre>
+ * ReplayRunner &lt;corpus.txt&gt; [--votes N] [--simulate-latency] [--json out.json]
+ * </pre>
+ */
+public final class ReplayRunner {
+
+    private ReplayRunner() {
+    }
+
+    /** Aggregated replay results. */
+    public static final class Report {
+        int frames;
+        int labeledFrames;
+        int correctFrames;
+        int wrongFrames;
+        int sessions;
+        int labeledSessions;
+        int lockedSessions;
+        int correctSessions;
+        int wrongSessions;
+        long framesToLockTotal;
+        long[] engineNanos;
+        long[] deviceNanos;
+
+        /** @return Share of labeled frames whose single-frame result is the expected VIN. */
+        public double frameAccuracy() {
+            return labeledFrames == 0 ? 0 : (double) correctFrames / labeledFrames;
+        }
+
+        /** @return Share of labeled sessions whose first lock is the expected VIN. */
+        public double sessionAccuracy() {
+            return labeledSessions == 0 ? 0 : (double) correctSessions / labeledSessions;
+        }
+
+        /** @return Mean frames from session start to the first lock, over sessions that locked. */
+        public double meanFramesToLock() {
+            return lockedSessions == 0 ? 0 : (double) framesToLockTotal / lockedSessions;
+        }
+    }
+
+    /**
+     * Replays a corpus.
+     *
+     * @param corpus          Corpus to replay.
+     * @param votesToLock     Votes the session engine needs to lock.
+     * @param simulateLatency Whether detectors wait their recorded latency.
+     */
+    public static Report replay(ReplayCorpus corpus, int votesToLock, boolean simulateLatency) throws Exception {
+        RecordedDetector detector = new RecordedDetector(simulateLatency);
+        VinScanEngine<RecordedFrame> single = new VinScanEngine<>(detector, detector);
+        VinScanEngine<RecordedFrame> voting = new VinScanEngine<>(detector, detector,
+                new VinVoter(votesToLock), null);
+
+        Report report = new Report();
+        report.engineNanos = new long[corpus.getFrameCount()];
+        report.deviceNanos = new long[corpus.getFrameCount()];
+
+        for (Map.Entry<String, List<RecordedFrame>> session : corpus.getSessions().entrySet()) {
+            List<RecordedFrame> frames = session.getValue();
+            String expected = sessionExpectedVin(frames);
+            ScanResult lock = null;
+            int framesToLock = 0;
+            voting.reset();
+
+            for (RecordedFrame frame : frames) {
+                long start = System.nanoTime();
+                ScanResult result = scanQuietly(single, frame);
+                report.engineNanos[report.frames] = System.nanoTime() - start;
+                report.deviceNanos[report.frames] = deviceLatency(frame, result);
+                report.frames++;
+
+                if (frame.getExpectedVin() != null) {
+                    report.labeledFrames++;
+                    if (result != null && frame.getExpectedVin().equals(result.getVinCode())) {
+                        report.correctFrames++;
+                    } else if (result != null) {
+                        report.wrongFrames++;
+                    }
+                }
+
+                if (lock == null) {
+                    framesToLock++;
+                    lock = scanQuietly(voting, frame);
+                }
+            }
+
+            report.sessions++;
+            if (expected != null) report.labeledSessions++;
+            if (lock != null) {
+                report.lockedSessions++;
+                report.framesToLockTotal += framesToLock;
+                if (expected != null) {
+                    if (expected.equals(lock.getVinCode())) report.correctSessions++;
+                    else report.wrongSessions++;
+                }
+            }
+        }
+        return report;
+    }
+
+    /** A session's ground truth is the label of its last labeled frame. */
+    private static String sessionExpectedVin(List<RecordedFrame> frames) {
+        String expected = null;
+        for (RecordedFrame frame : frames) {
+            if (frame.getExpectedVin() != null) expected = frame.getExpectedVin();
+        }
+        return expected;
+    }
+
+    /** Recorded detector time the frame took on the device: barcode, plus OCR when it ran. */
+    private static long deviceLatency(RecordedFrame frame, ScanResult result) {
+        boolean barcodeHit = result != null
+                && result.getSource() == DetectionSource.BARCODE;
+        return frame.getBarcodeLatencyNanos() + (barcodeHit ? 0 : frame.getTextLatencyNanos());
+    }
+
+    /** A recorded recognition failure counts as a frame without a result. */
+    private static ScanResult scanQuietly(VinScanEngine<RecordedFrame> engine, RecordedFrame frame) {
+        try {
+            return engine.scan(frame);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // REPORTING
+    // ---------------------------------------------------------------------------------------------
+
+    static String format(Report report) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.US, "Frames            %d (%d labeled)%n", report.frames, report.labeledFrames));
+        out.append(String.format(Locale.US, "Frame accuracy    %.1f%% (%d correct, %d wrong)%n",
+                report.frameAccuracy() * 100, report.correctFrames, report.wrongFrames));
+        out.append(String.format(Locale.US, "Sessions          %d (%d labeled, %d locked)%n",
+                report.sessions, report.labeledSessions, report.lockedSessions));
+        out.append(String.format(Locale.US, "Session accuracy  %.1f%% (%d correct, %d wrong)%n",
+                report.sessionAccuracy() * 100, report.correctSessions, report.wrongSessions));
+        out.append(String.format(Locale.US, "Frames to lock    %.2f mean%n", report.meanFramesToLock()));
+        out.append(String.format(Locale.US, "Engine ms/frame   p50 %.3f  p95 %.3f  max %.3f%n",
+                percentileMillis(report.engineNanos, 50), percentileMillis(report.engineNanos, 95),
+                percentileMillis(report.engineNanos, 100)));
+        out.append(String.format(Locale.US, "Device ms/frame   p50 %.1f  p95 %.1f  max %.1f%n",
+                percentileMillis(report.deviceNanos, 50), percentileMillis(report.deviceNanos, 95),
+                percentileMillis(report.deviceNanos, 100)));
+        return out.toString();
+    }
+
+    static String toJson(Report report) {
+        return String.format(Locale.US, "{%n"
+                        + "  \"frames\": %d,%n"
+                        + "  \"labeledFrames\": %d,%n"
+                        + "  \"frameAccuracy\": %.4f,%n"
+                        + "  \"wrongFrames\": %d,%n"
+                        + "  \"sessions\": %d,%n"
+                        + "  \"labeledSessions\": %d,%n"
+                        + "  \"sessionAccuracy\": %.4f,%n"
+                        + "  \"wrongSessions\": %d,%n"
+                        + "  \"meanFramesToLock\": %.3f,%n"
+                        + "  \"engineP50Ms\": %.4f,%n"
+                        + "  \"engineP95Ms\": %.4f,%n"
+                        + "  \"deviceP50Ms\": %.2f,%n"
+                        + "  \"deviceP95Ms\": %.2f%n"
+                        + "}%n",
+                report.frames, report.labeledFrames, report.frameAccuracy(), report.wrongFrames,
+                report.sessions, report.labeledSessions, report.sessionAccuracy(), report.wrongSessions,
+                report.meanFramesToLock(),
+                percentileMillis(report.engineNanos, 50), percentileMillis(report.engineNanos, 95),
+                percentileMillis(report.deviceNanos, 50), percentileMillis(report.deviceNanos, 95));
+    }
+
+    private static double percentileMillis(long[] nanos, int percentile) {
+        if (nanos.length == 0) return 0;
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000.0;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayRunner <corpus.txt> [--votes N] [--simulate-latency] [--json out.json]");
+            System.exit(2);
+        }
+        Path corpusPath = Paths.get(args[0]);
+        int votes = 3;
+        boolean simulateLatency = false;
+        Path jsonPath = null;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--votes":
+                    votes = Integer.parseInt(args[++i]);
+                    break;
+                case "--simulate-latency":
+                    simulateLatency = true;
+                    break;
+                case "--json":
+                    jsonPath = Paths.get(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        ReplayCorpus corpus;
+        try (Reader reader = Files.newBufferedReader(corpusPath, StandardCharsets.UTF_8)) {
+            corpus = ReplayCorpus.read(reader);
+        }
+        Report report = replay(corpus, votes, simulateLatency);
+        System.out.print(format(report));
+
+        if (jsonPath != null) {
+            writeJson(jsonPath, report);
+        }
+    }
+
+    private static void writeJson(Path path, Report report) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(toJson(report));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import java.util.Locale;
+
+/**
+ * Chooses the capture resolution from recent detection outcomes.
+ * <p>
+ * Resolutions form a ladder of long-side sizes. In {@link ResolutionStrategy#ADAPTIVE} mode,
+ * a run of successes steps one size down (smaller images decode and recognize faster) and a
+ * run of failures steps one size up (small or distant VIN plates need more pixels). The
+ * other strategies pin the size. The starting (and fixed) size defaults to
+ * {@link #DEFAULT_LONG_SIDE} and can be replaced by a calibrated one. Per-size attempts, successes and latency are kept for
+ * every strategy, so the ladder can be tuned from field data.
+ * </p>
+ * Thread-safe; all methods synchronize on the instance.
+ */
+public final class AdaptiveResolution {
+
+    /** Long-side sizes in pixels, smallest first; 0 means the camera's maximum. */
+    public static final int[] DEFAULT_LADDER = {1280, 1920, 2560, 0};
+
+    /** Long side used by {@link ResolutionStrategy#FIXED} and as the adaptive starting point. */
+    public static final int DEFAULT_LONG_SIDE = 1920;
+
+    /** Consecutive successes before stepping down. */
+    public static final int SUCCESSES_TO_STEP_DOWN = 3;
+
+    /** Consecutive failures before stepping up. */
+    public static final int FAILURES_TO_STEP_UP = 2;
+
+    private final int[] ladder;
+    private final long[] attempts;
+    private final long[] successes;
+    private final long[] latencyTotalMs;
+
+    private ResolutionStrategy strategy;
+    private int baseLongSide = DEFAULT_LONG_SIDE;
+    private int level;
+    private int successStreak;
+    private int failureStreak;
+
+    /**
+     * @param strategy Initial strategy.
+     */
+    public AdaptiveResolution(ResolutionStrategy strategy) {
+        this.ladder = DEFAULT_LADDER.clone();
+        this.attempts = new long[ladder.length];
+        this.successes = new long[ladder.length];
+        this.latencyTotalMs = new long[ladder.length];
+        setStrategy(strategy);
+    }
+
+    /**
+     * Switches strategy and resets the adaptive state (statistics are kept).
+     *
+     * @return Whether the target size changed.
+     */
+    public synchronized boolean setStrategy(ResolutionStrategy strategy) {
+        int previous = level;
+        this.strategy = strategy;
+        this.level = strategy == ResolutionStrategy.MAXIMUM ? ladder.length - 1 : indexOf(baseLongSide);
+        successStreak = 0;
+        failureStreak = 0;
+        return level != previous;
+    }
+
+    /**
+     * Replaces the starting and fixed size, e.g. with one found by device calibration,
+     * and resets the adaptive state like {@link #setStrategy}.
+     *
+     * @param longSide A size on the ladder; other sizes fall back to the maximum.
+     * @return Whether the target size changed.
+     */
+    public synchronized boolean setBaseLongSide(int longSide) {
+        baseLongSide = longSide;
+        return setStrategy(strategy);
+    }
+
+    public synchronized ResolutionStrategy getStrategy() {
+        return strategy;
+    }
+
+    /** @return Target long side in pixels, or 0 for the camera's maximum. */
+    public synchronized int getTargetLongSide() {
+        return ladder[level];
+    }
+
+    /**
+     * Records the outcome of a scan. It counts toward the statistics of the size it was
+     * taken at, but moves the adaptive state only if that is still the target size; a scan
+     * still in the pipeline when the size changed says nothing about the new size.
+     *
+     * @param longSide  Target long side when the scan was captured, as from {@link #getTargetLongSide()}.
+     * @param success   Whether a VIN was detected.
+     * @param latencyMs Time from shutter to result.
+     * @return Whether the target size changed and the capture should be reconfigured.
+     */
+    public synchronized boolean onScanResult(int longSide, boolean success, long latencyMs) {
+        int taken = indexOf(longSide);
+        attempts[taken]++;
+        latencyTotalMs[taken] += latencyMs;
+        if (success) successes[taken]++;
+        if (taken != level) return false;
+
+        if (success) {
+            successStreak++;
+            failureStreak = 0;
+        } else {
+            failureStreak++;
+            successStreak = 0;
+        }
+        if (strategy != ResolutionStrategy.ADAPTIVE) return false;
+
+        if (successStreak >= SUCCESSES_TO_STEP_DOWN && level > 0) {
+            level--;
+            successStreak = 0;
+            return true;
+        }
+        if (failureStreak >= FAILURES_TO_STEP_UP && level < ladder.length - 1) {
+            level++;
+            failureStreak = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /** Clears the per-size statistics. */
+    public synchronized void resetStats() {
+        for (int i = 0; i < ladder.length; i++) {
+            attempts[i] = 0;
+            successes[i] = 0;
+            latencyTotalMs[i] = 0;
+        }
+    }
+
+    /** @return One line per size: attempts, success rate and mean latency. */
+    public synchronized String formatReport() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.US, "capture resolution: %s, target %s%n",
+                strategy, describe(ladder[level])));
+        out.append(String.format(Locale.US, "%-8s %8s %8s %10s%n", "size", "scans", "success", "mean ms"));
+        for (int i = 0; i < ladder.length; i++) {
+            if (attempts[i] == 0) continue;
+            out.append(String.format(Locale.US, "%-8s %8d %7.0f%% %10.0f%n", describe(ladder[i]), attempts[i],
+                    100.0 * successes[i] / attempts[i], (double) latencyTotalMs[i] / attempts[i]));
+        }
+        return out.toString();
+    }
+
+    /** @return A size as shown in reports, e.g. {@code 1920} or {@code max}. */
+    public static String describe(int longSide) {
+        return longSide == 0 ? "max" : Integer.toString(longSide);
+    }
+
+    private int indexOf(int longSide) {
+        for (int i = 0; i < ladder.length; i++) {
+            if (ladder[i] == longSide) return i;
+        }
+        return ladder.length - 1;
+    }
+}
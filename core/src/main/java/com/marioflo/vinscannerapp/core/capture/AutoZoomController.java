@@ -0,0 +1,189 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+import com.marioflo.vinscannerapp.core.scanner.TextRegion;
+import com.marioflo.vinscannerapp.core.scanner.VinCandidateExtractor;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Chooses a zoom ratio that brings the VIN's characters to a readable height.
+ * <p>
+ * Each frame's OCR blocks give the height of the VIN line (or, if no candidate was read,
+ * of the longest VIN-like line): block height divided by its line count. Only when that
+ * height leaves a band around the target is a new ratio computed, so small measurement
+ * noise never moves the lens. The new ratio is derived from the ratio the frame was taken
+ * at, so late frames from before a change ask for the same ratio rather than compounding it.
+ * Zooming in is capped per step and by how far the line can grow before a center zoom
+ * pushes it out of the frame. After a few frames with no VIN-like text the ratio goes
+ * back to the widest, since the plate may have been zoomed out of view.
+ * </p>
+ * Thread-safe; all methods synchronize on the instance.
+ */
+public final class AutoZoomController {
+
+    /** Character height aimed for, in pixels of the captured frame. */
+    public static final float TARGET_CHAR_HEIGHT_PX = 28f;
+
+    // Hysteresis band: no change while the measured height stays inside it
+    private static final float ZOOM_IN_BELOW_PX = 18f;
+    private static final float ZOOM_OUT_ABOVE_PX = 48f;
+
+    // Largest ratio change in one step
+    private static final float MAX_STEP = 2f;
+
+    // The line must stay this far inside the frame edges after zooming
+    private static final float EDGE_MARGIN = 0.05f;
+
+    // Frames without VIN-like text before zooming back out
+    private static final int MISSES_TO_RESET = 3;
+
+    // A line with at least this many letters and digits may be a VIN read too small to parse
+    private static final int MIN_VIN_LIKE_CHARS = 11;
+
+    private float minRatio = 1f;
+    private float maxRatio = 1f;
+    private float targetRatio = 1f;
+    private int missStreak;
+
+    private long zoomIns;
+    private long zoomOuts;
+    private long resets;
+
+    /**
+     * Sets the camera's zoom range, clamping the current target into it.
+     *
+     * @param min Smallest zoom ratio, usually 1 (or below 1 with an ultra-wide lens).
+     * @param max Largest zoom ratio.
+     */
+    public synchronized void setZoomRange(float min, float max) {
+        minRatio = min;
+        maxRatio = Math.max(min, max);
+        targetRatio = clamp(targetRatio);
+    }
+
+    /** @return The zoom ratio the camera should be at. */
+    public synchronized float getTargetRatio() {
+        return targetRatio;
+    }
+
+    /**
+     * Measures the VIN text in one frame's OCR output.
+     *
+     * @param blocks        Recognized blocks, with bounds in normalized upright coordinates.
+     * @param frameHeightPx Upright height of the frame in pixels.
+     * @param frameRatio    Zoom ratio the frame was captured at.
+     * @return Whether the target ratio changed.
+     */
+    public synchronized boolean onText(List<RecognizedBlock> blocks, int frameHeightPx, float frameRatio) {
+        RecognizedBlock block = selectBlock(blocks);
+        if (block == null || block.getBounds() == null || block.getLines().isEmpty()) {
+            return onMiss();
+        }
+        missStreak = 0;
+
+        TextRegion bounds = block.getBounds();
+        float charHeightPx = bounds.getHeight() * frameHeightPx / block.getLines().size();
+        if (charHeightPx <= 0) return false;
+        if (charHeightPx >= ZOOM_IN_BELOW_PX && charHeightPx <= ZOOM_OUT_ABOVE_PX) return false;
+
+        float step = TARGET_CHAR_HEIGHT_PX / charHeightPx;
+        if (step > 1f) {
+            step = Math.min(step, Math.max(1f, Math.min(MAX_STEP, maxCenterZoom(bounds))));
+        } else {
+            step = Math.max(step, 1f / MAX_STEP);
+        }
+        float ratio = clamp(frameRatio * step);
+        if (Math.abs(ratio - targetRatio) < 0.05f * targetRatio) return false;
+
+        if (ratio > targetRatio) zoomIns++;
+        else zoomOuts++;
+        targetRatio = ratio;
+        return true;
+    }
+
+    /**
+     * Records a frame whose text held nothing VIN-like.
+     *
+     * @return Whether the target ratio changed (back to the widest).
+     */
+    public synchronized boolean onMiss() {
+        if (++missStreak < MISSES_TO_RESET) return false;
+        missStreak = 0;
+        if (targetRatio <= minRatio) return false;
+        targetRatio = minRatio;
+        resets++;
+        return true;
+    }
+
+    /** Goes back to the widest ratio, e.g. when the user moves on to another vehicle. */
+    public synchronized void reset() {
+        targetRatio = minRatio;
+        missStreak = 0;
+    }
+
+    /** @return Current target and adjustment counts, one line. */
+    public synchronized String formatReport() {
+        return String.format(Locale.US, "auto zoom: target %.1fx (%.1f-%.1fx), in %d, out %d, reset %d%n",
+                targetRatio, minRatio, maxRatio, zoomIns, zoomOuts, resets);
+    }
+
+    /** Clears the adjustment counters. */
+    public synchronized void resetCounts() {
+        zoomIns = 0;
+        zoomOuts = 0;
+        resets = 0;
+    }
+
+    /**
+     * Converts a zoom ratio to CameraX's linear zoom, which is linear in the cropped field of view.
+     *
+     * @return Linear zoom in [0, 1].
+     */
+    public static float toLinearZoom(float ratio, float min, float max) {
+        if (max <= min) return 0f;
+        float linear = (1f / min - 1f / ratio) / (1f / min - 1f / max);
+        return Math.max(0f, Math.min(1f, linear));
+    }
+
+    /** The block holding a VIN candidate, else the one with the longest VIN-like line. */
+    private static RecognizedBlock selectBlock(List<RecognizedBlock> blocks) {
+        if (blocks == null || blocks.isEmpty()) return null;
+        RecognizedBlock candidate = VinCandidateExtractor.findCandidateBlock(blocks);
+        if (candidate != null) return candidate;
+
+        RecognizedBlock best = null;
+        int bestChars = MIN_VIN_LIKE_CHARS - 1;
+        for (RecognizedBlock block : blocks) {
+            for (RecognizedBlock.Line line : block.getLines()) {
+                int chars = countAlphanumeric(line.getText());
+                if (chars > bestChars) {
+                    bestChars = chars;
+                    best = block;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int countAlphanumeric(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) count++;
+        }
+        return count;
+    }
+
+    /** Largest center zoom that keeps the region inside the frame margins. */
+    private static float maxCenterZoom(TextRegion bounds) {
+        float reach = Math.max(
+                Math.max(Math.abs(bounds.getLeft() - 0.5f), Math.abs(bounds.getRight() - 0.5f)),
+                Math.max(Math.abs(bounds.getTop() - 0.5f), Math.abs(bounds.getBottom() - 0.5f)));
+        return reach <= 0f ? Float.MAX_VALUE : (0.5f - EDGE_MARGIN) / reach;
+    }
+
+    private float clamp(float ratio) {
+        return Math.max(minRatio, Math.min(maxRatio, ratio));
+    }
+}
@@ -0,0 +1,159 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Scanner settings chosen for one device by timing the detectors on sample VIN images.
+ * <p>
+ * A calibration run measures every combination of capture size and frames in flight;
+ * {@link #choose} keeps the combinations that read the most samples, takes the smallest
+ * size among them (smaller captures decode and recognize faster), and at that size the
+ * concurrency with the best throughput whose median latency stays close to the
+ * single-frame latency. Profiles are saved as one short string.
+ * </p>
+ */
+public final class CalibrationProfile {
+
+    // Concurrency may cost at most this factor of single-frame latency
+    private static final double MAX_LATENCY_FACTOR = 1.5;
+
+    private final int captureLongSide;
+    private final int maxFramesInFlight;
+    private final long medianLatencyMs;
+
+    /**
+     * @param captureLongSide   Capture long side in pixels.
+     * @param maxFramesInFlight Frames allowed in the scan pipeline at once.
+     * @param medianLatencyMs   Median detector latency measured with these settings.
+     */
+    public CalibrationProfile(int captureLongSide, int maxFramesInFlight, long medianLatencyMs) {
+        this.captureLongSide = captureLongSide;
+        this.maxFramesInFlight = maxFramesInFlight;
+        this.medianLatencyMs = medianLatencyMs;
+    }
+
+    public int getCaptureLongSide() {
+        return captureLongSide;
+    }
+
+    public int getMaxFramesInFlight() {
+        return maxFramesInFlight;
+    }
+
+    public long getMedianLatencyMs() {
+        return medianLatencyMs;
+    }
+
+    /** @return The profile as saved, e.g. {@code 1920,2,310}. */
+    public String encode() {
+        return captureLongSide + "," + maxFramesInFlight + "," + medianLatencyMs;
+    }
+
+    /**
+     * @return The profile saved by {@link #encode}, or null if the text is missing or malformed.
+     *         A profile saved without a frames-in-flight limit ({@code 1920,310}) also reads
+     *         as null, so the device is calibrated again.
+     */
+    public static CalibrationProfile decode(String text) {
+        if (text == null) return null;
+        String[] parts = text.split(",");
+        if (parts.length != 3) return null;
+        try {
+            int longSide = Integer.parseInt(parts[0]);
+            int frames = Integer.parseInt(parts[1]);
+            long latency = Long.parseLong(parts[2]);
+            return longSide > 0 && frames > 0 ? new CalibrationProfile(longSide, frames, latency) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Picks the profile from a calibration run.
+     *
+     * @param measurements One entry per size and concurrency tried.
+     * @return The chosen profile, or null if nothing was measured.
+     */
+    public static CalibrationProfile choose(List<Measurement> measurements) {
+        int bestReads = -1;
+        for (Measurement m : measurements) {
+            bestReads = Math.max(bestReads, m.reads);
+        }
+
+        // Smallest size that reads as many samples as any
+        int longSide = Integer.MAX_VALUE;
+        for (Measurement m : measurements) {
+            if (m.reads == bestReads) longSide = Math.min(longSide, m.longSide);
+        }
+
+        // Only concurrencies that keep every read compete, the lowest setting the latency baseline
+        List<Measurement> candidates = new ArrayList<>();
+        Measurement single = null;
+        for (Measurement m : measurements) {
+            if (m.longSide != longSide || m.reads != bestReads) continue;
+            candidates.add(m);
+            if (single == null || m.concurrency < single.concurrency) single = m;
+        }
+        if (single == null) return null;
+
+        Measurement best = single;
+        for (Measurement m : candidates) {
+            if (m.medianLatencyMs > single.medianLatencyMs * MAX_LATENCY_FACTOR) continue;
+            if (m.getThroughput() > best.getThroughput()) best = m;
+        }
+        return new CalibrationProfile(best.longSide, best.concurrency, best.medianLatencyMs);
+    }
+
+    /** @return One line per measurement: size, concurrency, reads, median latency and throughput. */
+    public static String formatMeasurements(List<Measurement> measurements) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.US, "%-8s %6s %8s %10s %8s%n", "size", "frames", "reads", "median ms", "fps"));
+        for (Measurement m : measurements) {
+            out.append(String.format(Locale.US, "%-8d %6d %4d/%-3d %10d %8.1f%n", m.longSide, m.concurrency,
+                    m.reads, m.attempts, m.medianLatencyMs, m.getThroughput()));
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d px, %d in flight, median %d ms",
+                captureLongSide, maxFramesInFlight, medianLatencyMs);
+    }
+
+    /** Result of running the detectors on the samples at one size and concurrency. */
+    public static final class Measurement {
+
+        private final int longSide;
+        private final int concurrency;
+        private final int attempts;
+        private final int reads;
+        private final long medianLatencyMs;
+        private final long wallTimeMs;
+
+        /**
+         * @param longSide        Sample long side in pixels.
+         * @param concurrency     Frames run at once.
+         * @param attempts        Frames run.
+         * @param reads           Frames whose expected VIN was read.
+         * @param medianLatencyMs Median per-frame latency.
+         * @param wallTimeMs      Time for all frames.
+         */
+        public Measurement(int longSide, int concurrency, int attempts, int reads,
+                           long medianLatencyMs, long wallTimeMs) {
+            this.longSide = longSide;
+            this.concurrency = concurrency;
+            this.attempts = attempts;
+            this.reads = reads;
+            this.medianLatencyMs = medianLatencyMs;
+            this.wallTimeMs = wallTimeMs;
+        }
+
+        /** @return Frames per second over the whole run. */
+        public double getThroughput() {
+            return wallTimeMs <= 0 ? 0 : attempts * 1000.0 / wallTimeMs;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+/**
+ * Reports the device's thermal and battery state.
+ * <p>
+ * The app reads Android's {@code PowerManager} and {@code BatteryManager}; tests and
+ * simulations pass fixed or scripted values to drive a {@link PowerGovernor}.
+ * </p>
+ */
+public interface DeviceStatusProvider {
+
+    /** No throttling; same value as {@code PowerManager.THERMAL_STATUS_NONE}. */
+    int THERMAL_NONE = 0;
+
+    /** Light throttling. */
+    int THERMAL_LIGHT = 1;
+
+    /** Moderate throttling; the user may notice. */
+    int THERMAL_MODERATE = 2;
+
+    /** Severe throttling. Higher values (critical, emergency, shutdown) are worse still. */
+    int THERMAL_SEVERE = 3;
+
+    /** @return Thermal status, one of the {@code THERMAL_*} levels or higher; {@link #THERMAL_NONE} if unknown. */
+    int getThermalStatus();
+
+    /** @return Battery charge in percent, 0-100; 100 if unknown. */
+    int getBatteryPercent();
+
+    /** @return Whether the device is charging. */
+    boolean isCharging();
+}
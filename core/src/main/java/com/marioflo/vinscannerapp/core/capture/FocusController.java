@@ -0,0 +1,131 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import com.marioflo.vinscannerapp.core.scanner.TextRegion;
+
+import java.util.Locale;
+
+/**
+ * Decides when to refocus and meter on the VIN, and where.
+ * <p>
+ * The target is the bounding box of the current VIN candidate, or the guide band in the
+ * middle of the frame when there is none. Requests are rate-limited so the lens does not
+ * hunt: at most one action in flight, a minimum interval between actions, and no new action
+ * while a recent successful one covered about the same spot. A manual tap-to-focus holds
+ * automatic actions off for a while, so the operator's choice is not overridden.
+ * Every action's outcome is counted for the success rate.
+ * </p>
+ * Thread-safe; all methods synchronize on the instance. Times are in milliseconds from
+ * any monotonic clock.
+ */
+public final class FocusController {
+
+    /** Fallback target: the VIN band in the middle of the frame, in normalized upright coordinates. */
+    public static final TextRegion GUIDE_REGION = new TextRegion(0.05f, 0.325f, 0.95f, 0.675f);
+
+    // Shortest time between two automatic actions
+    private static final long MIN_INTERVAL_MS = 2_000;
+
+    // A successful action on about the same spot is trusted for this long
+    private static final long HOLD_AFTER_SUCCESS_MS = 6_000;
+
+    // Targets whose centers are closer than this count as the same spot
+    private static final float SAME_TARGET_DISTANCE = 0.08f;
+
+    // Automatic actions pause this long after a manual tap
+    private static final long MANUAL_HOLD_MS = 5_000;
+
+    // An action with no reported outcome after this long no longer blocks new ones
+    private static final long IN_FLIGHT_TIMEOUT_MS = 5_000;
+
+    private boolean inFlight;
+    private long lastIssueMs = Long.MIN_VALUE / 2;
+    private long lastSuccessMs = Long.MIN_VALUE / 2;
+    private long manualUntilMs = Long.MIN_VALUE / 2;
+    private TextRegion lastTarget;
+
+    private long candidateActions;
+    private long guideActions;
+    private long succeeded;
+    private long failed;
+    private long rateLimited;
+
+    /**
+     * Asks for a focus and metering action.
+     *
+     * @param candidate Bounds of the current VIN candidate, or null to aim at the guide band.
+     * @param nowMs     Current time.
+     * @return The region to focus on, or null if no action should be issued now. A non-null
+     *         result must be followed by {@link #onResult}.
+     */
+    public synchronized TextRegion request(TextRegion candidate, long nowMs) {
+        TextRegion target = candidate != null ? candidate : GUIDE_REGION;
+        if (inFlight && nowMs - lastIssueMs < IN_FLIGHT_TIMEOUT_MS
+                || nowMs < manualUntilMs
+                || nowMs - lastIssueMs < MIN_INTERVAL_MS
+                || nowMs - lastSuccessMs < HOLD_AFTER_SUCCESS_MS && isSameSpot(target, lastTarget)) {
+            rateLimited++;
+            return null;
+        }
+        inFlight = true;
+        lastIssueMs = nowMs;
+        lastTarget = target;
+        if (candidate != null) candidateActions++;
+        else guideActions++;
+        return target;
+    }
+
+    /**
+     * Records the outcome of the last action returned by {@link #request}.
+     *
+     * @param success Whether the camera reported the region in focus.
+     * @param nowMs   Current time.
+     */
+    public synchronized void onResult(boolean success, long nowMs) {
+        if (!inFlight) return;
+        inFlight = false;
+        if (success) {
+            succeeded++;
+            lastSuccessMs = nowMs;
+        } else {
+            failed++;
+        }
+    }
+
+    /** Records a manual tap-to-focus, which pauses automatic actions. */
+    public synchronized void onManualFocus(long nowMs) {
+        manualUntilMs = nowMs + MANUAL_HOLD_MS;
+    }
+
+    /**
+     * Forgets the last target, e.g. after a zoom change moved everything in the frame.
+     * The rate limit still applies.
+     */
+    public synchronized void reset() {
+        lastTarget = null;
+        lastSuccessMs = Long.MIN_VALUE / 2;
+    }
+
+    /** @return Actions issued by target, their success rate and rate-limited requests, one line. */
+    public synchronized String formatReport() {
+        long finished = succeeded + failed;
+        return String.format(Locale.US,
+                "focus: candidate %d, guide %d, focused %d/%d (%.0f%%), rate-limited %d%n",
+                candidateActions, guideActions, succeeded, finished,
+                finished == 0 ? 0.0 : 100.0 * succeeded / finished, rateLimited);
+    }
+
+    /** Clears the counters. */
+    public synchronized void resetCounts() {
+        candidateActions = 0;
+        guideActions = 0;
+        succeeded = 0;
+        failed = 0;
+        rateLimited = 0;
+    }
+
+    private static boolean isSameSpot(TextRegion a, TextRegion b) {
+        if (a == null || b == null) return false;
+        return Math.abs(a.getCenterX() - b.getCenterX()) < SAME_TARGET_DISTANCE
+                && Math.abs(a.getCenterY() - b.getCenterY()) < SAME_TARGET_DISTANCE;
+    }
+}
@@ -0,0 +1,243 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import com.marioflo.vinscannerapp.core.frame.LumaFrame;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns the torch on and off and steps exposure compensation from scene luminance.
+ * <p>
+ * Fed the mean luma of analysis frames, smoothed over a few frames. Below a dark threshold
+ * the torch goes on and exposure goes back to neutral, letting the torch do the work. While
+ * the torch is on, its own contribution (measured once it has settled) is subtracted to
+ * estimate ambient light, and the torch goes off only once that estimate clears a much
+ * higher threshold, so it does not flicker on a plate it lights itself. Between the two,
+ * exposure compensation steps one index at a time toward a mid-gray band. Every change
+ * waits for the previous one to settle.
+ * </p>
+ * <p>
+ * Scan outcomes are counted per setting (torch, exposure index), so the thresholds can be
+ * tuned from which settings actually produced reads.
+ * </p>
+ * Thread-safe; all methods synchronize on the instance. Times are in milliseconds from
+ * any monotonic clock.
+ */
+public final class LightingController {
+
+    // Weight of the newest frame in the smoothed luminance
+    private static final float SMOOTHING = 0.2f;
+
+    // Torch hysteresis, in mean luma of the (ambient) scene
+    private static final float TORCH_ON_BELOW = 45f;
+    private static final float TORCH_OFF_ABOVE = 90f;
+
+    // Exposure compensation keeps the smoothed luma inside this band
+    private static final float EXPOSURE_UP_BELOW = 80f;
+    private static final float EXPOSURE_DOWN_ABOVE = 170f;
+
+    // Wait after a torch change before measuring its effect or changing it again
+    private static final long TORCH_SETTLE_MS = 700;
+    private static final long TORCH_DWELL_MS = 5_000;
+
+    // Wait after an exposure step before the next
+    private static final long EXPOSURE_SETTLE_MS = 800;
+
+    // Frames to smooth over before the first change
+    private static final int WARMUP_FRAMES = 10;
+
+    // Sample every n-th pixel in both directions
+    private static final int SAMPLE_STEP = 4;
+
+    private boolean torchAvailable;
+    private int minExposureIndex;
+    private int maxExposureIndex;
+
+    private float luminance = -1f;
+    private int frames;
+    private boolean torchOn;
+    private long torchChangedMs = Long.MIN_VALUE / 2;
+    private float ambientAtTorchOn;
+    private float torchBoost = -1f;
+    private int exposureIndex;
+    private long exposureChangedMs = Long.MIN_VALUE / 2;
+
+    private final Map<String, long[]> outcomes = new TreeMap<>();
+
+    /** @param available Whether the camera has a flash unit to use as a torch. */
+    public synchronized void setTorchAvailable(boolean available) {
+        torchAvailable = available;
+        if (!available) torchOn = false;
+    }
+
+    /**
+     * Sets the exposure compensation range; both 0 if compensation is unsupported.
+     *
+     * @param min Lowest index.
+     * @param max Highest index.
+     */
+    public synchronized void setExposureRange(int min, int max) {
+        minExposureIndex = Math.min(0, min);
+        maxExposureIndex = Math.max(0, max);
+        exposureIndex = Math.max(minExposureIndex, Math.min(maxExposureIndex, exposureIndex));
+    }
+
+    public synchronized boolean isTorchOn() {
+        return torchOn;
+    }
+
+    public synchronized int getExposureIndex() {
+        return exposureIndex;
+    }
+
+    /**
+     * Measures one analysis frame.
+     *
+     * @param frame Luma frame; not released here.
+     * @param nowMs Current time.
+     * @return Whether the torch or the exposure index changed and should be applied.
+     */
+    public boolean onFrame(LumaFrame frame, long nowMs) {
+        return onLuminance(meanLuma(frame), nowMs);
+    }
+
+    /**
+     * Feeds one frame's mean luma.
+     *
+     * @param meanLuma Mean luma, 0-255.
+     * @param nowMs    Current time.
+     * @return Whether the torch or the exposure index changed and should be applied.
+     */
+    public synchronized boolean onLuminance(float meanLuma, long nowMs) {
+        luminance = luminance < 0 ? meanLuma : luminance + SMOOTHING * (meanLuma - luminance);
+        if (++frames < WARMUP_FRAMES) return false;
+
+        long sinceTorch = nowMs - torchChangedMs;
+        if (sinceTorch < TORCH_SETTLE_MS) return false;
+        if (torchOn && torchBoost < 0) {
+            // Settled: whatever the torch added on top of the ambient light
+            torchBoost = Math.max(0f, luminance - ambientAtTorchOn);
+        }
+
+        if (torchAvailable && sinceTorch >= TORCH_DWELL_MS) {
+            if (!torchOn && luminance < TORCH_ON_BELOW) {
+                return setTorch(true, nowMs);
+            }
+            if (torchOn && luminance - torchBoost > TORCH_OFF_ABOVE) {
+                return setTorch(false, nowMs);
+            }
+        }
+
+        if (nowMs - exposureChangedMs < EXPOSURE_SETTLE_MS) return false;
+        if (luminance < EXPOSURE_UP_BELOW && exposureIndex < maxExposureIndex) {
+            return stepExposure(1, nowMs);
+        }
+        if (luminance > EXPOSURE_DOWN_ABOVE && exposureIndex > minExposureIndex) {
+            return stepExposure(-1, nowMs);
+        }
+        return false;
+    }
+
+    /** @return The current torch and exposure setting, as shown in the report. */
+    public synchronized String getSetting() {
+        return describeSetting();
+    }
+
+    /**
+     * Records a scan outcome under the setting it was captured with.
+     *
+     * @param setting The setting at shutter time, from {@link #getSetting()}.
+     * @param success Whether a VIN was detected.
+     */
+    public synchronized void onScanResult(String setting, boolean success) {
+        long[] counts = outcomes.get(setting);
+        if (counts == null) {
+            counts = new long[2];
+            outcomes.put(setting, counts);
+        }
+        counts[0]++;
+        if (success) counts[1]++;
+    }
+
+    /** Returns to torch off and neutral exposure, e.g. when the camera is rebound. */
+    public synchronized void reset() {
+        luminance = -1f;
+        frames = 0;
+        torchOn = false;
+        torchBoost = -1f;
+        torchChangedMs = Long.MIN_VALUE / 2;
+        exposureIndex = 0;
+        exposureChangedMs = Long.MIN_VALUE / 2;
+    }
+
+    /** @return Current luminance and setting, then one line per setting: scans and success rate. */
+    public synchronized String formatReport() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.US, "lighting: luma %.0f, %s%n", Math.max(0f, luminance), describeSetting()));
+        for (Map.Entry<String, long[]> entry : outcomes.entrySet()) {
+            long[] counts = entry.getValue();
+            out.append(String.format(Locale.US, "  %-22s %6d scans %5.0f%%%n", entry.getKey(), counts[0],
+                    100.0 * counts[1] / counts[0]));
+        }
+        return out.toString();
+    }
+
+    /** Clears the per-setting outcomes. */
+    public synchronized void resetStats() {
+        outcomes.clear();
+    }
+
+    /** @return Mean luma of a packed frame, sampled on a sparse grid. */
+    public static float meanLuma(LumaFrame frame) {
+        return meanLuma(frame.getData(), frame.getWidth(), frame.getHeight(), frame.getWidth());
+    }
+
+    /**
+     * Mean luma of a Y plane, sampled on a sparse grid.
+     *
+     * @param data      Pixels, one byte each, starting at index 0.
+     * @param width     Width in pixels.
+     * @param height    Height in pixels.
+     * @param rowStride Bytes from one row to the next; at least {@code width}, larger for
+     *                  padded camera planes.
+     * @return Mean luma, 0-255.
+     */
+    public static float meanLuma(ByteBuffer data, int width, int height, int rowStride) {
+        long sum = 0;
+        int count = 0;
+        for (int y = 0; y < height; y += SAMPLE_STEP) {
+            int row = y * rowStride;
+            for (int x = 0; x < width; x += SAMPLE_STEP) {
+                sum += data.get(row + x) & 0xFF;
+                count++;
+            }
+        }
+        return count == 0 ? 0f : (float) sum / count;
+    }
+
+    private boolean setTorch(boolean on, long nowMs) {
+        torchOn = on;
+        torchChangedMs = nowMs;
+        if (on) {
+            ambientAtTorchOn = luminance;
+            torchBoost = -1f;
+        }
+        if (exposureIndex != 0) {
+            exposureIndex = 0;
+            exposureChangedMs = nowMs;
+        }
+        return true;
+    }
+
+    private boolean stepExposure(int delta, long nowMs) {
+        exposureIndex += delta;
+        exposureChangedMs = nowMs;
+        return true;
+    }
+
+    private String describeSetting() {
+        return String.format(Locale.US, "torch %s, exposure %+d", torchOn ? "on" : "off", exposureIndex);
+    }
+}
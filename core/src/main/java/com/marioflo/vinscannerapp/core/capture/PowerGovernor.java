@@ -0,0 +1,134 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import java.util.Locale;
+
+/**
+ * Lowers the scanning workload when the device runs hot or low on battery.
+ * <p>
+ * Polls a {@link DeviceStatusProvider} and maps its readings to a {@link PowerLevel}:
+ * severe thermal status or a nearly empty battery gives {@link PowerLevel#MINIMAL},
+ * moderate thermal status or a low battery gives {@link PowerLevel#REDUCED}. Charging
+ * lifts the battery limits. A heavier restriction applies at once; a lighter one only
+ * after the readings have allowed it for a while, so the level does not bounce around
+ * a threshold. Staying cool keeps scanning fast over a shift, since a throttled CPU
+ * slows every stage.
+ * </p>
+ * Thread-safe; all methods synchronize on the instance. Times are in milliseconds from
+ * any monotonic clock.
+ */
+public final class PowerGovernor {
+
+    /** Battery percent at or below which work is reduced when not charging. */
+    public static final int LOW_BATTERY_PERCENT = 30;
+
+    /** Battery percent at or below which work is minimal when not charging. */
+    public static final int CRITICAL_BATTERY_PERCENT = 15;
+
+    // Shortest time between two readings of the provider
+    private static final long POLL_INTERVAL_MS = 5_000;
+
+    // How long readings must allow a lighter level before it applies
+    private static final long RELAX_AFTER_MS = 30_000;
+
+    private final DeviceStatusProvider status;
+
+    private PowerLevel level = PowerLevel.NORMAL;
+    private long lastPollMs = Long.MIN_VALUE / 2;
+    private long lighterSinceMs = -1;
+    private int thermalStatus;
+    private int batteryPercent = 100;
+    private boolean charging;
+
+    private final long[] levelChanges = new long[PowerLevel.values().length];
+    private final long[] levelTimeMs = new long[PowerLevel.values().length];
+    private long levelSinceMs = -1;
+
+    /** @param status Source of thermal and battery readings. */
+    public PowerGovernor(DeviceStatusProvider status) {
+        this.status = status;
+    }
+
+    /**
+     * Reads the provider if the poll interval has passed and updates the level.
+     *
+     * @param nowMs Current time.
+     * @return Whether the level changed.
+     */
+    public synchronized boolean update(long nowMs) {
+        if (levelSinceMs < 0) levelSinceMs = nowMs;
+        if (nowMs - lastPollMs < POLL_INTERVAL_MS) return false;
+        lastPollMs = nowMs;
+        thermalStatus = status.getThermalStatus();
+        batteryPercent = status.getBatteryPercent();
+        charging = status.isCharging();
+
+        PowerLevel wanted = levelFor(thermalStatus, batteryPercent, charging);
+        if (wanted.ordinal() > level.ordinal()) {
+            lighterSinceMs = -1;
+            return setLevel(wanted, nowMs);
+        }
+        if (wanted.ordinal() < level.ordinal()) {
+            if (lighterSinceMs < 0) lighterSinceMs = nowMs;
+            if (nowMs - lighterSinceMs >= RELAX_AFTER_MS) {
+                lighterSinceMs = -1;
+                return setLevel(wanted, nowMs);
+            }
+            return false;
+        }
+        lighterSinceMs = -1;
+        return false;
+    }
+
+    public synchronized PowerLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * @return The level the readings call for, before hysteresis.
+     */
+    public static PowerLevel levelFor(int thermalStatus, int batteryPercent, boolean charging) {
+        if (thermalStatus >= DeviceStatusProvider.THERMAL_SEVERE
+                || !charging && batteryPercent <= CRITICAL_BATTERY_PERCENT) {
+            return PowerLevel.MINIMAL;
+        }
+        if (thermalStatus >= DeviceStatusProvider.THERMAL_MODERATE
+                || !charging && batteryPercent <= LOW_BATTERY_PERCENT) {
+            return PowerLevel.REDUCED;
+        }
+        return PowerLevel.NORMAL;
+    }
+
+    /**
+     * @param nowMs Current time, to include the time spent at the current level.
+     * @return Current level and readings, then time and entries per level.
+     */
+    public synchronized String formatReport(long nowMs) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.US, "power: %s (thermal %d, battery %d%%%s)%n",
+                level, thermalStatus, batteryPercent, charging ? ", charging" : ""));
+        for (PowerLevel each : PowerLevel.values()) {
+            long timeMs = levelTimeMs[each.ordinal()];
+            if (each == level && levelSinceMs >= 0) timeMs += nowMs - levelSinceMs;
+            out.append(String.format(Locale.US, "  %-8s %8.1f min %4d entered%n",
+                    each, timeMs / 60_000.0, levelChanges[each.ordinal()]));
+        }
+        return out.toString();
+    }
+
+    /** Clears the per-level time and entry counts. */
+    public synchronized void resetStats(long nowMs) {
+        for (int i = 0; i < levelChanges.length; i++) {
+            levelChanges[i] = 0;
+            levelTimeMs[i] = 0;
+        }
+        levelSinceMs = nowMs;
+    }
+
+    private boolean setLevel(PowerLevel next, long nowMs) {
+        levelTimeMs[level.ordinal()] += nowMs - levelSinceMs;
+        levelSinceMs = nowMs;
+        levelChanges[next.ordinal()]++;
+        level = next;
+        return true;
+    }
+}
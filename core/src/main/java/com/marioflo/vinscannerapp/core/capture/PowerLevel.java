@@ -0,0 +1,53 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+/**
+ * How much work scanning may do, chosen by a {@link PowerGovernor}.
+ * Each level bounds the analysis frame rate, the capture size and the frames in flight.
+ */
+public enum PowerLevel {
+
+    /** Full analysis rate, resolution strategy unrestricted, three frames in flight. */
+    NORMAL(0, 0, 3),
+
+    /** About 10 analysis frames per second, captures up to 1920 px, two frames in flight. */
+    REDUCED(100, 1920, 2),
+
+    /** About 4 analysis frames per second, captures up to 1280 px, one frame in flight. */
+    MINIMAL(250, 1280, 1);
+
+    private final long minFrameIntervalMs;
+    private final int maxLongSide;
+    private final int maxFramesInFlight;
+
+    PowerLevel(long minFrameIntervalMs, int maxLongSide, int maxFramesInFlight) {
+        this.minFrameIntervalMs = minFrameIntervalMs;
+        this.maxLongSide = maxLongSide;
+        this.maxFramesInFlight = maxFramesInFlight;
+    }
+
+    /** @return Shortest time between analyzed frames; 0 for every frame. */
+    public long getMinFrameIntervalMs() {
+        return minFrameIntervalMs;
+    }
+
+    /** @return Cap on the capture's long side in pixels; 0 for no cap. */
+    public int getMaxLongSide() {
+        return maxLongSide;
+    }
+
+    /** @return Frames allowed in the scan pipeline at once. */
+    public int getMaxFramesInFlight() {
+        return maxFramesInFlight;
+    }
+
+    /**
+     * Applies this level's cap to a target size.
+     *
+     * @param longSide Requested long side, 0 for the camera's maximum.
+     * @return The size to use, 0 for the camera's maximum.
+     */
+    public int capLongSide(int longSide) {
+        if (maxLongSide == 0) return longSide;
+        return longSide == 0 ? maxLongSide : Math.min(longSide, maxLongSide);
+    }
+}
@@ -0,0 +1,16 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+/**
+ * How the capture resolution is chosen.
+ */
+public enum ResolutionStrategy {
+
+    /** Largest resolution the camera offers (the CameraX default); slowest, most detail. */
+    MAXIMUM,
+
+    /** A fixed resolution: {@link AdaptiveResolution#DEFAULT_LONG_SIDE} on the long side, or the calibrated size. */
+    FIXED,
+
+    /** Starts at the default and moves along a ladder of sizes based on detection outcomes. */
+    ADAPTIVE
+}
@@ -0,0 +1,122 @@
+package com.marioflo.vinscannerapp.core.export;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes a VIN list as an Excel workbook or as CSV.
+ * Both formats have the same three columns: VIN, Location and Notes.
+ */
+public final class VinListExporter {
+
+    private static final String[] HEADERS = {"VIN", "Location", "Notes"};
+
+    private VinListExporter() {
+    }
+
+    /**
+     * Writes the rows as a single-sheet XLSX workbook with a bold header row.
+     *
+     * @param rows Rows to export.
+     * @param out  Destination; not closed.
+     * @throws IOException If writing fails.
+     */
+    public static void writeXlsx(List<? extends VinRecord> rows, OutputStream out) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Vin List");
+
+            // Set column widths
+            sheet.setColumnWidth(0, 5000); // VIN Number column
+            sheet.setColumnWidth(1, 2000); // Location column
+            sheet.setColumnWidth(2, 7000); // Extra Notes column
+
+            // Create a bold header style
+            Font headerFont = workbook.createFont();
+            headerFont.setBold(true);
+            CellStyle headerCellStyle = workbook.createCellStyle();
+            headerCellStyle.setFont(headerFont);
+
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(HEADERS[i]);
+                cell.setCellStyle(headerCellStyle);
+            }
+
+            // Write data rows
+            int rowNum = 1;
+            for (VinRecord record : rows) {
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(record.getVinNumber());
+                row.createCell(1).setCellValue(formatLocation(record.getRowLetter(), record.getSpaceNumber()));
+                row.createCell(2).setCellValue(nullToEmpty(record.getExtraNotes()));
+            }
+
+            workbook.write(out);
+        }
+    }
+
+    /**
+     * Writes the rows as RFC 4180 CSV with a header line.
+     *
+     * @param rows Rows to export.
+     * @param out  Destination; flushed but not closed.
+     * @throws IOException If writing fails.
+     */
+    public static void writeCsv(List<? extends VinRecord> rows, Writer out) throws IOException {
+        out.write(HEADERS[0] + "," + HEADERS[1] + "," + HEADERS[2] + "\r\n");
+        for (VinRecord record : rows) {
+            writeCsvField(out, record.getVinNumber());
+            out.write(',');
+            writeCsvField(out, formatLocation(record.getRowLetter(), record.getSpaceNumber()));
+            out.write(',');
+            writeCsvField(out, record.getExtraNotes());
+            out.write("\r\n");
+        }
+        out.flush();
+    }
+
+    /**
+     * Combines row letter and space number into the exported location, e.g. {@code "B-12"}.
+     *
+     * @return The location, or an empty string if neither part is set.
+     */
+    public static String formatLocation(String rowLetter, String spaceNumber) {
+        rowLetter = nullToEmpty(rowLetter);
+        spaceNumber = nullToEmpty(spaceNumber);
+        if (!rowLetter.isEmpty() && !spaceNumber.isEmpty()) {
+            return rowLetter + "-" + spaceNumber;
+        }
+        return rowLetter.isEmpty() ? spaceNumber : rowLetter;
+    }
+
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,16 @@
+package com.marioflo.vinscannerapp.core.export;
+
+/**
+ * The columns of a VIN entry that are exported.
+ * Implemented by the app's list projection so rows export without copying.
+ */
+public interface VinRecord {
+
+    String getVinNumber();
+
+    String getRowLetter();
+
+    String getSpaceNumber();
+
+    String getExtraNotes();
+}
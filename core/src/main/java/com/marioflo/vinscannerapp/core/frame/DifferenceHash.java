@@ -0,0 +1,69 @@
+package com.marioflo.vinscannerapp.core.frame;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 64-bit perceptual difference hash (dHash) of a luma frame.
+ * <p>
+ * The frame is box-averaged down to 9x8 cells and each bit records whether a cell is brighter
+ * than its right neighbour. Small shifts, noise, exposure changes and rescaling leave most bits
+ * alone, while a different scene flips many, so the Hamming distance between two hashes
+ * measures how different two frames look.
+ * </p>
+ */
+public final class DifferenceHash {
+
+    private static final int COLUMNS = 9;
+    private static final int ROWS = 8;
+
+    // Pixels sampled per cell axis step; averages stay stable while work drops fourfold
+    private static final int SAMPLE_STEP = 2;
+
+    private DifferenceHash() {
+    }
+
+    /**
+     * @param frame Frame to hash; at least 9x8 pixels.
+     * @return The hash.
+     */
+    public static long compute(LumaFrame frame) {
+        return compute(frame.getData(), frame.getWidth(), frame.getHeight());
+    }
+
+    static long compute(ByteBuffer pixels, int width, int height) {
+        long hash = 0;
+        int bit = 0;
+        for (int row = 0; row < ROWS; row++) {
+            int top = row * height / ROWS;
+            int bottom = (row + 1) * height / ROWS;
+            int previous = cellMean(pixels, width, 0, top, width / COLUMNS, bottom);
+            for (int column = 1; column < COLUMNS; column++) {
+                int left = column * width / COLUMNS;
+                int right = (column + 1) * width / COLUMNS;
+                int current = cellMean(pixels, width, left, top, right, bottom);
+                if (previous > current) hash |= 1L << bit;
+                bit++;
+                previous = current;
+            }
+        }
+        return hash;
+    }
+
+    /** @return Number of differing bits between two hashes, 0-64. */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static int cellMean(ByteBuffer pixels, int width, int left, int top, int right, int bottom) {
+        int sum = 0;
+        int count = 0;
+        for (int y = top; y < bottom; y += SAMPLE_STEP) {
+            int row = y * width;
+            for (int x = left; x < right; x += SAMPLE_STEP) {
+                sum += pixels.get(row + x) & 0xFF;
+                count++;
+            }
+        }
+        return count == 0 ? 0 : sum / count;
+    }
+}
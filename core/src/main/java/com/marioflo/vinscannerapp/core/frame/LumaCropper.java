@@ -0,0 +1,117 @@
+package com.marioflo.vinscannerapp.core.frame;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Crops a region of interest out of a camera Y plane and box-downscales it into a pooled
+ * {@link LumaFrame}, without allocating per frame.
+ * <p>
+ * Reads the plane in place one row span at a time (no {@code duplicate()} or copy of the
+ * whole plane), honoring its row and pixel stride. Scratch rows are kept between calls
+ * and only grow. Not thread-safe; use one cropper per analysis thread.
+ * </p>
+ */
+public final class LumaCropper {
+
+    private byte[] row = new byte[0];
+    private int[] sums = new int[0];
+
+    /**
+     * Integer downscale factor so the longer side of a {@code width x height} region
+     * fits in {@code maxLongSide}.
+     */
+    public static int scaleFor(int width, int height, int maxLongSide) {
+        int longSide = Math.max(width, height);
+        return Math.max(1, (longSide + maxLongSide - 1) / maxLongSide);
+    }
+
+    /**
+     * Crops and downscales one region.
+     *
+     * @param plane       Y plane; its position and limit are restored before returning.
+     * @param rowStride   Bytes between the starts of two rows.
+     * @param pixelStride Bytes between two pixels of a row.
+     * @param left        Region left edge, in plane pixels.
+     * @param top         Region top edge, in plane pixels.
+     * @param width       Region width, in plane pixels.
+     * @param height      Region height, in plane pixels.
+     * @param scale       Downscale factor; each output pixel averages a {@code scale x scale} box.
+     * @param pool        Pool to take the output frame from.
+     * @return The cropped frame, or null if the pool is exhausted.
+     */
+    public LumaFrame crop(ByteBuffer plane, int rowStride, int pixelStride,
+                          int left, int top, int width, int height, int scale, LumaFramePool pool) {
+        int outWidth = width / scale;
+        int outHeight = height / scale;
+        LumaFrame frame = pool.acquire(outWidth, outHeight);
+        if (frame == null) return null;
+        ByteBuffer out = frame.getData();
+
+        if (scale == 1) {
+            copyRows(plane, rowStride, pixelStride, left, top, outWidth, outHeight, out);
+        } else {
+            downscaleRows(plane, rowStride, pixelStride, left, top, outWidth, outHeight, scale, out);
+        }
+        return frame;
+    }
+
+    private void copyRows(ByteBuffer plane, int rowStride, int pixelStride,
+                          int left, int top, int width, int height, ByteBuffer out) {
+        int span = (width - 1) * pixelStride + 1;
+        if (row.length < span) row = new byte[span];
+        for (int y = 0; y < height; y++) {
+            readSpan(plane, (top + y) * rowStride + left * pixelStride, span);
+            int outIndex = y * width;
+            if (pixelStride == 1) {
+                out.position(outIndex);
+                out.put(row, 0, width);
+            } else {
+                for (int x = 0; x < width; x++) out.put(outIndex + x, row[x * pixelStride]);
+            }
+        }
+        out.position(0);
+    }
+
+    private void downscaleRows(ByteBuffer plane, int rowStride, int pixelStride,
+                               int left, int top, int outWidth, int outHeight, int scale, ByteBuffer out) {
+        int span = (outWidth * scale - 1) * pixelStride + 1;
+        if (row.length < span) row = new byte[span];
+        if (sums.length < outWidth) sums = new int[outWidth];
+        int area = scale * scale;
+
+        for (int oy = 0; oy < outHeight; oy++) {
+            for (int x = 0; x < outWidth; x++) sums[x] = 0;
+            for (int dy = 0; dy < scale; dy++) {
+                readSpan(plane, (top + oy * scale + dy) * rowStride + left * pixelStride, span);
+                int src = 0;
+                for (int x = 0; x < outWidth; x++) {
+                    int sum = 0;
+                    for (int dx = 0; dx < scale; dx++) {
+                        sum += row[src] & 0xFF;
+                        src += pixelStride;
+                    }
+                    sums[x] += sum;
+                }
+            }
+            int outIndex = oy * outWidth;
+            for (int x = 0; x < outWidth; x++) {
+                out.put(outIndex + x, (byte) (sums[x] / area));
+            }
+        }
+    }
+
+    /**
+     * Bulk-copies {@code length} bytes starting at {@code offset} into the scratch row.
+     * Moves the plane's position for the copy and restores it, which avoids the view object
+     * a {@code duplicate()} would allocate.
+     */
+    private void readSpan(ByteBuffer plane, int offset, int length) {
+        int position = plane.position();
+        int limit = plane.limit();
+        plane.limit(offset + length);
+        plane.position(offset);
+        plane.get(row, 0, length);
+        plane.limit(limit);
+        plane.position(position);
+    }
+}
@@ -0,0 +1,81 @@
+package com.marioflo.vinscannerapp.core.frame;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable grayscale (Y plane) frame backed by a direct {@link ByteBuffer}.
+ * <p>
+ * Pixels are packed row by row, one byte each, with no padding: pixel {@code (x, y)}
+ * is at index {@code y * width + x}. Frames come from a {@link LumaFramePool} and go
+ * back to it with {@link #release()}; after that the frame must not be touched.
+ * </p>
+ */
+public final class LumaFrame {
+
+    private final LumaFramePool pool;
+    private ByteBuffer data;
+    private int width;
+    private int height;
+    private int rotationDegrees;
+    private long timestampNanos;
+
+    LumaFrame(LumaFramePool pool) {
+        this.pool = pool;
+    }
+
+    /** Sizes the frame, growing its buffer only if it is too small. */
+    void reset(int width, int height) {
+        int size = width * height;
+        if (data == null || data.capacity() < size) {
+            data = ByteBuffer.allocateDirect(size);
+            pool.onBufferAllocated(size);
+        }
+        data.clear();
+        data.limit(size);
+        this.width = width;
+        this.height = height;
+        this.rotationDegrees = 0;
+        this.timestampNanos = 0;
+    }
+
+    /** @return The pixels; position 0, limit {@code width * height}. */
+    public ByteBuffer getData() {
+        return data;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /** @return Rotation that makes the frame upright, as reported by the camera. */
+    public int getRotationDegrees() {
+        return rotationDegrees;
+    }
+
+    public void setRotationDegrees(int rotationDegrees) {
+        this.rotationDegrees = rotationDegrees;
+    }
+
+    /** @return Camera timestamp of the source frame. */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    public void setTimestampNanos(long timestampNanos) {
+        this.timestampNanos = timestampNanos;
+    }
+
+    /** @return The luma value at {@code (x, y)}, 0-255. */
+    public int getLuma(int x, int y) {
+        return data.get(y * width + x) & 0xFF;
+    }
+
+    /** Returns the frame to its pool. */
+    public void release() {
+        pool.release(this);
+    }
+}
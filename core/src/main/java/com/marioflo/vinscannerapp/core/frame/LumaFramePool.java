@@ -0,0 +1,92 @@
+package com.marioflo.vinscannerapp.core.frame;
+
+import java.util.ArrayDeque;
+
+/**
+ * Fixed-size pool of {@link LumaFrame}s, so a 30 fps analysis stream allocates nothing
+ * once the pool is warm.
+ * <p>
+ * Frames and their direct buffers are created lazily, up to {@code maxFrames}, and reused
+ * afterwards; a buffer is only reallocated when a frame is asked for a larger size than it
+ * has held before. When every frame is in use, {@link #acquire} returns null and the caller
+ * drops the camera frame, which is the right back-pressure for a live preview.
+ * Counters expose how often that happens and how many bytes were ever allocated.
+ * </p>
+ * Thread-safe.
+ */
+public final class LumaFramePool {
+
+    private final int maxFrames;
+    private final ArrayDeque<LumaFrame> free;
+    private int created;
+
+    private long acquired;
+    private long exhausted;
+    private long bufferAllocations;
+    private long bufferBytes;
+
+    /**
+     * @param maxFrames Most frames in circulation at once, e.g. one being filled plus
+     *                  one per downstream consumer.
+     */
+    public LumaFramePool(int maxFrames) {
+        if (maxFrames < 1) throw new IllegalArgumentException("maxFrames must be at least 1");
+        this.maxFrames = maxFrames;
+        this.free = new ArrayDeque<>(maxFrames);
+    }
+
+    /**
+     * Takes a frame sized {@code width x height}.
+     *
+     * @return A frame, or null if all frames are in use.
+     */
+    public synchronized LumaFrame acquire(int width, int height) {
+        LumaFrame frame = free.pollFirst();
+        if (frame == null) {
+            if (created == maxFrames) {
+                exhausted++;
+                return null;
+            }
+            frame = new LumaFrame(this);
+            created++;
+        }
+        try {
+            frame.reset(width, height);
+        } catch (RuntimeException | OutOfMemoryError e) {
+            // Keep the frame in circulation, or a small pool would be exhausted for good
+            free.addFirst(frame);
+            throw e;
+        }
+        acquired++;
+        return frame;
+    }
+
+    synchronized void release(LumaFrame frame) {
+        free.addFirst(frame);
+    }
+
+    synchronized void onBufferAllocated(int bytes) {
+        bufferAllocations++;
+        bufferBytes += bytes;
+    }
+
+    /** @return Frames handed out so far. */
+    public synchronized long getAcquiredCount() {
+        return acquired;
+    }
+
+    /** @return Requests refused because every frame was in use. */
+    public synchronized long getExhaustedCount() {
+        return exhausted;
+    }
+
+    /** @return Direct buffers allocated so far; stays flat once the pool is warm. */
+    public synchronized long getBufferAllocationCount() {
+        return bufferAllocations;
+    }
+
+    /** @return Total bytes of direct buffers allocated so far. */
+    public synchronized long getBufferBytes() {
+        return bufferBytes;
+    }
+}
@@ -0,0 +1,23 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.List;
+
+/**
+ * Decodes barcodes in a frame.
+ * <p>
+ * Implementations may block; {@link VinScanEngine} calls them from a background thread.
+ * The app adapts ML Kit's barcode scanner to this interface; tests and benchmarks use
+ * recorded outputs instead.
+ * </p>
+ *
+ * @param <F> Frame type understood by the implementation.
+ */
+public interface BarcodeDetector<F> {
+
+    /**
+     * @param frame Frame to decode.
+     * @return Raw values of every barcode found, possibly empty.
+     * @throws Exception If detection fails.
+     */
+    List<String> detectBarcodes(F frame) throws Exception;
+}
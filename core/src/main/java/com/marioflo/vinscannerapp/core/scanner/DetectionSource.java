@@ -0,0 +1,20 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+/**
+ * Describes how a VIN entered the database.
+ * <p>
+ * Persisted by Room as the enum constant name in {@code VinInfo.getDetectionSource()},
+ * so constants must never be renamed once released.
+ * </p>
+ */
+public enum DetectionSource {
+
+    /** Decoded from a VIN barcode (Code 39, Data Matrix, etc.). */
+    BARCODE,
+
+    /** Read from printed text via OCR. */
+    OCR,
+
+    /** Typed in by the operator. */
+    MANUAL
+}
@@ -0,0 +1,98 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import com.marioflo.vinscannerapp.core.frame.DifferenceHash;
+
+import java.util.Locale;
+
+/**
+ * Skips frames that look like a recent frame on which detection already failed.
+ * <p>
+ * Keeps the {@link DifferenceHash} of the last few misses. A new frame within
+ * {@code maxDistance} bits of one of them is a near-duplicate and is skipped, until the
+ * scene changes enough or {@code retryIntervalMs} has passed since that miss (lighting or
+ * focus may have improved by then). Frames similar to a successful one are never skipped.
+ * Thread-safe.
+ * </p>
+ */
+public final class FrameDeduplicator {
+
+    /** Bits out of 64 two frames may differ by and still count as the same view. */
+    public static final int DEFAULT_MAX_DISTANCE = 6;
+
+    /** How long a miss suppresses its near-duplicates. */
+    public static final long DEFAULT_RETRY_INTERVAL_MS = 3_000;
+
+    private static final int HISTORY = 4;
+
+    private final int maxDistance;
+    private final long retryIntervalMs;
+    private final long[] hashes = new long[HISTORY];
+    private final long[] missTimesMs = new long[HISTORY];
+    private int size;
+    private int next;
+
+    private long checked;
+    private long skipped;
+
+    public FrameDeduplicator() {
+        this(DEFAULT_MAX_DISTANCE, DEFAULT_RETRY_INTERVAL_MS);
+    }
+
+    /**
+     * @param maxDistance     Largest Hamming distance treated as a duplicate.
+     * @param retryIntervalMs How long a miss suppresses its near-duplicates.
+     */
+    public FrameDeduplicator(int maxDistance, long retryIntervalMs) {
+        this.maxDistance = maxDistance;
+        this.retryIntervalMs = retryIntervalMs;
+    }
+
+    /**
+     * Checks a frame against recent misses and counts the outcome.
+     *
+     * @param hash  The frame's difference hash.
+     * @param nowMs Monotonic time in milliseconds.
+     * @return Whether the frame should be skipped.
+     */
+    public synchronized boolean isDuplicate(long hash, long nowMs) {
+        checked++;
+        for (int i = 0; i < size; i++) {
+            if (nowMs - missTimesMs[i] < retryIntervalMs
+                    && DifferenceHash.distance(hash, hashes[i]) <= maxDistance) {
+                skipped++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remembers a frame on which detection found no VIN.
+     *
+     * @param hash  The frame's difference hash.
+     * @param nowMs Monotonic time in milliseconds.
+     */
+    public synchronized void recordMiss(long hash, long nowMs) {
+        hashes[next] = hash;
+        missTimesMs[next] = nowMs;
+        next = (next + 1) % HISTORY;
+        if (size < HISTORY) size++;
+    }
+
+    /** Forgets all misses, e.g. when a new scanning session starts. */
+    public synchronized void clear() {
+        size = 0;
+        next = 0;
+    }
+
+    /** @return Checked and skipped frame counts, one line. */
+    public synchronized String formatCounts() {
+        return String.format(Locale.US, "dedup: checked %d, skipped %d%n", checked, skipped);
+    }
+
+    /** Clears the counters. */
+    public synchronized void resetCounts() {
+        checked = 0;
+        skipped = 0;
+    }
+}
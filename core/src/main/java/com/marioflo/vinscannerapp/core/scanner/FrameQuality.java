@@ -0,0 +1,63 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.Locale;
+
+/**
+ * Image statistics of one frame and the quality gate's verdict on it.
+ */
+public final class FrameQuality {
+
+    /** Why a frame passed or was rejected; checks run in this order. */
+    public enum Verdict {
+        PASS,
+        TOO_DARK,
+        TOO_BRIGHT,
+        LOW_CONTRAST,
+        /** Out of focus or motion-smeared: too few fine edges. */
+        BLURRY
+    }
+
+    private final Verdict verdict;
+    private final float brightness;
+    private final float contrast;
+    private final float sharpness;
+
+    /**
+     * @param verdict    Outcome.
+     * @param brightness Mean luma, 0-255.
+     * @param contrast   Standard deviation of luma (RMS contrast).
+     * @param sharpness  Variance of the Laplacian; 0 when not computed.
+     */
+    public FrameQuality(Verdict verdict, float brightness, float contrast, float sharpness) {
+        this.verdict = verdict;
+        this.brightness = brightness;
+        this.contrast = contrast;
+        this.sharpness = sharpness;
+    }
+
+    public Verdict getVerdict() {
+        return verdict;
+    }
+
+    public boolean isAcceptable() {
+        return verdict == Verdict.PASS;
+    }
+
+    public float getBrightness() {
+        return brightness;
+    }
+
+    public float getContrast() {
+        return contrast;
+    }
+
+    public float getSharpness() {
+        return sharpness;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "FrameQuality{%s, brightness=%.0f, contrast=%.1f, sharpness=%.0f}",
+                verdict, brightness, contrast, sharpness);
+    }
+}
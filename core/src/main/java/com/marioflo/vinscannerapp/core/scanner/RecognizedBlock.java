@@ -0,0 +1,74 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plain copy of one OCR text block: its full text and its lines.
+ * <p>
+ * Mirrors the shape of ML Kit's {@code Text.TextBlock} without depending on it,
+ * so candidate extraction can run (and be benchmarked) on a plain JVM.
+ * </p>
+ */
+public final class RecognizedBlock {
+
+    private final String text;
+    private final List<Line> lines;
+    private final TextRegion bounds;
+
+    /**
+     * @param text  Full block text, lines separated by newlines.
+     * @param lines Lines of the block, in reading order.
+     */
+    public RecognizedBlock(String text, List<Line> lines) {
+        this(text, lines, null);
+    }
+
+    /**
+     * @param text   Full block text, lines separated by newlines.
+     * @param lines  Lines of the block, in reading order.
+     * @param bounds Where the block is in the frame, or null if unknown.
+     */
+    public RecognizedBlock(String text, List<Line> lines, TextRegion bounds) {
+        this.text = text;
+        this.lines = Collections.unmodifiableList(lines);
+        this.bounds = bounds;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    /** @return Bounds in normalized upright frame coordinates, or null if unknown. */
+    public TextRegion getBounds() {
+        return bounds;
+    }
+
+    /** One recognized line and the recognizer's confidence in it. */
+    public static final class Line {
+
+        private final String text;
+        private final float confidence;
+
+        /**
+         * @param text       Line text.
+         * @param confidence Recognizer confidence in [0, 1].
+         */
+        public Line(String text, float confidence) {
+            this.text = text;
+            this.confidence = confidence;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public float getConfidence() {
+            return confidence;
+        }
+    }
+}
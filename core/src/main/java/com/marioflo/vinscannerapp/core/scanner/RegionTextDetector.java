@@ -0,0 +1,22 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.List;
+
+/**
+ * A {@link TextDetector} that can also recognize text inside a region of the frame only,
+ * which costs roughly in proportion to the region's area.
+ *
+ * @param <F> Frame type the detector understands.
+ */
+public interface RegionTextDetector<F> extends TextDetector<F> {
+
+    /**
+     * Recognizes the text inside {@code region}.
+     *
+     * @param frame  Frame to read.
+     * @param region Region to read, in normalized upright frame coordinates.
+     * @return Blocks in reading order, with bounds in full-frame coordinates.
+     * @throws Exception If recognition fails.
+     */
+    List<RecognizedBlock> detectText(F frame, TextRegion region) throws Exception;
+}
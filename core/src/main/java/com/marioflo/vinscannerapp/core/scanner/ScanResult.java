@@ -0,0 +1,51 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+/**
+ * Immutable result of a successful VIN detection.
+ * <p>
+ * Carries the VIN together with its provenance so it can be stored
+ * alongside the app's {@code VinInfo} record.
+ * </p>
+ */
+public class ScanResult {
+
+    private final String vinCode;
+    private final DetectionSource source;
+    private final long latencyMs;
+    private final Float confidence;
+
+    /**
+     * @param vinCode    The validated 17-character VIN.
+     * @param source     Detector that produced the VIN.
+     * @param latencyMs  Time from the start of processing to detection, in milliseconds.
+     * @param confidence Detector confidence in [0, 1], or null if the detector does not report one.
+     */
+    public ScanResult(String vinCode, DetectionSource source, long latencyMs, Float confidence) {
+        this.vinCode = vinCode;
+        this.source = source;
+        this.latencyMs = latencyMs;
+        this.confidence = confidence;
+    }
+
+    public String getVinCode() {
+        return vinCode;
+    }
+
+    public DetectionSource getSource() {
+        return source;
+    }
+
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public Float getConfidence() {
+        return confidence;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanResult{vin=" + vinCode + ", source=" + source
+                + ", latencyMs=" + latencyMs + ", confidence=" + confidence + "}";
+    }
+}
@@ -0,0 +1,23 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.List;
+
+/**
+ * Recognizes text in a frame.
+ * <p>
+ * Implementations may block; {@link VinScanEngine} calls them from a background thread.
+ * The app adapts ML Kit's text recognizer to this interface; tests and benchmarks use
+ * recorded outputs instead.
+ * </p>
+ *
+ * @param <F> Frame type understood by the implementation.
+ */
+public interface TextDetector<F> {
+
+    /**
+     * @param frame Frame to recognize.
+     * @return Recognized blocks in reading order, possibly empty.
+     * @throws Exception If recognition fails.
+     */
+    List<RecognizedBlock> detectText(F frame) throws Exception;
+}
@@ -0,0 +1,104 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.Locale;
+
+/**
+ * Axis-aligned rectangle in normalized upright frame coordinates: (0, 0) is the top-left
+ * and (1, 1) the bottom-right corner of the frame as the user sees it.
+ * <p>
+ * Normalized coordinates let a region found in one frame be applied to the next even when
+ * the capture resolution changes in between. Immutable.
+ * </p>
+ */
+public final class TextRegion {
+
+    /** The whole frame. */
+    public static final TextRegion FULL = new TextRegion(0f, 0f, 1f, 1f);
+
+    private final float left;
+    private final float top;
+    private final float right;
+    private final float bottom;
+
+    /**
+     * Values are clamped to [0, 1].
+     */
+    public TextRegion(float left, float top, float right, float bottom) {
+        this.left = clamp(Math.min(left, right));
+        this.top = clamp(Math.min(top, bottom));
+        this.right = clamp(Math.max(left, right));
+        this.bottom = clamp(Math.max(top, bottom));
+    }
+
+    public float getLeft() {
+        return left;
+    }
+
+    public float getTop() {
+        return top;
+    }
+
+    public float getRight() {
+        return right;
+    }
+
+    public float getBottom() {
+        return bottom;
+    }
+
+    public float getWidth() {
+        return right - left;
+    }
+
+    public float getHeight() {
+        return bottom - top;
+    }
+
+    public float getCenterX() {
+        return (left + right) / 2f;
+    }
+
+    public float getCenterY() {
+        return (top + bottom) / 2f;
+    }
+
+    /** @return Share of the frame this region covers, in [0, 1]. */
+    public float getArea() {
+        return getWidth() * getHeight();
+    }
+
+    /** @return This region moved by {@code (dx, dy)}, clamped to the frame. */
+    public TextRegion offset(float dx, float dy) {
+        return new TextRegion(left + dx, top + dy, right + dx, bottom + dy);
+    }
+
+    /**
+     * @param marginX Margin added on each side, as a fraction of the region width.
+     * @param marginY Margin added above and below, as a fraction of the region height.
+     * @return The grown region, clamped to the frame.
+     */
+    public TextRegion expand(float marginX, float marginY) {
+        float dx = getWidth() * marginX;
+        float dy = getHeight() * marginY;
+        return new TextRegion(left - dx, top - dy, right + dx, bottom + dy);
+    }
+
+    /**
+     * Maps a region given relative to this one (as if this region were the whole frame) into
+     * frame coordinates, e.g. to bring text found on a crop back into the full frame.
+     */
+    public TextRegion mapFromCrop(TextRegion inCrop) {
+        return new TextRegion(
+                left + inCrop.left * getWidth(), top + inCrop.top * getHeight(),
+                left + inCrop.right * getWidth(), top + inCrop.bottom * getHeight());
+    }
+
+    private static float clamp(float value) {
+        return Math.max(0f, Math.min(1f, value));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "TextRegion[%.3f, %.3f, %.3f, %.3f]", left, top, right, bottom);
+    }
+}
@@ -0,0 +1,92 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.Locale;
+
+/**
+ * Follows the VIN's text block from frame to frame so OCR can read just that region.
+ * <p>
+ * After a block holding a VIN candidate is found, the tracker predicts where it will be in
+ * the next frame: its last bounds moved by the smoothed motion between the last two sightings,
+ * plus a margin for hand shake (generous vertically, since a VIN line is thin). When the
+ * predicted region yields no candidate, tracking is lost and the caller reads the full frame
+ * again. Thread-safe.
+ * </p>
+ */
+public final class TextRegionTracker {
+
+    // Margin around the last bounds: fraction of the region width and height per side
+    private static final float MARGIN_X = 0.15f;
+    private static final float MARGIN_Y = 1.0f;
+
+    // Weight of the newest motion sample in the smoothed velocity
+    private static final float VELOCITY_SMOOTHING = 0.5f;
+
+    // Above this share of the frame a crop saves too little to be worth it
+    private static final float MAX_CROP_AREA = 0.6f;
+
+    private TextRegion last;
+    private float velocityX;
+    private float velocityY;
+
+    private long croppedFrames;
+    private long fullFrames;
+    private long losses;
+
+    /**
+     * @return The region to read in the next frame, or null if nothing is being tracked and
+     *         the full frame should be read.
+     */
+    public synchronized TextRegion predict() {
+        if (last == null) return null;
+        TextRegion predicted = last.offset(velocityX, velocityY).expand(MARGIN_X, MARGIN_Y);
+        return predicted.getArea() > MAX_CROP_AREA ? null : predicted;
+    }
+
+    /**
+     * Records where the candidate block was seen.
+     *
+     * @param bounds  Its bounds in normalized frame coordinates.
+     * @param cropped Whether it was found by reading a predicted region (vs. the full frame).
+     */
+    public synchronized void onFound(TextRegion bounds, boolean cropped) {
+        if (last != null) {
+            velocityX += VELOCITY_SMOOTHING * ((bounds.getCenterX() - last.getCenterX()) - velocityX);
+            velocityY += VELOCITY_SMOOTHING * ((bounds.getCenterY() - last.getCenterY()) - velocityY);
+        }
+        last = bounds;
+        if (cropped) croppedFrames++;
+        else fullFrames++;
+    }
+
+    /** Records a full-frame read that found no candidate block. */
+    public synchronized void onFullFrameMiss() {
+        fullFrames++;
+        reset();
+    }
+
+    /** Records that the predicted region held no candidate; the next read is full-frame. */
+    public synchronized void onLost() {
+        losses++;
+        reset();
+    }
+
+    /** Stops tracking, e.g. when the user moves on to another vehicle. */
+    public synchronized void reset() {
+        last = null;
+        velocityX = 0;
+        velocityY = 0;
+    }
+
+    /** @return Cropped and full-frame reads and losses, one line. */
+    public synchronized String formatCounts() {
+        return String.format(Locale.US, "region tracker: cropped %d, full %d, lost %d%n",
+                croppedFrames, fullFrames, losses);
+    }
+
+    /** Clears the counters. */
+    public synchronized void resetCounts() {
+        croppedFrames = 0;
+        fullFrames = 0;
+        losses = 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+/**
+ * A VIN found in detector output, with where it came from and how much to trust it.
+ */
+public final class VinCandidate {
+
+    private final String vin;
+    private final DetectionSource source;
+    private final Float confidence;
+    private final boolean checkDigitValid;
+    private final boolean corrected;
+
+    /**
+     * @param vin             The VIN, already format-validated.
+     * @param source          Detector that produced it.
+     * @param confidence      Recognizer confidence in [0, 1], or null if unknown.
+     * @param checkDigitValid Whether the position-9 check digit matches.
+     * @param corrected       Whether {@link VinCorrector} changed any character.
+     */
+    public VinCandidate(String vin, DetectionSource source, Float confidence,
+                        boolean checkDigitValid, boolean corrected) {
+        this.vin = vin;
+        this.source = source;
+        this.confidence = confidence;
+        this.checkDigitValid = checkDigitValid;
+        this.corrected = corrected;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public DetectionSource getSource() {
+        return source;
+    }
+
+    public Float getConfidence() {
+        return confidence;
+    }
+
+    public boolean isCheckDigitValid() {
+        return checkDigitValid;
+    }
+
+    public boolean isCorrected() {
+        return corrected;
+    }
+
+    @Override
+    public String toString() {
+        return "VinCandidate{" + vin + ", " + source + ", confidence=" + confidence
+                + ", checkDigitValid=" + checkDigitValid + ", corrected=" + corrected + "}";
+    }
+}
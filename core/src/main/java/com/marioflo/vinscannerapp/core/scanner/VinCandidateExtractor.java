@@ -0,0 +1,113 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.List;
+
+/**
+ * Finds a VIN in OCR output.
+ * <p>
+ * A block whose whole text is a VIN wins (the original behavior). Otherwise each line
+ * is scanned for a 17-character run of VIN characters delimited by anything else, which
+ * also finds VINs printed with a label, e.g. {@code "VIN: 1HGCM82633A004352"}.
+ * Runs may contain I, O and Q, which {@link VinCorrector} maps to digits; a run whose
+ * check digit is valid is preferred over one whose check digit is not.
+ * The scan walks characters in place and allocates only for matching runs.
+ * </p>
+ */
+public final class VinCandidateExtractor {
+
+    private VinCandidateExtractor() {
+    }
+
+    /**
+     * @param blocks Recognized blocks in reading order.
+     * @return The best VIN found, or null if none.
+     */
+    public static VinCandidate extract(List<RecognizedBlock> blocks) {
+        Match match = bestMatch(blocks);
+        return match == null ? null : match.candidate;
+    }
+
+    /**
+     * Finds the block the best VIN candidate comes from, e.g. to track its region.
+     *
+     * @param blocks Recognized blocks in reading order.
+     * @return That block, or null if no block holds a candidate.
+     */
+    public static RecognizedBlock findCandidateBlock(List<RecognizedBlock> blocks) {
+        Match match = bestMatch(blocks);
+        return match == null ? null : blocks.get(match.blockIndex);
+    }
+
+    private static Match bestMatch(List<RecognizedBlock> blocks) {
+        Match fallback = null;
+        for (int i = 0; i < blocks.size(); i++) {
+            RecognizedBlock block = blocks.get(i);
+            if (isRun(block.getText(), 0, block.getText() == null ? 0 : block.getText().length())) {
+                VinCandidate candidate = VinCorrector.correct(block.getText(), DetectionSource.OCR,
+                        averageConfidence(block));
+                if (candidate.isCheckDigitValid()) return new Match(candidate, i);
+                if (fallback == null) fallback = new Match(candidate, i);
+            }
+        }
+        for (int i = 0; i < blocks.size(); i++) {
+            for (RecognizedBlock.Line line : blocks.get(i).getLines()) {
+                String run = findVinRun(line.getText());
+                if (run == null) continue;
+                VinCandidate candidate = VinCorrector.correct(run, DetectionSource.OCR, line.getConfidence());
+                if (candidate.isCheckDigitValid()) return new Match(candidate, i);
+                if (fallback == null) fallback = new Match(candidate, i);
+            }
+        }
+        return fallback;
+    }
+
+    /** A candidate and the index of the block it was found in. */
+    private static final class Match {
+        final VinCandidate candidate;
+        final int blockIndex;
+
+        Match(VinCandidate candidate, int blockIndex) {
+            this.candidate = candidate;
+            this.blockIndex = blockIndex;
+        }
+    }
+
+    /**
+     * Averages the line confidences of a block.
+     *
+     * @return The mean confidence in [0, 1], or null if the block has no lines.
+     */
+    public static Float averageConfidence(RecognizedBlock block) {
+        if (block.getLines().isEmpty()) return null;
+        float sum = 0f;
+        for (RecognizedBlock.Line line : block.getLines()) {
+            sum += line.getConfidence();
+        }
+        return sum / block.getLines().size();
+    }
+
+    /**
+     * @return The first run of exactly 17 correctable VIN characters in {@code text}, or null.
+     */
+    static String findVinRun(String text) {
+        if (text == null) return null;
+        int runStart = 0;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            if (i < length && VinCorrector.isCorrectableChar(text.charAt(i))) continue;
+            if (i - runStart == VinValidator.VIN_LENGTH) {
+                return text.substring(runStart, i);
+            }
+            runStart = i + 1;
+        }
+        return null;
+    }
+
+    private static boolean isRun(String text, int start, int end) {
+        if (text == null || end - start != VinValidator.VIN_LENGTH) return false;
+        for (int i = start; i < end; i++) {
+            if (!VinCorrector.isCorrectableChar(text.charAt(i))) return false;
+        }
+        return true;
+    }
+}
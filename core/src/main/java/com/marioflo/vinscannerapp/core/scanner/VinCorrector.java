@@ -0,0 +1,122 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+/**
+ * Repairs common OCR misreads in VIN candidates.
+ * <p>
+ * First maps the letters a VIN can never contain to the digits they are mistaken for
+ * (I to 1, O and Q to 0). Then, when the check digit at position 9 does not match and the
+ * WMI marks a North American VIN (first character 1 to 5), tries each single swap of a
+ * commonly confused pair (S/5, B/8, Z/2, G/6, ...) after the first character and keeps the
+ * first that makes the check digit valid.
+ * </p>
+ * <p>
+ * Elsewhere position 9 is free-form, so a mismatch says nothing about misreads: about one
+ * in five such VINs can be "repaired" into a different VIN by a single swap. Those, and
+ * North American VINs no swap repairs, are returned as read, flagged as not
+ * check-digit-valid.
+ * </p>
+ */
+public final class VinCorrector {
+
+    private static final int[] WEIGHTS = {8, 7, 6, 5, 4, 3, 2, 10, 0, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final int CHECK_DIGIT_INDEX = 8;
+
+    /** Transliteration values of A..Z; -1 for the letters a VIN cannot contain. */
+    private static final int[] LETTER_VALUES = {
+            1, 2, 3, 4, 5, 6, 7, 8, -1, 1, 2, 3, 4, 5, -1, 7, -1, 9, 2, 3, 4, 5, 6, 7, 8, 9};
+
+    /** Pairs OCR confuses on VIN plates and stickers; each is tried in both directions. */
+    private static final char[][] CONFUSABLE = {
+            {'S', '5'}, {'B', '8'}, {'Z', '2'}, {'G', '6'}, {'T', '7'}, {'A', '4'}, {'L', '1'}, {'D', '0'},
+    };
+
+    private VinCorrector() {
+    }
+
+    /**
+     * @param c Character to test.
+     * @return True if {@code c} is a VIN character or one {@link #correct} maps to a VIN character.
+     */
+    public static boolean isCorrectableChar(char c) {
+        return VinValidator.isVinChar(c) || c == 'I' || c == 'O' || c == 'Q';
+    }
+
+    /**
+     * Corrects a 17-character run of {@link #isCorrectableChar correctable} characters.
+     *
+     * @param run    Candidate text, exactly 17 correctable characters.
+     * @param source Detector that produced the text.
+     * @param confidence Recognizer confidence, or null.
+     * @return The corrected candidate, or null if {@code run} is not 17 correctable characters.
+     */
+    public static VinCandidate correct(String run, DetectionSource source, Float confidence) {
+        if (run == null || run.length() != VinValidator.VIN_LENGTH) return null;
+        char[] vin = new char[VinValidator.VIN_LENGTH];
+        boolean corrected = false;
+        for (int i = 0; i < vin.length; i++) {
+            char c = run.charAt(i);
+            if (!isCorrectableChar(c)) return null;
+            char mapped = c == 'I' ? '1' : (c == 'O' || c == 'Q') ? '0' : c;
+            corrected |= mapped != c;
+            vin[i] = mapped;
+        }
+
+        if (hasValidCheckDigit(vin)) {
+            return new VinCandidate(new String(vin), source, confidence, true, corrected);
+        }
+        if (!requiresCheckDigit(vin[0])) {
+            return new VinCandidate(new String(vin), source, confidence, false, corrected);
+        }
+        // The first character selected the check-digit rule, so it is never swapped
+        for (int i = 1; i < vin.length; i++) {
+            char original = vin[i];
+            for (char[] pair : CONFUSABLE) {
+                char swap = original == pair[0] ? pair[1] : original == pair[1] ? pair[0] : 0;
+                if (swap == 0) continue;
+                vin[i] = swap;
+                if (hasValidCheckDigit(vin)) {
+                    return new VinCandidate(new String(vin), source, confidence, true, true);
+                }
+            }
+            vin[i] = original;
+        }
+        return new VinCandidate(new String(vin), source, confidence, false, corrected);
+    }
+
+    /**
+     * @param vin Candidate VIN.
+     * @return True if {@code vin} is a VIN whose position-9 check digit matches.
+     */
+    public static boolean hasValidCheckDigit(CharSequence vin) {
+        if (!VinValidator.isVin(vin)) return false;
+        char[] chars = new char[VinValidator.VIN_LENGTH];
+        for (int i = 0; i < chars.length; i++) chars[i] = vin.charAt(i);
+        return hasValidCheckDigit(chars);
+    }
+
+    /**
+     * @param wmiFirst First character of the VIN.
+     * @return True if the VIN was assigned in North America, where the check digit is mandatory.
+     */
+    private static boolean requiresCheckDigit(char wmiFirst) {
+        return wmiFirst >= '1' && wmiFirst <= '5';
+    }
+
+    private static boolean hasValidCheckDigit(char[] vin) {
+        int sum = 0;
+        for (int i = 0; i < vin.length; i++) {
+            int value = transliterate(vin[i]);
+            if (value < 0) return false;
+            sum += value * WEIGHTS[i];
+        }
+        int remainder = sum % 11;
+        char expected = remainder == 10 ? 'X' : (char) ('0' + remainder);
+        return vin[CHECK_DIGIT_INDEX] == expected;
+    }
+
+    private static int transliterate(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'A' && c <= 'Z') return LETTER_VALUES[c - 'A'];
+        return -1;
+    }
+}
@@ -0,0 +1,227 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.List;
+
+/**
+ * Platform-independent VIN scanning pipeline for one frame at a time.
+ * <p>
+ * Tries barcode detection first; if it finds no VIN (or fails), falls back to text
+ * recognition, extracts and corrects a candidate, and passes it through a {@link VinVoter}.
+ * Detectors are injected, so the same engine runs on ML Kit in the app and on recorded
+ * outputs on a plain JVM. Calls block on the detectors; run the engine off the main thread.
+ * Not thread-safe (the voter holds per-session state); use one engine per scanning session.
+ * A pipeline may run {@link #detect} and {@link #evaluate} on separate stage threads.
+ * With a {@link TextRegionTracker} and a {@link RegionTextDetector}, text recognition reads
+ * only the region where the VIN was last seen, going back to the full frame when it is lost.
+ * </p>
+ *
+ * @param <F> Frame type understood by the detectors.
+ */
+public final class VinScanEngine<F> {
+
+    /** Engine-internal stages reported to a {@link StageTimer}. */
+    public enum Stage {
+        BARCODE_DETECT,
+        OCR_DETECT,
+        VALIDATE
+    }
+
+    /** Receives the duration of every stage, e.g. to feed latency histograms. */
+    public interface StageTimer {
+        /**
+         * @param stage The stage that finished.
+         * @param nanos Its duration in nanoseconds.
+         */
+        void record(Stage stage, long nanos);
+    }
+
+    private static final StageTimer NO_TIMER = (stage, nanos) -> { };
+
+    private final BarcodeDetector<F> barcodeDetector;
+    private final TextDetector<F> textDetector;
+    private final VinVoter voter;
+    private final StageTimer timer;
+    private final TextRegionTracker tracker;
+
+    /**
+     * Creates an engine that reports the first VIN it finds, like a single photo scan.
+     */
+    public VinScanEngine(BarcodeDetector<F> barcodeDetector, TextDetector<F> textDetector) {
+        this(barcodeDetector, textDetector, new VinVoter(1), NO_TIMER);
+    }
+
+    /**
+     * @param barcodeDetector Barcode detector.
+     * @param textDetector    Text recognizer.
+     * @param voter           Voter deciding when a VIN is locked.
+     * @param timer           Receives stage durations; may be null.
+     */
+    public VinScanEngine(BarcodeDetector<F> barcodeDetector, TextDetector<F> textDetector,
+                         VinVoter voter, StageTimer timer) {
+        this(barcodeDetector, textDetector, voter, timer, null);
+    }
+
+    /**
+     * @param barcodeDetector Barcode detector.
+     * @param textDetector    Text recognizer. Region tracking only applies if it is a
+     *                        {@link RegionTextDetector}.
+     * @param voter           Voter deciding when a VIN is locked.
+     * @param timer           Receives stage durations; may be null.
+     * @param tracker         Tracks the VIN's text block so later frames OCR only that region;
+     *                        may be null to always read the full frame.
+     */
+    public VinScanEngine(BarcodeDetector<F> barcodeDetector, TextDetector<F> textDetector,
+                         VinVoter voter, StageTimer timer, TextRegionTracker tracker) {
+        this.barcodeDetector = barcodeDetector;
+        this.textDetector = textDetector;
+        this.voter = voter;
+        this.timer = timer != null ? timer : NO_TIMER;
+        this.tracker = textDetector instanceof RegionTextDetector ? tracker : null;
+    }
+
+    /**
+     * Scans one frame: {@link #detect} followed by {@link #evaluate}.
+     *
+     * @param frame Frame to scan.
+     * @return The locked VIN with its latency since this call started, or null if this frame
+     *         did not lock a VIN.
+     * @throws Exception If text recognition fails. A barcode failure falls back to text.
+     */
+    public ScanResult scan(F frame) throws Exception {
+        return evaluate(detect(frame));
+    }
+
+    /**
+     * Runs the detectors on one frame. A barcode that is a VIN is accepted here, since that
+     * check is what decides whether text recognition runs at all.
+     * <p>
+     * Together with {@link #evaluate} this splits a scan into a detector stage and a
+     * validation stage that a pipeline can run on different threads. Each of the two
+     * methods must stay confined to one thread at a time.
+     * </p>
+     *
+     * @param frame Frame to scan.
+     * @return Raw detector outputs for {@link #evaluate}.
+     * @throws Exception If text recognition fails. A barcode failure falls back to text.
+     */
+    public Detection detect(F frame) throws Exception {
+        final long start = System.nanoTime();
+
+        List<String> barcodes = null;
+        long stageStart = System.nanoTime();
+        try {
+            barcodes = barcodeDetector.detectBarcodes(frame);
+        } catch (Exception e) {
+            // Fall through to text recognition, as a damaged barcode often still has printed text
+        } finally {
+            timer.record(Stage.BARCODE_DETECT, System.nanoTime() - stageStart);
+        }
+        if (barcodes != null) {
+            stageStart = System.nanoTime();
+            VinCandidate barcodeCandidate = null;
+            for (String rawValue : barcodes) {
+                if (VinValidator.isVin(rawValue)) {
+                    // Barcode decoding is checksum-verified, so treat it as certain
+                    barcodeCandidate = new VinCandidate(rawValue, DetectionSource.BARCODE, 1f,
+                            VinCorrector.hasValidCheckDigit(rawValue), false);
+                    break;
+                }
+            }
+            timer.record(Stage.VALIDATE, System.nanoTime() - stageStart);
+            if (barcodeCandidate != null) {
+                return new Detection(start, barcodeCandidate, null);
+            }
+        }
+
+        stageStart = System.nanoTime();
+        try {
+            return new Detection(start, null, recognizeText(frame));
+        } finally {
+            timer.record(Stage.OCR_DETECT, System.nanoTime() - stageStart);
+        }
+    }
+
+    /**
+     * Reads the tracked region if there is one, falling back to the full frame in the same
+     * call when the region no longer holds a candidate.
+     */
+    @SuppressWarnings("unchecked")
+    private List<RecognizedBlock> recognizeText(F frame) throws Exception {
+        if (tracker == null) return textDetector.detectText(frame);
+
+        TextRegion predicted = tracker.predict();
+        if (predicted != null) {
+            List<RecognizedBlock> blocks = ((RegionTextDetector<F>) textDetector).detectText(frame, predicted);
+            RecognizedBlock hit = VinCandidateExtractor.findCandidateBlock(blocks);
+            if (hit != null) {
+                tracker.onFound(hit.getBounds() != null ? hit.getBounds() : predicted, true);
+                return blocks;
+            }
+            tracker.onLost();
+        }
+
+        List<RecognizedBlock> blocks = textDetector.detectText(frame);
+        RecognizedBlock hit = VinCandidateExtractor.findCandidateBlock(blocks);
+        if (hit != null && hit.getBounds() != null) {
+            tracker.onFound(hit.getBounds(), false);
+        } else {
+            tracker.onFullFrameMiss();
+        }
+        return blocks;
+    }
+
+    /**
+     * Extracts and corrects a candidate from the detector outputs and passes it to the voter.
+     *
+     * @param detection Outputs of {@link #detect}.
+     * @return The locked VIN with its latency since detection started, or null if this frame
+     *         did not lock a VIN.
+     */
+    public ScanResult evaluate(Detection detection) {
+        VinCandidate candidate = detection.barcodeCandidate;
+        if (candidate == null) {
+            long stageStart = System.nanoTime();
+            candidate = VinCandidateExtractor.extract(detection.textBlocks);
+            timer.record(Stage.VALIDATE, System.nanoTime() - stageStart);
+        }
+
+        if (candidate == null) return null;
+        VinCandidate locked = voter.offer(candidate);
+        if (locked == null) return null;
+        return new ScanResult(locked.getVin(), locked.getSource(),
+                (System.nanoTime() - detection.startNanos) / 1_000_000, locked.getConfidence());
+    }
+
+    /** Clears accumulated votes, e.g. when the user starts scanning another vehicle. */
+    public void reset() {
+        voter.reset();
+        if (tracker != null) tracker.reset();
+    }
+
+    /**
+     * Detector outputs of one frame, handed from {@link #detect} to {@link #evaluate}.
+     * Holds either a barcode VIN or the recognized text blocks.
+     */
+    public static final class Detection {
+
+        private final long startNanos;
+        private final VinCandidate barcodeCandidate;
+        private final List<RecognizedBlock> textBlocks;
+
+        Detection(long startNanos, VinCandidate barcodeCandidate, List<RecognizedBlock> textBlocks) {
+            this.startNanos = startNanos;
+            this.barcodeCandidate = barcodeCandidate;
+            this.textBlocks = textBlocks;
+        }
+
+        /** @return Whether a barcode already yielded a VIN, so text recognition did not run. */
+        public boolean isBarcodeHit() {
+            return barcodeCandidate != null;
+        }
+
+        /** @return The recognized text blocks, or null if a barcode made text recognition unnecessary. */
+        public List<RecognizedBlock> getTextBlocks() {
+            return textBlocks;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.regex.Pattern;
+
+/**
+ * VIN format validation.
+ * <p>
+ * A VIN is 17 characters from digits and upper-case letters, excluding I, O and Q.
+ * {@link #isVin(CharSequence)} checks this with a 128-entry lookup table and no
+ * allocation; {@link #isVinRegex(String)} is the original regex check, kept as the
+ * reference implementation and benchmark baseline.
+ * </p>
+ */
+public final class VinValidator {
+
+    /** Length of every VIN. */
+    public static final int VIN_LENGTH = 17;
+
+    private static final Pattern VIN_PATTERN = Pattern.compile("[A-HJ-NPR-Z0-9]{17}");
+
+    private static final boolean[] ALLOWED = new boolean[128];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) ALLOWED[c] = true;
+        for (char c = 'A'; c <= 'Z'; c++) ALLOWED[c] = true;
+        ALLOWED['I'] = false;
+        ALLOWED['O'] = false;
+        ALLOWED['Q'] = false;
+    }
+
+    private VinValidator() {
+    }
+
+    /**
+     * Checks the VIN format with a lookup table.
+     *
+     * @param text Candidate text, may be null.
+     * @return True if {@code text} is exactly 17 allowed characters.
+     */
+    public static boolean isVin(CharSequence text) {
+        if (text == null || text.length() != VIN_LENGTH) return false;
+        for (int i = 0; i < VIN_LENGTH; i++) {
+            if (!isVinChar(text.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks the VIN format with a regular expression.
+     *
+     * @param text Candidate text, may be null.
+     * @return True if {@code text} is exactly 17 allowed characters.
+     */
+    public static boolean isVinRegex(String text) {
+        return text != null && text.length() == VIN_LENGTH && VIN_PATTERN.matcher(text).matches();
+    }
+
+    /**
+     * @param c Character to test.
+     * @return True if {@code c} may appear in a VIN.
+     */
+    public static boolean isVinChar(char c) {
+        return c < 128 && ALLOWED[c];
+    }
+}
@@ -0,0 +1,69 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates candidates across frames and locks onto a VIN once it has enough votes.
+ * <p>
+ * A barcode read locks immediately, since barcode decoding is checksum-verified.
+ * An OCR candidate with a valid check digit counts two votes, any other OCR candidate one,
+ * so a single misread cannot outvote a VIN that keeps being read consistently.
+ * With {@code votesToLock} of 1, every candidate locks (single-photo behavior).
+ * Not thread-safe; use one voter per scanning session.
+ * </p>
+ */
+public final class VinVoter {
+
+    private final int votesToLock;
+    private final Map<String, Integer> votes = new HashMap<>();
+    private final Map<String, VinCandidate> best = new HashMap<>();
+
+    /**
+     * @param votesToLock Votes a VIN needs before it is reported; at least 1.
+     */
+    public VinVoter(int votesToLock) {
+        if (votesToLock < 1) throw new IllegalArgumentException("votesToLock must be at least 1");
+        this.votesToLock = votesToLock;
+    }
+
+    /**
+     * Counts a candidate.
+     *
+     * @param candidate Candidate from the latest frame.
+     * @return The locked candidate (the most confident one seen for that VIN), or null if
+     *         no VIN has enough votes yet.
+     */
+    public VinCandidate offer(VinCandidate candidate) {
+        if (candidate.getSource() == DetectionSource.BARCODE) {
+            reset();
+            return candidate;
+        }
+        String vin = candidate.getVin();
+        int weight = candidate.isCheckDigitValid() ? 2 : 1;
+        Integer previous = votes.get(vin);
+        int total = (previous == null ? 0 : previous) + weight;
+        votes.put(vin, total);
+
+        VinCandidate kept = best.get(vin);
+        if (kept == null || confidenceOf(candidate) > confidenceOf(kept)) {
+            best.put(vin, candidate);
+            kept = candidate;
+        }
+        if (total >= votesToLock) {
+            reset();
+            return kept;
+        }
+        return null;
+    }
+
+    /** Forgets all votes, e.g. when the camera moves to another vehicle. */
+    public void reset() {
+        votes.clear();
+        best.clear();
+    }
+
+    private static float confidenceOf(VinCandidate candidate) {
+        return candidate.getConfidence() != null ? candidate.getConfidence() : 0f;
+    }
+}
@@ -0,0 +1,52 @@
+package com.marioflo.vinscannerapp.core.scanner.replay;
+
+import com.marioflo.vinscannerapp.core.scanner.BarcodeDetector;
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+import com.marioflo.vinscannerapp.core.scanner.TextDetector;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fake barcode and text detector that replays {@link RecordedFrame} outputs.
+ * <p>
+ * Deterministic and allocation-free, so it drives throughput tests of the scanning
+ * logic on a plain JVM. With {@code simulateLatency} it also waits the recorded detector
+ * time per call, for end-to-end timing closer to a device.
+ * </p>
+ */
+public final class RecordedDetector implements BarcodeDetector<RecordedFrame>, TextDetector<RecordedFrame> {
+
+    private final boolean simulateLatency;
+
+    /**
+     * @param simulateLatency Whether to wait the recorded detector latency on every call.
+     */
+    public RecordedDetector(boolean simulateLatency) {
+        this.simulateLatency = simulateLatency;
+    }
+
+    @Override
+    public List<String> detectBarcodes(RecordedFrame frame) throws Exception {
+        pause(frame.getBarcodeLatencyNanos());
+        if (frame.getBarcodes() == null) {
+            throw new Exception("Recorded barcode failure on frame " + frame.getId());
+        }
+        return frame.getBarcodes();
+    }
+
+    @Override
+    public List<RecognizedBlock> detectText(RecordedFrame frame) throws Exception {
+        pause(frame.getTextLatencyNanos());
+        if (frame.getTextBlocks() == null) {
+            throw new Exception("Recorded text recognition failure on frame " + frame.getId());
+        }
+        return frame.getTextBlocks();
+    }
+
+    private void pause(long nanos) {
+        if (simulateLatency && nanos > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+}
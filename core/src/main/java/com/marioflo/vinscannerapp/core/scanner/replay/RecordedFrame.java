@@ -0,0 +1,66 @@
+package com.marioflo.vinscannerapp.core.scanner.replay;
+
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Detector outputs recorded for one frame, replayed by {@link RecordedDetector}.
+ * <p>
+ * A null barcode or text output means that detector failed on the frame; an empty
+ * list means it ran and found nothing. {@code expectedVin} is the ground truth used
+ * to score replays, or null when unknown.
+ * </p>
+ */
+public final class RecordedFrame {
+
+    private final String id;
+    private final List<String> barcodes;
+    private final List<RecognizedBlock> textBlocks;
+    private final long barcodeLatencyNanos;
+    private final long textLatencyNanos;
+    private final String expectedVin;
+
+    /**
+     * @param id                  Frame identifier, unique within a recording.
+     * @param barcodes            Recorded barcode values, or null if detection failed.
+     * @param textBlocks          Recorded text blocks, or null if recognition failed.
+     * @param barcodeLatencyNanos Recorded barcode detection time.
+     * @param textLatencyNanos    Recorded text recognition time.
+     * @param expectedVin         Ground-truth VIN, or null.
+     */
+    public RecordedFrame(String id, List<String> barcodes, List<RecognizedBlock> textBlocks,
+                         long barcodeLatencyNanos, long textLatencyNanos, String expectedVin) {
+        this.id = id;
+        this.barcodes = barcodes != null ? Collections.unmodifiableList(barcodes) : null;
+        this.textBlocks = textBlocks != null ? Collections.unmodifiableList(textBlocks) : null;
+        this.barcodeLatencyNanos = barcodeLatencyNanos;
+        this.textLatencyNanos = textLatencyNanos;
+        this.expectedVin = expectedVin;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<String> getBarcodes() {
+        return barcodes;
+    }
+
+    public List<RecognizedBlock> getTextBlocks() {
+        return textBlocks;
+    }
+
+    public long getBarcodeLatencyNanos() {
+        return barcodeLatencyNanos;
+    }
+
+    public long getTextLatencyNanos() {
+        return textLatencyNanos;
+    }
+
+    public String getExpectedVin() {
+        return expectedVin;
+    }
+}
@@ -0,0 +1,95 @@
+package com.marioflo.vinscannerapp.core.scanner.replay;
+
+import com.marioflo.vinscannerapp.core.scanner.BarcodeDetector;
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+import com.marioflo.vinscannerapp.core.scanner.RegionTextDetector;
+import com.marioflo.vinscannerapp.core.scanner.TextDetector;
+import com.marioflo.vinscannerapp.core.scanner.TextRegion;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decorator that remembers what the wrapped detectors returned for the current frame,
+ * so a scan can be saved as a {@link RecordedFrame} and replayed later.
+ * <p>
+ * Call {@link #beginFrame()} before each scan and {@link #toRecordedFrame} after it.
+ * Only the latest frame is kept, so the cost is a few field writes per detector call.
+ * Region reads pass through when the wrapped text detector supports them and fall back to
+ * full-frame reads otherwise; a frame that needed both records the last read.
+ * Not thread-safe; use one per engine.
+ * </p>
+ *
+ * @param <F> Frame type understood by the wrapped detectors.
+ */
+public final class RecordingDetector<F> implements BarcodeDetector<F>, RegionTextDetector<F> {
+
+    private final BarcodeDetector<F> barcodeDetector;
+    private final TextDetector<F> textDetector;
+
+    private List<String> barcodes;
+    private List<RecognizedBlock> textBlocks;
+    private long barcodeLatencyNanos;
+    private long textLatencyNanos;
+
+    public RecordingDetector(BarcodeDetector<F> barcodeDetector, TextDetector<F> textDetector) {
+        this.barcodeDetector = barcodeDetector;
+        this.textDetector = textDetector;
+    }
+
+    /** Clears the outputs of the previous frame. */
+    public void beginFrame() {
+        barcodes = null;
+        textBlocks = Collections.emptyList();
+        barcodeLatencyNanos = 0;
+        textLatencyNanos = 0;
+    }
+
+    @Override
+    public List<String> detectBarcodes(F frame) throws Exception {
+        long start = System.nanoTime();
+        try {
+            barcodes = barcodeDetector.detectBarcodes(frame);
+            return barcodes;
+        } finally {
+            barcodeLatencyNanos = System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public List<RecognizedBlock> detectText(F frame) throws Exception {
+        long start = System.nanoTime();
+        textBlocks = null;
+        try {
+            textBlocks = textDetector.detectText(frame);
+            return textBlocks;
+        } finally {
+            textLatencyNanos = System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<RecognizedBlock> detectText(F frame, TextRegion region) throws Exception {
+        if (!(textDetector instanceof RegionTextDetector)) return detectText(frame);
+        long start = System.nanoTime();
+        textBlocks = null;
+        try {
+            textBlocks = ((RegionTextDetector<F>) textDetector).detectText(frame, region);
+            return textBlocks;
+        } finally {
+            textLatencyNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Snapshots the current frame's outputs. Text recognition that did not run (because a
+     * barcode matched) is recorded as an empty result.
+     *
+     * @param id          Frame identifier.
+     * @param expectedVin Ground-truth VIN, or null if unknown.
+     */
+    public RecordedFrame toRecordedFrame(String id, String expectedVin) {
+        return new RecordedFrame(id, barcodes, textBlocks, barcodeLatencyNanos, textLatencyNanos, expectedVin);
+    }
+}
@@ -0,0 +1,268 @@
+package com.marioflo.vinscannerapp.core.scanner.replay;
+
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+import com.marioflo.vinscannerapp.core.scanner.TextRegion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Line-oriented text format for recorded scans, grouped into capture sessions.
+ * <p>
+ * The format is append-only, so the app can add frames (and later labels) without
+ * rewriting the file:
+ * </p>
+ * <pre>
+ * session &lt;sessionId&gt;
+ * frame &lt;frameId&gt;
+ * barcode-latency-ns &lt;n&gt;
+ * text-latency-ns &lt;n&gt;
+ * barcode &lt;value&gt;            (repeated; or "barcode-failed")
+ * block &lt;text&gt;               (repeated; or "text-failed")
+ * bounds &lt;l&gt; &lt;t&gt; &lt;r&gt; &lt;b&gt;      (optional, normalized bounds of the preceding block)
+ * line &lt;confidence&gt; &lt;text&gt;  (repeated, belongs to the preceding block)
+ * expected &lt;vin&gt;             (optional)
+ * end
+ * label &lt;frameId&gt; &lt;vin&gt;      (anywhere; sets or overrides a frame's expected VIN)
+ * </pre>
+ * Text values escape backslash and newline as {@code \\} and {@code \n}.
+ * Unknown lines are ignored, so the format can grow.
+ */
+public final class ReplayCorpus {
+
+    private final Map<String, List<RecordedFrame>> sessions;
+
+    private ReplayCorpus(Map<String, List<RecordedFrame>> sessions) {
+        this.sessions = sessions;
+    }
+
+    /** @return Frames per session, sessions and frames in recording order. */
+    public Map<String, List<RecordedFrame>> getSessions() {
+        return Collections.unmodifiableMap(sessions);
+    }
+
+    /** @return Total number of frames. */
+    public int getFrameCount() {
+        int count = 0;
+        for (List<RecordedFrame> frames : sessions.values()) count += frames.size();
+        return count;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // WRITING
+    // ---------------------------------------------------------------------------------------------
+
+    /** Appends a session header; frames written afterwards belong to it. */
+    public static void writeSession(Writer out, String sessionId) throws IOException {
+        out.write("session " + escape(sessionId) + "\n");
+    }
+
+    /** Appends one frame. */
+    public static void writeFrame(Writer out, RecordedFrame frame) throws IOException {
+        StringBuilder text = new StringBuilder();
+        text.append("frame ").append(escape(frame.getId())).append('\n');
+        text.append("barcode-latency-ns ").append(frame.getBarcodeLatencyNanos()).append('\n');
+        text.append("text-latency-ns ").append(frame.getTextLatencyNanos()).append('\n');
+        if (frame.getBarcodes() == null) {
+            text.append("barcode-failed\n");
+        } else {
+            for (String barcode : frame.getBarcodes()) {
+                text.append("barcode ").append(escape(barcode)).append('\n');
+            }
+        }
+        if (frame.getTextBlocks() == null) {
+            text.append("text-failed\n");
+        } else {
+            for (RecognizedBlock block : frame.getTextBlocks()) {
+                text.append("block ").append(escape(block.getText())).append('\n');
+                TextRegion bounds = block.getBounds();
+                if (bounds != null) {
+                    text.append(String.format(Locale.US, "bounds %.4f %.4f %.4f %.4f\n",
+                            bounds.getLeft(), bounds.getTop(), bounds.getRight(), bounds.getBottom()));
+                }
+                for (RecognizedBlock.Line line : block.getLines()) {
+                    text.append("line ").append(String.format(Locale.US, "%.4f", line.getConfidence()))
+                            .append(' ').append(escape(line.getText())).append('\n');
+                }
+            }
+        }
+        if (frame.getExpectedVin() != null) {
+            text.append("expected ").append(frame.getExpectedVin()).append('\n');
+        }
+        text.append("end\n");
+        out.write(text.toString());
+    }
+
+    /** Appends a ground-truth label for an already written frame. */
+    public static void writeLabel(Writer out, String frameId, String vin) throws IOException {
+        out.write("label " + escape(frameId) + " " + vin + "\n");
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // READING
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Parses a corpus. Frames written before any session header go into session {@code "default"}.
+     *
+     * @throws IOException If reading fails or a frame is malformed.
+     */
+    public static ReplayCorpus read(Reader in) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        Map<String, List<FrameBuilder>> builders = new LinkedHashMap<>();
+        Map<String, String> labels = new HashMap<>();
+        String session = "default";
+        FrameBuilder frame = null;
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int space = line.indexOf(' ');
+            String key = space < 0 ? line : line.substring(0, space);
+            String value = space < 0 ? "" : line.substring(space + 1);
+            try {
+                switch (key) {
+                    case "session":
+                        session = unescape(value);
+                        break;
+                    case "frame":
+                        frame = new FrameBuilder(unescape(value));
+                        break;
+                    case "label":
+                        int split = value.lastIndexOf(' ');
+                        labels.put(unescape(value.substring(0, split)), value.substring(split + 1));
+                        break;
+                    case "end":
+                        requireFrame(frame, key);
+                        List<FrameBuilder> frames = builders.get(session);
+                        if (frames == null) {
+                            frames = new ArrayList<>();
+                            builders.put(session, frames);
+                        }
+                        frames.add(frame);
+                        frame = null;
+                        break;
+                    default:
+                        if (frame != null) frame.accept(key, value);
+                        break;
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Malformed replay corpus at line " + lineNumber + ": " + line, e);
+            }
+        }
+
+        Map<String, List<RecordedFrame>> sessions = new LinkedHashMap<>();
+        for (Map.Entry<String, List<FrameBuilder>> entry : builders.entrySet()) {
+            List<RecordedFrame> frames = new ArrayList<>(entry.getValue().size());
+            for (FrameBuilder builder : entry.getValue()) {
+                frames.add(builder.build(labels.get(builder.id)));
+            }
+            sessions.put(entry.getKey(), frames);
+        }
+        return new ReplayCorpus(sessions);
+    }
+
+    private static void requireFrame(FrameBuilder frame, String key) {
+        if (frame == null) throw new IllegalStateException("'" + key + "' outside a frame");
+    }
+
+    /** Accumulates one frame's lines. */
+    private static final class FrameBuilder {
+        final String id;
+        List<String> barcodes = new ArrayList<>();
+        List<RecognizedBlock> blocks = new ArrayList<>();
+        String blockText;
+        TextRegion blockBounds;
+        List<RecognizedBlock.Line> blockLines;
+        long barcodeLatencyNanos;
+        long textLatencyNanos;
+        String expectedVin;
+
+        FrameBuilder(String id) {
+            this.id = id;
+        }
+
+        void accept(String key, String value) {
+            switch (key) {
+                case "barcode-latency-ns":
+                    barcodeLatencyNanos = Long.parseLong(value);
+                    break;
+                case "text-latency-ns":
+                    textLatencyNanos = Long.parseLong(value);
+                    break;
+                case "barcode":
+                    barcodes.add(unescape(value));
+                    break;
+                case "barcode-failed":
+                    barcodes = null;
+                    break;
+                case "block":
+                    flushBlock();
+                    blockText = unescape(value);
+                    blockLines = new ArrayList<>();
+                    break;
+                case "bounds":
+                    String[] edges = value.split(" ");
+                    blockBounds = new TextRegion(Float.parseFloat(edges[0]), Float.parseFloat(edges[1]),
+                            Float.parseFloat(edges[2]), Float.parseFloat(edges[3]));
+                    break;
+                case "line":
+                    int space = value.indexOf(' ');
+                    blockLines.add(new RecognizedBlock.Line(unescape(value.substring(space + 1)),
+                            Float.parseFloat(value.substring(0, space))));
+                    break;
+                case "text-failed":
+                    blocks = null;
+                    break;
+                case "expected":
+                    expectedVin = value;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        void flushBlock() {
+            if (blockText != null && blocks != null) {
+                blocks.add(new RecognizedBlock(blockText, blockLines, blockBounds));
+            }
+            blockText = null;
+            blockBounds = null;
+        }
+
+        RecordedFrame build(String label) {
+            flushBlock();
+            return new RecordedFrame(id, barcodes, blocks, barcodeLatencyNanos, textLatencyNanos,
+                    label != null ? label : expectedVin);
+        }
+    }
+
+    static String escape(String text) {
+        if (text == null) return "";
+        return text.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "");
+    }
+
+    static String unescape(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                out.append(next == 'n' ? '\n' : next);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveResolutionTest {
+
+    private static boolean scan(AdaptiveResolution resolution, boolean success) {
+        return resolution.onScanResult(resolution.getTargetLongSide(), success, 100);
+    }
+
+    @Test
+    public void startsAtDefaultSize() {
+        assertEquals(AdaptiveResolution.DEFAULT_LONG_SIDE,
+                new AdaptiveResolution(ResolutionStrategy.ADAPTIVE).getTargetLongSide());
+        assertEquals(0, new AdaptiveResolution(ResolutionStrategy.MAXIMUM).getTargetLongSide());
+    }
+
+    @Test
+    public void stepsDownAfterSuccessStreak() {
+        AdaptiveResolution resolution = new AdaptiveResolution(ResolutionStrategy.ADAPTIVE);
+        for (int i = 1; i < AdaptiveResolution.SUCCESSES_TO_STEP_DOWN; i++) {
+            assertFalse(scan(resolution, true));
+        }
+        assertTrue(scan(resolution, true));
+        assertEquals(1280, resolution.getTargetLongSide());
+
+        // Already the smallest size
+        for (int i = 0; i < AdaptiveResolution.SUCCESSES_TO_STEP_DOWN; i++) {
+            assertFalse(scan(resolution, true));
+        }
+    }
+
+    @Test
+    public void stepsUpAfterFailureStreak() {
+        AdaptiveResolution resolution = new AdaptiveResolution(ResolutionStrategy.ADAPTIVE);
+        assertFalse(scan(resolution, false));
+        assertTrue(scan(resolution, false));
+        assertEquals(2560, resolution.getTargetLongSide());
+        assertFalse(scan(resolution, false));
+        assertTrue(scan(resolution, false));
+        assertEquals(0, resolution.getTargetLongSide());
+        assertFalse(scan(resolution, false));
+        assertFalse(scan(resolution, false));
+    }
+
+    @Test
+    public void successBreaksFailureStreak() {
+        AdaptiveResolution resolution = new AdaptiveResolution(ResolutionStrategy.ADAPTIVE);
+        assertFalse(scan(resolution, false));
+        assertFalse(scan(resolution, true));
+        assertFalse(scan(resolution, false));
+        assertEquals(AdaptiveResolution.DEFAULT_LONG_SIDE, resolution.getTargetLongSide());
+    }
+
+    @Test
+    public void staleOutcomeDoesNotMoveTarget() {
+        AdaptiveResolution resolution = new AdaptiveResolution(ResolutionStrategy.ADAPTIVE);
+        scan(resolution, false);
+        scan(resolution, false);
+        assertEquals(2560, resolution.getTargetLongSide());
+
+        // Misses of frames captured at the old size, still in the pipeline during the change
+        assertFalse(resolution.onScanResult(1920, false, 100));
+        assertFalse(resolution.onScanResult(1920, false, 100));
+        assertEquals(2560, resolution.getTargetLongSide());
+        assertTrue(resolution.formatReport().contains("1920            4"));
+    }
+
+    @Test
+    public void pinnedStrategiesNeverMove() {
+        AdaptiveResolution resolution = new AdaptiveResolution(ResolutionStrategy.FIXED);
+        for (int i = 0; i < 10; i++) {
+            assertFalse(scan(resolution, i % 5 != 0));
+        }
+        assertEquals(AdaptiveResolution.DEFAULT_LONG_SIDE, resolution.getTargetLongSide());
+    }
+
+    @Test
+    public void calibratedBaseReplacesDefault() {
+        AdaptiveResolution resolution = new AdaptiveResolution(ResolutionStrategy.FIXED);
+        assertTrue(resolution.setBaseLongSide(1280));
+        assertEquals(1280, resolution.getTargetLongSide());
+        assertFalse(resolution.setStrategy(ResolutionStrategy.ADAPTIVE));
+        assertEquals(1280, resolution.getTargetLongSide());
+    }
+}
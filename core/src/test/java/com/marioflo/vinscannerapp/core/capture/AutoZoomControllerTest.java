@@ -0,0 +1,128 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import com.marioflo.vinscannerapp.core.scanner.RecognizedBlock;
+import com.marioflo.vinscannerapp.core.scanner.TextRegion;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AutoZoomControllerTest {
+
+    private static final int FRAME_HEIGHT_PX = 1000;
+    private static final String VIN = "1HGCM82633A004352";
+
+    private final AutoZoomController zoom = new AutoZoomController();
+
+    @Before
+    public void setUp() {
+        zoom.setZoomRange(1f, 8f);
+    }
+
+    /** One single-line block centred horizontally, {@code heightPx} tall in the frame. */
+    private static List<RecognizedBlock> line(String text, float left, float right, float heightPx) {
+        float height = heightPx / FRAME_HEIGHT_PX;
+        TextRegion bounds = new TextRegion(left, 0.5f - height / 2, right, 0.5f + height / 2);
+        return Collections.singletonList(new RecognizedBlock(text,
+                Collections.singletonList(new RecognizedBlock.Line(text, 0.9f)), bounds));
+    }
+
+    private static List<RecognizedBlock> vin(float heightPx) {
+        return line(VIN, 0.3f, 0.7f, heightPx);
+    }
+
+    @Test
+    public void leavesReadableTextAlone() {
+        assertFalse(zoom.onText(vin(30f), FRAME_HEIGHT_PX, 1f));
+        assertEquals(1f, zoom.getTargetRatio(), 1e-3f);
+    }
+
+    @Test
+    public void zoomsInOnSmallTextByAtMostOneStep() {
+        // 12 px wants 28/12 = 2.3x, capped at 2x per step
+        assertTrue(zoom.onText(vin(12f), FRAME_HEIGHT_PX, 1f));
+        assertEquals(2f, zoom.getTargetRatio(), 1e-3f);
+    }
+
+    @Test
+    public void zoomsOutOnLargeText() {
+        // 100 px wants 0.28x, capped at half the ratio the frame was taken at
+        assertTrue(zoom.onText(vin(100f), FRAME_HEIGHT_PX, 6f));
+        assertEquals(3f, zoom.getTargetRatio(), 1e-3f);
+    }
+
+    @Test
+    public void lateFramesDoNotCompoundTheChange() {
+        assertTrue(zoom.onText(vin(12f), FRAME_HEIGHT_PX, 1f));
+        // Still taken at 1x, before the lens moved
+        assertFalse(zoom.onText(vin(12f), FRAME_HEIGHT_PX, 1f));
+        assertEquals(2f, zoom.getTargetRatio(), 1e-3f);
+    }
+
+    @Test
+    public void keepsWideLineInsideFrame() {
+        // Reaching 0.4 from the centre, the line can only grow 0.45 / 0.4 = 1.125x
+        assertTrue(zoom.onText(line(VIN, 0.1f, 0.9f, 12f), FRAME_HEIGHT_PX, 1f));
+        assertEquals(1.125f, zoom.getTargetRatio(), 1e-3f);
+    }
+
+    @Test
+    public void measuresVinLikeLineWhenNoVinIsRead() {
+        assertTrue(zoom.onText(line("ABC123DEF456", 0.3f, 0.7f, 12f), FRAME_HEIGHT_PX, 1f));
+        assertEquals(2f, zoom.getTargetRatio(), 1e-3f);
+    }
+
+    @Test
+    public void zoomsBackOutAfterThreeMisses() {
+        zoom.onText(vin(12f), FRAME_HEIGHT_PX, 1f);
+        List<RecognizedBlock> noVin = line("SPEED LIMIT", 0.3f, 0.7f, 12f);
+        assertFalse(zoom.onText(noVin, FRAME_HEIGHT_PX, 2f));
+        assertFalse(zoom.onMiss());
+        assertTrue(zoom.onText(Collections.<RecognizedBlock>emptyList(), FRAME_HEIGHT_PX, 2f));
+        assertEquals(1f, zoom.getTargetRatio(), 1e-3f);
+        assertTrue(zoom.formatReport(), zoom.formatReport().contains("in 1, out 0, reset 1"));
+    }
+
+    @Test
+    public void foundTextRestartsMissCount() {
+        zoom.onText(vin(12f), FRAME_HEIGHT_PX, 1f);
+        zoom.onMiss();
+        zoom.onMiss();
+        zoom.onText(vin(30f), FRAME_HEIGHT_PX, 2f);
+        assertFalse(zoom.onMiss());
+        assertEquals(2f, zoom.getTargetRatio(), 1e-3f);
+    }
+
+    @Test
+    public void staysWithinZoomRange() {
+        zoom.setZoomRange(1f, 1.5f);
+        assertTrue(zoom.onText(vin(12f), FRAME_HEIGHT_PX, 1f));
+        assertEquals(1.5f, zoom.getTargetRatio(), 1e-3f);
+
+        zoom.setZoomRange(1f, 1.2f);
+        assertEquals(1.2f, zoom.getTargetRatio(), 1e-3f);
+    }
+
+    @Test
+    public void linearZoomFollowsFieldOfView() {
+        assertEquals(0f, AutoZoomController.toLinearZoom(1f, 1f, 10f), 1e-5f);
+        assertEquals(1f, AutoZoomController.toLinearZoom(10f, 1f, 10f), 1e-5f);
+        // Half the field of view is 5/9 of the way from 1x to 10x
+        assertEquals(5f / 9f, AutoZoomController.toLinearZoom(2f, 1f, 10f), 1e-5f);
+        // An ultra-wide minimum shifts the scale
+        assertEquals(0.5f, AutoZoomController.toLinearZoom(1f, 0.5f, Float.POSITIVE_INFINITY), 1e-5f);
+    }
+
+    @Test
+    public void linearZoomClampsOutOfRangeRatios() {
+        assertEquals(0f, AutoZoomController.toLinearZoom(0.5f, 1f, 10f), 0f);
+        assertEquals(1f, AutoZoomController.toLinearZoom(20f, 1f, 10f), 0f);
+        assertEquals(0f, AutoZoomController.toLinearZoom(2f, 1f, 1f), 0f);
+    }
+}
@@ -0,0 +1,92 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CalibrationProfileTest {
+
+    private static CalibrationProfile.Measurement measured(int longSide, int concurrency, int reads,
+                                                           long medianLatencyMs, long wallTimeMs) {
+        return new CalibrationProfile.Measurement(longSide, concurrency, 6, reads, medianLatencyMs, wallTimeMs);
+    }
+
+    @Test
+    public void choosesSmallestSizeThatReadsEverythingAtBestThroughput() {
+        CalibrationProfile profile = CalibrationProfile.choose(Arrays.asList(
+                measured(1280, 1, 4, 180, 1080), measured(1280, 2, 4, 220, 700),
+                measured(1920, 1, 6, 260, 1560), measured(1920, 2, 6, 330, 1000),
+                // Fastest overall, but each frame takes more than 1.5x as long as alone
+                measured(1920, 3, 6, 450, 800),
+                measured(2560, 1, 6, 390, 2340), measured(2560, 2, 6, 480, 1500)));
+        assertEquals(1920, profile.getCaptureLongSide());
+        assertEquals(2, profile.getMaxFramesInFlight());
+        assertEquals(330, profile.getMedianLatencyMs());
+    }
+
+    @Test
+    public void staysAtOneFrameWhenConcurrencyCostsTooMuchLatency() {
+        CalibrationProfile profile = CalibrationProfile.choose(Arrays.asList(
+                measured(1280, 1, 6, 200, 1200), measured(1280, 2, 6, 320, 800), measured(1280, 3, 6, 500, 700)));
+        assertEquals(1, profile.getMaxFramesInFlight());
+        assertEquals(200, profile.getMedianLatencyMs());
+    }
+
+    @Test
+    public void neverChoosesSizeWithFewerReads() {
+        // The smallest size is first and fastest, but misses samples the others read
+        CalibrationProfile profile = CalibrationProfile.choose(Arrays.asList(
+                measured(1280, 1, 2, 120, 720), measured(2560, 1, 5, 400, 2400), measured(1920, 1, 3, 250, 1500)));
+        assertEquals(2560, profile.getCaptureLongSide());
+    }
+
+    @Test
+    public void neverChoosesConcurrencyWithFewerReads() {
+        // One frame at a time is fastest at this size but drops a read the others make,
+        // so it is neither chosen nor the latency baseline
+        CalibrationProfile profile = CalibrationProfile.choose(Arrays.asList(
+                measured(1920, 1, 5, 200, 500), measured(1920, 2, 6, 300, 1200), measured(1920, 3, 6, 440, 900)));
+        assertEquals(1920, profile.getCaptureLongSide());
+        assertEquals(3, profile.getMaxFramesInFlight());
+    }
+
+    @Test
+    public void keepsSmallestSizeOnTieRegardlessOfOrder() {
+        CalibrationProfile profile = CalibrationProfile.choose(Arrays.asList(
+                measured(2560, 1, 6, 390, 2340), measured(1280, 1, 6, 180, 1080), measured(1920, 1, 6, 260, 1560)));
+        assertEquals(1280, profile.getCaptureLongSide());
+    }
+
+    @Test
+    public void nothingMeasuredGivesNoProfile() {
+        assertNull(CalibrationProfile.choose(Collections.<CalibrationProfile.Measurement>emptyList()));
+    }
+
+    @Test
+    public void encodesAndDecodes() {
+        CalibrationProfile profile = CalibrationProfile.decode(new CalibrationProfile(1920, 2, 310).encode());
+        assertEquals(1920, profile.getCaptureLongSide());
+        assertEquals(2, profile.getMaxFramesInFlight());
+        assertEquals(310, profile.getMedianLatencyMs());
+    }
+
+    @Test
+    public void profileWithoutFramesInFlightNeedsRecalibration() {
+        assertNull(CalibrationProfile.decode("1280,240"));
+    }
+
+    @Test
+    public void rejectsMalformedText() {
+        assertNull(CalibrationProfile.decode(null));
+        assertNull(CalibrationProfile.decode(""));
+        assertNull(CalibrationProfile.decode("1920"));
+        assertNull(CalibrationProfile.decode("wide,2,310"));
+        assertNull(CalibrationProfile.decode("0,2,310"));
+        assertNull(CalibrationProfile.decode("1920,0,310"));
+        assertNull(CalibrationProfile.decode("1920,2,310,4"));
+    }
+}
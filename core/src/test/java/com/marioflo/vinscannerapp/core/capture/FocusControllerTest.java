@@ -0,0 +1,101 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import com.marioflo.vinscannerapp.core.scanner.TextRegion;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FocusControllerTest {
+
+    private static final TextRegion PLATE = new TextRegion(0.2f, 0.45f, 0.6f, 0.5f);
+    private static final TextRegion NEARBY = new TextRegion(0.25f, 0.47f, 0.65f, 0.52f);
+    private static final TextRegion ELSEWHERE = new TextRegion(0.5f, 0.7f, 0.9f, 0.75f);
+
+    private final FocusController focus = new FocusController();
+
+    @Test
+    public void aimsAtCandidateOrGuideBand() {
+        assertSame(PLATE, focus.request(PLATE, 0));
+        focus.onResult(false, 100);
+        assertSame(FocusController.GUIDE_REGION, focus.request(null, 2_000));
+    }
+
+    @Test
+    public void oneActionInFlightUntilItTimesOut() {
+        assertNotNull(focus.request(PLATE, 0));
+        assertNull(focus.request(ELSEWHERE, 2_000));
+        assertNull(focus.request(ELSEWHERE, 4_999));
+        // No result ever came back; stop waiting for it
+        assertNotNull(focus.request(ELSEWHERE, 5_000));
+    }
+
+    @Test
+    public void waitsMinimumIntervalBetweenActions() {
+        focus.request(PLATE, 0);
+        focus.onResult(false, 300);
+        assertNull(focus.request(ELSEWHERE, 1_999));
+        assertNotNull(focus.request(ELSEWHERE, 2_000));
+    }
+
+    @Test
+    public void trustsRecentSuccessOnSameSpot() {
+        focus.request(PLATE, 0);
+        focus.onResult(true, 500);
+        assertNull(focus.request(NEARBY, 3_000));
+        assertNull(focus.request(NEARBY, 6_499));
+        assertNotNull(focus.request(NEARBY, 6_500));
+    }
+
+    @Test
+    public void refocusesOnNewSpotAfterInterval() {
+        focus.request(PLATE, 0);
+        focus.onResult(true, 500);
+        assertNotNull(focus.request(ELSEWHERE, 2_000));
+    }
+
+    @Test
+    public void resetForgetsSuccessButKeepsInterval() {
+        focus.request(PLATE, 0);
+        focus.onResult(true, 500);
+        focus.reset();
+        assertNull(focus.request(PLATE, 1_000));
+        assertNotNull(focus.request(PLATE, 2_000));
+    }
+
+    @Test
+    public void manualTapHoldsAutomaticActionsForFiveSeconds() {
+        focus.onManualFocus(10_000);
+        assertNull(focus.request(PLATE, 10_000));
+        assertNull(focus.request(PLATE, 14_999));
+        assertNotNull(focus.request(PLATE, 15_000));
+    }
+
+    @Test
+    public void laterTapExtendsHold() {
+        focus.onManualFocus(10_000);
+        focus.onManualFocus(13_000);
+        assertNull(focus.request(PLATE, 17_999));
+        assertNotNull(focus.request(PLATE, 18_000));
+    }
+
+    @Test
+    public void ignoresResultWithoutAction() {
+        focus.onResult(true, 0);
+        assertNotNull(focus.request(PLATE, 100));
+    }
+
+    @Test
+    public void reportsSuccessRate() {
+        focus.request(PLATE, 0);
+        focus.onResult(true, 500);
+        focus.request(null, 2_000);
+        focus.onResult(false, 2_500);
+        focus.request(PLATE, 3_000);
+        String report = focus.formatReport();
+        assertTrue(report, report.contains("candidate 1, guide 1, focused 1/2 (50%), rate-limited 1"));
+    }
+}
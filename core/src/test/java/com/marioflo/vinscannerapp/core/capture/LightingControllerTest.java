@@ -0,0 +1,107 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import com.marioflo.vinscannerapp.core.frame.LumaFrame;
+import com.marioflo.vinscannerapp.core.frame.LumaFramePool;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LightingControllerTest {
+
+    private static final long FRAME_MS = 100;
+
+    private final LightingController controller = new LightingController();
+    private long nowMs;
+
+    private boolean feed(float luma) {
+        nowMs += FRAME_MS;
+        return controller.onLuminance(luma, nowMs);
+    }
+
+    private void feedFor(float luma, long durationMs) {
+        for (long end = nowMs + durationMs; nowMs < end; ) {
+            feed(luma);
+        }
+    }
+
+    @Test
+    public void darkSceneTurnsTorchOn() {
+        controller.setTorchAvailable(true);
+        feedFor(20f, 900);
+        assertFalse(controller.isTorchOn());
+        assertTrue(feed(20f));
+        assertTrue(controller.isTorchOn());
+    }
+
+    @Test
+    public void torchStaysOffWithoutFlashUnit() {
+        controller.setTorchAvailable(false);
+        feedFor(20f, 10_000);
+        assertFalse(controller.isTorchOn());
+    }
+
+    @Test
+    public void brightAmbientTurnsTorchOffEvenWithExposureCompensation() {
+        controller.setTorchAvailable(true);
+        controller.setExposureRange(-2, 2);
+        feedFor(20f, 1_000);
+        assertTrue(controller.isTorchOn());
+
+        // The torch lifts the scene, not quite into the mid-gray band, so exposure steps up
+        feedFor(70f, 5_000);
+        assertTrue(controller.isTorchOn());
+        assertNotEquals(0, controller.getExposureIndex());
+
+        // Ambient light comes up well past what the torch adds; the torch goes off on that
+        // alone, without waiting for exposure to step back to neutral first
+        int exposureBefore = controller.getExposureIndex();
+        for (int i = 0; i < 50 && controller.isTorchOn(); i++) {
+            exposureBefore = controller.getExposureIndex();
+            feed(200f);
+        }
+        assertFalse(controller.isTorchOn());
+        assertNotEquals(0, exposureBefore);
+        assertEquals(0, controller.getExposureIndex());
+    }
+
+    @Test
+    public void torchDoesNotFlickerOnPlateItLights() {
+        controller.setTorchAvailable(true);
+        feedFor(20f, 1_000);
+        assertTrue(controller.isTorchOn());
+
+        // Bright, but only because of the torch
+        feedFor(100f, 10_000);
+        assertTrue(controller.isTorchOn());
+    }
+
+    @Test
+    public void meanLumaSkipsRowPadding() {
+        int width = 8;
+        int height = 8;
+        int rowStride = 16;
+        ByteBuffer plane = ByteBuffer.allocate(rowStride * height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < rowStride; x++) {
+                plane.put(y * rowStride + x, (byte) (x < width ? 100 : 255));
+            }
+        }
+        assertEquals(100f, LightingController.meanLuma(plane, width, height, rowStride), 1e-3f);
+    }
+
+    @Test
+    public void meanLumaOfPackedFrame() {
+        LumaFrame frame = new LumaFramePool(1).acquire(12, 10);
+        for (int i = 0; i < 12 * 10; i++) {
+            frame.getData().put(i, (byte) 200);
+        }
+        assertEquals(200f, LightingController.meanLuma(frame), 1e-3f);
+        frame.release();
+    }
+}
@@ -0,0 +1,139 @@
+package com.marioflo.vinscannerapp.core.capture;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PowerGovernorTest {
+
+    /** Readings the test sets between polls; counts how often the governor reads them. */
+    private static final class ScriptedStatus implements DeviceStatusProvider {
+        int thermalStatus = THERMAL_NONE;
+        int batteryPercent = 100;
+        boolean charging;
+        int reads;
+
+        @Override
+        public int getThermalStatus() {
+            reads++;
+            return thermalStatus;
+        }
+
+        @Override
+        public int getBatteryPercent() {
+            return batteryPercent;
+        }
+
+        @Override
+        public boolean isCharging() {
+            return charging;
+        }
+    }
+
+    private final ScriptedStatus status = new ScriptedStatus();
+    private final PowerGovernor governor = new PowerGovernor(status);
+
+    @Test
+    public void startsNormal() {
+        assertFalse(governor.update(0));
+        assertEquals(PowerLevel.NORMAL, governor.getLevel());
+    }
+
+    @Test
+    public void severeThermalGoesMinimalImmediately() {
+        governor.update(0);
+        status.thermalStatus = DeviceStatusProvider.THERMAL_SEVERE;
+        assertTrue(governor.update(5_000));
+        assertEquals(PowerLevel.MINIMAL, governor.getLevel());
+    }
+
+    @Test
+    public void moderateThermalReduces() {
+        status.thermalStatus = DeviceStatusProvider.THERMAL_MODERATE;
+        assertTrue(governor.update(0));
+        assertEquals(PowerLevel.REDUCED, governor.getLevel());
+    }
+
+    @Test
+    public void lowBatteryReducesAndCriticalBatteryMinimizes() {
+        status.batteryPercent = PowerGovernor.LOW_BATTERY_PERCENT;
+        assertTrue(governor.update(0));
+        assertEquals(PowerLevel.REDUCED, governor.getLevel());
+
+        status.batteryPercent = PowerGovernor.CRITICAL_BATTERY_PERCENT;
+        assertTrue(governor.update(5_000));
+        assertEquals(PowerLevel.MINIMAL, governor.getLevel());
+    }
+
+    @Test
+    public void chargingLiftsBatteryLimits() {
+        status.batteryPercent = 10;
+        status.charging = true;
+        assertFalse(governor.update(0));
+        assertEquals(PowerLevel.NORMAL, governor.getLevel());
+
+        // Heat still counts while charging
+        status.thermalStatus = DeviceStatusProvider.THERMAL_MODERATE;
+        assertTrue(governor.update(5_000));
+        assertEquals(PowerLevel.REDUCED, governor.getLevel());
+    }
+
+    @Test
+    public void relaxesOnlyAfterReadingsAllowItFor30Seconds() {
+        status.thermalStatus = DeviceStatusProvider.THERMAL_SEVERE;
+        governor.update(0);
+        status.thermalStatus = DeviceStatusProvider.THERMAL_NONE;
+
+        for (long t = 5_000; t < 35_000; t += 5_000) {
+            assertFalse("at " + t, governor.update(t));
+            assertEquals(PowerLevel.MINIMAL, governor.getLevel());
+        }
+        assertTrue(governor.update(35_000));
+        assertEquals(PowerLevel.NORMAL, governor.getLevel());
+    }
+
+    @Test
+    public void returningHeatRestartsRelaxTimer() {
+        status.thermalStatus = DeviceStatusProvider.THERMAL_MODERATE;
+        governor.update(0);
+
+        status.thermalStatus = DeviceStatusProvider.THERMAL_NONE;
+        governor.update(5_000);
+        governor.update(25_000);
+        status.thermalStatus = DeviceStatusProvider.THERMAL_MODERATE;
+        assertFalse(governor.update(30_000));
+        status.thermalStatus = DeviceStatusProvider.THERMAL_NONE;
+        assertFalse(governor.update(35_000));
+        assertFalse(governor.update(60_000));
+        assertEquals(PowerLevel.REDUCED, governor.getLevel());
+        assertTrue(governor.update(65_000));
+        assertEquals(PowerLevel.NORMAL, governor.getLevel());
+    }
+
+    @Test
+    public void pollsAtMostEveryFiveSeconds() {
+        governor.update(0);
+        assertEquals(1, status.reads);
+
+        status.thermalStatus = DeviceStatusProvider.THERMAL_SEVERE;
+        assertFalse(governor.update(4_999));
+        assertEquals(1, status.reads);
+        assertEquals(PowerLevel.NORMAL, governor.getLevel());
+
+        assertTrue(governor.update(5_000));
+        assertEquals(2, status.reads);
+    }
+
+    @Test
+    public void reportsTimePerLevel() {
+        governor.update(0);
+        status.thermalStatus = DeviceStatusProvider.THERMAL_SEVERE;
+        governor.update(60_000);
+        String report = governor.formatReport(120_000);
+        assertTrue(report, report.contains("power: MINIMAL (thermal 3, battery 100%)"));
+        assertTrue(report, report.contains("NORMAL        1.0 min    0 entered"));
+        assertTrue(report, report.contains("MINIMAL       1.0 min    1 entered"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.marioflo.vinscannerapp.core.export;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VinListExporterTest {
+
+    private static final List<Record> ROWS = Arrays.asList(
+            new Record("1HGCM82633A004352", "B", "12", null),
+            new Record("1M8GDM9AXKP042788", null, "7", "dent, rear \"left\""),
+            new Record("JH4KA7561PC008269", "C", null, "line1\nline2"));
+
+    @Test
+    public void writesCsv() throws IOException {
+        StringWriter out = new StringWriter();
+        VinListExporter.writeCsv(ROWS, out);
+        assertEquals("VIN,Location,Notes\r\n"
+                + "1HGCM82633A004352,B-12,\r\n"
+                + "1M8GDM9AXKP042788,7,\"dent, rear \"\"left\"\"\"\r\n"
+                + "JH4KA7561PC008269,C,\"line1\nline2\"\r\n", out.toString());
+    }
+
+    @Test
+    public void writesXlsx() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VinListExporter.writeXlsx(ROWS, out);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Vin List");
+            assertEquals(ROWS.size(), sheet.getLastRowNum());
+
+            Row header = sheet.getRow(0);
+            assertEquals("VIN", header.getCell(0).getStringCellValue());
+            assertEquals("Location", header.getCell(1).getStringCellValue());
+            assertEquals("Notes", header.getCell(2).getStringCellValue());
+            assertTrue(workbook.getFontAt(header.getCell(0).getCellStyle().getFontIndex()).getBold());
+
+            Row second = sheet.getRow(2);
+            assertEquals("1M8GDM9AXKP042788", second.getCell(0).getStringCellValue());
+            assertEquals("7", second.getCell(1).getStringCellValue());
+            assertEquals("dent, rear \"left\"", second.getCell(2).getStringCellValue());
+            assertEquals("", sheet.getRow(1).getCell(2).getStringCellValue());
+        }
+    }
+
+    @Test
+    public void formatsLocation() {
+        assertEquals("B-12", VinListExporter.formatLocation("B", "12"));
+        assertEquals("B", VinListExporter.formatLocation("B", null));
+        assertEquals("12", VinListExporter.formatLocation("", "12"));
+        assertEquals("", VinListExporter.formatLocation(null, null));
+    }
+
+    private static final class Record implements VinRecord {
+        private final String vinNumber;
+        private final String rowLetter;
+        private final String spaceNumber;
+        private final String extraNotes;
+
+        Record(String vinNumber, String rowLetter, String spaceNumber, String extraNotes) {
+            this.vinNumber = vinNumber;
+            this.rowLetter = rowLetter;
+            this.spaceNumber = spaceNumber;
+            this.extraNotes = extraNotes;
+        }
+
+        @Override
+        public String getVinNumber() {
+            return vinNumber;
+        }
+
+        @Override
+        public String getRowLetter() {
+            return rowLetter;
+        }
+
+        @Override
+        public String getSpaceNumber() {
+            return spaceNumber;
+        }
+
+        @Override
+        public String getExtraNotes() {
+            return extraNotes;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.marioflo.vinscannerapp.core.frame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DifferenceHashTest {
+
+    private final LumaFramePool pool = new LumaFramePool(1);
+
+    /** A frame whose brightness falls (or rises) from left to right, plus an offset. */
+    private long hashOfRamp(int width, int height, boolean darkeningRight, int offset) {
+        LumaFrame frame = pool.acquire(width, height);
+        try {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int step = x * 180 / width;
+                    int luma = offset + (darkeningRight ? 200 - step : 20 + step);
+                    frame.getData().put(y * width + x, (byte) luma);
+                }
+            }
+            return DifferenceHash.compute(frame);
+        } finally {
+            frame.release();
+        }
+    }
+
+    @Test
+    public void flatFrameHashesToZero() {
+        LumaFrame frame = pool.acquire(36, 16);
+        for (int i = 0; i < 36 * 16; i++) {
+            frame.getData().put(i, (byte) 128);
+        }
+        assertEquals(0L, DifferenceHash.compute(frame));
+        frame.release();
+    }
+
+    @Test
+    public void setsBitWhereCellIsBrighterThanRightNeighbour() {
+        assertEquals(0L, hashOfRamp(72, 32, false, 0));
+        assertEquals(-1L, hashOfRamp(72, 32, true, 0));
+    }
+
+    @Test
+    public void ignoresExposureAndScale() {
+        long hash = hashOfRamp(72, 32, true, 0);
+        assertEquals(0, DifferenceHash.distance(hash, hashOfRamp(72, 32, true, 40)));
+        assertEquals(0, DifferenceHash.distance(hash, hashOfRamp(144, 64, true, 0)));
+    }
+
+    @Test
+    public void distanceCountsDifferingBits() {
+        assertEquals(0, DifferenceHash.distance(0x5AL, 0x5AL));
+        assertEquals(3, DifferenceHash.distance(0L, 0x7L));
+        assertEquals(64, DifferenceHash.distance(0L, -1L));
+    }
+}
@@ -0,0 +1,88 @@
+package com.marioflo.vinscannerapp.core.frame;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LumaCropperTest {
+
+    private final LumaCropper cropper = new LumaCropper();
+    private final LumaFramePool pool = new LumaFramePool(2);
+
+    /** A plane whose pixel {@code (x, y)} holds {@code y * 16 + x}, with padded rows and pixels. */
+    private static ByteBuffer plane(int width, int height, int rowStride, int pixelStride) {
+        ByteBuffer plane = ByteBuffer.allocateDirect(rowStride * height);
+        for (int i = 0; i < plane.capacity(); i++) {
+            plane.put(i, (byte) 0xFF);
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                plane.put(y * rowStride + x * pixelStride, (byte) (y * 16 + x));
+            }
+        }
+        return plane;
+    }
+
+    @Test
+    public void scaleFitsLongSide() {
+        assertEquals(1, LumaCropper.scaleFor(640, 480, 640));
+        assertEquals(2, LumaCropper.scaleFor(641, 480, 640));
+        assertEquals(3, LumaCropper.scaleFor(480, 1920, 640));
+        assertEquals(1, LumaCropper.scaleFor(100, 100, 640));
+    }
+
+    @Test
+    public void copiesRegionSkippingRowPadding() {
+        ByteBuffer plane = plane(8, 8, 12, 1);
+        LumaFrame frame = cropper.crop(plane, 12, 1, 2, 3, 4, 2, 1, pool);
+        assertEquals(4, frame.getWidth());
+        assertEquals(2, frame.getHeight());
+        for (int y = 0; y < 2; y++) {
+            for (int x = 0; x < 4; x++) {
+                assertEquals((3 + y) * 16 + 2 + x, frame.getLuma(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void honoursPixelStride() {
+        ByteBuffer plane = plane(6, 4, 14, 2);
+        LumaFrame frame = cropper.crop(plane, 14, 2, 1, 1, 3, 2, 1, pool);
+        assertEquals(1 * 16 + 1, frame.getLuma(0, 0));
+        assertEquals(1 * 16 + 3, frame.getLuma(2, 0));
+        assertEquals(2 * 16 + 2, frame.getLuma(1, 1));
+    }
+
+    @Test
+    public void downscaleAveragesBoxes() {
+        ByteBuffer plane = plane(8, 8, 8, 1);
+        LumaFrame frame = cropper.crop(plane, 8, 1, 0, 0, 8, 4, 2, pool);
+        assertEquals(4, frame.getWidth());
+        assertEquals(2, frame.getHeight());
+        // Box (0..1, 0..1) holds 0, 1, 16 and 17
+        assertEquals(8, frame.getLuma(0, 0));
+        // Box (6..7, 2..3) holds 38, 39, 54 and 55
+        assertEquals(46, frame.getLuma(3, 1));
+    }
+
+    @Test
+    public void leavesPlanePositionAndLimitAlone() {
+        ByteBuffer plane = plane(8, 8, 8, 1);
+        plane.position(5);
+        plane.limit(60);
+        cropper.crop(plane, 8, 1, 0, 0, 4, 4, 1, pool).release();
+        assertEquals(5, plane.position());
+        assertEquals(60, plane.limit());
+    }
+
+    @Test
+    public void exhaustedPoolGivesNoFrame() {
+        ByteBuffer plane = plane(8, 8, 8, 1);
+        cropper.crop(plane, 8, 1, 0, 0, 4, 4, 1, pool);
+        cropper.crop(plane, 8, 1, 0, 0, 4, 4, 1, pool);
+        assertNull(cropper.crop(plane, 8, 1, 0, 0, 4, 4, 1, pool));
+    }
+}
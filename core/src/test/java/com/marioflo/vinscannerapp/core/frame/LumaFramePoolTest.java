@@ -0,0 +1,62 @@
+package com.marioflo.vinscannerapp.core.frame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LumaFramePoolTest {
+
+    @Test
+    public void refusesWhenEveryFrameIsInUse() {
+        LumaFramePool pool = new LumaFramePool(2);
+        assertNotNull(pool.acquire(4, 4));
+        LumaFrame second = pool.acquire(4, 4);
+        assertNull(pool.acquire(4, 4));
+        assertEquals(1, pool.getExhaustedCount());
+
+        second.release();
+        assertSame(second, pool.acquire(4, 4));
+        assertEquals(3, pool.getAcquiredCount());
+    }
+
+    @Test
+    public void reusesBufferUnlessFrameGrows() {
+        LumaFramePool pool = new LumaFramePool(1);
+        LumaFrame frame = pool.acquire(8, 8);
+        frame.release();
+
+        // Smaller sizes fit the existing buffer
+        frame = pool.acquire(4, 6);
+        assertEquals(4, frame.getWidth());
+        assertEquals(6, frame.getHeight());
+        assertEquals(24, frame.getData().limit());
+        frame.release();
+        assertEquals(1, pool.getBufferAllocationCount());
+        assertEquals(64, pool.getBufferBytes());
+
+        pool.acquire(10, 10).release();
+        assertEquals(2, pool.getBufferAllocationCount());
+        assertEquals(164, pool.getBufferBytes());
+    }
+
+    @Test
+    public void reacquiredFrameForgetsMetadata() {
+        LumaFramePool pool = new LumaFramePool(1);
+        LumaFrame frame = pool.acquire(4, 4);
+        frame.setRotationDegrees(90);
+        frame.setTimestampNanos(123L);
+        frame.release();
+
+        frame = pool.acquire(4, 4);
+        assertEquals(0, frame.getRotationDegrees());
+        assertEquals(0, frame.getTimestampNanos());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyPool() {
+        new LumaFramePool(0);
+    }
+}
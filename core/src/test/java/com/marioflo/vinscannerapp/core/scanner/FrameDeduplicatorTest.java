@@ -0,0 +1,54 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrameDeduplicatorTest {
+
+    private static final long HASH = 0x0F0F_3C3C_A5A5_5A5AL;
+
+    @Test
+    public void nothingIsDuplicateWithoutMisses() {
+        assertFalse(new FrameDeduplicator().isDuplicate(HASH, 0));
+    }
+
+    @Test
+    public void skipsNearCopyOfRecentMiss() {
+        FrameDeduplicator deduplicator = new FrameDeduplicator();
+        deduplicator.recordMiss(HASH, 1_000);
+        assertTrue(deduplicator.isDuplicate(HASH, 1_100));
+        // Six flipped bits is still the same view
+        assertTrue(deduplicator.isDuplicate(HASH ^ 0x3FL, 1_200));
+        // Seven is not
+        assertFalse(deduplicator.isDuplicate(HASH ^ 0x7FL, 1_200));
+        assertTrue(deduplicator.formatCounts().contains("checked 3, skipped 2"));
+    }
+
+    @Test
+    public void retriesAfterInterval() {
+        FrameDeduplicator deduplicator = new FrameDeduplicator();
+        deduplicator.recordMiss(HASH, 1_000);
+        assertTrue(deduplicator.isDuplicate(HASH, 1_000 + FrameDeduplicator.DEFAULT_RETRY_INTERVAL_MS - 1));
+        assertFalse(deduplicator.isDuplicate(HASH, 1_000 + FrameDeduplicator.DEFAULT_RETRY_INTERVAL_MS));
+    }
+
+    @Test
+    public void remembersOnlyLastFewMisses() {
+        FrameDeduplicator deduplicator = new FrameDeduplicator();
+        for (int i = 0; i < 5; i++) {
+            deduplicator.recordMiss(HASH << (i * 12), i);
+        }
+        assertFalse(deduplicator.isDuplicate(HASH, 10));
+        assertTrue(deduplicator.isDuplicate(HASH << 48, 10));
+    }
+
+    @Test
+    public void clearForgetsMisses() {
+        FrameDeduplicator deduplicator = new FrameDeduplicator();
+        deduplicator.recordMiss(HASH, 0);
+        deduplicator.clear();
+        assertFalse(deduplicator.isDuplicate(HASH, 1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import com.marioflo.vinscannerapp.core.frame.LumaFrame;
+import com.marioflo.vinscannerapp.core.frame.LumaFramePool;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FrameQualityGateTest {
+
+    private static final int WIDTH = 48;
+    private static final int HEIGHT = 32;
+
+    /** Fills pixel {@code (x, y)} of a frame. */
+    private interface Pattern {
+        int luma(int x, int y);
+    }
+
+    private final LumaFramePool pool = new LumaFramePool(1);
+    private final FrameQualityGate gate = new FrameQualityGate();
+
+    private FrameQuality evaluate(FrameQualityGate gate, Pattern pattern) {
+        LumaFrame frame = pool.acquire(WIDTH, HEIGHT);
+        try {
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    frame.getData().put(y * WIDTH + x, (byte) pattern.luma(x, y));
+                }
+            }
+            return gate.evaluate(frame);
+        } finally {
+            frame.release();
+        }
+    }
+
+    private FrameQuality evaluate(Pattern pattern) {
+        return evaluate(gate, pattern);
+    }
+
+    /** Vertical 2 px stripes: sharp edges, like printed characters. */
+    private static int stripes(int x, int dark, int bright) {
+        return (x / 2) % 2 == 0 ? dark : bright;
+    }
+
+    @Test
+    public void passesSharpWellLitFrame() {
+        FrameQuality quality = evaluate((x, y) -> stripes(x, 60, 190));
+        assertEquals(FrameQuality.Verdict.PASS, quality.getVerdict());
+        assertEquals(125f, quality.getBrightness(), 1f);
+        assertEquals(65f, quality.getContrast(), 1f);
+        assertTrue(quality.getSharpness() > FrameQualityGate.Thresholds.DEFAULT.getMinSharpness());
+    }
+
+    @Test
+    public void rejectsDarkAndBrightBeforeLookingAtEdges() {
+        FrameQuality dark = evaluate((x, y) -> stripes(x, 0, 60));
+        assertEquals(FrameQuality.Verdict.TOO_DARK, dark.getVerdict());
+        assertEquals(0f, dark.getSharpness(), 0f);
+
+        assertEquals(FrameQuality.Verdict.TOO_BRIGHT, evaluate((x, y) -> stripes(x, 220, 255)).getVerdict());
+    }
+
+    @Test
+    public void rejectsFlatFrame() {
+        assertEquals(FrameQuality.Verdict.LOW_CONTRAST, evaluate((x, y) -> 128).getVerdict());
+    }
+
+    @Test
+    public void rejectsSmoothGradientAsBlurry() {
+        // Plenty of contrast, but no fine edges for the Laplacian to find
+        FrameQuality quality = evaluate((x, y) -> 40 + x * 3);
+        assertEquals(FrameQuality.Verdict.BLURRY, quality.getVerdict());
+        assertTrue(quality.getContrast() > 18f);
+    }
+
+    @Test
+    public void customThresholdsApply() {
+        FrameQualityGate lenient = new FrameQualityGate(new FrameQualityGate.Thresholds(10f, 250f, 5f, 0f));
+        assertEquals(FrameQuality.Verdict.PASS, evaluate(lenient, (x, y) -> 40 + x * 3).getVerdict());
+        assertEquals(FrameQuality.Verdict.PASS, evaluate(lenient, (x, y) -> stripes(x, 0, 60)).getVerdict());
+    }
+
+    @Test
+    public void countsVerdicts() {
+        evaluate((x, y) -> stripes(x, 60, 190));
+        evaluate((x, y) -> 128);
+        evaluate((x, y) -> 128);
+        assertEquals(1, gate.getCount(FrameQuality.Verdict.PASS));
+        assertEquals(2, gate.getCount(FrameQuality.Verdict.LOW_CONTRAST));
+        assertTrue(gate.formatCounts().contains("pass 1 too_dark 0 too_bright 0 low_contrast 2 blurry 0"));
+
+        gate.resetCounts();
+        assertEquals(0, gate.getCount(FrameQuality.Verdict.LOW_CONTRAST));
+    }
+}
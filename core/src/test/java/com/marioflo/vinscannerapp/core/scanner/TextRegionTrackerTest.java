@@ -0,0 +1,71 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TextRegionTrackerTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    private static void assertRegion(float left, float top, float right, float bottom, TextRegion region) {
+        assertEquals(left, region.getLeft(), EPSILON);
+        assertEquals(top, region.getTop(), EPSILON);
+        assertEquals(right, region.getRight(), EPSILON);
+        assertEquals(bottom, region.getBottom(), EPSILON);
+    }
+
+    @Test
+    public void readsFullFrameUntilSomethingIsFound() {
+        assertNull(new TextRegionTracker().predict());
+    }
+
+    @Test
+    public void predictsLastBoundsWithMargin() {
+        TextRegionTracker tracker = new TextRegionTracker();
+        tracker.onFound(new TextRegion(0.2f, 0.45f, 0.8f, 0.5f), false);
+        // 15% of the width on each side, a full line height above and below
+        assertRegion(0.11f, 0.4f, 0.89f, 0.55f, tracker.predict());
+    }
+
+    @Test
+    public void followsSmoothedMotion() {
+        TextRegionTracker tracker = new TextRegionTracker();
+        tracker.onFound(new TextRegion(0.2f, 0.45f, 0.8f, 0.5f), false);
+        tracker.onFound(new TextRegion(0.25f, 0.47f, 0.85f, 0.52f), true);
+        // Half of the (0.05, 0.02) step, then the margin
+        assertRegion(0.185f, 0.43f, 0.965f, 0.58f, tracker.predict());
+    }
+
+    @Test
+    public void largeRegionFallsBackToFullFrame() {
+        TextRegionTracker tracker = new TextRegionTracker();
+        tracker.onFound(new TextRegion(0f, 0.2f, 1f, 0.6f), false);
+        assertNull(tracker.predict());
+    }
+
+    @Test
+    public void lossAndMissStopTracking() {
+        TextRegionTracker tracker = new TextRegionTracker();
+        tracker.onFound(new TextRegion(0.2f, 0.45f, 0.8f, 0.5f), false);
+        tracker.onLost();
+        assertNull(tracker.predict());
+
+        tracker.onFound(new TextRegion(0.2f, 0.45f, 0.8f, 0.5f), false);
+        tracker.onFullFrameMiss();
+        assertNull(tracker.predict());
+        assertTrue(tracker.formatCounts().contains("cropped 0, full 3, lost 1"));
+    }
+
+    @Test
+    public void resetForgetsMotion() {
+        TextRegionTracker tracker = new TextRegionTracker();
+        tracker.onFound(new TextRegion(0.2f, 0.45f, 0.8f, 0.5f), false);
+        tracker.onFound(new TextRegion(0.25f, 0.47f, 0.85f, 0.52f), true);
+        tracker.reset();
+        tracker.onFound(new TextRegion(0.2f, 0.45f, 0.8f, 0.5f), false);
+        assertRegion(0.11f, 0.4f, 0.89f, 0.55f, tracker.predict());
+    }
+}
@@ -0,0 +1,73 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class VinCandidateExtractorTest {
+
+    private static RecognizedBlock block(String... lines) {
+        RecognizedBlock.Line[] parsed = new RecognizedBlock.Line[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            parsed[i] = new RecognizedBlock.Line(lines[i], 0.9f);
+        }
+        return new RecognizedBlock(String.join("\n", lines), Arrays.asList(parsed));
+    }
+
+    @Test
+    public void findsWholeBlockVin() {
+        VinCandidate candidate = VinCandidateExtractor.extract(
+                Collections.singletonList(block("1HGCM82633A004352")));
+        assertEquals("1HGCM82633A004352", candidate.getVin());
+        assertEquals(DetectionSource.OCR, candidate.getSource());
+        assertTrue(candidate.isCheckDigitValid());
+        assertFalse(candidate.isCorrected());
+    }
+
+    @Test
+    public void findsLabelledVinInLine() {
+        VinCandidate candidate = VinCandidateExtractor.extract(
+                Collections.singletonList(block("MADE IN USA", "VIN: 1HGCM82633A004352 ")));
+        assertEquals("1HGCM82633A004352", candidate.getVin());
+    }
+
+    @Test
+    public void mapsForbiddenLettersToDigits() {
+        VinCandidate candidate = VinCandidateExtractor.extract(
+                Collections.singletonList(block("1HGCM82633AOO4352")));
+        assertEquals("1HGCM82633A004352", candidate.getVin());
+        assertTrue(candidate.isCorrected());
+    }
+
+    @Test
+    public void prefersCheckDigitValidCandidate() {
+        List<RecognizedBlock> blocks = Arrays.asList(
+                block("1HGCM82633A004353"), block("1M8GDM9AXKP042788"));
+        assertEquals("1M8GDM9AXKP042788", VinCandidateExtractor.extract(blocks).getVin());
+        assertSame(blocks.get(1), VinCandidateExtractor.findCandidateBlock(blocks));
+    }
+
+    @Test
+    public void ignoresRunsOfOtherLengths() {
+        assertNull(VinCandidateExtractor.extract(Collections.singletonList(
+                block("1HGCM82633A00435", "1HGCM82633A0043521", "no vin here"))));
+        assertNull(VinCandidateExtractor.findCandidateBlock(Collections.<RecognizedBlock>emptyList()));
+    }
+
+    @Test
+    public void averagesLineConfidence() {
+        RecognizedBlock block = new RecognizedBlock("a\nb", Arrays.asList(
+                new RecognizedBlock.Line("a", 0.5f), new RecognizedBlock.Line("b", 1f)));
+        assertEquals(0.75f, VinCandidateExtractor.averageConfidence(block), 1e-6f);
+        assertNull(VinCandidateExtractor.averageConfidence(
+                new RecognizedBlock("", Collections.<RecognizedBlock.Line>emptyList())));
+    }
+}
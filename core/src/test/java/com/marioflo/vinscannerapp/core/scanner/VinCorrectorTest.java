@@ -0,0 +1,94 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class VinCorrectorTest {
+
+    private static VinCandidate correct(String run) {
+        return VinCorrector.correct(run, DetectionSource.OCR, 0.8f);
+    }
+
+    @Test
+    public void keepsValidVins() {
+        for (String vin : new String[]{"1HGCM82633A004352", "1M8GDM9AXKP042788", "JH4KA7561PC008269",
+                "5FNRL38259B000001"}) {
+            VinCandidate candidate = correct(vin);
+            assertEquals(vin, candidate.getVin());
+            assertTrue(vin, candidate.isCheckDigitValid());
+            assertFalse(vin, candidate.isCorrected());
+        }
+    }
+
+    @Test
+    public void mapsForbiddenLettersToDigits() {
+        VinCandidate candidate = correct("1HGCM82633AOQ4352");
+        assertEquals("1HGCM82633A004352", candidate.getVin());
+        assertTrue(candidate.isCheckDigitValid());
+        assertTrue(candidate.isCorrected());
+    }
+
+    @Test
+    public void repairsSingleConfusionInNorthAmericanVin() {
+        VinCandidate candidate = correct("1H6CM82633A004352");
+        assertEquals("1HGCM82633A004352", candidate.getVin());
+        assertTrue(candidate.isCheckDigitValid());
+        assertTrue(candidate.isCorrected());
+
+        assertEquals("1M8GDM9AXKP042788", correct("1MBGDM9AXKP042788").getVin());
+    }
+
+    @Test
+    public void leavesVinWithoutCheckDigitUnchanged() {
+        // A single G/6 swap would make position 9 match, turning this into a different VIN
+        VinCandidate candidate = correct("JMZGG14F201234567");
+        assertEquals("JMZGG14F201234567", candidate.getVin());
+        assertFalse(candidate.isCheckDigitValid());
+        assertFalse(candidate.isCorrected());
+
+        assertEquals("WDBRF61J43F123456", correct("WDBRF61J43F123456").getVin());
+    }
+
+    @Test
+    public void stillMapsForbiddenLettersOutsideNorthAmerica() {
+        VinCandidate candidate = correct("JMZGG14F2O1234567");
+        assertEquals("JMZGG14F201234567", candidate.getVin());
+        assertFalse(candidate.isCheckDigitValid());
+        assertTrue(candidate.isCorrected());
+    }
+
+    @Test
+    public void neverSwapsWmiFirstCharacter() {
+        // '5' misread as 'S' moves the VIN out of North America; it must not be swapped back
+        VinCandidate candidate = correct("SFNRL38259B000001");
+        assertEquals("SFNRL38259B000001", candidate.getVin());
+        assertFalse(candidate.isCheckDigitValid());
+    }
+
+    @Test
+    public void flagsUnrepairableNorthAmericanVin() {
+        VinCandidate candidate = correct("1HGCM82633A004353");
+        assertEquals("1HGCM82633A004353", candidate.getVin());
+        assertFalse(candidate.isCheckDigitValid());
+        assertFalse(candidate.isCorrected());
+    }
+
+    @Test
+    public void rejectsRunsThatCannotBeVins() {
+        assertNull(correct(null));
+        assertNull(correct("1HGCM82633A00435"));
+        assertNull(correct("1HGCM82633A00435-"));
+    }
+
+    @Test
+    public void checksCheckDigit() {
+        assertTrue(VinCorrector.hasValidCheckDigit("1M8GDM9AXKP042788"));
+        assertFalse(VinCorrector.hasValidCheckDigit("1M8GDM9A0KP042788"));
+        assertFalse(VinCorrector.hasValidCheckDigit("1M8GDM9AXKPO42788"));
+        assertFalse(VinCorrector.hasValidCheckDigit(null));
+    }
+}
@@ -0,0 +1,55 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VinValidatorTest {
+
+    @Test
+    public void acceptsVins() {
+        assertTrue(VinValidator.isVin("1HGCM82633A004352"));
+        assertTrue(VinValidator.isVin("JMZGG14F201234567"));
+    }
+
+    @Test
+    public void rejectsWrongLengthAndForbiddenLetters() {
+        assertFalse(VinValidator.isVin(null));
+        assertFalse(VinValidator.isVin(""));
+        assertFalse(VinValidator.isVin("1HGCM82633A00435"));
+        assertFalse(VinValidator.isVin("1HGCM82633A0043521"));
+        assertFalse(VinValidator.isVin("1HGCM82633AO04352"));
+        assertFalse(VinValidator.isVin("1HGCM82633A0I4352"));
+        assertFalse(VinValidator.isVin("1HGCM82633A0Q4352"));
+        assertFalse(VinValidator.isVin("1hgcm82633a004352"));
+    }
+
+    @Test
+    public void matchesRegexForEveryChar() {
+        StringBuilder text = new StringBuilder("1HGCM82633A004352");
+        for (char c = 0; c < 512; c++) {
+            text.setCharAt(5, c);
+            String candidate = text.toString();
+            assertEquals("char " + (int) c, VinValidator.isVinRegex(candidate), VinValidator.isVin(candidate));
+        }
+    }
+
+    @Test
+    public void matchesRegexOnRandomText() {
+        Random random = new Random(42);
+        String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabc -:";
+        for (int n = 0; n < 10_000; n++) {
+            int length = 15 + random.nextInt(5);
+            StringBuilder text = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String candidate = text.toString();
+            assertEquals(candidate, VinValidator.isVinRegex(candidate), VinValidator.isVin(candidate));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.marioflo.vinscannerapp.core.scanner;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class VinVoterTest {
+
+    private static VinCandidate ocr(String vin, boolean checkDigitValid, Float confidence) {
+        return new VinCandidate(vin, DetectionSource.OCR, confidence, checkDigitValid, false);
+    }
+
+    @Test
+    public void singleVoteLocksImmediately() {
+        VinCandidate candidate = ocr("JMZGG14F201234567", false, null);
+        assertSame(candidate, new VinVoter(1).offer(candidate));
+    }
+
+    @Test
+    public void checkDigitValidReadCountsTwice() {
+        VinVoter voter = new VinVoter(3);
+        assertNull(voter.offer(ocr("1HGCM82633A004352", true, 0.5f)));
+        assertEquals("1HGCM82633A004352", voter.offer(ocr("1HGCM82633A004352", true, 0.5f)).getVin());
+    }
+
+    @Test
+    public void misreadDoesNotOutvoteConsistentVin() {
+        VinVoter voter = new VinVoter(3);
+        assertNull(voter.offer(ocr("JMZGG14F201234567", false, 0.9f)));
+        assertNull(voter.offer(ocr("JMZG614F201234567", false, 0.9f)));
+        assertNull(voter.offer(ocr("JMZGG14F201234567", false, 0.9f)));
+        assertEquals("JMZGG14F201234567", voter.offer(ocr("JMZGG14F201234567", false, 0.9f)).getVin());
+    }
+
+    @Test
+    public void returnsMostConfidentRead() {
+        VinVoter voter = new VinVoter(2);
+        VinCandidate confident = ocr("JMZGG14F201234567", false, 0.9f);
+        voter.offer(confident);
+        assertSame(confident, voter.offer(ocr("JMZGG14F201234567", false, 0.4f)));
+    }
+
+    @Test
+    public void barcodeLocksAndClearsVotes() {
+        VinVoter voter = new VinVoter(2);
+        voter.offer(ocr("JMZGG14F201234567", false, 0.9f));
+        VinCandidate barcode = new VinCandidate("1HGCM82633A004352", DetectionSource.BARCODE, null, true, false);
+        assertSame(barcode, voter.offer(barcode));
+        assertNull(voter.offer(ocr("JMZGG14F201234567", false, 0.9f)));
+    }
+
+    @Test
+    public void resetForgetsVotes() {
+        VinVoter voter = new VinVoter(2);
+        voter.offer(ocr("JMZGG14F201234567", false, 0.9f));
+        voter.reset();
+        assertNull(voter.offer(ocr("JMZGG14F201234567", false, 0.9f)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroVotesToLock() {
+        new VinVoter(0);
+    }
+}